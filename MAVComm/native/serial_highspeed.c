@@ -5,6 +5,9 @@
 #include<unistd.h>
 #include<fcntl.h>
 #include<termio.h>
+#include<err.h>
+#include<sys/ioctl.h>
+#include<poll.h>
 #include <linux/serial.h>
 
 static int fd;
@@ -25,14 +28,23 @@ static int rate_to_constant(int baudrate) {
 }
 
 
-int openAMA0(int rate) {
+/*
+ * Opens any tty in raw mode. Rates without a termios constant are set by a custom
+ * divisor. read() returns when vmin bytes are available or vtime (1/10s) passed after the
+ * last byte. vtime is at least 1 if vmin > 1, so that a read never waits for more bytes
+ * without a bound.
+ *
+ * Build: ant build_native, or gcc -shared -fPIC -O2 -o libAMA0.so serial_highspeed.c
+ */
+int openSerial(const char *device, int rate, int vmin, int vtime) {
 
  struct termios options;
  struct serial_struct serinfo;
- 
+
+ int sfd;
  int speed = 0;
 
-   if ((fd = open("/dev/ttyAMA0",O_RDWR|O_NOCTTY)) == -1)
+   if ((sfd = open(device,O_RDWR|O_NOCTTY)) == -1)
     {
         return -1;
     }
@@ -44,17 +56,17 @@ int openAMA0(int rate) {
     if (speed == 0) {
         /* Custom divisor */
         serinfo.reserved_char[0] = 0;
-        if (ioctl(fd, TIOCGSERIAL, &serinfo) < 0)
-            return -1;
+        if (ioctl(sfd, TIOCGSERIAL, &serinfo) < 0)
+            goto error;
         serinfo.flags &= ~ASYNC_SPD_MASK;
         serinfo.flags |= ASYNC_SPD_CUST;
         serinfo.custom_divisor = (serinfo.baud_base + (rate / 2)) / rate;
         if (serinfo.custom_divisor < 1)
             serinfo.custom_divisor = 1;
-        if (ioctl(fd, TIOCSSERIAL, &serinfo) < 0)
-            return -1;
-        if (ioctl(fd, TIOCGSERIAL, &serinfo) < 0)
-            return -1;
+        if (ioctl(sfd, TIOCSSERIAL, &serinfo) < 0)
+            goto error;
+        if (ioctl(sfd, TIOCGSERIAL, &serinfo) < 0)
+            goto error;
         if (serinfo.custom_divisor * rate != serinfo.baud_base) {
             warnx("actual baudrate is %d / %d = %f",
                   serinfo.baud_base, serinfo.custom_divisor,
@@ -62,19 +74,61 @@ int openAMA0(int rate) {
         }
     }
 
-    fcntl(fd, F_SETFL, 0);
-    tcgetattr(fd, &options);
+    fcntl(sfd, F_SETFL, 0);
+    tcgetattr(sfd, &options);
     cfsetispeed(&options, speed ?: B38400);
     cfsetospeed(&options, speed ?: B38400);
     cfmakeraw(&options);
     options.c_cflag |= (CLOCAL | CREAD);
     options.c_cflag &= ~CRTSCTS;
-    if (tcsetattr(fd, TCSANOW, &options) != 0)
+    if (vmin > 1 && vtime < 1)
+        vtime = 1;
+    options.c_cc[VMIN]  = vmin;
+    options.c_cc[VTIME] = vtime;
+    if (tcsetattr(sfd, TCSANOW, &options) != 0)
     {
-        return -1;
+        goto error;
     }
+    tcflush(sfd, TCIOFLUSH);
+
+    return sfd;
+
+error:
+    close(sfd);
+    return -1;
+}
 
+/*
+ * Waits up to timeout_ms for data before reading, so that the reader can check whether it
+ * has to stop. Closing the fd does not wake up a blocked read() on Linux.
+ * Returns the number of bytes read, 0 on timeout and -1 on error or hangup.
+ */
+int readSerial(int sfd, char *ptr, int length, int timeout_ms) {
+   struct pollfd pfd;
+   int n;
+
+   pfd.fd = sfd;
+   pfd.events = POLLIN;
+   pfd.revents = 0;
+   n = poll(&pfd, 1, timeout_ms);
+   if (n == 0 || (n < 0 && errno == EINTR))
+       return 0;
+   if (n < 0 || !(pfd.revents & POLLIN))
+       return -1;
+   return read(sfd, ptr, length);
+}
+
+int writeSerial(int sfd, char *ptr, int length) {
+   return write(sfd, ptr, length);
+}
 
+void closeSerial(int sfd) {
+  close(sfd);
+}
+
+
+int openAMA0(int rate) {
+    fd = openSerial("/dev/ttyAMA0", rate, 1, 0);
     return fd;
 }
 
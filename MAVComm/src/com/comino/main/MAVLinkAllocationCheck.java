@@ -0,0 +1,320 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.main;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.mavlink.IMAVLinkCRC;
+import org.mavlink.messages.IMAVLinkMessageID;
+import org.mavlink.messages.MAVLinkMessage;
+import org.mavlink.messages.MAVLinkMessageFactory;
+import org.mavlink.messages.MAVLinkMessagePool;
+import org.mavlink.messages.lquac.msg_statustext;
+
+import com.comino.mav.comm.IMAVComm;
+import com.comino.mav.mavlink.MAVLinkBlockingReader;
+import com.comino.mav.mavlink.MAVLinkDispatchLane;
+import com.comino.mav.mavlink.MAVLinkMessageQueue;
+import com.comino.mav.mavlink.MAVLinkToModelParser;
+import com.comino.msp.model.DataModel;
+
+/**
+ * Replays a recorded MAVLink stream frame by frame through reader, parser and plugins and
+ * reports the bytes allocated per message for each msgId. Allocations of the replaying
+ * thread and of the dispatch lane threads are counted; the harness waits for the lanes
+ * after each frame, so they are attributed to the msgId of the frame. Exits with 1 if the
+ * steady state allocation of a msgId exceeds its budget, which is 0 bytes unless given with -b.
+ * STATUSTEXT has a budget for the log message it creates. -p decodes into a message pool
+ * of the given capacity per msgId.
+ * Usage: MAVLinkAllocationCheck [-f recorded stream] [-n replays] [-p capacity] [-b bytes] [-b msgId=bytes]
+ */
+public class MAVLinkAllocationCheck {
+
+	private static final int MAX_MSG_ID     = IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length;
+	private static final int DEFAULT_BUDGET = 0;
+	// LogMessage and text created for each STATUSTEXT
+	private static final int STATUSTEXT_BUDGET = 256;
+	private static final int WARMUP         = 20;
+
+	private static final com.sun.management.ThreadMXBean threads =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private final byte[]  stream;
+	private final int[]   offsets;
+	private final int[]   lengths;
+	private final int[]   msgIds;
+	private final int     frames;
+
+	private final long[]  bytes    = new long[MAX_MSG_ID];
+	private final long[]  count    = new long[MAX_MSG_ID];
+	private final long[]  max      = new long[MAX_MSG_ID];
+	private final int[]   budget   = new int[MAX_MSG_ID];
+
+	private final MAVLinkToModelParser  parser;
+	private final MAVLinkBlockingReader reader;
+	private final MAVLinkDispatchLane[] lanes;
+	private final long[]                thread_ids;
+	private long                        overhead = 0;
+
+
+	public static void main(String[] args) throws Exception {
+		String file = null; int replays = 50; int default_budget = DEFAULT_BUDGET; int pool = 0;
+		List<String> budgets = new ArrayList<String>();
+		for(int i=0;i+1<args.length;i+=2) {
+			switch(args[i]) {
+			case "-f": file = args[i+1]; break;
+			case "-n": replays = Integer.parseInt(args[i+1]); break;
+			case "-p": pool = Integer.parseInt(args[i+1]); break;
+			case "-b":
+				if(args[i+1].contains("="))
+					budgets.add(args[i+1]);
+				else
+					default_budget = Integer.parseInt(args[i+1]);
+				break;
+			default:
+				System.err.println("Unknown option "+args[i]);
+			}
+		}
+
+		MAVLinkAllocationCheck check = new MAVLinkAllocationCheck(file != null ? Files.readAllBytes(Paths.get(file)) : synthesize());
+		check.setBudget(default_budget);
+		check.setBudget(IMAVLinkMessageID.MAVLINK_MSG_ID_STATUSTEXT, Math.max(default_budget, STATUSTEXT_BUDGET));
+		if(pool > 0)
+			check.reader.setMessagePool(new MAVLinkMessagePool(pool));
+		for(String b : budgets) {
+			String[] p = b.split("=");
+			check.setBudget(Integer.parseInt(p[0].trim()), Integer.parseInt(p[1].trim()));
+		}
+		check.replay(WARMUP);
+		check.reset();
+		check.replay(replays);
+		System.exit(check.report() ? 0 : 1);
+	}
+
+	public MAVLinkAllocationCheck(byte[] stream) throws InterruptedException {
+		this.stream  = stream;
+		this.offsets = new int[stream.length / 8 + 1];
+		this.lengths = new int[stream.length / 8 + 1];
+		this.msgIds  = new int[stream.length / 8 + 1];
+		this.frames  = split();
+
+		this.parser  = new MAVLinkToModelParser(new DataModel(), createComm());
+		this.reader  = new MAVLinkBlockingReader(8, false, 1024, MAVLinkMessageQueue.WaitStrategy.PARK,
+				MAVLinkBlockingReader.Handoff.INLINE, parser);
+		this.lanes   = parser.getLanes();
+
+		// the lane threads are started by the parser
+		List<Long> ids = new ArrayList<Long>();
+		ids.add(Thread.currentThread().getId());
+		for(Thread t : Thread.getAllStackTraces().keySet())
+			if(t.getName().startsWith("MAVLinkLane-"))
+				ids.add(t.getId());
+		this.thread_ids = new long[ids.size()];
+		for(int i=0;i<thread_ids.length;i++)
+			thread_ids[i] = ids.get(i);
+
+		System.out.println("Stream: "+stream.length+" bytes, "+frames+" frames, "+thread_ids.length+" threads observed");
+	}
+
+	public void setBudget(int bytes) {
+		Arrays.fill(budget, bytes);
+	}
+
+	public void setBudget(int msgId, int bytes) {
+		budget[msgId] = bytes;
+	}
+
+	public void reset() {
+		Arrays.fill(bytes, 0); Arrays.fill(count, 0); Arrays.fill(max, 0);
+		// allocation of the measurement itself
+		overhead = Long.MAX_VALUE;
+		for(int i=0;i<1000;i++) {
+			long start = allocated();
+			overhead = Math.min(overhead, allocated() - start);
+		}
+	}
+
+	public void replay(int replays) {
+		final ByteBuffer buf = ByteBuffer.wrap(stream);
+		final long[] dispatched = new long[lanes.length];
+		for(int r=0;r<replays;r++) {
+			for(int f=0;f<frames;f++) {
+				final int msgId = msgIds[f];
+				for(int l=0;l<lanes.length;l++)
+					dispatched[l] = lanes[l].getDispatched();
+
+				final long start = allocated();
+				buf.limit(offsets[f] + lengths[f]).position(offsets[f]);
+				reader.put(buf);
+				awaitLanes(msgId, dispatched);
+				final long used = Math.max(0, allocated() - start - overhead);
+
+				bytes[msgId] += used;
+				count[msgId]++;
+				if(used > max[msgId])
+					max[msgId] = used;
+			}
+		}
+	}
+
+	/**
+	 * Prints the allocations per msgId
+	 * @return false if a budget was exceeded
+	 */
+	public boolean report() {
+		boolean ok = true; long total_bytes = 0, total_count = 0;
+		System.out.println(String.format("%-6s %-28s %10s %10s %10s %8s", "msgId", "message", "count", "B/msg", "max B", "budget"));
+		for(int msgId=0;msgId<MAX_MSG_ID;msgId++) {
+			if(count[msgId] == 0)
+				continue;
+			final double mean = (double)bytes[msgId] / count[msgId];
+			// rare allocations of JIT or lane bookkeeping stay below 1 B/msg in the mean
+			final boolean exceeded = mean >= budget[msgId] + 1;
+			ok &= !exceeded;
+			total_bytes += bytes[msgId]; total_count += count[msgId];
+			System.out.println(String.format("%-6d %-28s %10d %10.1f %10d %8d%s", msgId, getName(msgId), count[msgId], mean,
+					max[msgId], budget[msgId], exceeded ? "  FAILED" : ""));
+		}
+		System.out.println(String.format("Total: %.1f B/msg over %d messages", total_count == 0 ? 0 : (double)total_bytes / total_count, total_count));
+		if(reader.getMessagePool() != null)
+			System.out.println(reader.getMessagePool());
+		System.out.println(ok ? "Allocation budget OK" : "Allocation budget EXCEEDED");
+		return ok;
+	}
+
+	private long allocated() {
+		long sum = 0;
+		for(long a : threads.getThreadAllocatedBytes(thread_ids))
+			sum += a;
+		return sum;
+	}
+
+	/**
+	 * Waits until all lanes with listeners for the msgId executed them
+	 */
+	private void awaitLanes(int msgId, long[] dispatched) {
+		for(int l=0;l<lanes.length;l++) {
+			if(lanes[l].isInline() || !lanes[l].hasListeners(msgId) || !reader.isInterested(msgId))
+				continue;
+			final long deadline = System.nanoTime() + 100_000_000L;
+			while(lanes[l].getDispatched() == dispatched[l] && System.nanoTime() < deadline)
+				Thread.yield();
+		}
+	}
+
+	/**
+	 * Splits the stream into MAVLink v1 and v2 frames
+	 * @return number of frames
+	 */
+	private int split() {
+		int count = 0, i = 0;
+		while(i < stream.length - 10) {
+			final int len = stream[i+1] & 0x00FF; int frame_len;
+			if(stream[i] == (byte)0xFD) {
+				frame_len = len + 12 + ((stream[i+2] & 0x01) != 0 ? 13 : 0);
+				msgIds[count] = (stream[i+7] & 0x00FF) | (stream[i+8] & 0x00FF) << 8 | (stream[i+9] & 0x00FF) << 16;
+			} else if(stream[i] == (byte)0xFE) {
+				frame_len = len + 8;
+				msgIds[count] = stream[i+5] & 0x00FF;
+			} else {
+				i++; continue;
+			}
+			if(i + frame_len > stream.length || msgIds[count] >= MAX_MSG_ID) {
+				i++; continue;
+			}
+			offsets[count] = i; lengths[count] = frame_len;
+			count++;
+			i += frame_len;
+		}
+		return count;
+	}
+
+	private static String getName(int msgId) {
+		MAVLinkMessage msg = MAVLinkMessageFactory.getMessage(msgId, 0, 0, ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN));
+		return msg == null ? "unknown" : msg.getClass().getSimpleName();
+	}
+
+	/**
+	 * @return a PX4 like telemetry stream with status texts
+	 */
+	private static byte[] synthesize() throws IOException {
+		final int[] mix = {
+				IMAVLinkMessageID.MAVLINK_MSG_ID_HEARTBEAT, IMAVLinkMessageID.MAVLINK_MSG_ID_SYS_STATUS,
+				IMAVLinkMessageID.MAVLINK_MSG_ID_ATTITUDE, IMAVLinkMessageID.MAVLINK_MSG_ID_LOCAL_POSITION_NED,
+				IMAVLinkMessageID.MAVLINK_MSG_ID_HIGHRES_IMU, IMAVLinkMessageID.MAVLINK_MSG_ID_GPS_RAW_INT,
+				IMAVLinkMessageID.MAVLINK_MSG_ID_GLOBAL_POSITION_INT, IMAVLinkMessageID.MAVLINK_MSG_ID_ALTITUDE,
+				IMAVLinkMessageID.MAVLINK_MSG_ID_BATTERY_STATUS, IMAVLinkMessageID.MAVLINK_MSG_ID_EXTENDED_SYS_STATE,
+				IMAVLinkMessageID.MAVLINK_MSG_ID_ESTIMATOR_STATUS, IMAVLinkMessageID.MAVLINK_MSG_ID_ATTITUDE_QUATERNION };
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		int seq = 0;
+		for(int n=0;n<100;n++) {
+			for(int msgId : mix) {
+				MAVLinkMessage msg = MAVLinkMessageFactory.getMessage(msgId, 1, 1, ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN));
+				msg.packet = seq++ & 0x00FF;
+				out.write(msg.encode());
+			}
+			if(n % 10 == 0) {
+				msg_statustext text = new msg_statustext(1,1);
+				text.packet = seq++ & 0x00FF;
+				text.setText("Replay "+n);
+				out.write(text.encode());
+			}
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * @return a disconnected comm which ignores all writes
+	 */
+	private static IMAVComm createComm() {
+		return (IMAVComm)Proxy.newProxyInstance(IMAVComm.class.getClassLoader(), new Class<?>[] { IMAVComm.class },
+				(proxy, method, args) -> {
+					Class<?> type = method.getReturnType();
+					if(type == boolean.class) return false;
+					if(type == int.class)     return 0;
+					return null;
+				});
+	}
+}
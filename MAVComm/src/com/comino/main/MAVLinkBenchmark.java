@@ -0,0 +1,488 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.main;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.DatagramChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.mavlink.IMAVLinkCRC;
+import org.mavlink.MAVLinkCRC;
+import org.mavlink.messages.IMAVLinkMessageID;
+import org.mavlink.messages.MAVLinkMessage;
+import org.mavlink.messages.MAVLinkMessageFactory;
+
+import com.comino.mav.comm.IMAVComm;
+import com.comino.mav.comm.proxy.MAVUdpProxyNIO3;
+import com.comino.mav.mavlink.MAVLinkMessageQueue;
+import com.comino.mav.mavlink.MAVLinkReader;
+import com.comino.mav.mavlink.MAVLinkToModelParser;
+import com.comino.msp.model.DataModel;
+
+/**
+ * Throughput and allocation of the hot paths: CRC, framing, decode, encode, parsing into
+ * the model and proxy forwarding. Each benchmark is warmed up and then measured in several
+ * iterations; allocations are the bytes allocated by the benchmark thread per operation.
+ * Usage: MAVLinkBenchmark [-f captured raw MAVLink stream] [benchmark name prefixes]
+ */
+public class MAVLinkBenchmark {
+
+	private static final int WARMUP_MS     = 2000;
+	private static final int ITERATIONS    = 5;
+	private static final int ITERATION_MS  = 1000;
+
+	private static final int[] TELEMETRY = {
+			IMAVLinkMessageID.MAVLINK_MSG_ID_HEARTBEAT, IMAVLinkMessageID.MAVLINK_MSG_ID_SYS_STATUS,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_ATTITUDE, IMAVLinkMessageID.MAVLINK_MSG_ID_ATTITUDE_QUATERNION,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_LOCAL_POSITION_NED, IMAVLinkMessageID.MAVLINK_MSG_ID_HIGHRES_IMU,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_GPS_RAW_INT, IMAVLinkMessageID.MAVLINK_MSG_ID_GLOBAL_POSITION_INT,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_ALTITUDE, IMAVLinkMessageID.MAVLINK_MSG_ID_BATTERY_STATUS,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_EXTENDED_SYS_STATE, IMAVLinkMessageID.MAVLINK_MSG_ID_ESTIMATOR_STATUS,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_HIGHRES_IMU, IMAVLinkMessageID.MAVLINK_MSG_ID_ATTITUDE,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_LOCAL_POSITION_NED, IMAVLinkMessageID.MAVLINK_MSG_ID_HIGHRES_IMU
+	};
+
+	/**
+	 * One operation of a benchmark
+	 * @return the number of operations executed, e.g. the frames of a stream
+	 */
+	public interface IOperation {
+		long run() throws Exception;
+	}
+
+	// prevents dead code elimination
+	public static volatile long sink = 0;
+
+	private static final com.sun.management.ThreadMXBean threads =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private final Random         random  = new Random(42);
+	private final String[]       filter;
+	private final MAVLinkMessage[] messages;
+	private final ByteBuffer[]   payloads;
+	private final byte[]         stream;
+	private final int            frames;
+
+
+	public static void main(String[] args) throws Exception {
+		String capture = null; List<String> names = new ArrayList<String>();
+		for(int i=0;i<args.length;i++) {
+			if(args[i].equals("-f") && i+1 < args.length)
+				capture = args[++i];
+			else
+				names.add(args[i]);
+		}
+		new MAVLinkBenchmark(capture, names.toArray(new String[0])).runAll();
+		System.exit(0);
+	}
+
+	public MAVLinkBenchmark(String capture, String[] filter) throws IOException {
+		this.filter   = filter;
+		this.messages = createMessages();
+		this.payloads = createPayloads(messages);
+		this.stream   = capture != null ? Files.readAllBytes(Paths.get(capture)) : synthesize(256*1024);
+		this.frames   = countFrames(stream);
+		System.out.println("Messages: "+messages.length+" Stream: "+stream.length+" bytes, "+frames+" frames");
+		System.out.println(String.format("%-22s %14s %8s %10s %10s", "Benchmark", "ops/s", "error", "ns/op", "B/op"));
+	}
+
+	public void runAll() throws Exception {
+		if(isSelected("reader.split"))
+			checkSplitFrames();
+		benchmark("crc",               crc());
+		benchmark("reader.clean",      reader(stream, 512, false));
+		benchmark("reader.noisy",      reader(noisy(stream), 512, false));
+		benchmark("reader.fragmented", reader(stream, 0, true));
+		benchmark("decode",            decode());
+		benchmark("encode.buffer",     encodeBuffer());
+		benchmark("encode.array",      encodeArray());
+		benchmark("parse",             parse());
+		if(isSelected("proxy"))
+			proxy();
+	}
+
+	/**
+	 * Warms up and measures the operation if selected by the filter
+	 * @return operations per second
+	 */
+	public double benchmark(String name, IOperation op) throws Exception {
+		if(!isSelected(name))
+			return 0;
+
+		long end = System.currentTimeMillis() + WARMUP_MS;
+		while(System.currentTimeMillis() < end)
+			op.run();
+
+		final long tid = Thread.currentThread().getId();
+		double[] rates = new double[ITERATIONS];
+		long total_ops = 0, total_ns = 0, total_bytes = 0;
+		for(int i=0;i<ITERATIONS;i++) {
+			long ops = 0;
+			final long alloc = threads.getThreadAllocatedBytes(tid);
+			final long start = System.nanoTime();
+			end = start + ITERATION_MS * 1000000L;
+			long now;
+			do {
+				ops += op.run();
+			} while((now = System.nanoTime()) < end);
+			total_bytes += threads.getThreadAllocatedBytes(tid) - alloc;
+			total_ns    += now - start;
+			total_ops   += ops;
+			rates[i] = ops * 1e9 / (now - start);
+		}
+
+		double mean = 0, sd = 0;
+		for(double r : rates) mean += r / ITERATIONS;
+		for(double r : rates) sd += (r - mean) * (r - mean) / ITERATIONS;
+		System.out.println(String.format("%-22s %14.0f %7.1f%% %10.1f %10.1f", name, mean, Math.sqrt(sd) * 100 / mean,
+				(double)total_ns / total_ops, (double)total_bytes / total_ops));
+		return mean;
+	}
+
+	/**
+	 * Bulk CRC of every frame of the stream
+	 */
+	public IOperation crc() {
+		final int[] spans = frameSpans(stream);
+		return () -> {
+			int sum = 0;
+			for(int f=0;f<spans[0];f++)
+				sum ^= MAVLinkCRC.crc_accumulate(stream, spans[f*2+1], spans[f*2+2], MAVLinkCRC.crc_init());
+			sink += sum;
+			return spans[0];
+		};
+	}
+
+	/**
+	 * Frames and decodes the stream in reads of the given size or, if fragmented, in
+	 * reads of 1..16 bytes
+	 */
+	public IOperation reader(byte[] data, int read_size, boolean fragmented) {
+		final MAVLinkReader reader = new MAVLinkReader(9, false, 1024, MAVLinkMessageQueue.WaitStrategy.PARK);
+		final ByteBuffer buf = ByteBuffer.wrap(data);
+		final int[] reads = new int[data.length];
+		int count = 0;
+		for(int pos=0; pos < data.length; count++) {
+			reads[count] = Math.min(fragmented ? 1 + random.nextInt(16) : read_size, data.length - pos);
+			pos += reads[count];
+		}
+		final int read_count = count;
+		return () -> {
+			int pos = 0; long decoded = 0;
+			for(int i=0;i<read_count;i++) {
+				buf.limit(pos + reads[i]).position(pos);
+				reader.put(buf);
+				pos += reads[i];
+				while(reader.getNextMessage() != null)
+					decoded++;
+			}
+			sink += decoded;
+			return frames;
+		};
+	}
+
+	/**
+	 * Feeds unsigned, signed and corrupted signed frames whole and split at every position across
+	 * two reads. Both framing paths must decode each valid frame once and count each corrupted
+	 * frame once as bad CRC.
+	 */
+	public boolean checkSplitFrames() throws IOException {
+		final MAVLinkMessage msg = MAVLinkMessageFactory.getMessage(IMAVLinkMessageID.MAVLINK_MSG_ID_ATTITUDE, 1, 1, payloads[0]);
+		boolean ok = true;
+		for(int type=0;type<3;type++) {
+			final MAVLinkReader reader = new MAVLinkReader(9, false, 1024, MAVLinkMessageQueue.WaitStrategy.PARK);
+			final String name = type == 0 ? "unsigned" : type == 1 ? "signed" : "signed, bad CRC";
+			int seq = 0, frame_count = 0; long decoded = 0;
+			for(int split = 0; split < 64; split++) {
+				msg.packet = seq++ & 0x00FF;
+				final byte[] frame = type == 0 ? msg.encode() : sign(msg.encode());
+				if(type == 2)
+					frame[12] ^= 0x55;
+				if(split >= frame.length)
+					break;
+				// split 0 passes the frame in one read
+				if(split > 0)
+					reader.put(ByteBuffer.wrap(frame, 0, split));
+				reader.put(ByteBuffer.wrap(frame, split, frame.length - split));
+				while(reader.getNextMessage() != null)
+					decoded++;
+				frame_count++;
+			}
+			final long expected = type == 2 ? 0 : frame_count;
+			final long bad_crc  = reader.getStats().getBadCRC();
+			final boolean passed = decoded == expected && bad_crc == (type == 2 ? frame_count : 0);
+			System.out.println(String.format("%-22s %s: %d frames, %d decoded, %d bad CRC %s", "reader.split", name,
+					frame_count, decoded, bad_crc, passed ? "OK" : "FAILED"));
+			ok &= passed;
+		}
+		return ok;
+	}
+
+	/**
+	 * @return the V2 frame with the signed flag, updated CRC and a random signature block
+	 */
+	private byte[] sign(byte[] unsigned) {
+		final int len = unsigned[1] & 0x00FF;
+		final byte[] frame = Arrays.copyOf(unsigned, unsigned.length + 13);
+		frame[2] |= 0x01;
+		int crc = MAVLinkCRC.crc_accumulate(frame, 1, len + 9, MAVLinkCRC.crc_init());
+		crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[getMsgId(frame)], crc);
+		frame[len + 10] = (byte)(crc & 0x00FF);
+		frame[len + 11] = (byte)((crc >> 8) & 0x00FF);
+		for(int i=0;i<13;i++)
+			frame[len + 12 + i] = (byte)random.nextInt(256);
+		return frame;
+	}
+
+	private static int getMsgId(byte[] frame) {
+		return (frame[7] & 0x00FF) | (frame[8] & 0x00FF) << 8 | (frame[9] & 0x00FF) << 16;
+	}
+
+	/**
+	 * Decodes the payload of every lquac message
+	 */
+	public IOperation decode() {
+		return () -> {
+			for(int i=0;i<messages.length;i++)
+				sink += MAVLinkMessageFactory.getMessage(messages[i].messageType, 1, 1, payloads[i]).messageType;
+			return messages.length;
+		};
+	}
+
+	/**
+	 * Encodes every lquac message into a reused buffer
+	 */
+	public IOperation encodeBuffer() {
+		final ByteBuffer buf = ByteBuffer.allocateDirect(512);
+		return () -> {
+			for(MAVLinkMessage msg : messages) {
+				buf.clear();
+				sink += msg.encodeTo(buf, 0);
+			}
+			return messages.length;
+		};
+	}
+
+	/**
+	 * Encodes every lquac message into a new array
+	 */
+	public IOperation encodeArray() {
+		return () -> {
+			for(MAVLinkMessage msg : messages)
+				sink += msg.encode().length;
+			return messages.length;
+		};
+	}
+
+	/**
+	 * Parses a PX4 like telemetry mix into the model with all plugins loaded
+	 */
+	public IOperation parse() {
+		final DataModel model = new DataModel();
+		final MAVLinkToModelParser parser = new MAVLinkToModelParser(model, createComm());
+		final MAVLinkMessage[] mix = new MAVLinkMessage[TELEMETRY.length];
+		for(int i=0;i<mix.length;i++)
+			mix[i] = MAVLinkMessageFactory.getMessage(TELEMETRY[i], 1, 1, zeroPayload());
+		return () -> {
+			for(MAVLinkMessage msg : mix)
+				parser.parseMessage(msg);
+			return mix.length;
+		};
+	}
+
+	/**
+	 * Forwards telemetry frames through the proxy to a UDP client on loopback
+	 */
+	public void proxy() throws Exception {
+		final DatagramChannel peer = DatagramChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+		final MAVUdpProxyNIO3 proxy = new MAVUdpProxyNIO3("127.0.0.1", ((InetSocketAddress)peer.getLocalAddress()).getPort(),
+				"127.0.0.1", 0, createComm());
+		proxy.open();
+
+		final long[] received = new long[1];
+		Thread drain = new Thread(() -> {
+			ByteBuffer buf = ByteBuffer.allocateDirect(64*1024);
+			try {
+				while(peer.isOpen()) {
+					buf.clear();
+					peer.receive(buf);
+					received[0] += buf.position();
+				}
+			} catch(IOException e) { }
+		});
+		drain.setName("ProxyPeer");
+		drain.setDaemon(true);
+		drain.start();
+
+		final ByteBuffer[] mix = new ByteBuffer[TELEMETRY.length];
+		for(int i=0;i<mix.length;i++) {
+			mix[i] = ByteBuffer.allocateDirect(300);
+			MAVLinkMessageFactory.getMessage(TELEMETRY[i], 1, 1, zeroPayload()).encodeTo(mix[i], i);
+			mix[i].flip();
+		}
+
+		benchmark("proxy", () -> {
+			for(int i=0;i<mix.length;i++) {
+				mix[i].position(0);
+				proxy.received(TELEMETRY[i], mix[i]);
+			}
+			return mix.length;
+		});
+		proxy.close(); peer.close();
+		System.out.println(String.format("%-22s %14d bytes received by client", "", received[0]));
+	}
+
+	private boolean isSelected(String name) {
+		if(filter.length == 0)
+			return true;
+		for(String f : filter)
+			if(name.startsWith(f))
+				return true;
+		return false;
+	}
+
+	/**
+	 * @return one instance of every msgId known by the factory
+	 */
+	private static MAVLinkMessage[] createMessages() {
+		List<MAVLinkMessage> list = new ArrayList<MAVLinkMessage>();
+		for(int msgId=0;msgId<IMAVLinkCRC.MAVLINK_MESSAGE_LENGTHS.length;msgId++) {
+			if(IMAVLinkCRC.MAVLINK_MESSAGE_LENGTHS[msgId] == 0)
+				continue;
+			MAVLinkMessage msg = MAVLinkMessageFactory.getMessage(msgId, 1, 1, zeroPayload());
+			if(msg != null)
+				list.add(msg);
+		}
+		return list.toArray(new MAVLinkMessage[0]);
+	}
+
+	/**
+	 * @return random payloads for the messages, zero padded to the maximum payload size
+	 */
+	private ByteBuffer[] createPayloads(MAVLinkMessage[] messages) {
+		ByteBuffer[] payloads = new ByteBuffer[messages.length];
+		for(int i=0;i<messages.length;i++) {
+			byte[] data = new byte[256];
+			for(int j=0;j<IMAVLinkCRC.MAVLINK_MESSAGE_LENGTHS[messages[i].messageType] && j < data.length;j++)
+				data[j] = (byte)random.nextInt(256);
+			payloads[i] = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		return payloads;
+	}
+
+	private static ByteBuffer zeroPayload() {
+		return ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * @return the stream with random bytes between frames and one corrupted byte in 1% of the frames
+	 */
+	private byte[] noisy(byte[] clean) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(clean.length * 2);
+		int[] spans = frameSpans(clean);
+		for(int f=0;f<spans[0];f++) {
+			int start = spans[f*2+1] - 1, len = spans[f*2+2] + 3;
+			byte[] frame = new byte[len];
+			System.arraycopy(clean, start, frame, 0, len);
+			if(random.nextInt(100) == 0)
+				frame[random.nextInt(len)] ^= 0x55;
+			out.write(frame, 0, len);
+			for(int n=random.nextInt(8);n>0;n--)
+				out.write(random.nextInt(256));
+		}
+		return out.toByteArray();
+	}
+
+	private byte[] synthesize(int size) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+		int seq = 0;
+		while(out.size() < size) {
+			for(int msgId : TELEMETRY) {
+				MAVLinkMessage msg = MAVLinkMessageFactory.getMessage(msgId, 1, 1, zeroPayload());
+				msg.packet = seq++ & 0x00FF;
+				out.write(msg.encode());
+			}
+		}
+		return out.toByteArray();
+	}
+
+	private static int countFrames(byte[] stream) {
+		return frameSpans(stream)[0];
+	}
+
+	/**
+	 * Returns the CRC span (offset,length) of each unsigned MAVLink V2 frame found in the
+	 * stream; index 0 holds the number of frames
+	 */
+	private static int[] frameSpans(byte[] stream) {
+		int[] spans = new int[stream.length / 6 + 1]; int count = 0; int i = 0;
+		while(i < stream.length - 1) {
+			int len = stream[i+1] & 0x00FF;
+			if(stream[i]==(byte)0xFD && i + len + 12 <= stream.length) {
+				spans[count*2+1] = i + 1;
+				spans[count*2+2] = len + 9;
+				count++;
+				i += len + 12;
+			} else
+				i++;
+		}
+		spans[0] = count;
+		return spans;
+	}
+
+	/**
+	 * @return a disconnected comm which ignores all writes
+	 */
+	private static IMAVComm createComm() {
+		return (IMAVComm)Proxy.newProxyInstance(IMAVComm.class.getClassLoader(), new Class<?>[] { IMAVComm.class },
+				(proxy, method, args) -> {
+					Class<?> type = method.getReturnType();
+					if(type == boolean.class) return false;
+					if(type == int.class)     return 0;
+					return null;
+				});
+	}
+}
@@ -0,0 +1,153 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.main;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.mavlink.MAVLinkCRC;
+import org.mavlink.messages.MAVLinkMessage;
+import org.mavlink.messages.lquac.msg_attitude;
+import org.mavlink.messages.lquac.msg_heartbeat;
+import org.mavlink.messages.lquac.msg_highres_imu;
+import org.mavlink.messages.lquac.msg_local_position_ned;
+import org.mavlink.messages.lquac.msg_statustext;
+
+/**
+ * Compares the bitwise X.25 CRC with the table driven per byte and bulk variants.
+ * Usage: MAVLinkCRCBenchmark [captured raw MAVLink stream]
+ * Without a capture a synthetic PX4 like stream is used.
+ */
+public class MAVLinkCRCBenchmark {
+
+	private static final int RUNS = 20;
+
+	public static void main(String[] args) throws IOException {
+
+		byte[] stream = args.length > 0 ? Files.readAllBytes(Paths.get(args[0])) : synthesize(1000000);
+		int[]  spans  = frameSpans(stream);
+
+		System.out.println("Stream: "+stream.length+" bytes, "+spans[0]+" frames");
+
+		for(int i=0;i<5;i++) {
+			bitwise(stream,spans); perByte(stream,spans); bulk(stream,spans);
+		}
+
+		long t_bitwise = 0, t_byte = 0, t_bulk = 0; long tms; int c1=0, c2=0, c3=0;
+		for(int i=0;i<RUNS;i++) {
+			tms = System.nanoTime(); c1 = bitwise(stream,spans); t_bitwise += System.nanoTime() - tms;
+			tms = System.nanoTime(); c2 = perByte(stream,spans); t_byte    += System.nanoTime() - tms;
+			tms = System.nanoTime(); c3 = bulk(stream,spans);    t_bulk    += System.nanoTime() - tms;
+		}
+
+		if(c1!=c2 || c1!=c3)
+			System.err.println("CRC mismatch: "+c1+" "+c2+" "+c3);
+
+		System.out.println("Bitwise    : "+rate(stream.length, t_bitwise)+" MB/s");
+		System.out.println("Table/byte : "+rate(stream.length, t_byte)+" MB/s");
+		System.out.println("Table/bulk : "+rate(stream.length, t_bulk)+" MB/s");
+	}
+
+	private static int bitwise(byte[] stream, int[] spans) {
+		int sum = 0;
+		for(int f=0;f<spans[0];f++) {
+			int crc = MAVLinkCRC.crc_init();
+			int off = spans[f*2+1], end = off + spans[f*2+2];
+			for(int i=off;i<end;i++)
+				crc = MAVLinkCRC.crc_accumulate_bitwise(stream[i], crc);
+			sum ^= crc;
+		}
+		return sum;
+	}
+
+	private static int perByte(byte[] stream, int[] spans) {
+		int sum = 0;
+		for(int f=0;f<spans[0];f++) {
+			int crc = MAVLinkCRC.crc_init();
+			int off = spans[f*2+1], end = off + spans[f*2+2];
+			for(int i=off;i<end;i++)
+				crc = MAVLinkCRC.crc_accumulate(stream[i], crc);
+			sum ^= crc;
+		}
+		return sum;
+	}
+
+	private static int bulk(byte[] stream, int[] spans) {
+		int sum = 0;
+		for(int f=0;f<spans[0];f++)
+			sum ^= MAVLinkCRC.crc_accumulate(stream, spans[f*2+1], spans[f*2+2], MAVLinkCRC.crc_init());
+		return sum;
+	}
+
+	/**
+	 * Returns the CRC span (offset,length) of each MAVLink V2 frame found in the stream;
+	 * index 0 holds the number of frames
+	 */
+	private static int[] frameSpans(byte[] stream) {
+		int[] spans = new int[stream.length / 6 + 1]; int count = 0; int i = 0;
+		while(i < stream.length - 1) {
+			int len = stream[i+1] & 0x00FF;
+			if(stream[i]==(byte)0xFD && i + len + 12 <= stream.length) {
+				spans[count*2+1] = i + 1;
+				spans[count*2+2] = len + 9;
+				count++;
+				i += len + 12;
+			} else
+				i++;
+		}
+		spans[0] = count;
+		return spans;
+	}
+
+	private static byte[] synthesize(int size) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+		MAVLinkMessage[] mix = { new msg_highres_imu(1,1), new msg_attitude(1,1), new msg_local_position_ned(1,1),
+				new msg_highres_imu(1,1), new msg_attitude(1,1), new msg_heartbeat(1,1), new msg_statustext(1,1) };
+		int seq = 0;
+		while(out.size() < size) {
+			for(MAVLinkMessage msg : mix) {
+				msg.packet = seq++ & 0x00FF;
+				out.write(msg.encode());
+			}
+		}
+		return out.toByteArray();
+	}
+
+	private static String rate(int bytes, long ns) {
+		return String.format("%.1f", (double)bytes * RUNS / ns * 1000.0);
+	}
+}
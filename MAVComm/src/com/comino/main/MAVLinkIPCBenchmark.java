@@ -0,0 +1,297 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.main;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+import org.mavlink.messages.lquac.msg_command_long;
+
+import com.comino.mav.comm.IMAVComm;
+import com.comino.mav.comm.proxy.MAVUdpProxyNIO3;
+import com.comino.mav.comm.udp.MAVUdpCommNIO3;
+import com.comino.mav.comm.unix.MAVUnixComm;
+import com.comino.mav.comm.unix.MAVUnixProxyEndpoint;
+import com.comino.mav.mavlink.MAVLinkReader;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
+import com.comino.msp.model.DataModel;
+
+/**
+ * Round trip latency of a MAVLink frame between a client process and the proxy on the same
+ * board: MAVUdpCommNIO3 to MAVUdpProxyNIO3 and MAVUnixComm to MAVUnixProxyEndpoint. The proxy
+ * forwards the frame to the vehicle link, which returns it through the proxy to the framer of
+ * the client. The bare UDP and AF_UNIX socket echoes are measured as baseline.
+ * Usage: MAVLinkIPCBenchmark [round trips]
+ */
+public class MAVLinkIPCBenchmark {
+
+	private static final int  WARMUP     = 5000;
+	private static final long TIMEOUT_NS = 100_000_000L;
+
+	public static void main(String[] args) throws Exception {
+
+		int runs = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+
+		msg_command_long cmd = new msg_command_long(255,1);
+		cmd.command = 400; cmd.target_system = 1;
+		byte[] frame = cmd.encode();
+
+		System.out.println("Frame: "+frame.length+" bytes, "+runs+" round trips");
+
+		// UDP loopback
+		DatagramChannel udp_a = DatagramChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+		DatagramChannel udp_b = DatagramChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+		udp_a.connect(udp_b.getLocalAddress());
+		udp_b.connect(udp_a.getLocalAddress());
+		print("UDP socket       ", measure(udp_a, udp_b, frame, runs), 0);
+		udp_a.close(); udp_b.close();
+
+		// AF_UNIX stream
+		Path path = tempPath();
+		ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		server.bind(UnixDomainSocketAddress.of(path));
+		SocketChannel unix_a = SocketChannel.open(StandardProtocolFamily.UNIX);
+		unix_a.connect(UnixDomainSocketAddress.of(path));
+		SocketChannel unix_b = server.accept();
+		print("AF_UNIX socket   ", measure(unix_a, unix_b, frame, runs), 0);
+		unix_a.close(); unix_b.close(); server.close();
+		Files.deleteIfExists(path);
+
+		// UDP client and proxy
+		final Vehicle vehicle = new Vehicle();
+		final int proxy_port = freePort(), client_port = freePort();
+		MAVUdpProxyNIO3 proxy = new MAVUdpProxyNIO3("127.0.0.1", client_port, "127.0.0.1", proxy_port, vehicle.comm);
+		vehicle.downlink = proxy;
+		proxy.open();
+		MAVUdpCommNIO3 udp = MAVUdpCommNIO3.getInstance(new DataModel(), "127.0.0.1", proxy_port, client_port);
+		udp.open();
+		measure("MAVUdpCommNIO3   ", udp, frame, runs);
+		udp.close(); proxy.close();
+
+		// AF_UNIX client and proxy endpoint
+		path = tempPath();
+		MAVUnixProxyEndpoint endpoint = new MAVUnixProxyEndpoint(path.toString(), vehicle.comm);
+		vehicle.downlink = endpoint;
+		endpoint.open();
+		MAVUnixComm unix = MAVUnixComm.getInstance(new DataModel(), path.toString());
+		unix.open();
+		measure("MAVUnixComm      ", unix, frame, runs);
+		unix.close(); endpoint.close();
+		System.exit(0);
+	}
+
+	/**
+	 * Sends the frame through the client comm and waits until its framer received it back
+	 */
+	private static void measure(String name, IMAVComm client, byte[] frame, int runs) {
+		final int msgId = MAVLinkReader.getMessageId(ByteBuffer.wrap(frame));
+		final Thread waiting = Thread.currentThread();
+		final long[] echoed = new long[1];
+		client.setMAVLinkFrameListener(new IMAVLinkFrameListener() {
+			@Override
+			public void received(int id, ByteBuffer f) {
+				if(id != msgId)
+					return;
+				synchronized(echoed) {
+					echoed[0]++;
+				}
+				LockSupport.unpark(waiting);
+			}
+		});
+
+		final ByteBuffer tx = ByteBuffer.allocateDirect(frame.length);
+		tx.put(frame);
+
+		long[] rtt = new long[runs]; int count = 0, lost = 0; long tms, expected;
+		for(int i=0;i<runs+WARMUP;i++) {
+			synchronized(echoed) {
+				expected = echoed[0] + 1;
+			}
+			tx.flip();
+			tms = System.nanoTime();
+			try {
+				client.writeFrame(tx);
+			} catch(IOException e) {
+				System.err.println(name+": "+e.getMessage());
+				return;
+			}
+			tx.limit(frame.length);
+			if(!await(echoed, expected, tms + TIMEOUT_NS)) {
+				lost++;
+				continue;
+			}
+			if(i >= WARMUP)
+				rtt[count++] = System.nanoTime() - tms;
+		}
+		client.setMAVLinkFrameListener(null);
+		rtt = Arrays.copyOf(rtt, count);
+		Arrays.sort(rtt);
+		print(name, rtt, lost);
+	}
+
+	private static boolean await(long[] echoed, long expected, long deadline) {
+		while(true) {
+			synchronized(echoed) {
+				if(echoed[0] >= expected)
+					return true;
+			}
+			final long now = System.nanoTime();
+			if(now >= deadline)
+				return false;
+			LockSupport.parkNanos(deadline - now);
+		}
+	}
+
+	/**
+	 * Sends the frame from a to b and back, b echoes in its own thread
+	 * @return sorted round trip times in ns
+	 */
+	private static long[] measure(ByteChannel a, ByteChannel b, byte[] frame, int runs) throws Exception {
+		final int len = frame.length;
+		final int total = runs + WARMUP;
+
+		Thread echo = new Thread(() -> {
+			ByteBuffer buf = ByteBuffer.allocateDirect(len);
+			try {
+				for(int i=0;i<total;i++) {
+					buf.clear();
+					readFully(b, buf);
+					buf.flip();
+					while(buf.hasRemaining())
+						b.write(buf);
+				}
+			} catch(IOException e) {
+				e.printStackTrace();
+			}
+		});
+		echo.setName("Echo");
+		echo.start();
+
+		ByteBuffer tx = ByteBuffer.allocateDirect(len);
+		ByteBuffer rx = ByteBuffer.allocateDirect(len);
+		tx.put(frame);
+
+		long[] rtt = new long[runs]; long tms;
+		for(int i=0;i<total;i++) {
+			tx.flip(); rx.clear();
+			tms = System.nanoTime();
+			while(tx.hasRemaining())
+				a.write(tx);
+			readFully(a, rx);
+			if(i >= WARMUP)
+				rtt[i-WARMUP] = System.nanoTime() - tms;
+			tx.limit(len);
+		}
+		echo.join();
+		Arrays.sort(rtt);
+		return rtt;
+	}
+
+	private static void readFully(ByteChannel channel, ByteBuffer buf) throws IOException {
+		while(buf.hasRemaining())
+			if(channel.read(buf) < 0)
+				throw new IOException("Channel closed");
+	}
+
+	private static void print(String name, long[] rtt, int lost) {
+		if(rtt.length == 0) {
+			System.out.println(name+": no frame returned");
+			return;
+		}
+		double sum = 0, sq = 0;
+		for(long t : rtt) {
+			sum += t; sq += (double)t * t;
+		}
+		double mean = sum / rtt.length;
+		double sd   = Math.sqrt(sq / rtt.length - mean * mean);
+		System.out.println(String.format("%s: mean=%.1fus sd=%.1fus p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus lost=%d",
+				name, mean/1000, sd/1000, percentile(rtt, 0.5), percentile(rtt, 0.99), percentile(rtt, 0.999),
+				rtt[rtt.length-1]/1000f, lost));
+	}
+
+	private static Path tempPath() throws IOException {
+		Path path = Files.createTempFile("mavipc", ".sock");
+		Files.deleteIfExists(path);
+		return path;
+	}
+
+	private static int freePort() throws IOException {
+		try (DatagramChannel channel = DatagramChannel.open().bind(new InetSocketAddress("127.0.0.1", 0))) {
+			return ((InetSocketAddress)channel.getLocalAddress()).getPort();
+		}
+	}
+
+	/**
+	 * Vehicle link of the proxy which returns every frame through the downlink of the proxy
+	 */
+	private static final class Vehicle {
+
+		volatile IMAVLinkFrameListener downlink;
+
+		final IMAVComm comm = (IMAVComm)Proxy.newProxyInstance(IMAVComm.class.getClassLoader(), new Class<?>[] { IMAVComm.class },
+				(proxy, method, args) -> {
+					switch(method.getName()) {
+					case "isConnected":
+						return true;
+					case "writeFrame":
+						final ByteBuffer frame = (ByteBuffer)args[0];
+						final int position = frame.position();
+						downlink.received(MAVLinkReader.getMessageId(frame), frame);
+						frame.position(position);
+						return null;
+					}
+					Class<?> type = method.getReturnType();
+					if(type == boolean.class) return false;
+					if(type == int.class)     return 0;
+					return null;
+				});
+	}
+
+	private static float percentile(long[] sorted, double p) {
+		return sorted[Math.min(sorted.length-1, (int)(sorted.length * p))] / 1000f;
+	}
+}
@@ -0,0 +1,211 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+package com.comino.main;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import org.mavlink.messages.lquac.msg_command_long;
+import org.mavlink.messages.lquac.msg_heartbeat;
+
+import com.comino.mav.comm.serial.MAVSerialCommNative;
+import com.comino.mav.mavlink.MAVLinkMessageStore;
+import com.comino.msp.model.DataModel;
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+
+/**
+ * Checks MAVSerialCommNative against a pty pair without hardware: frames written to the master
+ * are decoded, messages written by the link arrive at the master byte identical, close() stops
+ * the reader within its timeout and the link can be opened again. Exits with 1 on failure.
+ * Needs libAMA0.so (ant build_native) in the JNA library path, e.g. -Djna.library.path=dis
+ * Usage: MAVSerialLoopbackCheck [-n frames]
+ */
+public class MAVSerialLoopbackCheck {
+
+	public interface CLibrary extends Library {
+		public int    posix_openpt(int flags);
+		public int    grantpt(int fd);
+		public int    unlockpt(int fd);
+		public String ptsname(int fd);
+		public int    fcntl(int fd, int cmd, int arg);
+		public int    read(int fd, byte[] buf, int length);
+		public int    write(int fd, byte[] buf, int length);
+		public int    close(int fd);
+	}
+
+	private static final int O_RDWR     = 0x0002;
+	private static final int O_NOCTTY   = 0x0100;
+	private static final int O_NONBLOCK = 0x0800;
+	private static final int F_SETFL    = 4;
+
+	private static final int  RATE            = 115200;
+	private static final long TIMEOUT_MS      = 2000;
+	private static final long MAX_CLOSE_MS    = 500;
+
+	private final CLibrary            libc = (CLibrary)Native.loadLibrary("c", CLibrary.class);
+	private final int                 master;
+	private final MAVSerialCommNative comm;
+
+	private boolean ok = true;
+
+
+	public static void main(String[] args) throws Exception {
+		int frames = 100;
+		for(int i=0;i+1<args.length;i+=2) {
+			switch(args[i]) {
+			case "-n": frames = Integer.parseInt(args[i+1]); break;
+			default:
+				System.err.println("Unknown option "+args[i]);
+			}
+		}
+		MAVSerialLoopbackCheck check = new MAVSerialLoopbackCheck();
+		check.run(frames);
+		System.out.println(check.ok ? "Serial loopback OK" : "Serial loopback FAILED");
+		System.exit(check.ok ? 0 : 1);
+	}
+
+	public MAVSerialLoopbackCheck() {
+		master = libc.posix_openpt(O_RDWR | O_NOCTTY);
+		if(master < 0 || libc.grantpt(master) != 0 || libc.unlockpt(master) != 0)
+			throw new IllegalStateException("No pty available");
+		libc.fcntl(master, F_SETFL, O_NONBLOCK);
+		final String slave = libc.ptsname(master);
+		System.out.println("pty: "+slave);
+		comm = MAVSerialCommNative.getInstance(new DataModel(), slave, RATE);
+	}
+
+	public void run(int frames) throws InterruptedException {
+		check("open", comm.open());
+		receive(frames, 1);
+		transmit();
+
+		final long start = System.currentTimeMillis();
+		comm.close();
+		final long close_ms = System.currentTimeMillis() - start;
+		check("close in "+close_ms+"ms", close_ms <= MAX_CLOSE_MS && !isReaderAlive());
+
+		check("reopen", comm.open());
+		receive(frames, frames + 1);
+		transmit();
+		comm.close();
+		libc.close(master);
+	}
+
+	/**
+	 * Writes heartbeats into the master and waits until the link decoded all of them
+	 */
+	private void receive(int frames, int first) throws InterruptedException {
+		final MAVLinkMessageStore store = comm.getMessageStore();
+		final MAVLinkMessageStore.Entry entry = new MAVLinkMessageStore.Entry();
+		store.get(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, entry);
+		final long version = entry.version;
+
+		msg_heartbeat hb = new msg_heartbeat(1, 1);
+		ByteBuffer buf = ByteBuffer.allocate(300).order(ByteOrder.LITTLE_ENDIAN);
+		byte[] frame = new byte[300];
+		for(int i=0;i<frames;i++) {
+			hb.custom_mode = first + i;
+			buf.clear();
+			final int len = hb.encodeTo(buf, i & 0xFF);
+			buf.flip(); buf.get(frame, 0, len);
+			if(libc.write(master, frame, len) != len)
+				check("write to master", false);
+		}
+
+		final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		while(entry.version < version + frames && System.currentTimeMillis() < deadline)
+			store.awaitNewer(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, entry.version, TIMEOUT_MS, entry);
+		final long last = entry.msg != null ? ((msg_heartbeat)entry.msg).custom_mode : -1;
+		check("received "+(entry.version - version)+"/"+frames+" last="+last,
+				entry.version == version + frames && last == first + frames - 1);
+	}
+
+	/**
+	 * Writes a command through the link and compares the bytes arriving at the master
+	 */
+	private void transmit() throws InterruptedException {
+		msg_command_long cmd = new msg_command_long(255, 1);
+		cmd.command = 400; cmd.target_system = 1; cmd.param1 = 1;
+		ByteBuffer buf = ByteBuffer.allocate(300).order(ByteOrder.LITTLE_ENDIAN);
+		final int len = cmd.encodeTo(buf, cmd.packet);
+		final byte[] expected = Arrays.copyOf(buf.array(), len);
+
+		try {
+			comm.write(cmd);
+		} catch(Exception e) {
+			check("write: "+e.getMessage(), false);
+			return;
+		}
+
+		// the master may also see other frames of the link, so the command is searched in the stream
+		final byte[] received = new byte[4096];
+		final byte[] tmp = new byte[512];
+		int count = 0, n; boolean found = false;
+		final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		while(!found && count < received.length && System.currentTimeMillis() < deadline) {
+			n = libc.read(master, tmp, Math.min(tmp.length, received.length - count));
+			if(n > 0) {
+				System.arraycopy(tmp, 0, received, count, n);
+				count += n;
+				found = indexOf(received, count, expected) >= 0;
+			} else
+				Thread.sleep(1);
+		}
+		check("transmitted command ("+len+" bytes)", found);
+	}
+
+	private static int indexOf(byte[] data, int length, byte[] pattern) {
+		for(int i=0;i+pattern.length<=length;i++) {
+			int j=0;
+			while(j<pattern.length && data[i+j]==pattern[j]) j++;
+			if(j==pattern.length)
+				return i;
+		}
+		return -1;
+	}
+
+	private boolean isReaderAlive() {
+		for(Thread t : Thread.getAllStackTraces().keySet())
+			if(t.getName().equals("Serial native reader") && t.isAlive())
+				return true;
+		return false;
+	}
+
+	private void check(String what, boolean passed) {
+		System.out.println((passed ? "OK      " : "FAILED  ")+what);
+		ok &= passed;
+	}
+}
@@ -51,6 +51,7 @@ import org.mavlink.messages.lquac.msg_timesync;
 import com.comino.mav.control.IMAVMSPController;
 import com.comino.mav.control.impl.MAVController;
 import com.comino.mav.control.impl.MAVProxyController;
+import com.comino.mav.mavlink.MAVLinkStats;
 import com.comino.msp.execution.autopilot.Autopilot2D;
 import com.comino.msp.execution.commander.MSPCommander;
 import com.comino.msp.execution.control.listener.IMAVLinkListener;
@@ -177,6 +178,15 @@ public class StartUp implements Runnable {
 				msg.autopilot_mode =control.getCurrentModel().sys.autopilot;
 				msg.memory = (int)(mxBean.getHeapMemoryUsage().getUsed() * 100 /mxBean.getHeapMemoryUsage().getMax());
 				msg.com_error = control.getErrorCount();
+				MAVLinkStats stats = control.getLinkStats();
+				if(stats != null) {
+					msg.com_bad_crc    = stats.getBadCRC();
+					msg.com_bad_length = stats.getBadLength();
+					msg.com_unknown_id = stats.getUnknownId();
+					msg.com_seq_lost   = stats.getLost();
+					msg.com_rx_rate    = Math.min((int)stats.getFrameRate(), 0xFFFF);
+					msg.com_rx_bytes   = (long)stats.getByteRate();
+				}
 				msg.uptime_ms = System.currentTimeMillis() - tms;
 				msg.status = control.getCurrentModel().sys.getStatus();
 				msg.setVersion(config.getVersion());
@@ -35,11 +35,16 @@
 package com.comino.mav.comm;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 import org.mavlink.messages.MAVLinkMessage;
 
 import com.comino.mav.control.IMAVCmdAcknowledge;
+import com.comino.mav.mavlink.MAVLinkDeduplicator;
+import com.comino.mav.mavlink.MAVLinkMessageStore;
+import com.comino.mav.mavlink.MAVLinkStats;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
 import com.comino.msp.execution.control.listener.IMAVLinkListener;
 import com.comino.msp.execution.control.listener.IMAVMessageListener;
 import com.comino.msp.model.DataModel;
@@ -53,12 +58,34 @@ public interface IMAVComm {
 
 	public Map<Class<?>,MAVLinkMessage> getMavLinkMessageMap();
 
+	public MAVLinkMessageStore getMessageStore();
+
 	void close();
 
 	void write(MAVLinkMessage msg) throws IOException;
 
+	/**
+	 * Writes an encoded frame as is
+	 */
+	void writeFrame(ByteBuffer frame) throws IOException;
+
 	public void addMAVLinkListener(IMAVLinkListener listener);
 
+	/**
+	 * Registers a listener for the raw bytes of all received valid frames
+	 */
+	public default void setMAVLinkFrameListener(IMAVLinkFrameListener listener) {
+		System.err.println(getClass().getSimpleName()+" does not support frame listeners");
+	}
+
+	/**
+	 * Drops frames already received on another link to the same vehicle
+	 * @param link index of this link within the redundant group
+	 */
+	public default void setDeduplicator(MAVLinkDeduplicator deduplicator, int link) {
+		System.err.println(getClass().getSimpleName()+" does not support redundant links");
+	}
+
 	public void addMAVMessageListener(IMAVMessageListener listener);
 
 	public void setCmdAcknowledgeListener(IMAVCmdAcknowledge ack);
@@ -69,6 +96,13 @@ public interface IMAVComm {
 
 	public int getErrorCount();
 
+	/**
+	 * @return receive statistics of the link or null if not supported by the transport
+	 */
+	public default MAVLinkStats getLinkStats() {
+		return null;
+	}
+
 	public void writeMessage(LogMessage m);
 
 
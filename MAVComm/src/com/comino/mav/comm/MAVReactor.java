@@ -0,0 +1,269 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.comino.main.MSPConfig;
+
+/**
+ * Single selector thread multiplexing the channels of all links. Handlers are called in
+ * the reactor thread and must not block.
+ */
+public class MAVReactor implements Runnable {
+
+	public interface IHandler {
+		/**
+		 * Called when the channel of the key is ready for one of its interest ops
+		 */
+		public void ready(SelectionKey key) throws IOException;
+
+		/**
+		 * Called after each select, at least every tick
+		 */
+		public void tick(long now_ms);
+	}
+
+	public static final int DEFAULT_TICK_MS = 5;
+
+	private static MAVReactor reactor = null;
+
+	private final Selector selector;
+	private final Thread   thread;
+	private final long     tick_ms;
+
+	private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+	private volatile IHandler[] handlers = new IHandler[0];
+
+	// time from select returning to all ready handlers done
+	private long loops = 0;
+	private long events = 0;
+	private long handle_ns = 0;
+	private long max_handle_ns = 0;
+
+	/**
+	 * @return true if the links should share the reactor (config: reactor)
+	 */
+	public static boolean isEnabled() {
+		MSPConfig config = MSPConfig.getInstance();
+		return config != null && config.getBoolProperty("reactor", "false");
+	}
+
+	public static synchronized MAVReactor getInstance() {
+		if(reactor == null) {
+			MSPConfig config = MSPConfig.getInstance();
+			try {
+				reactor = new MAVReactor(config == null ? DEFAULT_TICK_MS
+						: config.getIntProperty("reactor_tick_ms", String.valueOf(DEFAULT_TICK_MS)));
+			} catch (IOException e) {
+				throw new IllegalStateException("Reactor: "+e.getMessage());
+			}
+		}
+		return reactor;
+	}
+
+	private MAVReactor(long tick_ms) throws IOException {
+		this.tick_ms  = tick_ms;
+		this.selector = Selector.open();
+		this.thread   = new Thread(this);
+		thread.setName("MAVLink reactor");
+		thread.setDaemon(true);
+		thread.start();
+		System.out.println("MAVLink reactor started with tick "+tick_ms+"ms");
+	}
+
+	/**
+	 * Registers a non-blocking channel. Can be called from any thread.
+	 */
+	public SelectionKey register(SelectableChannel channel, int ops, IHandler handler) throws IOException {
+		if(Thread.currentThread() == thread) {
+			addHandler(handler);
+			return channel.register(selector, ops, handler);
+		}
+		CompletableFuture<SelectionKey> key = new CompletableFuture<SelectionKey>();
+		execute(() -> {
+			try {
+				addHandler(handler);
+				key.complete(channel.register(selector, ops, handler));
+			} catch (Exception e) {
+				key.completeExceptionally(e);
+			}
+		});
+		try {
+			return key.get();
+		} catch (Exception e) {
+			throw new IOException("Reactor: registration failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Cancels the key and removes its handler from the tick list
+	 */
+	public void unregister(SelectionKey key) {
+		if(key == null)
+			return;
+		key.cancel();
+		removeHandler((IHandler)key.attachment());
+		selector.wakeup();
+	}
+
+	/**
+	 * Runs the task in the reactor thread
+	 */
+	public void execute(Runnable task) {
+		tasks.add(task);
+		selector.wakeup();
+	}
+
+	public void wakeup() {
+		selector.wakeup();
+	}
+
+	public boolean isReactorThread() {
+		return Thread.currentThread() == thread;
+	}
+
+	@Override
+	public void run() {
+		SelectionKey key = null;
+		Iterator<SelectionKey> selectedKeys = null;
+		long tick_next = 0;
+
+		while(true) {
+			try {
+				Runnable task;
+				while((task = tasks.poll()) != null)
+					task.run();
+
+				int n = selector.select(tick_ms);
+
+				if(n > 0) {
+					final long start = System.nanoTime();
+					selectedKeys = selector.selectedKeys().iterator();
+					while (selectedKeys.hasNext()) {
+						key = selectedKeys.next();
+						selectedKeys.remove();
+						if (!key.isValid())
+							continue;
+						try {
+							((IHandler)key.attachment()).ready(key);
+						} catch(Exception e) {
+							System.err.println("Reactor: "+e.getMessage());
+						}
+						events++;
+					}
+					final long dt = System.nanoTime() - start;
+					handle_ns += dt; loops++;
+					if(dt > max_handle_ns)
+						max_handle_ns = dt;
+				}
+
+				final long now = System.currentTimeMillis();
+				if(n == 0 || now >= tick_next) {
+					tick_next = now + tick_ms;
+					for(IHandler handler : handlers) {
+						try {
+							handler.tick(now);
+						} catch(Exception e) {
+							System.err.println("Reactor: "+e.getMessage());
+						}
+					}
+				}
+			} catch(ClosedSelectorException e) {
+				return;
+			} catch(Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private synchronized void addHandler(IHandler handler) {
+		for(IHandler h : handlers)
+			if(h == handler)
+				return;
+		IHandler[] list = Arrays.copyOf(handlers, handlers.length+1);
+		list[handlers.length] = handler;
+		handlers = list;
+	}
+
+	private synchronized void removeHandler(IHandler handler) {
+		for(int i=0;i<handlers.length;i++) {
+			if(handlers[i] == handler) {
+				IHandler[] list = new IHandler[handlers.length-1];
+				System.arraycopy(handlers, 0, list, 0, i);
+				System.arraycopy(handlers, i+1, list, i, handlers.length-i-1);
+				handlers = list;
+				return;
+			}
+		}
+	}
+
+	public int getChannelCount() {
+		return selector.keys().size();
+	}
+
+	public long getEvents() {
+		return events;
+	}
+
+	/**
+	 * @return average time in us to handle the ready channels of one select
+	 */
+	public float getAverageHandle_us() {
+		return loops == 0 ? 0 : handle_ns / loops / 1000f;
+	}
+
+	public float getMaxHandle_us() {
+		return max_handle_ns / 1000f;
+	}
+
+	public void resetStatistics() {
+		loops = 0; events = 0; handle_ns = 0; max_handle_ns = 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Reactor: channels=%d events=%d handle=%.1fus max=%.1fus", getChannelCount(), events,
+				getAverageHandle_us(), getMaxHandle_us());
+	}
+}
@@ -0,0 +1,240 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.mavlink.messages.MAVLinkMessage;
+
+import com.comino.main.MSPConfig;
+import com.comino.mav.control.IMAVCmdAcknowledge;
+import com.comino.mav.mavlink.MAVLinkDeduplicator;
+import com.comino.mav.mavlink.MAVLinkMessageStore;
+import com.comino.mav.mavlink.MAVLinkStats;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
+import com.comino.msp.execution.control.listener.IMAVLinkListener;
+import com.comino.msp.execution.control.listener.IMAVMessageListener;
+import com.comino.msp.model.DataModel;
+import com.comino.msp.model.segment.LogMessage;
+
+/**
+ * Several links to the same vehicle used at the same time. The links must share one
+ * DataModel. Frames received on more than one link are dropped before decoding, so each
+ * message is parsed once by the link which received it first. Messages are sent over the
+ * active link, which is replaced by the most recently receiving link as soon as it was
+ * silent for link_failover_ms (default 50).
+ */
+public class MAVRedundantComm implements IMAVComm {
+
+	public static final long DEFAULT_FAILOVER_MS = 50;
+
+	private final IMAVComm[]          links;
+	private final MAVLinkDeduplicator deduplicator;
+	private final MAVLinkMessageStore store = new MAVLinkMessageStore();
+	private final long                failover_ms;
+
+	private volatile int active = 0;
+	private long failovers = 0;
+
+
+	public MAVRedundantComm(IMAVComm... links) {
+		if(links.length == 0 || links.length > MAVLinkDeduplicator.MAX_LINKS)
+			throw new IllegalArgumentException("1.."+MAVLinkDeduplicator.MAX_LINKS+" links supported");
+		this.links        = links;
+		this.deduplicator = new MAVLinkDeduplicator();
+
+		MSPConfig config = MSPConfig.getInstance();
+		this.failover_ms = config == null ? DEFAULT_FAILOVER_MS
+				: config.getIntProperty("link_failover_ms", String.valueOf(DEFAULT_FAILOVER_MS));
+
+		for(int i=0;i<links.length;i++) {
+			links[i].setDeduplicator(deduplicator, i);
+			links[i].getMessageStore().setMirror(store);
+		}
+		System.out.println("Redundant links: "+links.length+" failover after "+failover_ms+"ms");
+	}
+
+	/**
+	 * @return the link used for sending. Switches to the most recently receiving link if
+	 * the active one is silent.
+	 */
+	public IMAVComm getActiveLink() {
+		int current = active;
+		if(links[current].isConnected() && deduplicator.getSilence_ms(current) <= failover_ms)
+			return links[current];
+
+		int best = current; long silence = Long.MAX_VALUE;
+		for(int i=0;i<links.length;i++) {
+			if(!links[i].isConnected())
+				continue;
+			long s = deduplicator.getSilence_ms(i);
+			if(s < silence) {
+				silence = s; best = i;
+			}
+		}
+		if(best != current) {
+			synchronized(this) {
+				if(active == current) {
+					active = best;
+					failovers++;
+					System.out.println("Link failover: "+current+" -> "+best);
+				}
+			}
+		}
+		return links[active];
+	}
+
+	public IMAVComm[] getLinks() {
+		return links;
+	}
+
+	public MAVLinkDeduplicator getDeduplicator() {
+		return deduplicator;
+	}
+
+	public synchronized long getFailovers() {
+		return failovers;
+	}
+
+	@Override
+	public boolean open() {
+		boolean open = false;
+		for(IMAVComm link : links)
+			open |= link.open();
+		return open;
+	}
+
+	@Override
+	public DataModel getModel() {
+		return links[0].getModel();
+	}
+
+	@Override
+	public Map<Class<?>, MAVLinkMessage> getMavLinkMessageMap() {
+		return store.toMap();
+	}
+
+	@Override
+	public MAVLinkMessageStore getMessageStore() {
+		return store;
+	}
+
+	@Override
+	public void close() {
+		for(IMAVComm link : links)
+			link.close();
+	}
+
+	@Override
+	public void write(MAVLinkMessage msg) throws IOException {
+		getActiveLink().write(msg);
+	}
+
+	@Override
+	public void writeFrame(ByteBuffer frame) throws IOException {
+		getActiveLink().writeFrame(frame);
+	}
+
+	@Override
+	public void addMAVLinkListener(IMAVLinkListener listener) {
+		for(IMAVComm link : links)
+			link.addMAVLinkListener(listener);
+	}
+
+	@Override
+	public void setMAVLinkFrameListener(IMAVLinkFrameListener listener) {
+		for(IMAVComm link : links)
+			link.setMAVLinkFrameListener(listener);
+	}
+
+	@Override
+	public void setDeduplicator(MAVLinkDeduplicator deduplicator, int link) {
+		System.err.println(this.getClass().getSimpleName()+" can not be part of another redundant group");
+	}
+
+	@Override
+	public void addMAVMessageListener(IMAVMessageListener listener) {
+		for(IMAVComm link : links)
+			link.addMAVMessageListener(listener);
+	}
+
+	@Override
+	public void setCmdAcknowledgeListener(IMAVCmdAcknowledge ack) {
+		for(IMAVComm link : links)
+			link.setCmdAcknowledgeListener(ack);
+	}
+
+	@Override
+	public boolean isConnected() {
+		for(IMAVComm link : links)
+			if(link.isConnected())
+				return true;
+		return false;
+	}
+
+	@Override
+	public boolean isSerial() {
+		return getActiveLink().isSerial();
+	}
+
+	@Override
+	public int getErrorCount() {
+		int errors = 0;
+		for(IMAVComm link : links)
+			errors += link.getErrorCount();
+		return errors;
+	}
+
+	@Override
+	public MAVLinkStats getLinkStats() {
+		return getActiveLink().getLinkStats();
+	}
+
+	@Override
+	public void writeMessage(LogMessage m) {
+		getActiveLink().writeMessage(m);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder b = new StringBuilder("Redundant links: active="+active+" failovers="+getFailovers());
+		for(int i=0;i<links.length;i++)
+			b.append(" [").append(i).append(": unique=").append(deduplicator.getUnique(i)).append(" dup=")
+			 .append(deduplicator.getDuplicates(i)).append(" silent=").append(deduplicator.getSilence_ms(i)).append("ms]");
+		return b.toString();
+	}
+}
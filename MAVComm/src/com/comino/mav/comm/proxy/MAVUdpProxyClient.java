@@ -0,0 +1,374 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm.proxy;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import org.mavlink.IMAVLinkCRC;
+
+import com.comino.mav.comm.udp.MAVUdpBatch;
+
+/**
+ * UDP client of the proxy with its msgId allow-list, per msgId rate limits, an optional
+ * batch packing several frames into one datagram, a bounded queue of datagrams which could
+ * not be sent immediately and send statistics.
+ */
+public class MAVUdpProxyClient {
+
+	private static final int MAX_FRAME_LEN = 280;
+	private static final int MAX_MSG_ID    = IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length;
+
+	private final SocketAddress address;
+	private final boolean       permanent;
+
+	// null: all msgIds are sent
+	private volatile long[]     allowed = null;
+
+	// rate limited msgIds keep the newest frame until the interval elapsed
+	private final long[]        interval_ns  = new long[MAX_MSG_ID];
+	private final long[]        last_sent_ns = new long[MAX_MSG_ID];
+	private final ByteBuffer[]  held         = new ByteBuffer[MAX_MSG_ID];
+	private final boolean[]     held_valid   = new boolean[MAX_MSG_ID];
+	private int                 held_count   = 0;
+	private boolean             rate_limited = false;
+
+	// null: each frame is sent as a datagram
+	private final MAVUdpBatch   batch;
+
+	private final ByteBuffer[]  pending;
+	private final int[]         pending_frames;
+	private int                 pending_head = 0;
+	private int                 pending_count = 0;
+
+	private volatile long last_seen_ms;
+
+	private long sent = 0;
+	private long dropped = 0;
+	private long decimated = 0;
+	private long received = 0;
+	private int  queue_hwm = 0;
+
+	private long  rate_tms = 0;
+	private long  rate_received = 0;
+	private long  rate_sent = 0;
+	private float in_rate = 0;
+	private float out_rate = 0;
+
+
+	public MAVUdpProxyClient(SocketAddress address, boolean permanent, int queueSize) {
+		this(address, permanent, queueSize, null);
+	}
+
+	public MAVUdpProxyClient(SocketAddress address, boolean permanent, int queueSize, MAVUdpBatch batch) {
+		this.address   = address;
+		this.permanent = permanent;
+		this.batch     = batch;
+		this.pending   = new ByteBuffer[queueSize];
+		this.pending_frames = new int[queueSize];
+		final int slot_size = batch == null ? MAX_FRAME_LEN : Math.max(MAX_FRAME_LEN, batch.capacity());
+		for(int i=0;i<queueSize;i++)
+			pending[i] = ByteBuffer.allocateDirect(slot_size);
+		this.last_seen_ms = System.currentTimeMillis();
+	}
+
+	public SocketAddress getAddress() {
+		return address;
+	}
+
+	/**
+	 * @return true if the client was configured and is never removed
+	 */
+	public boolean isPermanent() {
+		return permanent;
+	}
+
+	/**
+	 * Restricts the msgIds sent to this client. null allows all msgIds.
+	 */
+	public void setAllowList(int[] msgIds) {
+		if(msgIds == null) {
+			allowed = null;
+			return;
+		}
+		long[] bits = new long[(IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length + 63) / 64];
+		for(int id : msgIds)
+			if(id >= 0 && id < IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length)
+				bits[id >> 6] |= 1L << (id & 63);
+		allowed = bits;
+	}
+
+	public boolean isAllowed(int msgId) {
+		final long[] bits = allowed;
+		if(bits == null)
+			return true;
+		if(msgId < 0 || msgId >= IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length)
+			return false;
+		return (bits[msgId >> 6] & (1L << (msgId & 63))) != 0;
+	}
+
+	/**
+	 * Limits the rate of a msgId sent to this client, 0 removes the limit.
+	 */
+	public synchronized void setRateLimit(int msgId, float hz) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return;
+		if(hz <= 0) {
+			interval_ns[msgId] = 0;
+		} else {
+			interval_ns[msgId] = (long)(1e9 / hz);
+			if(held[msgId] == null)
+				held[msgId] = ByteBuffer.allocateDirect(MAX_FRAME_LEN);
+			rate_limited = true;
+		}
+	}
+
+	public float getRateLimit(int msgId) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID || interval_ns[msgId] == 0)
+			return 0;
+		return 1e9f / interval_ns[msgId];
+	}
+
+	public boolean isRateLimited() {
+		return rate_limited;
+	}
+
+	public void touch() {
+		last_seen_ms = System.currentTimeMillis();
+	}
+
+	public long getLastSeen_ms() {
+		return last_seen_ms;
+	}
+
+	/**
+	 * Sends the frame between position and limit without changing them. Frames of rate
+	 * limited msgIds are held and replaced by newer ones until their interval elapsed.
+	 * @return true if the frame started a new batch which needs a deadline flush
+	 */
+	boolean send(DatagramChannel channel, int msgId, ByteBuffer frame, long now_ns) throws IOException {
+		received++;
+		if(msgId >= 0 && msgId < MAX_MSG_ID && interval_ns[msgId] > 0) {
+			if(now_ns - last_sent_ns[msgId] < interval_ns[msgId]) {
+				final int position = frame.position();
+				if(held_valid[msgId])
+					decimated++;
+				else
+					held_count++;
+				held[msgId].clear();
+				held[msgId].put(frame);
+				held[msgId].flip();
+				held_valid[msgId] = true;
+				frame.position(position);
+				return false;
+			}
+			last_sent_ns[msgId] = now_ns;
+			if(held_valid[msgId]) {
+				// the newer frame replaces the held one
+				held_valid[msgId] = false;
+				held_count--;
+				decimated++;
+			}
+		}
+		return transmit(channel, msgId, frame, now_ns);
+	}
+
+	/**
+	 * Sends held frames whose interval elapsed
+	 * @return true if a held frame started a new batch
+	 */
+	boolean flushHeld(DatagramChannel channel, long now_ns) throws IOException {
+		if(held_count == 0)
+			return false;
+		boolean started = false;
+		for(int msgId=0; msgId < MAX_MSG_ID && held_count > 0; msgId++) {
+			if(held_valid[msgId] && now_ns - last_sent_ns[msgId] >= interval_ns[msgId]) {
+				held_valid[msgId] = false;
+				held_count--;
+				last_sent_ns[msgId] = now_ns;
+				started |= transmit(channel, msgId, held[msgId], now_ns);
+			}
+		}
+		return started;
+	}
+
+	/**
+	 * Sends the batch if its deadline expired
+	 * @return the deadline of the pending batch or 0 if it is empty
+	 */
+	long flushDue(DatagramChannel channel, long now_ns) throws IOException {
+		if(batch == null || batch.isEmpty())
+			return 0;
+		if(!batch.isDue(now_ns))
+			return batch.getDeadline_ns();
+		sendBatch(channel);
+		return 0;
+	}
+
+	/**
+	 * Updates input and output rates, to be called about once per second
+	 */
+	void updateRates() {
+		final long now = System.currentTimeMillis();
+		if(rate_tms > 0 && now > rate_tms) {
+			in_rate  = (received - rate_received) * 1000f / (now - rate_tms);
+			out_rate = (sent - rate_sent) * 1000f / (now - rate_tms);
+		}
+		rate_tms = now; rate_received = received; rate_sent = sent;
+	}
+
+	/**
+	 * Appends the frame to the batch and sends the batch if it is full or the msgId is
+	 * latency critical. Without batching the frame is sent as it is.
+	 * @return true if the frame started a new batch
+	 */
+	private boolean transmit(DatagramChannel channel, int msgId, ByteBuffer frame, long now_ns) throws IOException {
+		if(batch == null) {
+			sendDatagram(channel, frame, 1);
+			return false;
+		}
+		if(batch.isFull(frame))
+			sendBatch(channel);
+		final boolean first = batch.isEmpty();
+		if(batch.append(msgId, frame, now_ns)) {
+			sendBatch(channel);
+			return false;
+		}
+		return first;
+	}
+
+	private void sendBatch(DatagramChannel channel) throws IOException {
+		final int frames = batch.getCount();
+		sendDatagram(channel, batch.drain(), frames);
+		batch.clear();
+	}
+
+	/**
+	 * Sends the datagram or queues it if the socket buffer is full. If the queue is full
+	 * the datagram is dropped.
+	 */
+	private void sendDatagram(DatagramChannel channel, ByteBuffer datagram, int frames) throws IOException {
+		final int position = datagram.position();
+		if(pending_count == 0) {
+			int n = channel.send(datagram, address);
+			datagram.position(position);
+			if(n > 0) {
+				sent += frames;
+				return;
+			}
+		}
+		final int index = (pending_head + pending_count) % pending.length;
+		if(pending_count == pending.length || datagram.remaining() > pending[index].capacity()) {
+			dropped += frames;
+			return;
+		}
+		ByteBuffer slot = pending[index];
+		slot.clear();
+		slot.put(datagram);
+		slot.flip();
+		datagram.position(position);
+		pending_frames[index] = frames;
+		if(++pending_count > queue_hwm)
+			queue_hwm = pending_count;
+	}
+
+	/**
+	 * Sends queued frames until the socket buffer is full
+	 * @return true if the queue is empty
+	 */
+	boolean flush(DatagramChannel channel) throws IOException {
+		while(pending_count > 0) {
+			if(channel.send(pending[pending_head], address) == 0)
+				return false;
+			sent += pending_frames[pending_head];
+			pending_head = (pending_head + 1) % pending.length;
+			pending_count--;
+		}
+		return true;
+	}
+
+	public int getQueueDepth() {
+		return pending_count;
+	}
+
+	public int getQueueHighWaterMark() {
+		return queue_hwm;
+	}
+
+	public long getSent() {
+		return sent;
+	}
+
+	public long getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * @return average number of frames per datagram or 0 without batching
+	 */
+	public float getBatchFactor() {
+		return batch == null ? 0 : batch.getBatchFactor();
+	}
+
+	/**
+	 * @return the number of frames replaced by a newer one because of a rate limit
+	 */
+	public long getDecimated() {
+		return decimated;
+	}
+
+	/**
+	 * @return frames per second offered to this client
+	 */
+	public float getInputRate() {
+		return in_rate;
+	}
+
+	/**
+	 * @return frames per second sent to this client
+	 */
+	public float getOutputRate() {
+		return out_rate;
+	}
+
+	@Override
+	public String toString() {
+		return address+(permanent ? " (permanent)" : "")+": sent="+sent+" dropped="+dropped+" decimated="+decimated
+				+" queue="+pending_count+" hwm="+queue_hwm+String.format(" in=%.1f/s out=%.1f/s", in_rate, out_rate)
+				+(allowed != null ? " filtered" : "")+(batch != null ? String.format(" batch=%.1f", batch.getBatchFactor()) : "");
+	}
+}
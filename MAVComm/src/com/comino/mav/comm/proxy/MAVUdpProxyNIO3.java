@@ -42,6 +42,7 @@ import java.nio.channels.DatagramChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -49,12 +50,19 @@ import java.util.List;
 import org.mavlink.messages.MAVLinkMessage;
 import org.mavlink.messages.lquac.msg_heartbeat;
 
+import com.comino.main.MSPConfig;
 import com.comino.mav.comm.IMAVComm;
+import com.comino.mav.comm.MAVReactor;
+import com.comino.mav.comm.udp.MAVUdpBatch;
+import com.comino.mav.comm.udp.MAVUdpBatchFlusher;
+import com.comino.mav.comm.shm.MAVShmProxyEndpoint;
+import com.comino.mav.comm.unix.MAVUnixProxyEndpoint;
 import com.comino.mav.mavlink.MAVLinkReader;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
 import com.comino.msp.execution.control.listener.IMAVLinkListener;
 
 
-public class MAVUdpProxyNIO3 implements IMAVLinkListener, Runnable {
+public class MAVUdpProxyNIO3 implements IMAVLinkListener, IMAVLinkFrameListener, MAVUdpBatchFlusher.IFlushable, MAVReactor.IHandler, Runnable {
 
 	private SocketAddress 			bindPort = null;
 	private SocketAddress 			peerPort;
@@ -68,7 +76,31 @@ public class MAVUdpProxyNIO3 implements IMAVLinkListener, Runnable {
 
 	private boolean 					isConnected = false;
 
+	// forward frames as received instead of decoding and encoding them
+	private final boolean            passThrough;
+
 	private final ByteBuffer 		rxBuffer = ByteBuffer.allocate(32768);
+	private final ByteBuffer 		txBuffer = ByteBuffer.allocateDirect(512);
+
+	// the configured peer and clients registered by their first packet
+	private volatile MAVUdpProxyClient[] clients = new MAVUdpProxyClient[0];
+	private SelectionKey             channelKey = null;
+	private final int                client_queue_size;
+	private final long               client_timeout_ms;
+
+	private static final long        HELD_FLUSH_MS = 5;
+
+	// further endpoints receiving all frames, e.g. local processes via AF_UNIX
+	private volatile IMAVLinkFrameListener[] endpoints = new IMAVLinkFrameListener[0];
+	private MAVUnixProxyEndpoint     unixEndpoint = null;
+	private MAVShmProxyEndpoint      shmEndpoint  = null;
+
+	// set if the proxy is served by the shared reactor instead of its own worker thread
+	private boolean                  reactor = false;
+	private long                     next_check = 0;
+
+	// frames of clients which could not be written to the vehicle
+	private long                     forward_errors = 0;
 
 
 	public MAVUdpProxyNIO3(String peerAddress, int pPort, String bindAddress, int bPort, IMAVComm comm) {
@@ -81,13 +113,47 @@ public class MAVUdpProxyNIO3 implements IMAVLinkListener, Runnable {
 
 		listeners = new HashMap<Class<?>,List<IMAVLinkListener>>();
 
-		System.out.println("Proxy (NIO3): BindPort="+bPort+" PeerPort="+pPort+ " BufferSize: "+rxBuffer.capacity());
+		MSPConfig config = MSPConfig.getInstance();
+		this.passThrough = config == null || config.getBoolProperty("proxy_passthrough", "true");
+		this.client_queue_size = config == null ? 64 : config.getIntProperty("proxy_client_queue", "64");
+		this.client_timeout_ms = config == null ? 10000 : config.getIntProperty("proxy_client_timeout_ms", "10000");
+
+		addClient(peerPort, true);
+
+		if(config != null && config.getProperty("proxy_unix_path") != null) {
+			unixEndpoint = new MAVUnixProxyEndpoint(config.getProperty("proxy_unix_path").trim(), comm);
+			addEndpoint(unixEndpoint);
+		}
+		if(config != null && config.getProperty("proxy_shm_path") != null) {
+			shmEndpoint = new MAVShmProxyEndpoint(config.getProperty("proxy_shm_path").trim(), comm);
+			addEndpoint(shmEndpoint);
+		}
+
+		if(passThrough) {
+			// decode only messages with local listeners
+			reader.setInterestAll(false);
+			reader.setFrameListener((msgId, frame) -> {
+				try {
+					if(comm.isConnected())
+						comm.writeFrame(frame);
+				} catch(IOException e) {
+					forwardFailed(e);
+				}
+			});
+		}
+
+		System.out.println("Proxy (NIO3): BindPort="+bPort+" PeerPort="+pPort+ " BufferSize: "+rxBuffer.capacity()+(passThrough ? " PassThrough" : ""));
 
 	}
 
 	public boolean open() {
 
-		if(channel!=null && channel.isConnected()) {
+		if(unixEndpoint != null)
+			unixEndpoint.open();
+		if(shmEndpoint != null)
+			shmEndpoint.open();
+
+		if(channel!=null && channel.isOpen()) {
 			isConnected = true;
 			return true;
 		}
@@ -104,13 +170,22 @@ public class MAVUdpProxyNIO3 implements IMAVLinkListener, Runnable {
 					channel.socket().setSendBufferSize(32*1024);
 					channel.socket().setReceiveBufferSize(32*1024);
 					channel.configureBlocking(false);
+					MAVUdpBatchFlusher.getInstance().register(this);
 
 					Thread.sleep(100);
 
 				} catch (Exception e) {
 					continue;
 				}
-				channel.connect(peerPort);
+
+				if(MAVReactor.isEnabled()) {
+					reactor = true;
+					channelKey = MAVReactor.getInstance().register(channel, SelectionKey.OP_READ, this);
+					if(!connected())
+						close();
+					return isConnected;
+				}
+
 				selector = Selector.open();
 
 				Thread t = new Thread(this);
@@ -121,7 +196,6 @@ public class MAVUdpProxyNIO3 implements IMAVLinkListener, Runnable {
 				return true;
 			} catch(Exception e) {
 				try {
-					channel.disconnect();
 					channel.close();
 				} catch (IOException e1) { }
 				isConnected = false;
@@ -134,10 +208,126 @@ public class MAVUdpProxyNIO3 implements IMAVLinkListener, Runnable {
 		return isConnected;
 	}
 
+	public boolean isPassThrough() {
+		return passThrough;
+	}
+
+	public MAVUdpProxyClient[] getClients() {
+		return clients;
+	}
+
+	/**
+	 * Adds an endpoint which receives all frames sent to the UDP clients
+	 */
+	public synchronized void addEndpoint(IMAVLinkFrameListener endpoint) {
+		IMAVLinkFrameListener[] list = Arrays.copyOf(endpoints, endpoints.length+1);
+		list[endpoints.length] = endpoint;
+		endpoints = list;
+	}
+
+	/**
+	 * Restricts the msgIds sent to a client, null allows all
+	 */
+	public void setAllowList(SocketAddress address, int[] msgIds) {
+		MAVUdpProxyClient client = getClient(address);
+		if(client == null)
+			client = addClient(address, true);
+		client.setAllowList(msgIds);
+	}
+
+	private MAVUdpProxyClient getClient(SocketAddress address) {
+		for(MAVUdpProxyClient client : clients)
+			if(client.getAddress().equals(address))
+				return client;
+		return null;
+	}
+
+	private synchronized MAVUdpProxyClient addClient(SocketAddress address, boolean permanent) {
+		MAVUdpProxyClient client = getClient(address);
+		if(client != null)
+			return client;
+		client = new MAVUdpProxyClient(address, permanent, client_queue_size, MAVUdpBatch.create());
+
+		MSPConfig config = MSPConfig.getInstance();
+		if(config != null && address instanceof InetSocketAddress) {
+			int port = ((InetSocketAddress)address).getPort();
+			String[] ids = config.getListProperty("proxy_allow_"+port);
+			if(ids != null)
+				client.setAllowList(parseAllowList(ids, "proxy_allow_"+port));
+			// msgId:Hz pairs, client specific limits override the common ones
+			setRateLimits(client, config.getListProperty("proxy_rate_limits"));
+			setRateLimits(client, config.getListProperty("proxy_rate_limits_"+port));
+		}
+
+		MAVUdpProxyClient[] list = Arrays.copyOf(clients, clients.length+1);
+		list[clients.length] = client;
+		clients = list;
+		if(!permanent)
+			System.out.println("Proxy client registered: "+address);
+		return client;
+	}
+
+	private int[] parseAllowList(String[] ids, String key) {
+		int[] msgIds = new int[ids.length]; int count = 0;
+		for(String id : ids) {
+			if(id.trim().isEmpty())
+				continue;
+			try {
+				msgIds[count] = Integer.parseInt(id.trim());
+				count++;
+			} catch(NumberFormatException e) {
+				System.err.println("Proxy: invalid msgId '"+id+"' in "+key);
+			}
+		}
+		return Arrays.copyOf(msgIds, count);
+	}
+
+	private void setRateLimits(MAVUdpProxyClient client, String[] limits) {
+		if(limits == null)
+			return;
+		for(String limit : limits) {
+			String[] p = limit.split(":");
+			try {
+				client.setRateLimit(Integer.parseInt(p[0].trim()), Float.parseFloat(p[1].trim()));
+			} catch(Exception e) {
+				System.err.println("Proxy: invalid rate limit '"+limit+"'");
+			}
+		}
+	}
+
+	/**
+	 * Limits the rate of a msgId sent to a client
+	 */
+	public void setRateLimit(SocketAddress address, int msgId, float hz) {
+		MAVUdpProxyClient client = getClient(address);
+		if(client == null)
+			client = addClient(address, true);
+		client.setRateLimit(msgId, hz);
+	}
+
+	private synchronized void removeExpiredClients() {
+		final long now = System.currentTimeMillis();
+		for(MAVUdpProxyClient client : clients) {
+			if(!client.isPermanent() && now - client.getLastSeen_ms() > client_timeout_ms) {
+				ArrayList<MAVUdpProxyClient> list = new ArrayList<MAVUdpProxyClient>(Arrays.asList(clients));
+				list.remove(client);
+				clients = list.toArray(new MAVUdpProxyClient[list.size()]);
+				System.out.println("Proxy client removed: "+client);
+			}
+		}
+	}
+
 
 	public void close() {
 		isConnected = false;
+		MAVUdpBatchFlusher.getInstance().unregister(this);
+		if(unixEndpoint != null)
+			unixEndpoint.close();
+		if(shmEndpoint != null)
+			shmEndpoint.close();
 		try {
+			if(reactor && channelKey!=null)
+				MAVReactor.getInstance().unregister(channelKey);
 			if(selector!=null)
 			   selector.close();
 			if (channel != null) {
@@ -159,32 +349,34 @@ public class MAVUdpProxyNIO3 implements IMAVLinkListener, Runnable {
 			list.add(listener);
 			listeners.put(clazz, list);
 		}
+		if(passThrough) {
+			try {
+				reader.setInterest(((MAVLinkMessage)clazz.getConstructor(int.class, int.class).newInstance(0,0)).messageType, true);
+			} catch(Exception e) {
+				reader.setInterestAll(true);
+			}
+		}
 	}
 
 	@Override
 	public void run() {
 
 		SelectionKey key = null;
-		MAVLinkMessage msg = null;
 		Iterator<?> selectedKeys = null;
-		List<IMAVLinkListener> listener_list = null;
 
 		try {
-			channel.register(selector, SelectionKey.OP_READ );
+			channelKey = channel.register(selector, SelectionKey.OP_READ );
 
-			if(comm.isConnected()) {
-				msg_heartbeat hb = new msg_heartbeat(255,1);
-				hb.isValid = true;
-				comm.write(hb);
-			} else {
-				isConnected = false;
+			if(!connected())
 				return;
-			}
-
 
 			while(isConnected) {
 
-				if(selector.select(1000)==0)
+				int n = selector.select(isRateLimited() ? HELD_FLUSH_MS : 1000);
+
+				tick(System.currentTimeMillis());
+
+				if(n==0)
 					continue;
 
 				selectedKeys = selector.selectedKeys().iterator();
@@ -196,28 +388,7 @@ public class MAVUdpProxyNIO3 implements IMAVLinkListener, Runnable {
 					if (!key.isValid()) {
 						continue;
 					}
-
-					if (key.isReadable()) {
-						try {
-							if(channel.isConnected() && channel.receive(rxBuffer)!=null) {
-								if(rxBuffer.position()>0) {
-									rxBuffer.flip();
-									while(rxBuffer.hasRemaining())
-										reader.put(rxBuffer.get());
-									rxBuffer.compact();
-									while((msg=reader.getNextMessage())!=null) {
-										listener_list = listeners.get(msg.getClass());
-										if(listener_list!=null) {
-											for(IMAVLinkListener listener : listener_list)
-												listener.received(msg);
-										}
-										if(comm.isConnected())
-											comm.write(msg);
-									}
-								}
-							}
-						} catch(Exception io) { }
-					}
+					ready(key);
 				}
 			}
 			close();
@@ -227,18 +398,185 @@ public class MAVUdpProxyNIO3 implements IMAVLinkListener, Runnable {
 		}
 	}
 
+	private boolean connected() throws IOException {
+		if(comm.isConnected()) {
+			msg_heartbeat hb = new msg_heartbeat(255,1);
+			hb.isValid = true;
+			comm.write(hb);
+			return true;
+		}
+		isConnected = false;
+		return false;
+	}
+
+	@Override
+	public void tick(long now_ms) {
+		flushHeld();
+		if(now_ms > next_check) {
+			next_check = now_ms + 1000;
+			removeExpiredClients();
+			for(MAVUdpProxyClient client : clients)
+				client.updateRates();
+		}
+	}
+
+	@Override
+	public void ready(SelectionKey key) {
+		MAVLinkMessage msg = null;
+		SocketAddress from = null;
+		List<IMAVLinkListener> listener_list = null;
+
+		if (key.isWritable())
+			flushClients();
+
+		if (key.isReadable()) {
+			try {
+				if(channel.isOpen() && (from = channel.receive(rxBuffer))!=null) {
+					MAVUdpProxyClient client = getClient(from);
+					if(client == null)
+						client = addClient(from, false);
+					client.touch();
+					if(rxBuffer.position()>0) {
+						rxBuffer.flip();
+						reader.put(rxBuffer);
+						rxBuffer.clear();
+						while((msg=reader.getNextMessage())!=null) {
+							listener_list = listeners.get(msg.getClass());
+							if(listener_list!=null) {
+								for(IMAVLinkListener listener : listener_list)
+									listener.received(msg);
+							}
+							if(!passThrough && comm.isConnected()) {
+								try {
+									comm.write(msg);
+								} catch(IOException e) {
+									forwardFailed(e);
+								}
+							}
+							msg.release();
+						}
+					}
+				}
+			} catch(Exception io) { }
+		}
+	}
+
 
 	public int getBadCRC() {
 		return 0;
 	}
 
-	public  void write(MAVLinkMessage msg)  {
-		if(msg!=null && channel!=null && channel.isConnected()) {
+	/**
+	 * @return frames of clients which could not be written to the vehicle
+	 */
+	public long getForwardErrors() {
+		return forward_errors;
+	}
+
+	// reports the first error and then every 100th, the link usually fails for many frames
+	private void forwardFailed(IOException e) {
+		if(forward_errors++ % 100 == 0)
+			System.err.println("Proxy: forward to vehicle failed ("+forward_errors+" errors): "+e.getMessage());
+	}
+
+	/**
+	 * Encodes the message once and sends it to all clients allowing its msgId
+	 */
+	public synchronized void write(MAVLinkMessage msg)  {
+		if(msg!=null && channel!=null && channel.isOpen()) {
+			txBuffer.clear();
+			msg.encodeTo(txBuffer, msg.packet);
+			txBuffer.flip();
+			sendToClients(msg.messageType, txBuffer);
+		}
+
+	}
+
+	public void writeFrame(ByteBuffer frame) {
+		writeFrame(MAVLinkReader.getMessageId(frame), frame);
+	}
+
+	public synchronized void writeFrame(int msgId, ByteBuffer frame) {
+		if(channel!=null && channel.isOpen())
+			sendToClients(msgId, frame);
+	}
+
+	private void sendToClients(int msgId, ByteBuffer frame) {
+		final long now = System.nanoTime();
+		boolean queued = false, started = false;
+		for(MAVUdpProxyClient client : clients) {
+			if(!client.isAllowed(msgId))
+				continue;
+			try {
+				started |= client.send(channel, msgId, frame, now);
+			} catch (IOException e) { }
+			queued |= client.getQueueDepth() > 0;
+		}
+		for(IMAVLinkFrameListener endpoint : endpoints)
+			endpoint.received(msgId, frame);
+		frame.position(frame.limit());
+		if(started)
+			MAVUdpBatchFlusher.getInstance().signal();
+		if(queued)
+			enableWrite();
+	}
+
+	private synchronized void flushHeld() {
+		final long now = System.nanoTime();
+		boolean queued = false, started = false;
+		for(MAVUdpProxyClient client : clients) {
+			try {
+				started |= client.flushHeld(channel, now);
+			} catch (IOException e) { }
+			queued |= client.getQueueDepth() > 0;
+		}
+		if(started)
+			MAVUdpBatchFlusher.getInstance().signal();
+		if(queued)
+			enableWrite();
+	}
+
+	@Override
+	public synchronized long flushDue(long now_ns) {
+		if(channel == null || !channel.isOpen())
+			return 0;
+		long next = 0; boolean queued = false;
+		for(MAVUdpProxyClient client : clients) {
 			try {
-				channel.write(ByteBuffer.wrap(msg.encode()));
-			} catch (IOException e) {}
+				long deadline = client.flushDue(channel, now_ns);
+				if(deadline != 0 && (next == 0 || deadline - next < 0))
+					next = deadline;
+			} catch (IOException e) { }
+			queued |= client.getQueueDepth() > 0;
 		}
+		if(queued)
+			enableWrite();
+		return next;
+	}
+
+	private boolean isRateLimited() {
+		for(MAVUdpProxyClient client : clients)
+			if(client.isRateLimited())
+				return true;
+		return false;
+	}
 
+	private void enableWrite() {
+		if(channelKey != null && (channelKey.interestOps() & SelectionKey.OP_WRITE) == 0) {
+			channelKey.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+			channelKey.selector().wakeup();
+		}
+	}
+
+	private synchronized void flushClients() {
+		boolean empty = true;
+		for(MAVUdpProxyClient client : clients) {
+			try {
+				empty &= client.flush(channel);
+			} catch (IOException e) { }
+		}
+		if(empty)
+			channelKey.interestOps(SelectionKey.OP_READ);
 	}
 
 	@Override
@@ -246,4 +584,9 @@ public class MAVUdpProxyNIO3 implements IMAVLinkListener, Runnable {
 		write((MAVLinkMessage) o);
 	}
 
+	@Override
+	public void received(int msgId, ByteBuffer frame) {
+		writeFrame(msgId, frame);
+	}
+
 }
@@ -35,15 +35,22 @@
 package com.comino.mav.comm.serial;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 import org.mavlink.messages.MAVLinkMessage;
 import org.mavlink.messages.lquac.msg_timesync;
 
+import com.comino.main.MSPConfig;
 import com.comino.mav.comm.IMAVComm;
 import com.comino.mav.control.IMAVCmdAcknowledge;
 import com.comino.mav.mavlink.MAVLinkBlockingReader;
+import com.comino.mav.mavlink.MAVLinkDeduplicator;
+import com.comino.mav.mavlink.MAVLinkMessageStore;
+import com.comino.mav.mavlink.MAVLinkStats;
+import com.comino.mav.mavlink.MAVLinkReader;
 import com.comino.mav.mavlink.MAVLinkToModelParser;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
 import com.comino.msp.execution.control.listener.IMAVLinkListener;
 import com.comino.msp.execution.control.listener.IMAVMessageListener;
 import com.comino.msp.model.DataModel;
@@ -73,6 +80,16 @@ public class MAVSerialComm implements IMAVComm {
 
 	private int baudrate = 921600;
 
+	private final byte[]     txArray  = new byte[512];
+	private final ByteBuffer txBuffer = ByteBuffer.wrap(txArray);
+
+	// blocking mode: dedicated reader thread and a single writer thread
+	private final boolean    blocking;
+	private volatile MAVSerialTxQueue txQueue = null;
+	private Thread           rxThread = null;
+	private final byte[]     rxArray  = new byte[16384];
+	private final ByteBuffer rxBuffer = ByteBuffer.wrap(rxArray);
+
 	public static IMAVComm getInstance(DataModel model, int baudrate, boolean isUSB) {
 		if(com==null)
 			com = new MAVSerialComm(model, baudrate);
@@ -107,7 +124,11 @@ public class MAVSerialComm implements IMAVComm {
 
 		this.parser     = new MAVLinkToModelParser(model, this);
 		this.reader     = new MAVLinkBlockingReader(3, parser);
-		new Thread(reader).start();
+
+		MSPConfig config = MSPConfig.getInstance();
+		this.blocking = config != null && config.getBoolProperty("serial_blocking", "false");
+		if(blocking)
+			System.out.println("Serial port in blocking mode");
 
 	}
 
@@ -152,11 +173,22 @@ public class MAVSerialComm implements IMAVComm {
 		return parser.getMavLinkMessageMap();
 	}
 
+	@Override
+	public MAVLinkMessageStore getMessageStore() {
+		return parser.getMessageStore();
+	}
+
 	/* (non-Javadoc)
 	 * @see com.comino.px4.control.serial.IPX4Comm#close()
 	 */
 	@Override
-	public void close() {
+	public synchronized void close() {
+		// the writer thread must not write into the closed port
+		final MAVSerialTxQueue q = txQueue;
+		if(q != null) {
+			txQueue = null;
+			q.stop();
+		}
 		serialPort.closePort();
 	}
 
@@ -167,6 +199,9 @@ public class MAVSerialComm implements IMAVComm {
 		if(serialPort.isOpen())
 			return true;
 
+		if(blocking)
+			return openBlocking(baudRate, dataBits, stopBits, parity);
+
 		try {
 
 			serialPort.setComPortParameters(baudRate, dataBits, stopBits, parity);
@@ -217,16 +252,66 @@ public class MAVSerialComm implements IMAVComm {
 
 	}
 
+	/**
+	 * Reads in a dedicated thread which returns as soon as bytes are available and passes
+	 * them to the bulk framer.
+	 */
+	private boolean openBlocking(int baudRate, int dataBits, int stopBits, int parity) {
+		serialPort.setComPortParameters(baudRate, dataBits, stopBits, parity);
+		serialPort.setComPortTimeouts(SerialPort.TIMEOUT_READ_SEMI_BLOCKING | SerialPort.TIMEOUT_WRITE_BLOCKING, 100, 0);
+		if(!serialPort.openPort())
+			return false;
+		model.sys.setStatus(Status.MSP_CONNECTED, true);
+
+		txQueue = MAVSerialTxQueue.create((buf, len) -> serialPort.writeBytes(buf, len));
+
+		rxThread = new Thread(() -> {
+			int avail;
+			while(serialPort.isOpen()) {
+				avail = serialPort.readBytes(rxArray, rxArray.length);
+				if(avail < 0) {
+					model.sys.setStatus(Status.MSP_CONNECTED, false);
+					break;
+				}
+				if(avail > 0) {
+					rxBuffer.limit(avail).position(0);
+					reader.put(rxBuffer);
+				}
+			}
+		});
+		rxThread.setName("Serial reader");
+		rxThread.setPriority(Thread.MAX_PRIORITY);
+		rxThread.setDaemon(true);
+		rxThread.start();
+		return true;
+	}
+
+	/**
+	 * @return frames waiting to be written in blocking mode
+	 */
+	public int getTxBacklog() {
+		return txQueue == null ? 0 : txQueue.getBacklog();
+	}
+
+	public MAVSerialTxQueue getTxQueue() {
+		return txQueue;
+	}
+
 	/* (non-Javadoc)
 	 * @see com.comino.px4.control.serial.IPX4Comm#write(org.mavlink.messages.MAVLinkMessage)
 	 */
 	@Override
-	public  void write(MAVLinkMessage msg) throws IOException {
+	public synchronized void write(MAVLinkMessage msg) throws IOException {
 		if(!serialPort.isOpen())
 			return;
+		if(txQueue != null) {
+			txQueue.offer(msg);
+			return;
+		}
 		try {
-			byte[] buffer = msg.encode();
-			serialPort.writeBytes(buffer,buffer.length);
+			txBuffer.clear();
+			int len = msg.encodeTo(txBuffer, msg.packet);
+			serialPort.writeBytes(txArray,len);
 		} catch (Exception e) { e.printStackTrace(); }
 	}
 
@@ -236,6 +321,29 @@ public class MAVSerialComm implements IMAVComm {
 
 	}
 
+	@Override
+	public void setMAVLinkFrameListener(IMAVLinkFrameListener listener) {
+		reader.setFrameListener(listener);
+	}
+
+	@Override
+	public void setDeduplicator(MAVLinkDeduplicator deduplicator, int link) {
+		reader.setDeduplicator(deduplicator, link);
+	}
+
+	@Override
+	public synchronized void writeFrame(ByteBuffer frame) throws IOException {
+		if(!serialPort.isOpen())
+			return;
+		if(txQueue != null) {
+			txQueue.offer(MAVLinkReader.getMessageId(frame), frame);
+			return;
+		}
+		int len = frame.remaining();
+		frame.get(txArray, 0, len);
+		serialPort.writeBytes(txArray,len);
+	}
+
 
 	@Override
 	public boolean isConnected() {
@@ -265,6 +373,11 @@ public class MAVSerialComm implements IMAVComm {
 		return reader.getLostPackages();
 	}
 
+	@Override
+	public MAVLinkStats getLinkStats() {
+		return reader.getStats();
+	}
+
 	@Override
 	public void setCmdAcknowledgeListener(IMAVCmdAcknowledge ack) {
 		parser.setCmdAcknowledgeListener(ack);
@@ -291,6 +404,8 @@ public class MAVSerialComm implements IMAVComm {
 
 			//	while(System.currentTimeMillis()< (time+30000)) {
 
+			MAVLinkMessageStore.Entry timesync = new MAVLinkMessageStore.Entry();
+
 			while(true) {
 
 
@@ -315,12 +430,12 @@ public class MAVSerialComm implements IMAVComm {
 				//					System.out.println(b);
 				//				});
 
-				msg_timesync msg = 	(msg_timesync) comm.getMavLinkMessageMap().get(msg_timesync.class);
+				msg_timesync msg = comm.getMessageStore().awaitNewer(msg_timesync.MAVLINK_MSG_ID_TIMESYNC, timesync.version, 2000, timesync)
+						? (msg_timesync) timesync.msg : null;
 				//				//		comm.getModel().state.print("NED:");
 				//				System.out.println("REM="+comm.getModel().battery.p+" VOLT="+comm.getModel().battery.b0+" CURRENT="+comm.getModel().battery.c0);
 				//				System.out.println("ANGLEX="+comm.getModel().attitude.p+" ANGLEY="+comm.getModel().attitude.r+" "+comm.getModel().sys.toString());
-				Thread.sleep(2000);
-				System.out.println("Errors: "+comm.getErrorCount()+"Current Unix Time: "+(System.nanoTime()/1000*1000)+" "+msg);
+				System.out.println("Errors: "+comm.getErrorCount()+" TX backlog: "+comm.getTxBacklog()+" Current Unix Time: "+(System.nanoTime()/1000*1000)+" "+msg);
 			}
 
 			//			colService.stop();
@@ -0,0 +1,337 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm.serial;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.mavlink.messages.MAVLinkMessage;
+
+import com.comino.main.MSPConfig;
+import com.comino.mav.comm.IMAVComm;
+import com.comino.mav.control.IMAVCmdAcknowledge;
+import com.comino.mav.mavlink.MAVLinkBlockingReader;
+import com.comino.mav.mavlink.MAVLinkDeduplicator;
+import com.comino.mav.mavlink.MAVLinkMessageStore;
+import com.comino.mav.mavlink.MAVLinkStats;
+import com.comino.mav.mavlink.MAVLinkReader;
+import com.comino.mav.mavlink.MAVLinkToModelParser;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
+import com.comino.msp.execution.control.listener.IMAVLinkListener;
+import com.comino.msp.execution.control.listener.IMAVMessageListener;
+import com.comino.msp.model.DataModel;
+import com.comino.msp.model.segment.LogMessage;
+import com.comino.msp.model.segment.Status;
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+
+/**
+ * Serial link using termios through native/serial_highspeed.c (libAMA0.so, built by ant build_native).
+ * Supports any tty including rates above 921600 baud by a custom divisor. Reads wait in poll()
+ * with a timeout and block in read() with VMIN/VTIME set for MAVLink frames. The bytes are
+ * passed to the bulk framer directly.
+ */
+public class MAVSerialCommNative implements IMAVComm {
+
+	public interface SerialLibrary extends Library {
+		public int  openSerial(String device, int rate, int vmin, int vtime);
+		public int  readSerial(int fd, ByteBuffer buf, int length, int timeout_ms);
+		public int  writeSerial(int fd, byte[] buf, int length);
+		public void closeSerial(int fd);
+	}
+
+	// smallest MAVLink frame (v2 without payload), VTIME in 1/10s
+	private static final int DEFAULT_VMIN  = 12;
+	private static final int DEFAULT_VTIME = 1;
+
+	// bounds the time close() waits for the reader, together with VTIME
+	private static final int  READ_TIMEOUT_MS = 100;
+	private static final long JOIN_TIMEOUT_MS = 1000;
+
+	private static MAVSerialCommNative com = null;
+
+	private final SerialLibrary        lib;
+	private final String               device;
+	private final int                  baudrate;
+	private final int                  vmin;
+	private final int                  vtime;
+
+	private DataModel 		           model = null;
+	private MAVLinkToModelParser       parser = null;
+	private MAVLinkBlockingReader      reader;
+	private volatile MAVSerialTxQueue  txQueue = null;
+
+	private final ByteBuffer           rxBuffer = ByteBuffer.allocateDirect(16384);
+	private Thread                     rxThread = null;
+
+	private volatile int     fd      = -1;
+	private volatile boolean running = false;
+	private long   read_errors = 0;
+
+
+	public static MAVSerialCommNative getInstance(DataModel model, String device, int baudrate) {
+		if(com==null)
+			com = new MAVSerialCommNative(model, device, baudrate);
+		return com;
+	}
+
+	private MAVSerialCommNative(DataModel model, String device, int baudrate) {
+		this.model    = model;
+		this.device   = device;
+		this.baudrate = baudrate;
+
+		MSPConfig config = MSPConfig.getInstance();
+		this.vmin  = config == null ? DEFAULT_VMIN  : config.getIntProperty("serial_native_vmin", String.valueOf(DEFAULT_VMIN));
+		this.vtime = config == null ? DEFAULT_VTIME : config.getIntProperty("serial_native_vtime", String.valueOf(DEFAULT_VTIME));
+		this.lib   = (SerialLibrary)Native.loadLibrary(config == null ? "AMA0" : config.getProperty("serial_native_lib", "AMA0"),
+				SerialLibrary.class);
+
+		this.parser  = new MAVLinkToModelParser(model, this);
+		this.reader  = new MAVLinkBlockingReader(3, parser);
+
+		System.out.println("Serial (native): "+device+" at "+baudrate+" baud, VMIN="+vmin+" VTIME="+vtime);
+	}
+
+	@Override
+	public synchronized boolean open() {
+		if(fd >= 0 && running)
+			return true;
+		// the reader stopped after an error
+		close();
+
+		try {
+			fd = lib.openSerial(device, baudrate, vmin, vtime);
+		} catch(UnsatisfiedLinkError e) {
+			System.err.println("Serial (native): "+e.getMessage()+". Rebuild libAMA0.so with ant build_native");
+			return false;
+		}
+		if(fd < 0) {
+			System.err.println("Serial (native): could not open "+device);
+			model.sys.setStatus(Status.MSP_CONNECTED, false);
+			return false;
+		}
+		model.sys.setStatus(Status.MSP_CONNECTED, true);
+
+		txQueue = MAVSerialTxQueue.create((buf, len) -> writeFully(buf, len));
+
+		// the fd is closed only after this thread finished, so it never reads from a reused fd
+		final int f = fd;
+		running = true;
+		rxThread = new Thread(() -> {
+			int n;
+			while(running) {
+				rxBuffer.clear();
+				n = lib.readSerial(f, rxBuffer, rxBuffer.capacity(), READ_TIMEOUT_MS);
+				if(n < 0) {
+					// the fd is closed by the next close() or open()
+					read_errors++;
+					running = false;
+					model.sys.setStatus(Status.MSP_CONNECTED, false);
+					break;
+				}
+				if(n > 0) {
+					rxBuffer.limit(n);
+					reader.put(rxBuffer);
+				}
+			}
+		});
+		rxThread.setName("Serial native reader");
+		rxThread.setPriority(Thread.MAX_PRIORITY);
+		rxThread.setDaemon(true);
+		rxThread.start();
+
+		System.out.println("Serial port "+this.getClass().getSimpleName()+" opened: "+device);
+		return true;
+	}
+
+	private int writeFully(byte[] buf, int len) {
+		int written = 0, n;
+		while(written < len) {
+			final int f = fd;
+			if(f < 0)
+				return -1;
+			n = lib.writeSerial(f, buf, len - written);
+			if(n <= 0)
+				return -1;
+			written += n;
+			if(written < len)
+				System.arraycopy(buf, n, buf, 0, len - written);
+		}
+		return written;
+	}
+
+	/**
+	 * Stops reader and writer and waits for them before the fd is closed
+	 */
+	@Override
+	public synchronized void close() {
+		final int f = fd;
+		if(f < 0)
+			return;
+		running = false;
+		if(rxThread != null) {
+			try {
+				rxThread.join(JOIN_TIMEOUT_MS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if(rxThread.isAlive())
+				System.err.println("Serial (native): reader did not stop, fd "+f+" left open");
+		}
+		final MAVSerialTxQueue q = txQueue;
+		if(q != null) {
+			txQueue = null;
+			q.stop();
+		}
+		fd = -1;
+		if(rxThread == null || !rxThread.isAlive())
+			lib.closeSerial(f);
+		rxThread = null;
+		model.sys.setStatus(Status.MSP_CONNECTED, false);
+	}
+
+	@Override
+	public boolean isConnected() {
+		return fd >= 0 && running;
+	}
+
+	@Override
+	public DataModel getModel() {
+		return model;
+	}
+
+	@Override
+	public Map<Class<?>,MAVLinkMessage> getMavLinkMessageMap() {
+		return parser.getMavLinkMessageMap();
+	}
+
+	@Override
+	public MAVLinkMessageStore getMessageStore() {
+		return parser.getMessageStore();
+	}
+
+	@Override
+	public void write(MAVLinkMessage msg) throws IOException {
+		final MAVSerialTxQueue q = txQueue;
+		if(q == null)
+			throw new IOException("Serial port not open");
+		q.offer(msg);
+	}
+
+	@Override
+	public void writeFrame(ByteBuffer frame) throws IOException {
+		final MAVSerialTxQueue q = txQueue;
+		if(q == null)
+			throw new IOException("Serial port not open");
+		q.offer(MAVLinkReader.getMessageId(frame), frame);
+	}
+
+	@Override
+	public void addMAVLinkListener(IMAVLinkListener listener) {
+		parser.addMAVLinkListener(listener);
+	}
+
+	@Override
+	public void setMAVLinkFrameListener(IMAVLinkFrameListener listener) {
+		reader.setFrameListener(listener);
+	}
+
+	@Override
+	public void setDeduplicator(MAVLinkDeduplicator deduplicator, int link) {
+		reader.setDeduplicator(deduplicator, link);
+	}
+
+	@Override
+	public void addMAVMessageListener(IMAVMessageListener listener) {
+		parser.addMAVMessageListener(listener);
+	}
+
+	@Override
+	public void writeMessage(LogMessage m) {
+
+	}
+
+	@Override
+	public boolean isSerial() {
+		return true;
+	}
+
+	@Override
+	public int getErrorCount() {
+		return reader.getLostPackages();
+	}
+
+	@Override
+	public MAVLinkStats getLinkStats() {
+		return reader.getStats();
+	}
+
+	public long getReadErrors() {
+		return read_errors;
+	}
+
+	public MAVSerialTxQueue getTxQueue() {
+		return txQueue;
+	}
+
+	@Override
+	public void setCmdAcknowledgeListener(IMAVCmdAcknowledge ack) {
+		parser.setCmdAcknowledgeListener(ack);
+	}
+
+
+	/**
+	 * Usage: MAVSerialCommNative [device] [baudrate], e.g. the slave of a pty pair
+	 */
+	public static void main(String[] args) {
+		String device = args.length > 0 ? args[0] : "/dev/ttyAMA0";
+		int  baudrate = args.length > 1 ? Integer.parseInt(args[1]) : 1500000;
+
+		MAVSerialCommNative comm = new MAVSerialCommNative(new DataModel(), device, baudrate);
+		if(!comm.open())
+			return;
+
+		try {
+			while(comm.isConnected()) {
+				Thread.sleep(1000);
+				System.out.println("Errors: "+comm.getErrorCount()+" "+comm.getTxQueue()+" "+comm.getModel().sys.toString());
+			}
+		} catch (Exception e) {
+			comm.close();
+			e.printStackTrace();
+		}
+	}
+}
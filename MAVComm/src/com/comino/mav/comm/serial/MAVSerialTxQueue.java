@@ -0,0 +1,280 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm.serial;
+
+import java.nio.ByteBuffer;
+
+import org.mavlink.messages.MAVLinkMessage;
+
+import com.comino.main.MSPConfig;
+import com.comino.mav.mavlink.MAVLinkPriority;
+
+/**
+ * Single writer for a serial port. Frames are queued by any thread and the writer thread
+ * sends all pending frames with one write, control frames first.
+ */
+public class MAVSerialTxQueue implements Runnable {
+
+	public interface ISink {
+		/**
+		 * Writes len bytes of buf, blocking until they are passed to the driver
+		 * @return number of bytes written or -1 on error
+		 */
+		public int write(byte[] buf, int len);
+	}
+
+	public static final int DEFAULT_QUEUE_SIZE = 128;
+
+	private static final int MAX_FRAME_LEN = 280;
+	private static final int MAX_WRITE_LEN = 4096;
+
+	// same msgIds as sent immediately by UDP batching
+	private static final boolean[] control = MAVLinkPriority.createTable();
+
+	private final ISink  sink;
+	private final Lane   control_lane;
+	private final Lane   data_lane;
+
+	private final byte[]     tx     = new byte[MAX_WRITE_LEN];
+	private final ByteBuffer encode = ByteBuffer.allocate(MAX_FRAME_LEN);
+
+	private static final long STOP_TIMEOUT_MS = 500;
+
+	private final Thread     thread;
+	private volatile boolean running = true;
+
+	private long writes = 0;
+	private long frames = 0;
+	private long dropped = 0;
+	private long errors = 0;
+	private int  backlog_hwm = 0;
+
+
+	public MAVSerialTxQueue(ISink sink, int queueSize) {
+		this.sink = sink;
+		this.control_lane = new Lane(queueSize);
+		this.data_lane    = new Lane(queueSize);
+		this.thread = new Thread(this);
+		this.thread.setName("Serial TX");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Creates a queue sized by serial_tx_queue and extends the control msgIds by serial_tx_control
+	 */
+	public static MAVSerialTxQueue create(ISink sink) {
+		MSPConfig config = MSPConfig.getInstance();
+		if(config == null)
+			return new MAVSerialTxQueue(sink, DEFAULT_QUEUE_SIZE);
+		String[] ids = config.getListProperty("serial_tx_control");
+		if(ids != null) {
+			for(String id : ids) {
+				if(id.isEmpty())
+					continue;
+				try {
+					setControl(Integer.parseInt(id), true);
+				} catch(NumberFormatException e) {
+					System.err.println("Invalid msgId '"+id+"' in serial_tx_control");
+				}
+			}
+		}
+		return new MAVSerialTxQueue(sink, config.getIntProperty("serial_tx_queue", String.valueOf(DEFAULT_QUEUE_SIZE)));
+	}
+
+	public static void setControl(int msgId, boolean isControl) {
+		if(msgId >= 0 && msgId < control.length)
+			control[msgId] = isControl;
+	}
+
+	public static boolean isControl(int msgId) {
+		return msgId >= 0 && msgId < control.length && control[msgId];
+	}
+
+	/**
+	 * Encodes and queues the message
+	 * @return false if the queue was full and the message was dropped
+	 */
+	public synchronized boolean offer(MAVLinkMessage msg) {
+		encode.clear();
+		msg.encodeTo(encode, msg.packet);
+		encode.flip();
+		return offer(msg.messageType, encode);
+	}
+
+	/**
+	 * Queues the frame between position and limit and consumes it
+	 * @return false if the queue was full and the frame was dropped
+	 */
+	public synchronized boolean offer(int msgId, ByteBuffer frame) {
+		final Lane lane = isControl(msgId) ? control_lane : data_lane;
+		if(frame.remaining() > MAX_FRAME_LEN || !lane.add(frame)) {
+			frame.position(frame.limit());
+			dropped++;
+			return false;
+		}
+		final int backlog = control_lane.count + data_lane.count;
+		if(backlog > backlog_hwm)
+			backlog_hwm = backlog;
+		notify();
+		return true;
+	}
+
+	@Override
+	public void run() {
+		int len;
+		while(running) {
+			synchronized(this) {
+				while(running && control_lane.count == 0 && data_lane.count == 0) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				if(!running)
+					return;
+				len = control_lane.drainTo(tx, 0);
+				len = data_lane.drainTo(tx, len);
+			}
+			if(sink.write(tx, len) < 0)
+				errors++;
+			writes++;
+		}
+	}
+
+	/**
+	 * Stops the writer thread and waits until it has finished its current write. Queued frames are discarded.
+	 */
+	public void stop() {
+		running = false;
+		synchronized(this) {
+			notifyAll();
+		}
+		try {
+			thread.join(STOP_TIMEOUT_MS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return number of frames waiting to be written
+	 */
+	public synchronized int getBacklog() {
+		return control_lane.count + data_lane.count;
+	}
+
+	/**
+	 * @return number of bytes waiting to be written
+	 */
+	public synchronized int getBacklogBytes() {
+		return control_lane.bytes + data_lane.bytes;
+	}
+
+	public synchronized int getBacklogHighWaterMark() {
+		return backlog_hwm;
+	}
+
+	public synchronized void resetBacklogHighWaterMark() {
+		backlog_hwm = 0;
+	}
+
+	public synchronized long getFrames() {
+		return frames;
+	}
+
+	public long getWrites() {
+		return writes;
+	}
+
+	public synchronized long getDropped() {
+		return dropped;
+	}
+
+	public long getErrors() {
+		return errors;
+	}
+
+	@Override
+	public String toString() {
+		return "SerialTX: frames="+getFrames()+" writes="+writes+" backlog="+getBacklog()+" hwm="+getBacklogHighWaterMark()
+				+" dropped="+getDropped()+" errors="+errors;
+	}
+
+	/**
+	 * Bounded FIFO of preallocated frame slots
+	 */
+	private final class Lane {
+
+		private final byte[][] slots;
+		private final int[]    lengths;
+		private int head = 0;
+		private int count = 0;
+		private int bytes = 0;
+
+		Lane(int size) {
+			slots   = new byte[size][MAX_FRAME_LEN];
+			lengths = new int[size];
+		}
+
+		boolean add(ByteBuffer frame) {
+			if(count == slots.length)
+				return false;
+			final int index = (head + count) % slots.length;
+			final int len   = frame.remaining();
+			frame.get(slots[index], 0, len);
+			lengths[index] = len;
+			bytes += len;
+			count++;
+			return true;
+		}
+
+		/**
+		 * Copies frames to buf starting at offset as long as they fit
+		 * @return the new offset
+		 */
+		int drainTo(byte[] buf, int offset) {
+			while(count > 0 && offset + lengths[head] <= buf.length) {
+				System.arraycopy(slots[head], 0, buf, offset, lengths[head]);
+				offset += lengths[head];
+				bytes  -= lengths[head];
+				head = (head + 1) % slots.length;
+				count--; frames++;
+			}
+			return offset;
+		}
+	}
+}
@@ -0,0 +1,272 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm.shm;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Ring of raw MAVLink frames in a memory mapped file with one writer and any number of
+ * readers in other processes. Each slot carries its sequence number, so readers detect
+ * frames overwritten while they were behind.
+ *
+ * Layout: header (magic, slots, slot size, state, write sequence), then slots of
+ * sequence(8), length(4), msgId(4) and the frame.
+ */
+public class MAVSharedRing {
+
+	public static final int DEFAULT_SLOTS = 1024;
+
+	private static final int MAGIC         = 0x4D41564C;
+	public  static final int MAX_FRAME_LEN = 280;
+	private static final int SLOT_SIZE     = 16 + MAX_FRAME_LEN + 8;
+	private static final int HEADER_SIZE   = 64;
+
+	private static final int OFF_MAGIC     = 0;
+	private static final int OFF_SLOTS     = 4;
+	private static final int OFF_SLOT_SIZE = 8;
+	private static final int OFF_STATE     = 12;
+	private static final int OFF_WRITE_SEQ = 16;
+
+	private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+	private static final VarHandle INT  = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+	private final Path             path;
+	private final MappedByteBuffer buffer;
+	private final int              slots;
+
+	// writer only
+	private long                   write_seq = 0;
+
+
+	private MAVSharedRing(Path path, MappedByteBuffer buffer, int slots) {
+		this.path   = path;
+		this.buffer = buffer;
+		this.slots  = slots;
+		buffer.order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Creates a new ring file for the writer. An existing file is replaced, readers still
+	 * mapping it see it as closed.
+	 */
+	public static MAVSharedRing create(Path path, int slots) throws IOException {
+		if(Files.exists(path)) {
+			try {
+				MAVSharedRing ring = attach(path);
+				ring.setClosed();
+			} catch(IOException e) { }
+			Files.delete(path);
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			MAVSharedRing ring = new MAVSharedRing(path,
+					channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long)slots * SLOT_SIZE), slots);
+			ring.buffer.putInt(OFF_MAGIC, MAGIC);
+			ring.buffer.putInt(OFF_SLOTS, slots);
+			ring.buffer.putInt(OFF_SLOT_SIZE, SLOT_SIZE);
+			for(int i=0;i<slots;i++)
+				LONG.setRelease(ring.buffer, ring.offset(i), -1L);
+			LONG.setRelease(ring.buffer, OFF_WRITE_SEQ, 0L);
+			INT.setRelease(ring.buffer, OFF_STATE, 1);
+			return ring;
+		}
+	}
+
+	/**
+	 * Maps an existing ring file for reading
+	 */
+	public static MAVSharedRing attach(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+			buffer.order(ByteOrder.nativeOrder());
+			if(buffer.capacity() < HEADER_SIZE || buffer.getInt(OFF_MAGIC) != MAGIC || buffer.getInt(OFF_SLOT_SIZE) != SLOT_SIZE)
+				throw new IOException("Not a MAVLink ring: "+path);
+			return new MAVSharedRing(path, buffer, buffer.getInt(OFF_SLOTS));
+		}
+	}
+
+	/**
+	 * Writes the frame between position and limit without changing them. Single writer only.
+	 * @return false if the frame is too long for a slot
+	 */
+	public boolean write(int msgId, ByteBuffer frame) {
+		final int len = frame.remaining();
+		if(len > MAX_FRAME_LEN)
+			return false;
+		final int off = offset(write_seq);
+		// invalidate the slot before its content changes
+		LONG.setVolatile(buffer, off, -1L);
+		// keep the payload stores behind the invalidation on weakly ordered CPUs (ARM)
+		VarHandle.storeStoreFence();
+		buffer.putInt(off + 8, len);
+		buffer.putInt(off + 12, msgId);
+		buffer.put(off + 16, frame, frame.position(), len);
+		LONG.setRelease(buffer, off, write_seq);
+		LONG.setRelease(buffer, OFF_WRITE_SEQ, ++write_seq);
+		return true;
+	}
+
+	public void setClosed() {
+		INT.setRelease(buffer, OFF_STATE, 0);
+	}
+
+	public boolean isClosed() {
+		return (int)INT.getAcquire(buffer, OFF_STATE) == 0;
+	}
+
+	/**
+	 * @return sequence number of the next frame written
+	 */
+	public long getWriteSequence() {
+		return (long)LONG.getAcquire(buffer, OFF_WRITE_SEQ);
+	}
+
+	public int getSlots() {
+		return slots;
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Creates a reader starting with the next frame written
+	 */
+	public Reader newReader() {
+		return new Reader();
+	}
+
+	private int offset(long seq) {
+		return HEADER_SIZE + (int)(seq % slots) * SLOT_SIZE;
+	}
+
+	/**
+	 * Reader with its own position. Not thread safe.
+	 */
+	public final class Reader {
+
+		private final ByteBuffer view = buffer.duplicate().order(ByteOrder.nativeOrder());
+
+		private long next;
+		private long current = -1;
+		private int  msgId;
+		private long lost = 0;
+
+		private Reader() {
+			this.next = getWriteSequence();
+		}
+
+		/**
+		 * Returns a view on the next frame in the mapped file without copying it. The view is
+		 * valid until the next call; isValid() tells whether the writer overwrote it meanwhile.
+		 * @return null if no frame is available
+		 */
+		public ByteBuffer poll() {
+			while(true) {
+				final long ws = getWriteSequence();
+				if(ws < next)
+					next = ws;
+				if(next == ws)
+					return null;
+				if(ws - next > slots) {
+					lost += ws - slots - next;
+					next = ws - slots;
+				}
+				final int off = offset(next);
+				if((long)LONG.getAcquire(buffer, off) != next) {
+					// overwritten or being written
+					lost++; next++;
+					continue;
+				}
+				final int len = buffer.getInt(off + 8);
+				msgId = buffer.getInt(off + 12);
+				// the plain loads above must complete before the sequence is checked again
+				VarHandle.loadLoadFence();
+				if(len < 0 || len > MAX_FRAME_LEN || (long)LONG.getAcquire(buffer, off) != next) {
+					lost++; next++;
+					continue;
+				}
+				view.limit(off + 16 + len).position(off + 16);
+				current = next++;
+				return view;
+			}
+		}
+
+		/**
+		 * @return false if the frame last returned by poll() was overwritten
+		 */
+		public boolean isValid() {
+			if(current < 0)
+				return false;
+			// reads of the frame by the caller must complete before the sequence is checked again
+			VarHandle.loadLoadFence();
+			if((long)LONG.getAcquire(buffer, offset(current)) == current)
+				return true;
+			lost++;
+			return false;
+		}
+
+		public int getMessageId() {
+			return msgId;
+		}
+
+		/**
+		 * @return number of frames overwritten before they were read
+		 */
+		public long getLost() {
+			return lost;
+		}
+
+		/**
+		 * @return number of frames written but not yet read
+		 */
+		public long getBacklog() {
+			return getWriteSequence() - next;
+		}
+
+		public boolean isClosed() {
+			return MAVSharedRing.this.isClosed();
+		}
+	}
+}
@@ -0,0 +1,258 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm.shm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import org.mavlink.messages.MAVLinkMessage;
+import org.mavlink.messages.lquac.msg_heartbeat;
+
+import com.comino.main.MSPConfig;
+import com.comino.mav.comm.IMAVComm;
+import com.comino.mav.control.IMAVCmdAcknowledge;
+import com.comino.mav.mavlink.MAVLinkBlockingReader;
+import com.comino.mav.mavlink.MAVLinkDeduplicator;
+import com.comino.mav.mavlink.MAVLinkMessageStore;
+import com.comino.mav.mavlink.MAVLinkStats;
+import com.comino.mav.mavlink.MAVLinkReader;
+import com.comino.mav.mavlink.MAVLinkToModelParser;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
+import com.comino.msp.execution.control.listener.IMAVLinkListener;
+import com.comino.msp.execution.control.listener.IMAVMessageListener;
+import com.comino.msp.model.DataModel;
+import com.comino.msp.model.segment.LogMessage;
+import com.comino.msp.model.segment.Status;
+
+/**
+ * Link to a MAVComm proxy on the same board through the shared memory rings of
+ * MAVShmProxyEndpoint. Frames are framed directly from the mapped file.
+ */
+public class MAVShmComm implements IMAVComm, Runnable {
+
+	private DataModel 				model = null;
+
+	private final Path              down_path;
+	private final Path              up_path;
+	private final int               slots;
+	private final long              poll_ns;
+
+	private MAVSharedRing.Reader    down = null;
+	private MAVSharedRing           up = null;
+
+	private MAVLinkToModelParser	parser = null;
+	private MAVLinkBlockingReader   reader;
+
+	private volatile boolean		isConnected = false;
+
+	private static MAVShmComm com = null;
+
+	private final ByteBuffer txBuffer = ByteBuffer.allocateDirect(512);
+
+	public static MAVShmComm getInstance(DataModel model, String path) {
+		if(com==null)
+			com = new MAVShmComm(model, path);
+		return com;
+	}
+
+	private MAVShmComm(DataModel model, String path) {
+		this.model     = model;
+		this.down_path = Paths.get(path+".down");
+		this.up_path   = Paths.get(path+".up");
+		this.parser    = new MAVLinkToModelParser(model,this);
+		this.reader    = new MAVLinkBlockingReader(2, parser);
+
+		MSPConfig config = MSPConfig.getInstance();
+		this.slots   = config == null ? MAVSharedRing.DEFAULT_SLOTS : config.getIntProperty("shm_slots", String.valueOf(MAVSharedRing.DEFAULT_SLOTS));
+		this.poll_ns = (config == null ? MAVShmProxyEndpoint.DEFAULT_POLL_US : config.getIntProperty("shm_poll_us",
+				String.valueOf(MAVShmProxyEndpoint.DEFAULT_POLL_US))) * 1000L;
+
+		System.out.println("Vehicle (SHM): "+path);
+	}
+
+	@Override
+	public synchronized boolean open() {
+
+		if(isConnected)
+			return true;
+
+		try {
+			down = MAVSharedRing.attach(down_path).newReader();
+			if(up == null)
+				up = MAVSharedRing.create(up_path, slots);
+		} catch(IOException e) {
+			System.err.println("Open:"+e.getMessage());
+			model.sys.setStatus(Status.MSP_CONNECTED,false);
+			return false;
+		}
+		isConnected = true;
+
+		Thread t = new Thread(this);
+		t.setName("MAVLink shm reader");
+		t.setDaemon(true);
+		t.start();
+
+		msg_heartbeat hb = new msg_heartbeat(255,1);
+		hb.isValid = true;
+		try {
+			write(hb);
+		} catch (IOException e) { }
+		return true;
+	}
+
+	@Override
+	public void run() {
+		final MAVSharedRing.Reader ring = down;
+		ByteBuffer frame;
+		while(isConnected) {
+			if(ring.isClosed())
+				break;
+			if((frame = ring.poll()) == null) {
+				LockSupport.parkNanos(poll_ns);
+				continue;
+			}
+			// zero copy: the framer reads from the mapped file, overwritten frames fail the CRC
+			reader.put(frame);
+		}
+		model.sys.setStatus(Status.MSP_CONNECTED,false);
+		isConnected = false;
+	}
+
+	@Override
+	public synchronized void write(MAVLinkMessage msg) throws IOException {
+		if(!isConnected)
+			throw new IOException("Not yet connected");
+		if(msg!=null) {
+			txBuffer.clear();
+			msg.encodeTo(txBuffer, msg.packet);
+			txBuffer.flip();
+			up.write(msg.messageType, txBuffer);
+		}
+	}
+
+	@Override
+	public synchronized void writeFrame(ByteBuffer frame) throws IOException {
+		if(!isConnected)
+			throw new IOException("Not yet connected");
+		up.write(MAVLinkReader.getMessageId(frame), frame);
+		frame.position(frame.limit());
+	}
+
+	/**
+	 * @return frames of the proxy lost because this reader fell behind
+	 */
+	public long getLost() {
+		return down == null ? 0 : down.getLost();
+	}
+
+	@Override
+	public int getErrorCount() {
+		return reader.getLostPackages();
+	}
+
+	@Override
+	public MAVLinkStats getLinkStats() {
+		return reader.getStats();
+	}
+
+	@Override
+	public Map<Class<?>,MAVLinkMessage> getMavLinkMessageMap() {
+		return parser.getMavLinkMessageMap();
+	}
+
+	@Override
+	public MAVLinkMessageStore getMessageStore() {
+		return parser.getMessageStore();
+	}
+
+	@Override
+	public void addMAVLinkListener(IMAVLinkListener listener) {
+		parser.addMAVLinkListener(listener);
+	}
+
+	@Override
+	public void setMAVLinkFrameListener(IMAVLinkFrameListener listener) {
+		reader.setFrameListener(listener);
+	}
+
+	@Override
+	public void setDeduplicator(MAVLinkDeduplicator deduplicator, int link) {
+		reader.setDeduplicator(deduplicator, link);
+	}
+
+	@Override
+	public void addMAVMessageListener(IMAVMessageListener listener) {
+		parser.addMAVMessageListener(listener);
+	}
+
+	@Override
+	public boolean isSerial() {
+		return false;
+	}
+
+	@Override
+	public boolean isConnected() {
+		return isConnected;
+	}
+
+	@Override
+	public DataModel getModel() {
+		return model;
+	}
+
+	@Override
+	public synchronized void close() {
+		isConnected = false;
+		if(up != null) {
+			up.setClosed();
+			up = null;
+		}
+	}
+
+	@Override
+	public void writeMessage(LogMessage m) {
+		parser.writeMessage(m);
+	}
+
+	@Override
+	public void setCmdAcknowledgeListener(IMAVCmdAcknowledge ack) {
+		parser.setCmdAcknowledgeListener(ack);
+	}
+
+}
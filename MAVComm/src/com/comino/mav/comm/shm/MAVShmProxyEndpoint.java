@@ -0,0 +1,162 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm.shm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.locks.LockSupport;
+
+import com.comino.main.MSPConfig;
+import com.comino.mav.comm.IMAVComm;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
+
+/**
+ * Shared memory endpoint of the proxy. Frames passed to received() are written to the ring
+ * <path>.down, which any number of local processes can read. Frames of the local client in
+ * <path>.up are forwarded to the vehicle as they are.
+ */
+public class MAVShmProxyEndpoint implements IMAVLinkFrameListener, Runnable {
+
+	public static final long DEFAULT_POLL_US = 100;
+
+	private final Path      down_path;
+	private final Path      up_path;
+	private final IMAVComm  comm;
+	private final int       slots;
+	private final long      poll_ns;
+
+	private MAVSharedRing   down = null;
+	private volatile boolean isConnected = false;
+
+	private long forwarded = 0;
+	private long lost = 0;
+
+
+	public MAVShmProxyEndpoint(String path, IMAVComm comm) {
+		this.down_path = Paths.get(path+".down");
+		this.up_path   = Paths.get(path+".up");
+		this.comm      = comm;
+
+		MSPConfig config = MSPConfig.getInstance();
+		this.slots   = config == null ? MAVSharedRing.DEFAULT_SLOTS : config.getIntProperty("shm_slots", String.valueOf(MAVSharedRing.DEFAULT_SLOTS));
+		this.poll_ns = (config == null ? DEFAULT_POLL_US : config.getIntProperty("shm_poll_us", String.valueOf(DEFAULT_POLL_US))) * 1000L;
+
+		System.out.println("Proxy (SHM): "+path+" with "+slots+" slots");
+	}
+
+	public synchronized boolean open() {
+		if(isConnected)
+			return true;
+		try {
+			down = MAVSharedRing.create(down_path, slots);
+		} catch(IOException e) {
+			System.err.println("Proxy (SHM): "+e.getMessage());
+			return false;
+		}
+		isConnected = true;
+		Thread t = new Thread(this);
+		t.setName("Proxy shm endpoint");
+		t.setDaemon(true);
+		t.start();
+		return true;
+	}
+
+	@Override
+	public synchronized void received(int msgId, ByteBuffer frame) {
+		if(down != null)
+			down.write(msgId, frame);
+	}
+
+	/**
+	 * Attaches to the ring of the local client and forwards its frames
+	 */
+	@Override
+	public void run() {
+		MAVSharedRing.Reader up = null;
+		ByteBuffer frame;
+		final ByteBuffer copy = ByteBuffer.allocateDirect(MAVSharedRing.MAX_FRAME_LEN);
+		while(isConnected) {
+			if(up == null || up.isClosed()) {
+				up = null;
+				if(Files.exists(up_path)) {
+					try {
+						up = MAVSharedRing.attach(up_path).newReader();
+					} catch(IOException e) { }
+				}
+				if(up == null) {
+					LockSupport.parkNanos(1000000000L);
+					continue;
+				}
+			}
+			if((frame = up.poll()) == null) {
+				LockSupport.parkNanos(poll_ns);
+				continue;
+			}
+			// copy first, the client may overwrite the slot meanwhile; torn frames are dropped
+			copy.clear();
+			copy.put(frame).flip();
+			if(!up.isValid()) {
+				lost = up.getLost();
+				continue;
+			}
+			try {
+				if(comm.isConnected())
+					comm.writeFrame(copy);
+				forwarded++;
+			} catch(IOException e) { }
+			lost = up.getLost();
+		}
+	}
+
+	public synchronized void close() {
+		isConnected = false;
+		if(down != null)
+			down.setClosed();
+	}
+
+	public long getForwarded() {
+		return forwarded;
+	}
+
+	/**
+	 * @return frames of the local client lost because the endpoint fell behind
+	 */
+	public long getLost() {
+		return lost;
+	}
+}
@@ -0,0 +1,181 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm.udp;
+
+import java.nio.ByteBuffer;
+
+
+import com.comino.main.MSPConfig;
+import com.comino.mav.mavlink.MAVLinkPriority;
+
+/**
+ * Collects MAVLink frames into one datagram until the MTU is reached, the flush deadline
+ * expired or a latency critical frame is added. Batching is enabled by setting udp_tx_mtu.
+ * Not thread safe, the owner synchronizes.
+ */
+public class MAVUdpBatch {
+
+	// payload limit suggested for udp_tx_mtu on Ethernet and WiFi links
+	public static final int  DEFAULT_MTU         = 1400;
+	public static final long DEFAULT_DEADLINE_US = 1000;
+
+	private static final int MIN_FRAME_LEN = 12;
+	private static final int MAX_FRAME_LEN = 280;
+
+	private final ByteBuffer batch;
+	private final long       delay_ns;
+	// latency critical msgIds of this batch, extended by udp_tx_immediate
+	private final boolean[]  immediate = MAVLinkPriority.createTable();
+
+	private long deadline_ns = 0;
+	private int  count = 0;
+
+	private long frames = 0;
+	private long datagrams = 0;
+
+
+	public MAVUdpBatch(int mtu, long deadline_us) {
+		this.batch    = ByteBuffer.allocateDirect(Math.max(mtu, MAX_FRAME_LEN));
+		this.delay_ns = deadline_us * 1000L;
+	}
+
+	/**
+	 * Creates a batch configured by udp_tx_mtu and udp_tx_deadline_us
+	 * @return null if batching is disabled (udp_tx_mtu not set or 0)
+	 */
+	public static MAVUdpBatch create() {
+		MSPConfig config = MSPConfig.getInstance();
+		if(config == null)
+			return null;
+
+		int mtu = config.getIntProperty("udp_tx_mtu", "0");
+		if(mtu <= 0)
+			return null;
+		MAVUdpBatch batch = new MAVUdpBatch(mtu, config.getIntProperty("udp_tx_deadline_us", String.valueOf(DEFAULT_DEADLINE_US)));
+
+		String[] ids = config.getListProperty("udp_tx_immediate");
+		if(ids != null) {
+			for(String id : ids) {
+				if(id.isEmpty())
+					continue;
+				try {
+					batch.setImmediate(Integer.parseInt(id), true);
+				} catch(NumberFormatException e) {
+					System.err.println("Invalid msgId '"+id+"' in udp_tx_immediate");
+				}
+			}
+		}
+		return batch;
+	}
+
+	public void setImmediate(int msgId, boolean flush) {
+		if(msgId >= 0 && msgId < immediate.length)
+			immediate[msgId] = flush;
+	}
+
+	public boolean isImmediate(int msgId) {
+		return msgId >= 0 && msgId < immediate.length && immediate[msgId];
+	}
+
+	/**
+	 * @return true if the batch has to be sent before the frame can be appended
+	 */
+	public boolean isFull(ByteBuffer frame) {
+		return count > 0 && frame.remaining() > batch.remaining();
+	}
+
+	/**
+	 * Appends the frame between position and limit without changing them
+	 * @return true if the batch should be sent now
+	 */
+	public boolean append(int msgId, ByteBuffer frame, long now_ns) {
+		final int position = frame.position();
+		if(count == 0)
+			deadline_ns = now_ns + delay_ns;
+		batch.put(frame);
+		frame.position(position);
+		count++; frames++;
+		return isImmediate(msgId) || batch.remaining() < MIN_FRAME_LEN || delay_ns == 0;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public int capacity() {
+		return batch.capacity();
+	}
+
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	public boolean isDue(long now_ns) {
+		return count > 0 && now_ns - deadline_ns >= 0;
+	}
+
+	public long getDeadline_ns() {
+		return deadline_ns;
+	}
+
+	/**
+	 * @return the collected frames between position and limit
+	 */
+	public ByteBuffer drain() {
+		batch.flip();
+		datagrams++;
+		return batch;
+	}
+
+	public void clear() {
+		batch.clear();
+		count = 0;
+	}
+
+	public long getFrames() {
+		return frames;
+	}
+
+	public long getDatagrams() {
+		return datagrams;
+	}
+
+	/**
+	 * @return average number of frames per datagram
+	 */
+	public float getBatchFactor() {
+		return datagrams == 0 ? 0 : (float)frames / datagrams;
+	}
+}
@@ -0,0 +1,121 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm.udp;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single thread sending batches whose flush deadline expired.
+ */
+public class MAVUdpBatchFlusher implements Runnable {
+
+	public interface IFlushable {
+		/**
+		 * Sends all batches which are due
+		 * @return the next deadline in ns or 0 if no frames are pending
+		 */
+		public long flushDue(long now_ns);
+	}
+
+	private static MAVUdpBatchFlusher flusher = null;
+
+	private volatile IFlushable[] flushables = new IFlushable[0];
+	private final Thread          thread;
+
+	public static synchronized MAVUdpBatchFlusher getInstance() {
+		if(flusher == null)
+			flusher = new MAVUdpBatchFlusher();
+		return flusher;
+	}
+
+	private MAVUdpBatchFlusher() {
+		thread = new Thread(this);
+		thread.setName("UDP batch flusher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public synchronized void register(IFlushable flushable) {
+		for(IFlushable f : flushables)
+			if(f == flushable)
+				return;
+		IFlushable[] list = Arrays.copyOf(flushables, flushables.length+1);
+		list[flushables.length] = flushable;
+		flushables = list;
+	}
+
+	/**
+	 * To be called when the channel of the flushable is closed
+	 */
+	public synchronized void unregister(IFlushable flushable) {
+		for(int i=0;i<flushables.length;i++) {
+			if(flushables[i] == flushable) {
+				IFlushable[] list = Arrays.copyOf(flushables, flushables.length-1);
+				System.arraycopy(flushables, i+1, list, i, flushables.length-i-1);
+				flushables = list;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * To be called when a batch receives its first frame
+	 */
+	public void signal() {
+		LockSupport.unpark(thread);
+	}
+
+	@Override
+	public void run() {
+		while(true) {
+			final long now = System.nanoTime();
+			long next = 0;
+			for(IFlushable flushable : flushables) {
+				try {
+					long deadline = flushable.flushDue(now);
+					if(deadline != 0 && (next == 0 || deadline - next < 0))
+						next = deadline;
+				} catch(Exception e) {
+					e.printStackTrace();
+				}
+			}
+			if(next == 0)
+				LockSupport.park(this);
+			else
+				LockSupport.parkNanos(this, next - now);
+		}
+	}
+}
@@ -47,6 +47,7 @@ import org.mavlink.messages.lquac.msg_heartbeat;
 
 import com.comino.mav.comm.IMAVComm;
 import com.comino.mav.control.IMAVCmdAcknowledge;
+import com.comino.mav.mavlink.MAVLinkMessageStore;
 import com.comino.mav.mavlink.MAVLinkToModelParser;
 import com.comino.msp.execution.control.listener.IMAVLinkListener;
 import com.comino.msp.execution.control.listener.IMAVMessageListener;
@@ -128,6 +129,13 @@ public class MAVUdpCommIO implements IMAVComm {
 		return null;
 	}
 
+	@Override
+	public MAVLinkMessageStore getMessageStore() {
+		if(parser!=null)
+			return parser.getMessageStore();
+		return null;
+	}
+
 	@Override
 	public boolean isSerial() {
 		return false;
@@ -144,6 +152,11 @@ public class MAVUdpCommIO implements IMAVComm {
 
 	}
 
+	@Override
+	public void writeFrame(ByteBuffer frame) throws IOException {
+		channel.write(frame);
+	}
+
 	@Override
 	public void addMAVMessageListener(IMAVMessageListener listener) {
 		parser.addMAVMessageListener(listener);
@@ -47,6 +47,7 @@ import org.mavlink.messages.lquac.msg_heartbeat;
 
 import com.comino.mav.comm.IMAVComm;
 import com.comino.mav.control.IMAVCmdAcknowledge;
+import com.comino.mav.mavlink.MAVLinkMessageStore;
 import com.comino.mav.mavlink.MAVLinkToModelParser;
 import com.comino.msp.execution.control.listener.IMAVLinkListener;
 import com.comino.msp.execution.control.listener.IMAVMessageListener;
@@ -138,6 +139,13 @@ public class MAVUdpCommNIO implements IMAVComm {
 		return null;
 	}
 
+	@Override
+	public MAVLinkMessageStore getMessageStore() {
+		if(parser!=null)
+			return parser.getMessageStore();
+		return null;
+	}
+
 	public void write(MAVLinkMessage msg) throws IOException {
 		ByteBuffer buf = ByteBuffer.wrap(msg.encode());
 		//		for(int i=0; i<buf.array().length;i++)
@@ -155,6 +163,14 @@ public class MAVUdpCommNIO implements IMAVComm {
 
 	}
 
+	@Override
+	public void writeFrame(ByteBuffer frame) throws IOException {
+		if(channel.isConnected())
+			channel.write(frame);
+		else
+			throw new IOException("Channel not connected");
+	}
+
 	@Override
 	public void addMAVMessageListener(IMAVMessageListener listener) {
 		parser.addMAVMessageListener(listener);
@@ -51,6 +51,7 @@ import org.mavlink.messages.lquac.msg_heartbeat;
 
 import com.comino.mav.comm.IMAVComm;
 import com.comino.mav.control.IMAVCmdAcknowledge;
+import com.comino.mav.mavlink.MAVLinkMessageStore;
 import com.comino.mav.mavlink.MAVLinkToModelParser;
 import com.comino.msp.execution.control.listener.IMAVLinkListener;
 import com.comino.msp.execution.control.listener.IMAVMessageListener;
@@ -203,6 +204,13 @@ public class MAVUdpCommNIO2 implements IMAVComm, Runnable {
 		return null;
 	}
 
+	@Override
+	public MAVLinkMessageStore getMessageStore() {
+		if(parser!=null)
+			return parser.getMessageStore();
+		return null;
+	}
+
 	public void write(MAVLinkMessage msg) throws IOException {
 		if(!channel.isConnected())
 			throw new IOException("Not yet connected");
@@ -216,6 +224,14 @@ public class MAVUdpCommNIO2 implements IMAVComm, Runnable {
 
 	}
 
+	@Override
+	public void writeFrame(ByteBuffer frame) throws IOException {
+		if(!channel.isConnected())
+			throw new IOException("Not yet connected");
+		if(channel.isOpen())
+			channel.write(frame);
+	}
+
 	@Override
 	public void addMAVMessageListener(IMAVMessageListener listener) {
 		parser.addMAVMessageListener(listener);
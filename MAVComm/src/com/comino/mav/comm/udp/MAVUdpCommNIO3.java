@@ -49,9 +49,15 @@ import org.mavlink.messages.MAVLinkMessage;
 import org.mavlink.messages.lquac.msg_heartbeat;
 
 import com.comino.mav.comm.IMAVComm;
+import com.comino.mav.comm.MAVReactor;
 import com.comino.mav.control.IMAVCmdAcknowledge;
 import com.comino.mav.mavlink.MAVLinkBlockingReader;
+import com.comino.mav.mavlink.MAVLinkDeduplicator;
+import com.comino.mav.mavlink.MAVLinkMessageStore;
+import com.comino.mav.mavlink.MAVLinkStats;
+import com.comino.mav.mavlink.MAVLinkReader;
 import com.comino.mav.mavlink.MAVLinkToModelParser;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
 import com.comino.msp.execution.control.listener.IMAVLinkListener;
 import com.comino.msp.execution.control.listener.IMAVMessageListener;
 import com.comino.msp.model.DataModel;
@@ -61,7 +67,9 @@ import com.comino.msp.model.segment.Status;
 import com.comino.msp.utils.ExecutorService;
 
 
-public class MAVUdpCommNIO3 implements IMAVComm, Runnable {
+public class MAVUdpCommNIO3 implements IMAVComm, MAVUdpBatchFlusher.IFlushable, MAVReactor.IHandler, Runnable {
+
+	private static final long       TIMEOUT_MS = 1000;
 
 
 	private DataModel 				model = null;
@@ -78,9 +86,17 @@ public class MAVUdpCommNIO3 implements IMAVComm, Runnable {
 
 	private Selector selector;
 
+	// registration with the shared reactor, null if the link runs its own selector thread
+	private SelectionKey reactorKey = null;
+	private long last_rx_ms = 0;
+
 	private static MAVUdpCommNIO3 com = null;
 
 	private ByteBuffer rxBuffer = ByteBuffer.allocate(32768);
+	private final ByteBuffer txBuffer = ByteBuffer.allocateDirect(512);
+
+	// null: each message is sent as a datagram
+	private final MAVUdpBatch batch = MAVUdpBatch.create();
 
 	public static MAVUdpCommNIO3 getInstance(DataModel model, String peerAddress, int peerPort, int bindPort) {
 		if(com==null)
@@ -118,6 +134,16 @@ public class MAVUdpCommNIO3 implements IMAVComm, Runnable {
 			channel.socket().setSendBufferSize(32*1024);
 			channel.connect(peerPort);
 			channel.configureBlocking(false);
+
+			if(batch != null)
+				MAVUdpBatchFlusher.getInstance().register(this);
+
+			if(MAVReactor.isEnabled()) {
+				reactorKey = MAVReactor.getInstance().register(channel, SelectionKey.OP_READ, this);
+				connected();
+				return isConnected;
+			}
+
 			selector = Selector.open();
 			channel.register(selector, SelectionKey.OP_READ);
 
@@ -152,24 +178,15 @@ public class MAVUdpCommNIO3 implements IMAVComm, Runnable {
 	@Override
 	public void run() {
 		SelectionKey key = null;
-		Iterator<?> selectedKeys = null; MAVLinkMessage msg = null;
-
-		if(channel.isConnected()) {
-			isConnected = true;
-			msg_heartbeat hb = new msg_heartbeat(255,1);
-			hb.isValid = true;
-			try {
-				write(hb);
-			} catch(Exception e) { }
-		} else
-			isConnected = false;
+		Iterator<?> selectedKeys = null;
 
+		connected();
 
 		while(isConnected) {
 
 			try {
 
-				if(selector.select(1000)==0)
+				if(selector.select(TIMEOUT_MS)==0)
 					throw new IOException("UDP NIO Timeout");
 
 				selectedKeys = selector.selectedKeys().iterator();
@@ -179,31 +196,66 @@ public class MAVUdpCommNIO3 implements IMAVComm, Runnable {
 					selectedKeys.remove();
 					if (!key.isValid())
 						continue;
-
-					if (key.isReadable()) {
-						if(channel.isConnected() && channel.receive(rxBuffer)!=null) {
-							rxBuffer.flip();
-							while(rxBuffer.hasRemaining())
-								reader.put(rxBuffer.get());
-							rxBuffer.compact();
-						}
-					}
+					ready(key);
 				}
 			} catch(Exception e) {
-				rxBuffer.clear();
-				model.sys.setStatus(Status.MSP_CONNECTED,false);
-				try { channel.close(); } catch (IOException e1) { 	}
-				isConnected = false;
+				disconnected();
 			}
 		}
 		close();
 	}
 
+	private void connected() {
+		if(channel.isConnected()) {
+			isConnected = true;
+			last_rx_ms = System.currentTimeMillis();
+			msg_heartbeat hb = new msg_heartbeat(255,1);
+			hb.isValid = true;
+			try {
+				write(hb);
+			} catch(Exception e) { }
+		} else
+			isConnected = false;
+	}
+
+	private void disconnected() {
+		rxBuffer.clear();
+		model.sys.setStatus(Status.MSP_CONNECTED,false);
+		try { channel.close(); } catch (IOException e1) { 	}
+		isConnected = false;
+	}
+
+	@Override
+	public void ready(SelectionKey key) throws IOException {
+		if (key.isReadable()) {
+			if(channel.isConnected() && channel.receive(rxBuffer)!=null) {
+				last_rx_ms = System.currentTimeMillis();
+				rxBuffer.flip();
+				reader.put(rxBuffer);
+				rxBuffer.clear();
+			}
+		}
+	}
+
+	@Override
+	public void tick(long now_ms) {
+		// same timeout as the select of the own thread
+		if(isConnected && now_ms - last_rx_ms > TIMEOUT_MS) {
+			disconnected();
+			close();
+		}
+	}
+
 	@Override
 	public int getErrorCount() {
 		return reader.getLostPackages();
 	}
 
+	@Override
+	public MAVLinkStats getLinkStats() {
+		return reader.getStats();
+	}
+
 
 	@Override
 	public Map<Class<?>,MAVLinkMessage> getMavLinkMessageMap() {
@@ -212,11 +264,22 @@ public class MAVUdpCommNIO3 implements IMAVComm, Runnable {
 		return null;
 	}
 
-	public void write(MAVLinkMessage msg) throws IOException {
+	@Override
+	public MAVLinkMessageStore getMessageStore() {
+		if(parser!=null)
+			return parser.getMessageStore();
+		return null;
+	}
+
+	public synchronized void write(MAVLinkMessage msg) throws IOException {
 		if(!channel.isConnected())
 			throw new IOException("Not yet connected");
-		if(msg!=null && channel!=null && channel.isOpen())
-			channel.write(ByteBuffer.wrap(msg.encode()));
+		if(msg!=null && channel!=null && channel.isOpen()) {
+			txBuffer.clear();
+			msg.encodeTo(txBuffer, msg.packet);
+			txBuffer.flip();
+			send(msg.messageType, txBuffer);
+		}
 	}
 
 	@Override
@@ -225,6 +288,72 @@ public class MAVUdpCommNIO3 implements IMAVComm, Runnable {
 
 	}
 
+	@Override
+	public void setMAVLinkFrameListener(IMAVLinkFrameListener listener) {
+		reader.setFrameListener(listener);
+	}
+
+	@Override
+	public void setDeduplicator(MAVLinkDeduplicator deduplicator, int link) {
+		reader.setDeduplicator(deduplicator, link);
+	}
+
+	@Override
+	public synchronized void writeFrame(ByteBuffer frame) throws IOException {
+		if(!channel.isConnected())
+			throw new IOException("Not yet connected");
+		if(channel.isOpen())
+			send(MAVLinkReader.getMessageId(frame), frame);
+	}
+
+	/**
+	 * Appends the frame to the batch, which is sent when full, when a latency critical
+	 * msgId is added or by the flusher when its deadline expired.
+	 */
+	private void send(int msgId, ByteBuffer frame) throws IOException {
+		if(batch == null) {
+			channel.write(frame);
+			return;
+		}
+		if(batch.isFull(frame))
+			sendBatch();
+		final boolean first = batch.isEmpty();
+		if(batch.append(msgId, frame, System.nanoTime()))
+			sendBatch();
+		else if(first)
+			MAVUdpBatchFlusher.getInstance().signal();
+		frame.position(frame.limit());
+	}
+
+	private void sendBatch() throws IOException {
+		try {
+			channel.write(batch.drain());
+		} finally {
+			batch.clear();
+		}
+	}
+
+	@Override
+	public synchronized long flushDue(long now_ns) {
+		if(batch.isEmpty())
+			return 0;
+		if(!batch.isDue(now_ns))
+			return batch.getDeadline_ns();
+		try {
+			if(channel != null && channel.isOpen() && channel.isConnected())
+				sendBatch();
+			else
+				batch.clear();
+		} catch(IOException e) {
+			batch.clear();
+		}
+		return 0;
+	}
+
+	public float getBatchFactor() {
+		return batch == null ? 0 : batch.getBatchFactor();
+	}
+
 	@Override
 	public void addMAVMessageListener(IMAVMessageListener listener) {
 		parser.addMAVMessageListener(listener);
@@ -246,7 +375,13 @@ public class MAVUdpCommNIO3 implements IMAVComm, Runnable {
 
 	public void close() {
 		isConnected = false;
+		if(batch != null)
+			MAVUdpBatchFlusher.getInstance().unregister(this);
 		try {
+			if(reactorKey!=null) {
+				MAVReactor.getInstance().unregister(reactorKey);
+				reactorKey = null;
+			}
 			if(selector!=null )
 				selector.close();
 			if (channel != null ) {
@@ -0,0 +1,244 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm.unix;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+
+import org.mavlink.messages.MAVLinkMessage;
+import org.mavlink.messages.lquac.msg_heartbeat;
+
+import com.comino.mav.comm.IMAVComm;
+import com.comino.mav.control.IMAVCmdAcknowledge;
+import com.comino.mav.mavlink.MAVLinkBlockingReader;
+import com.comino.mav.mavlink.MAVLinkDeduplicator;
+import com.comino.mav.mavlink.MAVLinkMessageStore;
+import com.comino.mav.mavlink.MAVLinkStats;
+import com.comino.mav.mavlink.MAVLinkToModelParser;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
+import com.comino.msp.execution.control.listener.IMAVLinkListener;
+import com.comino.msp.execution.control.listener.IMAVMessageListener;
+import com.comino.msp.model.DataModel;
+import com.comino.msp.model.segment.LogMessage;
+import com.comino.msp.model.segment.Status;
+
+/**
+ * Link to a MAVComm proxy on the same board over an AF_UNIX stream socket. The stream is
+ * framed by the bulk framer like a serial link.
+ */
+public class MAVUnixComm implements IMAVComm, Runnable {
+
+	private DataModel 				model = null;
+
+	private final UnixDomainSocketAddress address;
+	private SocketChannel 			channel = null;
+
+	private MAVLinkToModelParser	parser = null;
+	private MAVLinkBlockingReader   reader;
+
+	private volatile boolean		isConnected = false;
+
+	private static MAVUnixComm com = null;
+
+	private final ByteBuffer rxBuffer = ByteBuffer.allocateDirect(32768);
+	private final ByteBuffer txBuffer = ByteBuffer.allocateDirect(512);
+
+	public static MAVUnixComm getInstance(DataModel model, String path) {
+		if(com==null)
+			com = new MAVUnixComm(model, path);
+		return com;
+	}
+
+	private MAVUnixComm(DataModel model, String path) {
+		this.model   = model;
+		this.address = UnixDomainSocketAddress.of(path);
+		this.parser  = new MAVLinkToModelParser(model,this);
+		this.reader  = new MAVLinkBlockingReader(2, parser);
+
+		System.out.println("Vehicle (Unix): "+path);
+	}
+
+	@Override
+	public synchronized boolean open() {
+
+		if(isConnected)
+			return true;
+
+		try {
+			channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+			channel.connect(address);
+			isConnected = true;
+
+			Thread t = new Thread(this);
+			t.setName("MAVLink unix reader");
+			t.setDaemon(true);
+			t.start();
+
+			msg_heartbeat hb = new msg_heartbeat(255,1);
+			hb.isValid = true;
+			write(hb);
+
+		} catch(Exception e) {
+			System.err.println("Open:"+e.getMessage());
+			try {
+				if(channel != null)
+					channel.close();
+			} catch (IOException e1) { }
+			model.sys.setStatus(Status.MSP_CONNECTED,false);
+			isConnected = false;
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void run() {
+		try {
+			while(isConnected) {
+				rxBuffer.clear();
+				if(channel.read(rxBuffer) < 0)
+					break;
+				rxBuffer.flip();
+				reader.put(rxBuffer);
+			}
+		} catch(IOException e) { }
+		model.sys.setStatus(Status.MSP_CONNECTED,false);
+		close();
+	}
+
+	@Override
+	public synchronized void write(MAVLinkMessage msg) throws IOException {
+		if(!isConnected)
+			throw new IOException("Not yet connected");
+		if(msg!=null) {
+			txBuffer.clear();
+			msg.encodeTo(txBuffer, msg.packet);
+			txBuffer.flip();
+			writeFully(txBuffer);
+		}
+	}
+
+	@Override
+	public synchronized void writeFrame(ByteBuffer frame) throws IOException {
+		if(!isConnected)
+			throw new IOException("Not yet connected");
+		writeFully(frame);
+	}
+
+	// a partial frame would corrupt the stream
+	private void writeFully(ByteBuffer buf) throws IOException {
+		while(buf.hasRemaining())
+			channel.write(buf);
+	}
+
+	@Override
+	public int getErrorCount() {
+		return reader.getLostPackages();
+	}
+
+	@Override
+	public MAVLinkStats getLinkStats() {
+		return reader.getStats();
+	}
+
+	@Override
+	public Map<Class<?>,MAVLinkMessage> getMavLinkMessageMap() {
+		return parser.getMavLinkMessageMap();
+	}
+
+	@Override
+	public MAVLinkMessageStore getMessageStore() {
+		return parser.getMessageStore();
+	}
+
+	@Override
+	public void addMAVLinkListener(IMAVLinkListener listener) {
+		parser.addMAVLinkListener(listener);
+	}
+
+	@Override
+	public void setMAVLinkFrameListener(IMAVLinkFrameListener listener) {
+		reader.setFrameListener(listener);
+	}
+
+	@Override
+	public void setDeduplicator(MAVLinkDeduplicator deduplicator, int link) {
+		reader.setDeduplicator(deduplicator, link);
+	}
+
+	@Override
+	public void addMAVMessageListener(IMAVMessageListener listener) {
+		parser.addMAVMessageListener(listener);
+	}
+
+	@Override
+	public boolean isSerial() {
+		return false;
+	}
+
+	@Override
+	public boolean isConnected() {
+		return isConnected;
+	}
+
+	@Override
+	public DataModel getModel() {
+		return model;
+	}
+
+	@Override
+	public void close() {
+		isConnected = false;
+		try {
+			if (channel != null)
+				channel.close();
+		} catch(Exception e) {  e.printStackTrace(); }
+	}
+
+	@Override
+	public void writeMessage(LogMessage m) {
+		parser.writeMessage(m);
+	}
+
+	@Override
+	public void setCmdAcknowledgeListener(IMAVCmdAcknowledge ack) {
+		parser.setCmdAcknowledgeListener(ack);
+	}
+
+}
@@ -0,0 +1,282 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.comm.unix;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.comino.mav.comm.IMAVComm;
+import com.comino.mav.comm.MAVReactor;
+import com.comino.mav.mavlink.MAVLinkReader;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
+
+/**
+ * AF_UNIX stream endpoint of the proxy for processes on the same board. Frames passed to
+ * received() are sent to all connected clients, frames of the clients are forwarded
+ * to the vehicle as they are.
+ */
+public class MAVUnixProxyEndpoint implements IMAVLinkFrameListener, MAVReactor.IHandler, Runnable {
+
+	private static final int OUT_BUFFER_SIZE = 65536;
+
+	private final UnixDomainSocketAddress address;
+	private final IMAVComm                comm;
+
+	private ServerSocketChannel server   = null;
+	private SelectionKey        serverKey = null;
+	private Selector            selector = null;
+	private boolean             reactor  = false;
+	private volatile boolean    isConnected = false;
+
+	private final List<Connection> connections = new ArrayList<Connection>();
+	private final ByteBuffer       rxBuffer    = ByteBuffer.allocateDirect(32768);
+
+	private long dropped = 0;
+
+
+	public MAVUnixProxyEndpoint(String path, IMAVComm comm) {
+		this.address = UnixDomainSocketAddress.of(path);
+		this.comm    = comm;
+		System.out.println("Proxy (Unix): "+path);
+	}
+
+	public boolean open() {
+		if(isConnected)
+			return true;
+		try {
+			Files.deleteIfExists(address.getPath());
+			server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+			server.bind(address);
+			server.configureBlocking(false);
+			isConnected = true;
+
+			if(MAVReactor.isEnabled()) {
+				reactor = true;
+				serverKey = MAVReactor.getInstance().register(server, SelectionKey.OP_ACCEPT, this);
+				return true;
+			}
+
+			selector = Selector.open();
+			server.register(selector, SelectionKey.OP_ACCEPT);
+			Thread t = new Thread(this);
+			t.setName("Proxy unix endpoint");
+			t.setDaemon(true);
+			t.start();
+		} catch(IOException e) {
+			System.err.println("Proxy (Unix): "+e.getMessage());
+			isConnected = false;
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void run() {
+		Iterator<SelectionKey> selectedKeys = null;
+		SelectionKey key = null;
+		try {
+			while(isConnected) {
+				if(selector.select(1000) == 0)
+					continue;
+				selectedKeys = selector.selectedKeys().iterator();
+				while(selectedKeys.hasNext()) {
+					key = selectedKeys.next();
+					selectedKeys.remove();
+					if(key.isValid())
+						ready(key);
+				}
+			}
+		} catch(Exception e) {
+			System.err.println("Proxy (Unix): "+e.getMessage());
+		}
+		close();
+	}
+
+	@Override
+	public void ready(SelectionKey key) throws IOException {
+		if(key.isAcceptable()) {
+			SocketChannel channel = server.accept();
+			if(channel == null)
+				return;
+			channel.configureBlocking(false);
+			Connection connection = new Connection(channel);
+			synchronized(this) {
+				connection.key = channel.register(key.selector(), SelectionKey.OP_READ, reactor ? this : connection);
+				connections.add(connection);
+			}
+			System.out.println("Proxy (Unix) client connected");
+			return;
+		}
+
+		final Connection connection = getConnection(key);
+		if(connection == null)
+			return;
+
+		if(key.isWritable())
+			connection.flush();
+
+		if(key.isReadable()) {
+			rxBuffer.clear();
+			if(connection.channel.read(rxBuffer) < 0) {
+				remove(connection);
+				return;
+			}
+			rxBuffer.flip();
+			connection.reader.put(rxBuffer);
+		}
+	}
+
+	private synchronized Connection getConnection(SelectionKey key) {
+		if(key.attachment() instanceof Connection)
+			return (Connection)key.attachment();
+		for(Connection connection : connections)
+			if(connection.key == key)
+				return connection;
+		return null;
+	}
+
+	@Override
+	public void tick(long now_ms) {
+
+	}
+
+	/**
+	 * Sends the frame between position and limit to all clients without changing them
+	 */
+	@Override
+	public synchronized void received(int msgId, ByteBuffer frame) {
+		for(int i=0; i < connections.size(); i++) {
+			try {
+				connections.get(i).send(frame);
+			} catch(IOException e) {
+				remove(connections.get(i--));
+			}
+		}
+	}
+
+	private synchronized void remove(Connection connection) {
+		connections.remove(connection);
+		connection.key.cancel();
+		try { connection.channel.close(); } catch (IOException e) { }
+		System.out.println("Proxy (Unix) client disconnected");
+	}
+
+	public synchronized int getClientCount() {
+		return connections.size();
+	}
+
+	/**
+	 * @return frames dropped because the output buffer of a client was full
+	 */
+	public synchronized long getDropped() {
+		return dropped;
+	}
+
+	public synchronized void close() {
+		isConnected = false;
+		while(!connections.isEmpty())
+			remove(connections.get(0));
+		try {
+			if(selector != null)
+				selector.close();
+			if(server != null) {
+				if(reactor)
+					MAVReactor.getInstance().unregister(serverKey);
+				server.close();
+			}
+			Files.deleteIfExists(address.getPath());
+		} catch(IOException e) { }
+	}
+
+	private final class Connection {
+
+		final SocketChannel channel;
+		final MAVLinkReader reader = new MAVLinkReader(4);
+		final ByteBuffer    out    = ByteBuffer.allocateDirect(OUT_BUFFER_SIZE);
+		SelectionKey        key;
+
+		Connection(SocketChannel channel) {
+			this.channel = channel;
+			// nothing decoded, frames go to the vehicle as they are
+			reader.setInterestAll(false);
+			reader.setFrameListener((msgId, frame) -> {
+				try {
+					if(comm.isConnected())
+						comm.writeFrame(frame);
+				} catch(IOException e) { }
+			});
+		}
+
+		/**
+		 * Writes the frame directly if nothing is pending, the remainder is buffered
+		 */
+		void send(ByteBuffer frame) throws IOException {
+			final int position = frame.position();
+			if(out.position() == 0) {
+				channel.write(frame);
+				if(frame.hasRemaining()) {
+					out.put(frame);
+					key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+					key.selector().wakeup();
+				}
+			} else if(out.remaining() >= frame.remaining()) {
+				out.put(frame);
+			} else {
+				dropped++;
+			}
+			frame.position(position);
+		}
+
+		void flush() throws IOException {
+			synchronized(MAVUnixProxyEndpoint.this) {
+				out.flip();
+				channel.write(out);
+				out.compact();
+				if(out.position() == 0)
+					key.interestOps(SelectionKey.OP_READ);
+			}
+		}
+	}
+}
@@ -38,6 +38,7 @@ import java.util.Map;
 
 import org.mavlink.messages.MAVLinkMessage;
 
+import com.comino.mav.mavlink.MAVLinkStats;
 import com.comino.msp.execution.control.StatusManager;
 import com.comino.msp.execution.control.listener.IMAVLinkListener;
 import com.comino.msp.execution.control.listener.IMAVMessageListener;
@@ -58,6 +59,11 @@ public interface IMAVController {
 
 	public int getErrorCount();
 
+	/**
+	 * @return receive statistics of the vehicle link or null if not supported
+	 */
+	public MAVLinkStats getLinkStats();
+
 	public DataModel getCurrentModel();
 
 	public String getConnectedAddress();
@@ -51,6 +51,7 @@ import org.mavlink.messages.lquac.msg_msp_command;
 import com.comino.mav.comm.IMAVComm;
 import com.comino.mav.control.IMAVCmdAcknowledge;
 import com.comino.mav.control.IMAVController;
+import com.comino.mav.mavlink.MAVLinkStats;
 import com.comino.msp.execution.control.StatusManager;
 import com.comino.msp.execution.control.listener.IMAVLinkListener;
 import com.comino.msp.execution.control.listener.IMAVMessageListener;
@@ -309,6 +310,11 @@ public class MAVController implements IMAVController, Runnable {
 		return comm.getErrorCount();
 	}
 
+	@Override
+	public MAVLinkStats getLinkStats() {
+		return comm.getLinkStats();
+	}
+
 
 	@Override
 	public String getConnectedAddress() {
@@ -44,13 +44,17 @@ import org.mavlink.messages.MAV_CMD;
 import org.mavlink.messages.lquac.msg_command_long;
 import org.mavlink.messages.lquac.msg_statustext;
 
+import com.comino.main.MSPConfig;
 import com.comino.mav.comm.IMAVComm;
+import com.comino.mav.comm.MAVRedundantComm;
 import com.comino.mav.comm.proxy.MAVUdpProxyNIO3;
 import com.comino.mav.comm.serial.MAVSerialComm;
+import com.comino.mav.comm.serial.MAVSerialCommNative;
 import com.comino.mav.comm.udp.MAVUdpCommNIO3;
 import com.comino.mav.control.IMAVCmdAcknowledge;
 import com.comino.mav.control.IMAVController;
 import com.comino.mav.control.IMAVMSPController;
+import com.comino.mav.mavlink.MAVLinkStats;
 import com.comino.msp.execution.control.StatusManager;
 import com.comino.msp.execution.control.listener.IMAVLinkListener;
 import com.comino.msp.execution.control.listener.IMAVMessageListener;
@@ -99,7 +103,14 @@ public class MAVProxyController implements IMAVMSPController {
 
 		switch(mode) {
 		case MAVController.MODE_NORMAL:
-			comm = MAVSerialComm.getInstance(model, BAUDRATE_9, false);
+			MSPConfig config = MSPConfig.getInstance();
+			if(config != null && config.getBoolProperty("serial_native", "false"))
+				comm = MAVSerialCommNative.getInstance(model, config.getProperty("serial_native_device", "/dev/ttyAMA0"),
+						config.getIntProperty("serial_native_baudrate", String.valueOf(BAUDRATE_15)));
+			else
+				comm = MAVSerialComm.getInstance(model, BAUDRATE_9, false);
+			if(config != null && config.getProperty("redundant_link") != null)
+				comm = createRedundantComm(comm, config.getProperty("redundant_link"));
 			comm.open();
 			try { Thread.sleep(500); } catch (InterruptedException e) { }
 
@@ -127,8 +138,26 @@ public class MAVProxyController implements IMAVMSPController {
 			break;
 		}
 
-		comm.addMAVLinkListener(proxy);
+		if(proxy.isPassThrough())
+			comm.setMAVLinkFrameListener(proxy);
+		else
+			comm.addMAVLinkListener(proxy);
+
+	}
 
+	/**
+	 * Adds a second link to the vehicle, e.g. "udp:192.168.1.10:14557:14540"
+	 * (peer address, peer port, bind port). Falls back to the primary link if invalid.
+	 */
+	private IMAVComm createRedundantComm(IMAVComm primary, String link) {
+		String[] p = link.trim().split(":");
+		try {
+			if(p.length == 4 && p[0].equalsIgnoreCase("udp"))
+				return new MAVRedundantComm(primary,
+						MAVUdpCommNIO3.getInstance(model, p[1], Integer.parseInt(p[2]), Integer.parseInt(p[3])));
+		} catch(NumberFormatException e) { }
+		System.err.println("Invalid redundant_link '"+link+"'. Using single link");
+		return primary;
 	}
 
 	@Override
@@ -285,6 +314,11 @@ public class MAVProxyController implements IMAVMSPController {
 		return comm.getErrorCount();
 	}
 
+	@Override
+	public MAVLinkStats getLinkStats() {
+		return comm.getLinkStats();
+	}
+
 
 	@Override
 	public String enableFileLogging(boolean enable, String directory) {
@@ -37,7 +37,10 @@ package com.comino.mav.control.impl;
 import org.mavlink.messages.MAV_TYPE;
 import org.mavlink.messages.lquac.msg_heartbeat;
 
+import com.comino.main.MSPConfig;
+import com.comino.mav.comm.shm.MAVShmComm;
 import com.comino.mav.comm.udp.MAVUdpCommNIO3;
+import com.comino.mav.comm.unix.MAVUnixComm;
 import com.comino.mav.control.IMAVController;
 import com.comino.msp.model.segment.Status;
 
@@ -52,8 +55,17 @@ public class MAVUdpController extends MAVController implements IMAVController, R
 		this.peerAddress = peerAddress;
 		this.peerPort = peerPort;
 		this.bindPort = bindPort;
-		System.out.println("UDP Controller loaded ("+peerAddress+":"+peerPort+")");
-		comm = MAVUdpCommNIO3.getInstance(model, peerAddress,peerPort, bindPort);
+		MSPConfig config = MSPConfig.getInstance();
+		if(config != null && config.getProperty("shm_path") != null) {
+			System.out.println("UDP Controller loaded (shm:"+config.getProperty("shm_path").trim()+")");
+			comm = MAVShmComm.getInstance(model, config.getProperty("shm_path").trim());
+		} else if(config != null && config.getProperty("unix_path") != null) {
+			System.out.println("UDP Controller loaded (unix:"+config.getProperty("unix_path").trim()+")");
+			comm = MAVUnixComm.getInstance(model, config.getProperty("unix_path").trim());
+		} else {
+			System.out.println("UDP Controller loaded ("+peerAddress+":"+peerPort+")");
+			comm = MAVUdpCommNIO3.getInstance(model, peerAddress,peerPort, bindPort);
+		}
 		model.sys.setStatus(Status.MSP_PROXY, false);
 	}
 
@@ -1,7 +1,17 @@
 package com.comino.mav.mavlink;
 
+import org.mavlink.messages.MAVLinkMessage;
+
+import com.comino.main.MSPConfig;
+
 public class MAVLinkBlockingReader extends MAVLinkReader implements Runnable {
 
+	/**
+	 * How decoded messages are passed to the parser: QUEUE hands them over to the reader
+	 * thread, INLINE parses them in the receiving thread.
+	 */
+	public enum Handoff { QUEUE, INLINE }
+
 	private MAVLinkToModelParser parser;
 
 	public MAVLinkBlockingReader(int id, MAVLinkToModelParser parser) {
@@ -9,8 +19,32 @@ public class MAVLinkBlockingReader extends MAVLinkReader implements Runnable {
 	}
 
 	public MAVLinkBlockingReader(int id, boolean noCRCCheck, MAVLinkToModelParser parser) {
-		super(id,noCRCCheck);
+		this(id, noCRCCheck, getQueueSize(), getWaitStrategy(), parser);
+	}
+
+	public MAVLinkBlockingReader(int id, boolean noCRCCheck, int queueSize, MAVLinkMessageQueue.WaitStrategy strategy,
+			MAVLinkToModelParser parser) {
+		this(id, noCRCCheck, queueSize, strategy, getHandoff(), parser);
+	}
+
+	public MAVLinkBlockingReader(int id, boolean noCRCCheck, int queueSize, MAVLinkMessageQueue.WaitStrategy strategy,
+			Handoff handoff, MAVLinkToModelParser parser) {
+		super(id,noCRCCheck, queueSize, strategy);
 		this.parser = parser;
+		this.parser.setReader(this);
+		if(handoff == Handoff.INLINE) {
+			setHandoff((o) -> {
+				try {
+					parser.parseMessage((MAVLinkMessage)o);
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			});
+			return;
+		}
+		setQueuePolicies("mavlink_coalesce", MAVLinkMessageQueue.Policy.COALESCE);
+		setQueuePolicies("mavlink_never_drop", MAVLinkMessageQueue.Policy.NEVER_DROP);
+		setQueuePolicies("mavlink_fifo", MAVLinkMessageQueue.Policy.FIFO);
 		Thread t = new Thread(this);
 		t.setName("MAVLinkBlockingReader");
 		t.start();
@@ -18,16 +52,69 @@ public class MAVLinkBlockingReader extends MAVLinkReader implements Runnable {
 
 	@Override
 	public void run() {
-		synchronized(this) {
-			while(true) {
-				try {
-					if(packets.isEmpty())
-						wait();
-					parser.parseMessage(getNextMessage());
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
+		MAVLinkMessage msg = null;
+		while(true) {
+			try {
+				msg = packets.take();
+				parser.parseMessage(msg);
+			} catch (InterruptedException e) {
+				return;
+			} catch (Exception e) {
+				e.printStackTrace();
+			} finally {
+				if(msg != null)
+					msg.release();
+				msg = null;
 			}
 		}
 	}
+
+	private void setQueuePolicies(String key, MAVLinkMessageQueue.Policy policy) {
+		MSPConfig config = MSPConfig.getInstance();
+		if(config==null)
+			return;
+		String[] ids = config.getListProperty(key);
+		if(ids==null)
+			return;
+		for(String id : ids) {
+			if(id.isEmpty())
+				continue;
+			try {
+				setQueuePolicy(Integer.parseInt(id), policy);
+			} catch(NumberFormatException e) {
+				System.err.println("Invalid msgId '"+id+"' in "+key);
+			}
+		}
+	}
+
+	private static int getQueueSize() {
+		MSPConfig config = MSPConfig.getInstance();
+		if(config==null)
+			return DEFAULT_QUEUE_SIZE;
+		return config.getIntProperty("mavlink_queue_size", String.valueOf(DEFAULT_QUEUE_SIZE));
+	}
+
+	private static Handoff getHandoff() {
+		MSPConfig config = MSPConfig.getInstance();
+		if(config==null)
+			return Handoff.QUEUE;
+		try {
+			return Handoff.valueOf(config.getProperty("mavlink_handoff", "QUEUE").trim().toUpperCase());
+		} catch(IllegalArgumentException e) {
+			System.err.println("Unknown mavlink_handoff. Using QUEUE");
+			return Handoff.QUEUE;
+		}
+	}
+
+	private static MAVLinkMessageQueue.WaitStrategy getWaitStrategy() {
+		MSPConfig config = MSPConfig.getInstance();
+		if(config==null)
+			return MAVLinkMessageQueue.WaitStrategy.PARK;
+		try {
+			return MAVLinkMessageQueue.WaitStrategy.valueOf(config.getProperty("mavlink_queue_wait", "PARK").trim().toUpperCase());
+		} catch(IllegalArgumentException e) {
+			System.err.println("Unknown mavlink_queue_wait strategy. Using PARK");
+			return MAVLinkMessageQueue.WaitStrategy.PARK;
+		}
+	}
 }
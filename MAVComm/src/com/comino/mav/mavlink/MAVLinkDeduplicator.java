@@ -0,0 +1,116 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.mavlink;
+
+import com.comino.main.MSPConfig;
+
+/**
+ * Suppresses frames received on more than one link. A frame is a duplicate if the same
+ * (sysId, compId, seq, msgId) was seen within the window. The window must be shorter than
+ * the time the 8 bit sequence of a component takes to wrap. Also keeps the receive time
+ * of each link as its health.
+ */
+public class MAVLinkDeduplicator {
+
+	public static final int  MAX_LINKS         = 4;
+	public static final long DEFAULT_WINDOW_MS = 50;
+
+	private final long     window_ns;
+
+	// per sysId<<8 | compId: msgId+1 and receive time by sequence number
+	private final int[][]  seen    = new int[65536][];
+	private final long[][] seen_ns = new long[65536][];
+
+	private final long[]   last_rx_ns = new long[MAX_LINKS];
+	private final long[]   unique     = new long[MAX_LINKS];
+	private final long[]   duplicates = new long[MAX_LINKS];
+
+
+	public MAVLinkDeduplicator() {
+		this(MSPConfig.getInstance() == null ? DEFAULT_WINDOW_MS
+				: MSPConfig.getInstance().getIntProperty("link_dedup_window_ms", String.valueOf(DEFAULT_WINDOW_MS)));
+	}
+
+	public MAVLinkDeduplicator(long window_ms) {
+		this.window_ns = window_ms * 1000000L;
+	}
+
+	/**
+	 * Records the frame received on the link
+	 * @return true if the frame was already received on any link within the window
+	 */
+	public synchronized boolean isDuplicate(int link, int sysId, int compId, int seq, int msgId) {
+		final long now = System.nanoTime();
+		final int key = (sysId & 0x00FF) << 8 | (compId & 0x00FF);
+		seq &= 0x00FF;
+
+		last_rx_ns[link] = now;
+
+		int[]  ids = seen[key];
+		long[] tms = seen_ns[key];
+		if(ids == null) {
+			ids = seen[key]    = new int[256];
+			tms = seen_ns[key] = new long[256];
+		}
+		if(ids[seq] == msgId + 1 && now - tms[seq] < window_ns) {
+			duplicates[link]++;
+			return true;
+		}
+		ids[seq] = msgId + 1;
+		tms[seq] = now;
+		unique[link]++;
+		return false;
+	}
+
+	/**
+	 * @return time since the last valid frame on the link in ms, Long.MAX_VALUE if none was received
+	 */
+	public synchronized long getSilence_ms(int link) {
+		if(last_rx_ns[link] == 0)
+			return Long.MAX_VALUE;
+		return (System.nanoTime() - last_rx_ns[link]) / 1000000L;
+	}
+
+	/**
+	 * @return frames of the link which were received there first
+	 */
+	public synchronized long getUnique(int link) {
+		return unique[link];
+	}
+
+	public synchronized long getDuplicates(int link) {
+		return duplicates[link];
+	}
+}
@@ -0,0 +1,262 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.mavlink;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.mavlink.IMAVLinkCRC;
+import org.mavlink.messages.MAVLinkMessage;
+
+import com.comino.msp.execution.control.listener.IMAVLinkListener;
+
+/**
+ * Executes a set of listeners either inline in the dispatching thread or in an own
+ * thread fed by a bounded queue, so that slow listeners do not delay the others.
+ */
+public class MAVLinkDispatchLane implements Runnable {
+
+	private static final int MAX_MSG_ID = IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length;
+
+	private static final IMAVLinkListener[] NO_LISTENERS = new IMAVLinkListener[0];
+
+	private final String              name;
+	private final MAVLinkMessageQueue queue;
+
+	private final AtomicReferenceArray<IMAVLinkListener[]> listeners = new AtomicReferenceArray<IMAVLinkListener[]>(MAX_MSG_ID);
+	private volatile IMAVLinkListener[]                    global    = NO_LISTENERS;
+
+	// null if latency tracing is disabled
+	private final MAVLinkLatency          latency   = MAVLinkLatency.getInstance();
+	private final MAVLinkLatencyHistogram histogram = latency != null ? new MAVLinkLatencyHistogram() : null;
+
+	private volatile long dispatched     = 0;
+	private volatile long latency_sum_ns = 0;
+	private volatile long latency_max_ns = 0;
+
+
+	/**
+	 * Creates a lane which executes its listeners in the dispatching thread
+	 */
+	public MAVLinkDispatchLane(String name) {
+		this.name  = name;
+		this.queue = null;
+	}
+
+	/**
+	 * Creates a lane with an own thread and a queue of the given capacity
+	 */
+	public MAVLinkDispatchLane(String name, int capacity, MAVLinkMessageQueue.WaitStrategy strategy) {
+		this.name  = name;
+		this.queue = new MAVLinkMessageQueue(capacity, strategy);
+		this.queue.setDefaultPolicies();
+		Thread t = new Thread(this);
+		t.setName("MAVLinkLane-"+name);
+		t.setDaemon(true);
+		t.start();
+	}
+
+	public synchronized void addListener(int msgId, IMAVLinkListener listener) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return;
+		IMAVLinkListener[] list = listeners.get(msgId);
+		listeners.set(msgId, append(list == null ? NO_LISTENERS : list, listener));
+	}
+
+	/**
+	 * Adds a listener for all messages
+	 */
+	public synchronized void addListener(IMAVLinkListener listener) {
+		global = append(global, listener);
+	}
+
+	public boolean hasListeners(int msgId) {
+		return global.length > 0 || (msgId >= 0 && msgId < MAX_MSG_ID && listeners.get(msgId) != null);
+	}
+
+	public boolean hasGlobalListeners() {
+		return global.length > 0;
+	}
+
+	/**
+	 * Executes the listeners for the message or queues it for the lane thread
+	 * @return false if the message was dropped
+	 */
+	public boolean dispatch(MAVLinkMessage msg) {
+		if(!hasListeners(msg.messageType))
+			return true;
+		if(queue == null) {
+			execute(msg);
+			return true;
+		}
+		// the lane thread holds an own reference of pooled messages until its listeners completed
+		msg.retain();
+		if(!queue.offer(msg)) {
+			msg.release();
+			return false;
+		}
+		return true;
+	}
+
+	public boolean isInline() {
+		return queue == null;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the number of messages waiting for the lane thread
+	 */
+	public int getBacklog() {
+		return queue == null ? 0 : queue.size();
+	}
+
+	public int getBacklogHighWaterMark() {
+		return queue == null ? 0 : queue.getHighWaterMark();
+	}
+
+	public long getDropped() {
+		return queue == null ? 0 : queue.getDropped();
+	}
+
+	public long getDispatched() {
+		return dispatched;
+	}
+
+	/**
+	 * @return the average time from receiving a message until its listeners completed in us
+	 */
+	public float getAverageLatency_us() {
+		final long count = dispatched;
+		return count == 0 ? 0 : latency_sum_ns / count / 1000f;
+	}
+
+	public float getMaxLatency_us() {
+		return latency_max_ns / 1000f;
+	}
+
+	/**
+	 * @return the time from reading the bytes until all listeners of the lane completed,
+	 * null if latency tracing is disabled
+	 */
+	public MAVLinkLatencyHistogram getLatencyHistogram() {
+		return histogram;
+	}
+
+	public void resetStatistics() {
+		dispatched = 0; latency_sum_ns = 0; latency_max_ns = 0;
+		if(histogram != null)
+			histogram.reset();
+		if(queue != null)
+			queue.resetHighWaterMark();
+	}
+
+	@Override
+	public void run() {
+		MAVLinkMessage msg = null;
+		while(true) {
+			try {
+				msg = queue.take();
+				execute(msg);
+			} catch (InterruptedException e) {
+				return;
+			} catch (Exception e) {
+				e.printStackTrace();
+			} finally {
+				if(msg != null)
+					msg.release();
+				msg = null;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		String s = String.format("%s: dispatched=%d latency avg=%.1fus max=%.1fus backlog=%d hwm=%d dropped=%d",
+				name, dispatched, getAverageLatency_us(), getMaxLatency_us(), getBacklog(), getBacklogHighWaterMark(), getDropped());
+		return histogram == null ? s : s + " from read: " + histogram;
+	}
+
+	private void execute(MAVLinkMessage msg) {
+		final long start = msg.rx_time_ns != 0 ? msg.rx_time_ns : System.nanoTime();
+		final int msgId  = msg.messageType;
+		final boolean traced = latency != null && msg.rx_read_ns != 0;
+
+		if(traced)
+			latency.record(MAVLinkLatency.Stage.DISPATCH_START, msgId, System.nanoTime() - msg.rx_read_ns);
+
+		for(IMAVLinkListener listener : global)
+			notify(listener, msg, traced);
+		if(msgId >= 0 && msgId < MAX_MSG_ID) {
+			final IMAVLinkListener[] list = listeners.get(msgId);
+			if(list != null) {
+				for(IMAVLinkListener listener : list)
+					notify(listener, msg, traced);
+			}
+		}
+
+		// updated by the single executing thread only
+		final long now = System.nanoTime();
+		final long latency_ns = now - start;
+		latency_sum_ns += latency_ns;
+		if(latency_ns > latency_max_ns)
+			latency_max_ns = latency_ns;
+		dispatched++;
+
+		if(traced) {
+			latency.record(MAVLinkLatency.Stage.DISPATCH_END, msgId, now - msg.rx_read_ns);
+			histogram.record(now - msg.rx_read_ns);
+		}
+	}
+
+	private void notify(IMAVLinkListener listener, MAVLinkMessage msg, boolean traced) {
+		final long start = traced ? System.nanoTime() : 0;
+		try {
+			listener.received(msg);
+		} catch(Exception e) {
+			e.printStackTrace();
+		}
+		if(traced)
+			latency.record(MAVLinkLatency.Stage.LISTENER, msg.messageType, System.nanoTime() - start);
+	}
+
+	private static IMAVLinkListener[] append(IMAVLinkListener[] list, IMAVLinkListener listener) {
+		IMAVLinkListener[] copy = Arrays.copyOf(list, list.length+1);
+		copy[list.length] = listener;
+		return copy;
+	}
+}
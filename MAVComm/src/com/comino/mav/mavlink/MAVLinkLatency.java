@@ -0,0 +1,177 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.mavlink;
+
+import java.util.Arrays;
+
+import org.mavlink.IMAVLinkCRC;
+
+import com.comino.main.MSPConfig;
+
+/**
+ * Latency of received messages along the receive pipeline. All stages except LISTENER are
+ * measured from the time the bytes of the frame were read from the transport. Enabled by
+ * latency_trace=true; msgIds listed in latency_trace_ids get own histograms in addition to
+ * the histograms of all msgIds.
+ */
+public class MAVLinkLatency {
+
+	public enum Stage {
+		/** frame validated */
+		FRAME,
+		/** message decoded */
+		DECODE,
+		/** raw frame listener (e.g. pass through proxy) returned */
+		FORWARD,
+		/** lane started to execute the listeners */
+		DISPATCH_START,
+		/** execution time of a single listener */
+		LISTENER,
+		/** all listeners of a lane returned */
+		DISPATCH_END
+	}
+
+	private static final int MAX_MSG_ID = IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length;
+
+	private static MAVLinkLatency instance    = null;
+	private static boolean        initialized = false;
+
+	private final MAVLinkLatencyHistogram[]   all    = new MAVLinkLatencyHistogram[Stage.values().length];
+	private final MAVLinkLatencyHistogram[][] traced = new MAVLinkLatencyHistogram[Stage.values().length][];
+
+
+	/**
+	 * @return the tracer or null if latency tracing is not enabled
+	 */
+	public static synchronized MAVLinkLatency getInstance() {
+		if(!initialized) {
+			initialized = true;
+			MSPConfig config = MSPConfig.getInstance();
+			if(config != null && config.getBoolProperty("latency_trace", "false"))
+				instance = new MAVLinkLatency(getTracedIds(config));
+		}
+		return instance;
+	}
+
+	/**
+	 * Enables tracing independent of the configuration. Must be called before the
+	 * comms are created.
+	 */
+	public static synchronized MAVLinkLatency enable(int... msgIds) {
+		if(instance == null)
+			instance = new MAVLinkLatency(msgIds);
+		initialized = true;
+		return instance;
+	}
+
+	private MAVLinkLatency(int[] msgIds) {
+		for(Stage stage : Stage.values()) {
+			all[stage.ordinal()]    = new MAVLinkLatencyHistogram();
+			traced[stage.ordinal()] = new MAVLinkLatencyHistogram[MAX_MSG_ID];
+			for(int msgId : msgIds)
+				if(msgId >= 0 && msgId < MAX_MSG_ID)
+					traced[stage.ordinal()][msgId] = new MAVLinkLatencyHistogram();
+		}
+		System.out.println("MAVLink latency tracing enabled for "+msgIds.length+" msgIds");
+	}
+
+	public void record(Stage stage, int msgId, long ns) {
+		all[stage.ordinal()].record(ns);
+		if(msgId >= 0 && msgId < MAX_MSG_ID) {
+			final MAVLinkLatencyHistogram h = traced[stage.ordinal()][msgId];
+			if(h != null)
+				h.record(ns);
+		}
+	}
+
+	/**
+	 * @return the histogram of all msgIds for the stage
+	 */
+	public MAVLinkLatencyHistogram getHistogram(Stage stage) {
+		return all[stage.ordinal()];
+	}
+
+	/**
+	 * @return the histogram of the msgId for the stage, null if the msgId is not traced
+	 */
+	public MAVLinkLatencyHistogram getHistogram(Stage stage, int msgId) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return null;
+		return traced[stage.ordinal()][msgId];
+	}
+
+	public void reset() {
+		for(Stage stage : Stage.values()) {
+			all[stage.ordinal()].reset();
+			for(MAVLinkLatencyHistogram h : traced[stage.ordinal()])
+				if(h != null)
+					h.reset();
+		}
+	}
+
+	public String toString() {
+		StringBuilder b = new StringBuilder("MAVLink latency");
+		for(Stage stage : Stage.values()) {
+			if(all[stage.ordinal()].getCount() == 0)
+				continue;
+			b.append("\n  ").append(stage).append(": ").append(all[stage.ordinal()]);
+		}
+		for(int msgId=0;msgId<MAX_MSG_ID;msgId++) {
+			for(Stage stage : Stage.values()) {
+				final MAVLinkLatencyHistogram h = traced[stage.ordinal()][msgId];
+				if(h != null && h.getCount() > 0)
+					b.append("\n  ").append(msgId).append(" ").append(stage).append(": ").append(h);
+			}
+		}
+		return b.toString();
+	}
+
+	private static int[] getTracedIds(MSPConfig config) {
+		String[] list = config.getListProperty("latency_trace_ids");
+		if(list == null)
+			return new int[0];
+		int[] ids = new int[list.length]; int count = 0;
+		for(String id : list) {
+			if(id.isEmpty())
+				continue;
+			try {
+				ids[count++] = Integer.parseInt(id.trim());
+			} catch(NumberFormatException e) {
+				System.err.println("Invalid msgId '"+id+"' in latency_trace_ids");
+			}
+		}
+		return Arrays.copyOf(ids, count);
+	}
+}
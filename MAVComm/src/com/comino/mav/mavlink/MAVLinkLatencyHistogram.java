@@ -0,0 +1,125 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.mavlink;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size histogram of durations in ns. Buckets grow logarithmically with 8 linear
+ * sub-buckets per power of two, so values are resolved to 12.5% up to about 18 minutes.
+ * Recording does not allocate and can be done by several threads.
+ */
+public class MAVLinkLatencyHistogram {
+
+	private static final int SUB_BITS   = 3;
+	private static final int SUB_COUNT  = 1 << SUB_BITS;
+	private static final int MAX_SHIFT  = 37;
+	private static final int BUCKETS    = (MAX_SHIFT + 1) * SUB_COUNT + SUB_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong      total  = new AtomicLong();
+	private final AtomicLong      sum_ns = new AtomicLong();
+	private final AtomicLong      max_ns = new AtomicLong();
+
+
+	public void record(long ns) {
+		if(ns < 0)
+			ns = 0;
+		counts.incrementAndGet(getIndex(ns));
+		total.incrementAndGet();
+		sum_ns.addAndGet(ns);
+		long max = max_ns.get();
+		while(ns > max && !max_ns.compareAndSet(max, ns))
+			max = max_ns.get();
+	}
+
+	public long getCount() {
+		return total.get();
+	}
+
+	public long getMax_ns() {
+		return max_ns.get();
+	}
+
+	public long getMean_ns() {
+		final long count = total.get();
+		return count == 0 ? 0 : sum_ns.get() / count;
+	}
+
+	/**
+	 * @param percentile 0..100
+	 * @return the upper bound of the bucket containing the percentile in ns, 0 if empty
+	 */
+	public long getPercentile_ns(double percentile) {
+		final long count = total.get();
+		if(count == 0)
+			return 0;
+		final long target = Math.max(1, (long)Math.ceil(count * Math.min(percentile, 100) / 100.0));
+		long seen = 0;
+		for(int i=0;i<BUCKETS;i++) {
+			seen += counts.get(i);
+			if(seen >= target)
+				return Math.min(getUpperBound(i), max_ns.get());
+		}
+		return max_ns.get();
+	}
+
+	public void reset() {
+		for(int i=0;i<BUCKETS;i++)
+			counts.set(i, 0);
+		total.set(0); sum_ns.set(0); max_ns.set(0);
+	}
+
+	public String toString() {
+		return String.format("n=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+				getCount(), getMean_ns()/1e3, getPercentile_ns(50)/1e3, getPercentile_ns(90)/1e3,
+				getPercentile_ns(99)/1e3, getPercentile_ns(99.9)/1e3, getMax_ns()/1e3);
+	}
+
+	private static int getIndex(long ns) {
+		if(ns < 2 * SUB_COUNT)
+			return (int)ns;
+		final int shift = Math.min(63 - Long.numberOfLeadingZeros(ns) - SUB_BITS, MAX_SHIFT);
+		return Math.min(shift * SUB_COUNT + (int)(ns >>> shift), BUCKETS - 1);
+	}
+
+	private static long getUpperBound(int index) {
+		if(index < 2 * SUB_COUNT)
+			return index;
+		final int shift = index / SUB_COUNT - 1;
+		return ((long)(index - shift * SUB_COUNT) << shift) + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,323 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+package com.comino.mav.mavlink;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.mavlink.IMAVLinkCRC;
+import org.mavlink.messages.IMAVLinkMessageID;
+import org.mavlink.messages.MAVLinkMessage;
+
+/**
+ * Bounded single producer / single consumer ring of message slots between the framer
+ * and the thread that dispatches the messages to the model.
+ *
+ * Each msgId is queued according to its policy:
+ * FIFO messages are dropped if the ring is full, COALESCE messages occupy at most one
+ * slot and are replaced by newer ones of the same msgId until consumed, NEVER_DROP messages
+ * are kept in an overflow list if the ring is full and delivered in order.
+ */
+public class MAVLinkMessageQueue {
+
+	public enum WaitStrategy {
+		BUSY_SPIN,
+		YIELD,
+		PARK
+	}
+
+	public enum Policy {
+		FIFO,
+		COALESCE,
+		NEVER_DROP
+	}
+
+	private static final long PARK_TIMEOUT_NS = 1000000L;
+	private static final int  MAX_MSG_ID      = IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length;
+
+	private final MAVLinkMessage[] slots;
+	private final int              mask;
+
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+
+	// producer and consumer local copies of the other side's index
+	private long cached_head = 0;
+	private long cached_tail = 0;
+
+	private final Policy[]                             policies = new Policy[MAX_MSG_ID];
+	private final AtomicReferenceArray<MAVLinkMessage> pending  = new AtomicReferenceArray<MAVLinkMessage>(MAX_MSG_ID);
+	private final ConcurrentLinkedQueue<Overflow>      overflow = new ConcurrentLinkedQueue<Overflow>();
+
+	private volatile WaitStrategy strategy;
+	private volatile Thread       waiter = null;
+
+	private volatile int  high_water_mark = 0;
+	private volatile long dropped = 0;
+	private volatile long coalesced = 0;
+	private volatile long overflowed = 0;
+	private final long[]  coalesced_by_id = new long[MAX_MSG_ID];
+
+
+	public MAVLinkMessageQueue(int capacity, WaitStrategy strategy) {
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		this.slots    = new MAVLinkMessage[size];
+		this.mask     = size - 1;
+		this.strategy = strategy;
+		Arrays.fill(policies, Policy.FIFO);
+	}
+
+	public void setPolicy(int msgId, Policy policy) {
+		if(msgId >= 0 && msgId < MAX_MSG_ID)
+			policies[msgId] = policy;
+	}
+
+	/**
+	 * Coalesces high rate telemetry and never drops acknowledges, status texts and parameters
+	 */
+	public void setDefaultPolicies() {
+		setPolicy(IMAVLinkMessageID.MAVLINK_MSG_ID_ATTITUDE, Policy.COALESCE);
+		setPolicy(IMAVLinkMessageID.MAVLINK_MSG_ID_HIGHRES_IMU, Policy.COALESCE);
+		setPolicy(IMAVLinkMessageID.MAVLINK_MSG_ID_LOCAL_POSITION_NED, Policy.COALESCE);
+
+		setPolicy(IMAVLinkMessageID.MAVLINK_MSG_ID_COMMAND_ACK, Policy.NEVER_DROP);
+		setPolicy(IMAVLinkMessageID.MAVLINK_MSG_ID_STATUSTEXT, Policy.NEVER_DROP);
+		setPolicy(IMAVLinkMessageID.MAVLINK_MSG_ID_PARAM_VALUE, Policy.NEVER_DROP);
+	}
+
+	public Policy getPolicy(int msgId) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return Policy.FIFO;
+		return policies[msgId];
+	}
+
+	/**
+	 * Producer side: appends the message according to the policy of its msgId
+	 * @return false if the message was dropped
+	 */
+	public boolean offer(MAVLinkMessage msg) {
+		final int id = msg.messageType;
+		switch(getPolicy(id)) {
+		case COALESCE:
+			// the consumer takes the latest message of this msgId when it reaches the queued one
+			final MAVLinkMessage replaced = pending.getAndSet(id, msg);
+			if(replaced != null) {
+				coalesced++; coalesced_by_id[id]++;
+				// a pooled message still referenced by its slot is not read again but replaced by the latest
+				replaced.release();
+				return true;
+			}
+			if(!enqueue(msg)) {
+				pending.compareAndSet(id, msg, null);
+				dropped++;
+				return false;
+			}
+			return true;
+		case NEVER_DROP:
+			if(overflow.isEmpty() && enqueue(msg))
+				return true;
+			overflow.add(new Overflow(msg, tail.get()));
+			overflowed++;
+			signal();
+			return true;
+		default:
+			if(!enqueue(msg)) {
+				dropped++;
+				return false;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Consumer side: removes the oldest message
+	 * @return the message or null if the queue is empty
+	 */
+	public MAVLinkMessage poll() {
+		final long h = head.get();
+
+		// overflow entries are due once all messages queued before them are consumed
+		final Overflow o = overflow.peek();
+		if(o != null && o.position <= h)
+			return overflow.poll().msg;
+
+		if(h >= cached_tail) {
+			cached_tail = tail.get();
+			if(h >= cached_tail) {
+				return o != null ? overflow.poll().msg : null;
+			}
+		}
+		final int index = (int)h & mask;
+		MAVLinkMessage msg = slots[index];
+		slots[index] = null;
+		head.lazySet(h + 1);
+
+		if(getPolicy(msg.messageType) == Policy.COALESCE) {
+			MAVLinkMessage latest = pending.getAndSet(msg.messageType, null);
+			if(latest != null)
+				msg = latest;
+		}
+		return msg;
+	}
+
+	/**
+	 * Consumer side: waits with the configured strategy until a message is available
+	 */
+	public MAVLinkMessage take() throws InterruptedException {
+		MAVLinkMessage msg;
+		while((msg = poll()) == null) {
+			switch(strategy) {
+			case BUSY_SPIN:
+				break;
+			case YIELD:
+				Thread.yield();
+				break;
+			case PARK:
+				waiter = Thread.currentThread();
+				if((msg = poll()) == null)
+					LockSupport.parkNanos(this, PARK_TIMEOUT_NS);
+				waiter = null;
+				if(msg != null)
+					return msg;
+				break;
+			}
+			if(Thread.interrupted())
+				throw new InterruptedException();
+		}
+		return msg;
+	}
+
+	public boolean isEmpty() {
+		return head.get() >= tail.get() && overflow.isEmpty();
+	}
+
+	/**
+	 * @return the number of messages currently queued
+	 */
+	public int size() {
+		return (int)(tail.get() - head.get()) + overflow.size();
+	}
+
+	public int capacity() {
+		return slots.length;
+	}
+
+	/**
+	 * @return the maximum queue depth since the last reset
+	 */
+	public int getHighWaterMark() {
+		return high_water_mark;
+	}
+
+	public void resetHighWaterMark() {
+		high_water_mark = 0;
+	}
+
+	/**
+	 * @return the number of messages dropped because the queue was full
+	 */
+	public long getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * @return the number of messages replaced by a newer one before they were consumed
+	 */
+	public long getCoalesced() {
+		return coalesced;
+	}
+
+	public long getCoalesced(int msgId) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return 0;
+		return coalesced_by_id[msgId];
+	}
+
+	/**
+	 * @return the number of never-drop messages which did not fit into the ring
+	 */
+	public long getOverflowed() {
+		return overflowed;
+	}
+
+	public WaitStrategy getWaitStrategy() {
+		return strategy;
+	}
+
+	public void setWaitStrategy(WaitStrategy strategy) {
+		this.strategy = strategy;
+	}
+
+	private boolean enqueue(MAVLinkMessage msg) {
+		final long t = tail.get();
+		if(t - cached_head >= slots.length) {
+			cached_head = head.get();
+			if(t - cached_head >= slots.length)
+				return false;
+		}
+		slots[(int)t & mask] = msg;
+		if(strategy == WaitStrategy.PARK) {
+			tail.set(t + 1);
+			signal();
+		} else
+			tail.lazySet(t + 1);
+
+		if(t + 1 - cached_head > high_water_mark) {
+			cached_head = head.get();
+			int depth = (int)(t + 1 - cached_head);
+			if(depth > high_water_mark)
+				high_water_mark = depth;
+		}
+		return true;
+	}
+
+	private void signal() {
+		Thread w = waiter;
+		if(w != null)
+			LockSupport.unpark(w);
+	}
+
+	private static class Overflow {
+		final MAVLinkMessage msg;
+		final long           position;
+
+		Overflow(MAVLinkMessage msg, long position) {
+			this.msg = msg;
+			this.position = position;
+		}
+	}
+}
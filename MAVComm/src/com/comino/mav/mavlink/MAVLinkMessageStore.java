@@ -0,0 +1,268 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.mavlink;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.mavlink.IMAVLinkCRC;
+import org.mavlink.messages.MAVLinkMessage;
+
+/**
+ * Latest message of each msgId with a version incremented on every update and the
+ * receive time. Consumers can wait for a message newer than a known version.
+ * Message, version and receive time of a msgId are updated together under its monitor,
+ * so an Entry always holds a consistent snapshot.
+ * <p>
+ * With mavlink_pool enabled the stored messages are recycled once replaced. get(), awaitNewer(),
+ * toMap() and Entry then hand out copies taken under the monitor, copyInto() copies into a message
+ * of the caller without allocation. getVersion(), getReceiveTime_ns() and getAge_ms() are not affected.
+ */
+public class MAVLinkMessageStore {
+
+	/**
+	 * Message of a msgId together with the version and receive time it was stored with
+	 */
+	public static class Entry {
+		public MAVLinkMessage msg        = null;
+		public long           version    = 0;
+		public long           rx_time_ns = 0;
+
+		// reused for copies of pooled messages
+		private MAVLinkMessage copy      = null;
+
+		@Override
+		public String toString() {
+			return "v"+version+" "+msg;
+		}
+	}
+
+	private static final int MAX_MSG_ID = IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length;
+
+	private final AtomicReferenceArray<MAVLinkMessage> messages  = new AtomicReferenceArray<MAVLinkMessage>(MAX_MSG_ID);
+	private final AtomicLongArray                      versions  = new AtomicLongArray(MAX_MSG_ID);
+	private final AtomicLongArray                      rx_times  = new AtomicLongArray(MAX_MSG_ID);
+	private final AtomicIntegerArray                   waiting   = new AtomicIntegerArray(MAX_MSG_ID);
+	private final Object[]                             monitors  = new Object[MAX_MSG_ID];
+
+	private volatile MAVLinkMessageStore               mirror    = null;
+
+
+	public MAVLinkMessageStore() {
+		for(int i=0;i<MAX_MSG_ID;i++)
+			monitors[i] = new Object();
+	}
+
+	/**
+	 * Puts all messages into the mirror as well, e.g. the common store of redundant links
+	 */
+	public void setMirror(MAVLinkMessageStore mirror) {
+		this.mirror = mirror;
+	}
+
+	/**
+	 * Stores the message as latest of its msgId and wakes up waiting consumers.
+	 * A pooled message is retained until the next message of its msgId replaces it.
+	 */
+	public void put(MAVLinkMessage msg) {
+		final int msgId = msg.messageType;
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return;
+		final MAVLinkMessageStore m = mirror;
+		if(m != null)
+			m.put(msg);
+		final MAVLinkMessage previous;
+		synchronized(monitors[msgId]) {
+			previous = messages.getAndSet(msgId, msg.retain());
+			rx_times.set(msgId, msg.rx_time_ns != 0 ? msg.rx_time_ns : System.nanoTime());
+			versions.incrementAndGet(msgId);
+			if(waiting.get(msgId) > 0)
+				monitors[msgId].notifyAll();
+		}
+		if(previous != null)
+			previous.release();
+	}
+
+	/**
+	 * @return the latest message of this msgId or null, a copy if the message is pooled
+	 */
+	public MAVLinkMessage get(int msgId) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return null;
+		synchronized(monitors[msgId]) {
+			return copyIfPooled(messages.get(msgId), null);
+		}
+	}
+
+	/**
+	 * Copies the latest message of this msgId into dst, which must be of the same message class
+	 * @return false if no message of this msgId was received
+	 */
+	public boolean copyInto(int msgId, MAVLinkMessage dst) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return false;
+		synchronized(monitors[msgId]) {
+			final MAVLinkMessage msg = messages.get(msgId);
+			if(msg == null)
+				return false;
+			dst.copyFrom(msg);
+			return true;
+		}
+	}
+
+	/**
+	 * Fills the entry with the latest message of this msgId, its version and receive time
+	 * @return false if no message of this msgId was received
+	 */
+	public boolean get(int msgId, Entry entry) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return false;
+		synchronized(monitors[msgId]) {
+			return fill(msgId, entry);
+		}
+	}
+
+	/**
+	 * @return the number of messages stored for this msgId, 0 if none was received
+	 */
+	public long getVersion(int msgId) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return 0;
+		return versions.get(msgId);
+	}
+
+	/**
+	 * @return System.nanoTime() when the latest message of this msgId was received
+	 */
+	public long getReceiveTime_ns(int msgId) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return 0;
+		return rx_times.get(msgId);
+	}
+
+	/**
+	 * @return the age of the latest message of this msgId in ms or -1 if none was received
+	 */
+	public long getAge_ms(int msgId) {
+		if(getVersion(msgId) == 0)
+			return -1;
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - getReceiveTime_ns(msgId));
+	}
+
+	/**
+	 * Waits until a message of this msgId with a version greater than the given one is stored.
+	 * Use awaitNewer(int, long, long, Entry) to get the version of the returned message.
+	 * @return the latest message or null if the timeout elapsed
+	 */
+	public MAVLinkMessage awaitNewer(int msgId, long version, long timeout_ms) throws InterruptedException {
+		final Entry entry = new Entry();
+		return awaitNewer(msgId, version, timeout_ms, entry) ? entry.msg : null;
+	}
+
+	/**
+	 * Waits until a message of this msgId with a version greater than the given one is stored and
+	 * fills the entry with it. Pass entry.version of the previous call to get every update once.
+	 * @return false if the timeout elapsed
+	 */
+	public boolean awaitNewer(int msgId, long version, long timeout_ms, Entry entry) throws InterruptedException {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return false;
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout_ms);
+		waiting.incrementAndGet(msgId);
+		try {
+			synchronized(monitors[msgId]) {
+				while(versions.get(msgId) <= version) {
+					final long remaining = deadline - System.nanoTime();
+					if(remaining <= 0)
+						return false;
+					TimeUnit.NANOSECONDS.timedWait(monitors[msgId], remaining);
+				}
+				return fill(msgId, entry);
+			}
+		} finally {
+			waiting.decrementAndGet(msgId);
+		}
+	}
+
+	/**
+	 * @return a snapshot of the latest message of each type, copies of pooled messages
+	 */
+	public Map<Class<?>, MAVLinkMessage> toMap() {
+		HashMap<Class<?>, MAVLinkMessage> map = new HashMap<Class<?>, MAVLinkMessage>();
+		for(int i=0;i<MAX_MSG_ID;i++) {
+			if(messages.get(i) == null)
+				continue;
+			synchronized(monitors[i]) {
+				MAVLinkMessage msg = copyIfPooled(messages.get(i), null);
+				map.put(msg.getClass(), msg);
+			}
+		}
+		return map;
+	}
+
+	// caller holds the monitor of the msgId
+	private boolean fill(int msgId, Entry entry) {
+		entry.msg        = messages.get(msgId);
+		entry.version    = versions.get(msgId);
+		entry.rx_time_ns = rx_times.get(msgId);
+		if(entry.msg != null && entry.msg.isPooled()) {
+			entry.copy = copyIfPooled(entry.msg, entry.copy);
+			entry.msg  = entry.copy;
+		}
+		return entry.msg != null;
+	}
+
+	/**
+	 * The stored message is not recycled while the caller holds the monitor of its msgId
+	 * @return the message or a copy into dst, which is replaced if null or of another class
+	 */
+	private static MAVLinkMessage copyIfPooled(MAVLinkMessage msg, MAVLinkMessage dst) {
+		if(msg == null || !msg.isPooled())
+			return msg;
+		if(dst == null || dst.getClass() != msg.getClass()) {
+			try {
+				dst = msg.getClass().getDeclaredConstructor().newInstance();
+			} catch(ReflectiveOperationException e) {
+				throw new IllegalStateException("Cannot copy "+msg.getClass().getSimpleName(), e);
+			}
+		}
+		dst.copyFrom(msg);
+		return dst;
+	}
+}
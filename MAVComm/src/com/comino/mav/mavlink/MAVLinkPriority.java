@@ -0,0 +1,69 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.mavlink;
+
+import org.mavlink.IMAVLinkCRC;
+import org.mavlink.messages.IMAVLinkMessageID;
+
+/**
+ * MsgIds which must not wait behind telemetry on the way out: commands, setpoints, heartbeat
+ * and time sync. Shared by the serial TX queue and UDP batching, so both links prioritize the
+ * same messages.
+ */
+public final class MAVLinkPriority {
+
+	private static final int[] LATENCY_CRITICAL = {
+			IMAVLinkMessageID.MAVLINK_MSG_ID_HEARTBEAT,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_COMMAND_LONG,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_COMMAND_INT,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_COMMAND_ACK,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_SET_POSITION_TARGET_LOCAL_NED,
+			IMAVLinkMessageID.MAVLINK_MSG_ID_SET_ATTITUDE_TARGET,
+			// a delay skews the offset estimate
+			IMAVLinkMessageID.MAVLINK_MSG_ID_TIMESYNC
+	};
+
+	private MAVLinkPriority() { }
+
+	/**
+	 * @return a new table indexed by msgId with the latency critical msgIds set
+	 */
+	public static boolean[] createTable() {
+		final boolean[] table = new boolean[IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length];
+		for(int msgId : LATENCY_CRITICAL)
+			table[msgId] = true;
+		return table;
+	}
+}
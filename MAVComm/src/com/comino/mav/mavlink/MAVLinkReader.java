@@ -34,14 +34,21 @@
 
 package com.comino.mav.mavlink;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
-import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.mavlink.IMAVLinkCRC;
 import org.mavlink.IMAVLinkMessage;
 import org.mavlink.MAVLinkCRC;
 import org.mavlink.messages.MAVLinkMessage;
 import org.mavlink.messages.MAVLinkMessageFactory;
+import org.mavlink.messages.MAVLinkMessagePool;
+
+import com.comino.main.MSPConfig;
+import com.comino.msp.execution.control.listener.IMAVLinkFrameListener;
+import com.comino.msp.execution.control.listener.IMAVLinkListener;
 
 
 public class MAVLinkReader {
@@ -52,6 +59,11 @@ public class MAVLinkReader {
 	private static int MAVLINK_SIGNATURE_BLOCK_LEN = 13;
 	private static int MAVLINK_MAX_PAYLOAD_SIZE = 255;
 
+	private static final int MAVLINK_HEADER_LEN_V20 = 10;
+	private static final int MAVLINK_HEADER_LEN_V10 = 6;
+
+	protected static final int DEFAULT_QUEUE_SIZE  = 512;
+
 
 	private enum t_parser_state  {
 		MAVLINK_PARSE_STATE_IDLE,
@@ -79,21 +91,44 @@ public class MAVLinkReader {
 		MAVLINK_FRAMING_BAD_SEQUENCE,
 	};
 
-	private volatile t_parser_state state = t_parser_state.MAVLINK_PARSE_STATE_IDLE;
-	private volatile RxMsg rxmsg          = new RxMsg();
+	private t_parser_state state = t_parser_state.MAVLINK_PARSE_STATE_IDLE;
+	private final RxMsg rxmsg    = new RxMsg();
 
 
-	private final int[] lastPacket = new int[256];
+	private final MAVLinkStats stats = new MAVLinkStats();
+
+	// null if latency tracing is disabled
+	private final MAVLinkLatency latency = MAVLinkLatency.getInstance();
+	private long read_ns = 0;
 
 	private int packet_lost=0;
+	private int packet_skipped=0;
+
+	/**
+	 * msgIds which are decoded, all others are only validated
+	 */
+	private final AtomicLongArray interest = new AtomicLongArray((IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length + 63) / 64);
+
+	private volatile IMAVLinkFrameListener frameListener = null;
+
+	// null: messages are queued
+	private volatile IMAVLinkListener      handoff = null;
+
+	// shared by redundant links to the same vehicle
+	private volatile MAVLinkDeduplicator   deduplicator = null;
+	private int                            link = 0;
+	private int                            packet_duplicate = 0;
+
+	// null: a new message is created for each frame
+	private volatile MAVLinkMessagePool    pool;
 
 	/**
 	 * MAVLink messages received
 	 */
-	protected final Vector<MAVLinkMessage> packets = new Vector<MAVLinkMessage>(10);
+	protected final MAVLinkMessageQueue packets;
 
-	private volatile int lengthToRead = 0;
-	private volatile boolean noCRCCheck = false;
+	private int lengthToRead = 0;
+	private final boolean noCRCCheck;
 
 
 	public MAVLinkReader(int id) {
@@ -101,10 +136,15 @@ public class MAVLinkReader {
 	}
 
 	public MAVLinkReader(int id, boolean noCRCCheck) {
+		this(id, noCRCCheck, DEFAULT_QUEUE_SIZE, MAVLinkMessageQueue.WaitStrategy.PARK);
+	}
+
+	public MAVLinkReader(int id, boolean noCRCCheck, int queueSize, MAVLinkMessageQueue.WaitStrategy strategy) {
 		this.noCRCCheck = noCRCCheck;
-		for (int i = 0; i < lastPacket.length; i++) {
-			lastPacket[i] = -1;
-		}
+		this.packets    = new MAVLinkMessageQueue(queueSize, strategy);
+		this.pool       = createMessagePool();
+		setInterestAll(true);
+		packets.setDefaultPolicies();
 		if(noCRCCheck)
 			System.out.println("MAVLinkReader2 "+id+" started without CRC");
 		else
@@ -118,6 +158,125 @@ public class MAVLinkReader {
 		return packets.size();
 	}
 
+	/**
+	 * @return the current number of messages in the receive queue
+	 */
+	public int getQueueDepth() {
+		return packets.size();
+	}
+
+	/**
+	 * @return the maximum depth the receive queue reached
+	 */
+	public int getQueueHighWaterMark() {
+		return packets.getHighWaterMark();
+	}
+
+	/**
+	 * @return the number of messages dropped because the receive queue was full
+	 */
+	public long getQueueDropped() {
+		return packets.getDropped();
+	}
+
+	/**
+	 * @return the number of messages replaced by a newer message of the same msgId
+	 */
+	public long getQueueCoalesced() {
+		return packets.getCoalesced();
+	}
+
+	public long getQueueCoalesced(int msgId) {
+		return packets.getCoalesced(msgId);
+	}
+
+	/**
+	 * Enables or disables decoding of a msgId. Frames of msgIds without interest are
+	 * validated and passed to the frame listener, but no message object is created.
+	 */
+	public void setInterest(int msgId, boolean decode) {
+		if(msgId < 0 || msgId >= IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length)
+			return;
+		final int i = msgId >> 6; final long bit = 1L << (msgId & 63);
+		long v;
+		do {
+			v = interest.get(i);
+		} while(!interest.compareAndSet(i, v, decode ? v | bit : v & ~bit));
+	}
+
+	public void setInterestAll(boolean decode) {
+		for(int i=0;i<interest.length();i++)
+			interest.set(i, decode ? -1L : 0L);
+	}
+
+	public boolean isInterested(int msgId) {
+		if(msgId < 0 || msgId >= IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length)
+			return true;
+		return (interest.get(msgId >> 6) & (1L << (msgId & 63))) != 0;
+	}
+
+	/**
+	 * @return the number of valid frames which were not decoded
+	 */
+	public int getSkippedPackages() {
+		return packet_skipped;
+	}
+
+	/**
+	 * Registers a listener for the raw bytes of all valid frames. The listener is
+	 * called in the receiving thread.
+	 */
+	public void setFrameListener(IMAVLinkFrameListener listener) {
+		this.frameListener = listener;
+	}
+
+	/**
+	 * Drops frames already received by another reader sharing the deduplicator
+	 * @param link index of this reader's link
+	 */
+	public void setDeduplicator(MAVLinkDeduplicator deduplicator, int link) {
+		this.link = link;
+		this.deduplicator = deduplicator;
+	}
+
+	/**
+	 * @return the number of frames dropped as already received on another link
+	 */
+	public int getDuplicatePackages() {
+		return packet_duplicate;
+	}
+
+	/**
+	 * Passes decoded messages to the handoff in the receiving thread instead of queueing
+	 * them for getNextMessage(). null restores the queue.
+	 */
+	public void setHandoff(IMAVLinkListener handoff) {
+		this.handoff = handoff;
+	}
+
+	/**
+	 * Decodes frames into recycled messages of the pool, null creates a new message for each frame.
+	 * Consumers of getNextMessage() return pooled messages with release() once they are processed,
+	 * messages which are not released are left to the garbage collector.
+	 */
+	public void setMessagePool(MAVLinkMessagePool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * @return the pool messages are decoded into or null if pooling is disabled
+	 */
+	public MAVLinkMessagePool getMessagePool() {
+		return pool;
+	}
+
+	/**
+	 * Sets the queue policy for a msgId. Must be called before messages are received.
+	 */
+	public void setQueuePolicy(int msgId, MAVLinkMessageQueue.Policy policy) {
+		packets.setPolicy(msgId, policy);
+	}
+
 
 	/**
 	 * @return the protocol start tag
@@ -129,35 +288,245 @@ public class MAVLinkReader {
 
 
 	public void put(byte buf[],int len) {
-		for(int i=0;i<len;i++)
-			readMavLinkMessageFromBuffer(buf[i]);
+		put(ByteBuffer.wrap(buf, 0, len));
+	}
+
+	/**
+	 * Frames all remaining bytes of the buffer. Complete frames are validated and decoded
+	 * in one step, only a frame split across two reads is continued byte by byte.
+	 */
+	public synchronized void put(ByteBuffer buf) {
+		if(latency != null)
+			read_ns = System.nanoTime();
+		int pos = buf.position(); final int limit = buf.limit();
+		// finish a frame started in a previous read
+		while(state != t_parser_state.MAVLINK_PARSE_STATE_IDLE && pos < limit)
+			readMavLinkMessageFromBuffer(buf.get(pos++));
+
+		while(pos < limit) {
+			byte stx = buf.get(pos);
+			if(stx != IMAVLinkMessage.MAVPROT_PACKET_START_V20 && stx != IMAVLinkMessage.MAVPROT_PACKET_START_V10) {
+				pos++; continue;
+			}
+
+			if(limit - pos < MAVLINK_HEADER_LEN_V20 + 2) {
+				break;
+			}
+
+			final int frame_len = frameLength(buf, pos);
+			if(limit - pos < frame_len)
+				break;
+
+			if(readFrame(buf, pos))
+				pos += frame_len;
+			else
+				pos++;
+		}
+
+		// keep the incomplete frame in the incremental parser
+		while(pos < limit)
+			readMavLinkMessageFromBuffer(buf.get(pos++));
+		buf.position(limit);
 	}
 
 	public void put(int c) {
+		if(latency != null)
+			read_ns = System.nanoTime();
 		readMavLinkMessageFromBuffer(c);
 	}
 
 
 
 	public MAVLinkMessage getNextMessage(byte buf[],int len) {
+		if(latency != null)
+			read_ns = System.nanoTime();
 		for(int i=0;i<len;i++)
 			readMavLinkMessageFromBuffer(buf[i]);
 
-		MAVLinkMessage msg = null;
-		if(packets.size()>0) {
-			msg = packets.remove(0);
-		}
-		return msg;
+		return packets.poll();
 	}
 
 	public MAVLinkMessage getNextMessage() {
-		MAVLinkMessage msg = null;
-		if(packets.size()>0) {
-			msg = packets.remove(0);
+		return packets.poll();
+	}
+
+
+	private int frameLength(ByteBuffer buf, int pos) {
+		int len = buf.get(pos+1) & 0x00FF;
+		if(buf.get(pos) == IMAVLinkMessage.MAVPROT_PACKET_START_V10)
+			return MAVLINK_HEADER_LEN_V10 + len + 2;
+		if((buf.get(pos+2) & MAVLINK_IFLAG_SIGNED)==MAVLINK_IFLAG_SIGNED)
+			return MAVLINK_HEADER_LEN_V20 + len + 2 + MAVLINK_SIGNATURE_BLOCK_LEN;
+		return MAVLINK_HEADER_LEN_V20 + len + 2;
+	}
+
+	/**
+	 * @return the msgId of the v1 or v2 frame starting at the position of the buffer
+	 */
+	public static int getMessageId(ByteBuffer frame) {
+		final int pos = frame.position();
+		if(frame.get(pos) == IMAVLinkMessage.MAVPROT_PACKET_START_V10)
+			return frame.get(pos+5) & 0x00FF;
+		return (frame.get(pos+7) & 0x00FF) | (frame.get(pos+8) & 0x00FF) << 8 | (frame.get(pos+9) & 0x00FF) << 16;
+	}
+
+	/**
+	 * Validates and decodes a complete frame starting at pos
+	 * @return false if the CRC does not match
+	 */
+	private boolean readFrame(ByteBuffer buf, int pos) {
+		final boolean v1 = buf.get(pos) == IMAVLinkMessage.MAVPROT_PACKET_START_V10;
+		final int header = v1 ? MAVLINK_HEADER_LEN_V10 : MAVLINK_HEADER_LEN_V20;
+
+		rxmsg.start = buf.get(pos);
+		rxmsg.read_ns = read_ns;
+		rxmsg.len   = buf.get(pos+1) & 0x00FF;
+		if(v1) {
+			rxmsg.incompat    = 0;
+			rxmsg.compat      = 0;
+			rxmsg.packet      = buf.get(pos+2) & 0x00FF;
+			rxmsg.sysId       = buf.get(pos+3) & 0x00FF;
+			rxmsg.componentId = buf.get(pos+4) & 0x00FF;
+			rxmsg.msgId       = buf.get(pos+5) & 0x00FF;
+		} else {
+			rxmsg.incompat    = buf.get(pos+2) & 0x00FF;
+			rxmsg.compat      = buf.get(pos+3) & 0x00FF;
+			rxmsg.packet      = buf.get(pos+4) & 0x00FF;
+			rxmsg.sysId       = buf.get(pos+5) & 0x00FF;
+			rxmsg.componentId = buf.get(pos+6) & 0x00FF;
+			rxmsg.msgId       = (buf.get(pos+7) & 0x00FF) | (buf.get(pos+8) & 0x00FF) << 8 | (buf.get(pos+9) & 0x00FF) << 16;
 		}
-		return msg;
+
+		if(!noCRCCheck && rxmsg.msgId != 332) {
+			if(rxmsg.msgId >= IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length) {
+				stats.unknownId();
+				packet_lost++;
+				return false;
+			}
+			int crc = MAVLinkCRC.crc_accumulate(buf, pos + 1, header - 1 + rxmsg.len, MAVLinkCRC.crc_init());
+			if (IMAVLinkCRC.MAVLINK_EXTRA_CRC)
+				crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[rxmsg.msgId], crc);
+			int crc_pos = pos + header + rxmsg.len;
+			if((buf.get(crc_pos) & 0x00FF) != (crc & 0x00FF) || (buf.get(crc_pos+1) & 0x00FF) != ((crc >> 8) & 0x00FF)) {
+				rejected();
+				return false;
+			}
+		}
+
+		stats.received(rxmsg.sysId, rxmsg.componentId, rxmsg.packet, rxmsg.msgId, rxmsg.len, frameLength(buf, pos));
+		if(isDuplicate())
+			return true;
+		if(latency != null)
+			latency.record(MAVLinkLatency.Stage.FRAME, rxmsg.msgId, System.nanoTime() - rxmsg.read_ns);
+
+		if(frameListener != null) {
+			// pass the frame as slice of the receive buffer
+			final int limit = buf.limit();
+			buf.limit(pos + frameLength(buf, pos)).position(pos);
+			notifyFrame(buf);
+			buf.limit(limit);
+		}
+
+		if(!isInterested(rxmsg.msgId)) {
+			skipMessage();
+			return true;
+		}
+
+		for(int i=0;i<rxmsg.len;i++)
+			rxmsg.rawData[i] = buf.get(pos + header + i);
+		Arrays.fill(rxmsg.rawData, rxmsg.len, rxmsg.rawData.length, (byte)0x00);
+
+		addMessage();
+		return true;
+	}
+
+	private void frameReceived() {
+		stats.received(rxmsg.sysId, rxmsg.componentId, rxmsg.packet, rxmsg.msgId, rxmsg.len, rxmsg.frame_len);
+		if(isDuplicate())
+			return;
+		if(latency != null)
+			latency.record(MAVLinkLatency.Stage.FRAME, rxmsg.msgId, System.nanoTime() - rxmsg.read_ns);
+		if(frameListener != null) {
+			rxmsg.frameBuffer.limit(rxmsg.frame_len).position(0);
+			notifyFrame(rxmsg.frameBuffer);
+		}
+		if(isInterested(rxmsg.msgId))
+			addMessage();
+		else
+			skipMessage();
 	}
 
+	private void notifyFrame(ByteBuffer frame) {
+		final IMAVLinkFrameListener listener = frameListener;
+		if(listener == null)
+			return;
+		try {
+			listener.received(rxmsg.msgId, frame);
+		} catch(Exception e) {
+			e.printStackTrace();
+		}
+		if(latency != null)
+			latency.record(MAVLinkLatency.Stage.FORWARD, rxmsg.msgId, System.nanoTime() - rxmsg.read_ns);
+	}
+
+	private boolean isDuplicate() {
+		final MAVLinkDeduplicator d = deduplicator;
+		if(d == null || !d.isDuplicate(link, rxmsg.sysId, rxmsg.componentId, rxmsg.packet, rxmsg.msgId))
+			return false;
+		packet_duplicate++;
+		return true;
+	}
+
+	private void skipMessage() {
+		packet_skipped++;
+	}
+
+	/**
+	 * Counts a frame which failed the CRC check. Unknown msgIds fail because of the missing CRC extra.
+	 * Called once per frame, for signed frames after the signature block.
+	 */
+	private void rejected() {
+		if(MAVLinkStats.isKnown(rxmsg.msgId))
+			stats.badCRC();
+		else
+			stats.unknownId();
+		packet_lost++;
+	}
+
+	private void addMessage() {
+		final MAVLinkMessagePool p = pool;
+		MAVLinkMessage msg = p != null
+				? MAVLinkMessageFactory.getMessage(p, rxmsg.msgId, rxmsg.sysId, rxmsg.componentId, rxmsg.payload)
+				: MAVLinkMessageFactory.getMessage(rxmsg.msgId, rxmsg.sysId, rxmsg.componentId, rxmsg.payload);
+		if(msg!=null) {
+			msg.isValid = true;
+			msg.packet = rxmsg.packet;
+			msg.rx_time_ns = System.nanoTime();
+			if(latency != null) {
+				msg.rx_read_ns = rxmsg.read_ns;
+				latency.record(MAVLinkLatency.Stage.DECODE, rxmsg.msgId, msg.rx_time_ns - rxmsg.read_ns);
+			}
+			final IMAVLinkListener h = handoff;
+			if(h != null) {
+				h.received(msg);
+				msg.release();
+			}
+			else if(!packets.offer(msg)) {
+				msg.release();
+				packet_lost++;
+			}
+		} else {
+			stats.unknownId();
+			packet_lost++;
+		}
+	}
+
+	private static MAVLinkMessagePool createMessagePool() {
+		MSPConfig config = MSPConfig.getInstance();
+		if(config==null || !config.getBoolProperty("mavlink_pool", "false"))
+			return null;
+		return new MAVLinkMessagePool(config.getIntProperty("mavlink_pool_size", String.valueOf(MAVLinkMessagePool.DEFAULT_CAPACITY)));
+	}
 
 	private int c = 0;
 	private synchronized boolean readMavLinkMessageFromBuffer(int v) {
@@ -166,17 +535,24 @@ public class MAVLinkReader {
 			c = (v & 0x00FF);
 			//	System.out.println(state+":"+byteToHex(c));
 
+			if(state != t_parser_state.MAVLINK_PARSE_STATE_IDLE && rxmsg.frame_len < rxmsg.frame.length)
+				rxmsg.frame[rxmsg.frame_len++] = (byte)c;
+
 			switch(state) {
 			case MAVLINK_PARSE_STATE_IDLE:
 				if((byte)c==IMAVLinkMessage.MAVPROT_PACKET_START_V20) {
 					rxmsg.clear();
+					rxmsg.read_ns = read_ns;
 					rxmsg.start = IMAVLinkMessage.MAVPROT_PACKET_START_V20;
+					rxmsg.frame[rxmsg.frame_len++] = (byte)c;
 					state = t_parser_state.MAVLINK_PARSE_STATE_GOT_STX;
 					return true;
 				}
 				if((byte)c==IMAVLinkMessage.MAVPROT_PACKET_START_V10) {
 					rxmsg.clear();
+					rxmsg.read_ns = read_ns;
 					rxmsg.start = IMAVLinkMessage.MAVPROT_PACKET_START_V10;
+					rxmsg.frame[rxmsg.frame_len++] = (byte)c;
 					state = t_parser_state.MAVLINK_PARSE_STATE_GOT_STX;
 					return true;
 				}
@@ -269,28 +645,19 @@ public class MAVLinkReader {
 					rxmsg.msg_received = mavlink_framing_t.MAVLINK_FRAMING_OK;
 
 				if((rxmsg.incompat & MAVLINK_IFLAG_SIGNED)==MAVLINK_IFLAG_SIGNED) {
-					rxmsg.msg_received = mavlink_framing_t.MAVLINK_FRAMING_INCOMPLETE;
+					// signed frames are accepted or rejected once the signature is complete,
+					// as readFrame() does for the signed frame as a whole
 					rxmsg.signature_wait = MAVLINK_SIGNATURE_BLOCK_LEN;
 					state = t_parser_state.MAVLINK_PARSE_STATE_SIGNATURE_WAIT;
-				}  else {
-					state = t_parser_state.MAVLINK_PARSE_STATE_IDLE;
+					break;
 				}
 
+				state = t_parser_state.MAVLINK_PARSE_STATE_IDLE;
 				if(rxmsg.msg_received == mavlink_framing_t.MAVLINK_FRAMING_OK) {
-					MAVLinkMessage msg = MAVLinkMessageFactory.getMessage(rxmsg.msgId, rxmsg.sysId, rxmsg.componentId, rxmsg.rawData);
-					if(msg!=null && checkPacket(rxmsg.sysId,rxmsg.packet)) {
-						msg.isValid = true;
-						msg.packet = rxmsg.packet;
-						packets.addElement(msg);
-						notify();
-						//	System.out.println("added: "+rxmsg.packet+":"+msg);
-					} else {
-						packet_lost++;
-						//System.out.println("Packet check failed: "+rxmsg);
-					}
+					frameReceived();
 				} else {
 					//System.out.println("Framing not ok: "+rxmsg);
-					packet_lost++;
+					rejected();
 				}
 				break;
 
@@ -302,17 +669,9 @@ public class MAVLinkReader {
 					// ...
 					state = t_parser_state.MAVLINK_PARSE_STATE_IDLE;
 					if(rxmsg.msg_received == mavlink_framing_t.MAVLINK_FRAMING_OK) {
-						MAVLinkMessage msg = MAVLinkMessageFactory.getMessage(rxmsg.msgId, rxmsg.sysId, rxmsg.componentId, rxmsg.rawData);
-						if(msg!=null && checkPacket(rxmsg.sysId,rxmsg.packet)) {
-							msg.packet = rxmsg.packet;
-							packets.addElement(msg);
-							notify();
-							//							System.out.println("added: "+rxmsg.packet+":"+msg);
-						} else {
-							packet_lost++;
-						}
+						frameReceived();
 					} else {
-						packet_lost++;
+						rejected();
 					}
 				}
 				break;
@@ -326,48 +685,15 @@ public class MAVLinkReader {
 		}
 	}
 
+	/**
+	 * @return frames rejected or dropped for any reason, see getStats() for details
+	 */
 	public int getLostPackages() {
 		return packet_lost;
 	}
 
-	/**
-	 * Check if we don't lost messages...
-	 *
-	 * @param sequence
-	 *            current sequence
-	 * @return true if we don't lost messages
-	 */
-	protected boolean checkPacket(int sysId, int packet) {
-		//	boolean check = false;
-
-		if(sysId!=1)
-			return true;
-
-		if (lastPacket[sysId] == -1) {
-			// it is the first message read
-			//		check = true;
-		}
-
-
-		//		if(packet==255) {
-		//			packet = lastPacket[sysId] + 1;
-		//			check = true;
-		//		}
-
-		if (lastPacket[sysId] < packet) {
-			if (packet - lastPacket[sysId] == 1) {
-				//			check = true;
-			}
-		}
-		else
-			// We have reached the max number (255) and restart to 0
-			if (packet + 256 - lastPacket[sysId] == 1) {
-				//			check = true;
-			}
-
-
-		lastPacket[sysId] = packet;
-		return true;
+	public MAVLinkStats getStats() {
+		return stats;
 	}
 
 	final protected static char[] hexArray = "0123456789ABCDEF".toCharArray();
@@ -401,6 +727,11 @@ public class MAVLinkReader {
 		public int crc = MAVLinkCRC.crc_init();;
 		public byte[] rawData = new byte[MAVLINK_MAX_PAYLOAD_SIZE+1];
 		public byte[] signature = new byte[MAVLINK_SIGNATURE_BLOCK_LEN];
+		public ByteBuffer payload = ByteBuffer.wrap(rawData).order(ByteOrder.LITTLE_ENDIAN);
+		public byte[] frame = new byte[MAVLINK_HEADER_LEN_V20+MAVLINK_MAX_PAYLOAD_SIZE+2+MAVLINK_SIGNATURE_BLOCK_LEN];
+		public ByteBuffer frameBuffer = ByteBuffer.wrap(frame);
+		public int frame_len = 0;
+		public long read_ns = 0;
 
 		public mavlink_framing_t msg_received;
 		public int signature_wait = MAVLINK_SIGNATURE_BLOCK_LEN;
@@ -414,6 +745,7 @@ public class MAVLinkReader {
 			sysId=0;
 			componentId=0;
 			msgId=0;
+			frame_len=0;
 			signature_wait = MAVLINK_SIGNATURE_BLOCK_LEN;
 			msg_received = mavlink_framing_t.MAVLINK_FRAMING_INCOMPLETE;
 			crc= MAVLinkCRC.crc_init();
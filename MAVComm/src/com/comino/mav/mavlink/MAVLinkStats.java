@@ -0,0 +1,329 @@
+/****************************************************************************
+ *
+ *   Copyright (c) 2018 Eike Mansfeld ecm@gmx.de. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the
+ *    distribution.
+ * 3. Neither the name of the copyright holder nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ ****************************************************************************/
+
+
+package com.comino.mav.mavlink;
+
+import org.mavlink.IMAVLinkCRC;
+
+/**
+ * Receive statistics of one MAVLinkReader: sequence gaps per (sysId, compId), frames and
+ * bytes per msgId and the reasons why frames were rejected. Only the receiving thread
+ * updates the counters, getters can be called from any thread. Rates are calculated over
+ * windows of one second.
+ */
+public class MAVLinkStats {
+
+	private static final int  MAX_MSG_ID    = IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length;
+	private static final long WINDOW_NS     = 1_000_000_000L;
+
+	// number of frames behind the last sequence before the source is considered restarted
+	private static final int  MAX_REORDERED = 8;
+
+	private final long[]  count      = new long[MAX_MSG_ID];
+	private final long[]  bytes      = new long[MAX_MSG_ID];
+	private final long[]  last_count = new long[MAX_MSG_ID];
+	private final float[] rate       = new float[MAX_MSG_ID];
+
+	// sources by sysId and compId, allocated when the first frame of a sysId is received
+	private final Source[][] sources = new Source[256][];
+
+	// written by the receiving thread only, readers may see values which are a few frames old
+	private long frames       = 0;
+	private long total_bytes  = 0;
+	private long bad_crc      = 0;
+	private long bad_length   = 0;
+	private long unknown_id   = 0;
+	private long seq_lost     = 0;
+	private long seq_dup      = 0;
+	private long seq_reorder  = 0;
+
+	private long  window_start_ns = 0;
+	private long  window_frames   = 0;
+	private long  window_bytes    = 0;
+	private volatile float frame_rate = 0;
+	private volatile float byte_rate  = 0;
+
+
+	/**
+	 * @return the payload length of the msgId including extensions or 0 if the msgId is unknown
+	 */
+	public static int getPayloadLength(int msgId) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return 0;
+		return IMAVLinkCRC.MAVLINK_MESSAGE_LENGTHS[msgId];
+	}
+
+	public static boolean isKnown(int msgId) {
+		return getPayloadLength(msgId) > 0;
+	}
+
+	/**
+	 * Records a frame with valid CRC
+	 * @param len payload length of the frame
+	 * @param frame_len total length of the frame
+	 */
+	public void received(int sysId, int compId, int seq, int msgId, int len, int frame_len) {
+		final long now = System.nanoTime();
+
+		if(len > getPayloadLength(msgId))
+			bad_length++;
+
+		count[msgId]++;
+		bytes[msgId] += frame_len;
+		frames++;
+		total_bytes += frame_len;
+
+		Source[] comps = sources[sysId & 0x00FF];
+		if(comps == null)
+			comps = sources[sysId & 0x00FF] = new Source[256];
+		Source s = comps[compId & 0x00FF];
+		if(s == null)
+			s = comps[compId & 0x00FF] = new Source();
+		s.received(seq & 0x00FF);
+
+		if(now - window_start_ns >= WINDOW_NS)
+			updateRates(now);
+	}
+
+	public void badCRC() {
+		bad_crc++;
+	}
+
+	public void unknownId() {
+		unknown_id++;
+	}
+
+	/**
+	 * @return frames with valid CRC
+	 */
+	public long getFrames() {
+		return frames;
+	}
+
+	public long getBytes() {
+		return total_bytes;
+	}
+
+	/**
+	 * @return frames which failed the CRC check, each counted once. Signed frames are counted after
+	 * their signature block, independent of how the frame was split across reads.
+	 */
+	public long getBadCRC() {
+		return bad_crc;
+	}
+
+	/**
+	 * @return frames with a payload longer than defined for their msgId. These frames are decoded nevertheless.
+	 */
+	public long getBadLength() {
+		return bad_length;
+	}
+
+	public long getUnknownId() {
+		return unknown_id;
+	}
+
+	/**
+	 * @return frames rejected because of bad CRC or unknown msgId
+	 */
+	public long getErrors() {
+		return bad_crc + unknown_id;
+	}
+
+	/**
+	 * @return frames missing in the sequences of all sources
+	 */
+	public long getLost() {
+		return seq_lost;
+	}
+
+	/**
+	 * @return frames received twice in a row from the same source
+	 */
+	public long getDuplicates() {
+		return seq_dup;
+	}
+
+	/**
+	 * @return frames received after a frame with a later sequence
+	 */
+	public long getReordered() {
+		return seq_reorder;
+	}
+
+	/**
+	 * @return frames per second of the last complete window
+	 */
+	public float getFrameRate() {
+		return isStale() ? 0 : frame_rate;
+	}
+
+	/**
+	 * @return bytes per second of the last complete window
+	 */
+	public float getByteRate() {
+		return isStale() ? 0 : byte_rate;
+	}
+
+	public long getCount(int msgId) {
+		return count[msgId];
+	}
+
+	public long getBytes(int msgId) {
+		return bytes[msgId];
+	}
+
+	public float getRate(int msgId) {
+		return isStale() ? 0 : rate[msgId];
+	}
+
+	/**
+	 * @return the ratio of received to expected frames of all sources, 1 if nothing is lost
+	 */
+	public float getQuality() {
+		final long received = frames, lost = seq_lost;
+		return received + lost == 0 ? 1 : received / (float)(received + lost);
+	}
+
+	public long getReceived(int sysId, int compId) {
+		final Source s = getSource(sysId, compId);
+		return s == null ? 0 : s.received;
+	}
+
+	public long getLost(int sysId, int compId) {
+		final Source s = getSource(sysId, compId);
+		return s == null ? 0 : s.lost;
+	}
+
+	public long getDuplicates(int sysId, int compId) {
+		final Source s = getSource(sysId, compId);
+		return s == null ? 0 : s.duplicates;
+	}
+
+	public long getReordered(int sysId, int compId) {
+		final Source s = getSource(sysId, compId);
+		return s == null ? 0 : s.reordered;
+	}
+
+	public String toString() {
+		StringBuilder b = new StringBuilder();
+		b.append("Frames: ").append(frames).append(" (").append((int)getFrameRate()).append("/s, ")
+		 .append((int)getByteRate()).append(" bytes/s) lost: ").append(seq_lost).append(" dup: ").append(seq_dup)
+		 .append(" reordered: ").append(seq_reorder).append(" crc: ").append(bad_crc).append(" length: ")
+		 .append(bad_length).append(" unknown: ").append(unknown_id);
+		for(int sys=0;sys<sources.length;sys++) {
+			final Source[] comps = sources[sys];
+			if(comps == null)
+				continue;
+			for(int comp=0;comp<comps.length;comp++) {
+				final Source s = comps[comp];
+				if(s != null)
+					b.append("\n  ").append(sys).append("/").append(comp).append(": ").append(s);
+			}
+		}
+		for(int i=0;i<MAX_MSG_ID;i++) {
+			if(count[i] > 0)
+				b.append("\n  msgId ").append(i).append(": ").append(count[i]).append(" frames ").append(bytes[i])
+				 .append(" bytes ").append(String.format("%.1f", getRate(i))).append("/s");
+		}
+		return b.toString();
+	}
+
+	private Source getSource(int sysId, int compId) {
+		final Source[] comps = sources[sysId & 0x00FF];
+		return comps == null ? null : comps[compId & 0x00FF];
+	}
+
+	private boolean isStale() {
+		return System.nanoTime() - window_start_ns > 2 * WINDOW_NS;
+	}
+
+	private void updateRates(long now) {
+		final float dt = (now - window_start_ns) / 1e9f;
+		if(window_start_ns != 0) {
+			for(int i=0;i<MAX_MSG_ID;i++) {
+				rate[i] = (count[i] - last_count[i]) / dt;
+				last_count[i] = count[i];
+			}
+			frame_rate = (frames - window_frames) / dt;
+			byte_rate  = (total_bytes - window_bytes) / dt;
+		} else
+			System.arraycopy(count, 0, last_count, 0, MAX_MSG_ID);
+		window_frames   = frames;
+		window_bytes    = total_bytes;
+		window_start_ns = now;
+	}
+
+	private final class Source {
+
+		private int  last_seq   = -1;
+		private int  behind     = 0;
+
+		private long received   = 0;
+		private long lost       = 0;
+		private long duplicates = 0;
+		private long reordered  = 0;
+
+		private void received(int seq) {
+			received++;
+			if(last_seq < 0) {
+				last_seq = seq;
+				return;
+			}
+			final int delta = (seq - last_seq) & 0x00FF;
+			if(delta == 0) {
+				duplicates++; seq_dup++;
+				return;
+			}
+			if(delta > 128) {
+				// late frame, counted as lost before
+				reordered++; seq_reorder++;
+				if(lost > 0) {
+					lost--; seq_lost--;
+				}
+				if(++behind > MAX_REORDERED) {
+					behind = 0; last_seq = seq;
+				}
+				return;
+			}
+			lost += delta - 1; seq_lost += delta - 1;
+			behind = 0;
+			last_seq = seq;
+		}
+
+		public String toString() {
+			return received+" frames lost: "+lost+" dup: "+duplicates+" reordered: "+reordered;
+		}
+	}
+}
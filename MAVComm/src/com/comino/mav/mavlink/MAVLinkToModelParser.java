@@ -37,16 +37,18 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.nio.channels.ByteChannel;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.mavlink.IMAVLinkCRC;
 import org.mavlink.messages.MAVLinkMessage;
 import org.mavlink.messages.MAV_SEVERITY;
 import org.mavlink.messages.lquac.msg_command_ack;
 import org.mavlink.messages.lquac.msg_statustext;
 import org.mavlink.messages.lquac.msg_timesync;
 
+import com.comino.main.MSPConfig;
 import com.comino.mav.comm.IMAVComm;
 import com.comino.mav.control.IMAVCmdAcknowledge;
 import com.comino.mav.mavlink.plugins.MAVLinkPluginBase;
@@ -60,6 +62,13 @@ import com.comino.msp.utils.MSPPluginHelper;
 
 public class MAVLinkToModelParser {
 
+	// inline lane for model plugins and time critical listeners
+	public static final int LANE_RT      = 0;
+	// async lane for listeners of all messages, e.g. forwarding
+	public static final int LANE_FORWARD = 1;
+	// async lane for logging and status messages
+	public static final int LANE_LOG     = 2;
+
 
 	private static int TIME_SYNC_CYCLE_MS = 1000;
 	private static double OFFSET_AVG_ALPHA = 0.6d;
@@ -67,13 +76,17 @@ public class MAVLinkToModelParser {
 	private DataModel model;
 	private MSPLogger logger = null;
 
-	private HashMap<Class<?>, MAVLinkMessage> mavList = null;
+	private static final int MAX_MSG_ID        = IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length;
+	private static final int DEFAULT_LANE_SIZE = 256;
+
+	private static final IMAVMessageListener[] NO_MSG_LISTENERS = new IMAVMessageListener[0];
+
+	private final MAVLinkMessageStore mavList = new MAVLinkMessageStore();
 
 	private IMAVComm link = null;
 
-	private HashMap<Class<?>, List<IMAVLinkListener>> 	msglisteners 		= null;
-	private List<IMAVLinkListener> 	  					mavListener 		= null;
-	private List<IMAVMessageListener> 					messageListener 	= null;
+	private final MAVLinkDispatchLane[] 					lanes;
+	private volatile IMAVMessageListener[] 					messageListener = NO_MSG_LISTENERS;
 
 	private long time_offset_ns = 0;
 
@@ -81,35 +94,49 @@ public class MAVLinkToModelParser {
 
 	private long time_sync_cycle;
 
-	private IMAVCmdAcknowledge cmd_ack = null;
+	private final AtomicReference<IMAVCmdAcknowledge> cmd_ack = new AtomicReference<IMAVCmdAcknowledge>();
+
+	private MAVLinkReader reader = null;
 
 
 	public MAVLinkToModelParser(DataModel model, IMAVComm link) {
 
 		this.model = model;
 		this.link = link;
-		this.mavList = new HashMap<Class<?>, MAVLinkMessage>();
 
-		this.mavListener = new ArrayList<IMAVLinkListener>();
-		this.messageListener = new ArrayList<IMAVMessageListener>();
-		this.msglisteners = new HashMap<Class<?>, List<IMAVLinkListener>>();
+		int lane_size = DEFAULT_LANE_SIZE;
+		if(MSPConfig.getInstance()!=null)
+			lane_size = MSPConfig.getInstance().getIntProperty("mavlink_lane_size", String.valueOf(DEFAULT_LANE_SIZE));
 
+		this.lanes = new MAVLinkDispatchLane[] {
+				new MAVLinkDispatchLane("rt"),
+				new MAVLinkDispatchLane("forward", lane_size, MAVLinkMessageQueue.WaitStrategy.PARK),
+				new MAVLinkDispatchLane("log", lane_size, MAVLinkMessageQueue.WaitStrategy.PARK)
+		};
 
 		model.sys.setStatus(Status.MSP_READY, true);
 
 		registerPlugins();
 
-		registerListener(msg_command_ack.class, new IMAVLinkListener() {
+		// the acknowledge callback is part of the control path and must not wait behind logging
+		registerListener(msg_command_ack.class, LANE_RT, new IMAVLinkListener() {
+
+			@Override
+			public void received(Object o) {
+				msg_command_ack ack = (msg_command_ack) o;
+				IMAVCmdAcknowledge a = cmd_ack.getAndSet(null);
+				if(a!=null)
+					a.received(ack.command, ack.result);
+			}
+		});
+
+		registerListener(msg_command_ack.class, LANE_LOG, new IMAVLinkListener() {
 
 			@Override
 			public void received(Object o) {
 
 				msg_command_ack ack = (msg_command_ack) o;
 
-				if(cmd_ack!=null) {
-					cmd_ack.received(ack.command, ack.result);
-					cmd_ack = null;
-				}
 				if(model.sys.isStatus(Status.MSP_PROXY)) {
 					return;
 				}
@@ -131,7 +158,7 @@ public class MAVLinkToModelParser {
 
 		});
 
-		registerListener(msg_statustext.class, new IMAVLinkListener() {
+		registerListener(msg_statustext.class, LANE_LOG, new IMAVLinkListener() {
 			@Override
 			public void received(Object o) {
 				msg_statustext msg = (msg_statustext) o;
@@ -145,7 +172,7 @@ public class MAVLinkToModelParser {
 		});
 
 
-		registerListener(msg_timesync.class, new IMAVLinkListener() {
+		registerListener(msg_timesync.class, LANE_RT, new IMAVLinkListener() {
 
 			@Override
 			public void received(Object o) {
@@ -188,7 +215,10 @@ public class MAVLinkToModelParser {
 			}
 		});
 
-		System.out.println("MAVMSP parser: " + msglisteners.size() + " MAVLink messagetypes registered");
+		int count = 0;
+		for(int i=0;i<MAX_MSG_ID;i++)
+			if(hasListeners(i)) count++;
+		System.out.println("MAVMSP parser: " + count + " MAVLink messagetypes registered");
 
 		model.sys.tms = System.currentTimeMillis() * 1000;
 
@@ -204,7 +234,7 @@ public class MAVLinkToModelParser {
 						Constructor<?> constructor = c.getConstructor();
 						MAVLinkPluginBase plugin = (MAVLinkPluginBase)constructor.newInstance();
 						plugin.setDataModel(model);
-						registerListener(plugin.getMessageClass(),plugin);
+						registerListener(plugin.getMessageClass(),LANE_RT,plugin);
 					} catch (Exception e) { e.printStackTrace(); }
 				}
 			});
@@ -212,14 +242,59 @@ public class MAVLinkToModelParser {
 	}
 
 	public void addMAVLinkListener(IMAVLinkListener listener) {
-		mavListener.add(listener);
+		addMAVLinkListener(listener, LANE_FORWARD);
 	}
 
-	public void addMAVMessageListener(IMAVMessageListener listener) {
-		messageListener.add(listener);
+	/**
+	 * Adds a listener for all messages executed in the given lane
+	 */
+	public synchronized void addMAVLinkListener(IMAVLinkListener listener, int lane) {
+		lanes[lane].addListener(listener);
+		if(reader!=null)
+			reader.setInterestAll(true);
 	}
 
+	public MAVLinkDispatchLane[] getLanes() {
+		return lanes;
+	}
+
+	/**
+	 * Restricts decoding of the reader to msgIds with registered plugins or listeners, if
+	 * mavlink_skip_decode is set. If a listener for all messages is registered, all msgIds are decoded.
+	 * Skipped msgIds are not available in the message store and getMavLinkMessageMap().
+	 */
+	public synchronized void setReader(MAVLinkReader reader) {
+		MSPConfig config = MSPConfig.getInstance();
+		if(config==null || !config.getBoolProperty("mavlink_skip_decode", "false"))
+			return;
+
+		this.reader = reader;
+		for(int i=0;i<MAX_MSG_ID;i++)
+			reader.setInterest(i, hasListeners(i));
+		System.out.println("MAVMSP parser: decoding restricted to registered messagetypes");
+	}
+
+	public synchronized void addMAVMessageListener(IMAVMessageListener listener) {
+		IMAVMessageListener[] list = Arrays.copyOf(messageListener, messageListener.length+1);
+		list[list.length-1] = listener;
+		messageListener = list;
+	}
+
+	/**
+	 * @return a snapshot of the latest message of each type, copies if messages are pooled
+	 */
 	public Map<Class<?>, MAVLinkMessage> getMavLinkMessageMap() {
+		return mavList.toMap();
+	}
+
+	/**
+	 * @return the latest message received with this msgId or null, a copy if messages are pooled
+	 */
+	public MAVLinkMessage getLatestMessage(int msgId) {
+		return mavList.get(msgId);
+	}
+
+	public MAVLinkMessageStore getMessageStore() {
 		return mavList;
 	}
 
@@ -236,53 +311,68 @@ public class MAVLinkToModelParser {
 	}
 
 	public void setCmdAcknowledgeListener(IMAVCmdAcknowledge ack) {
-		this.cmd_ack = ack;
+		this.cmd_ack.set(ack);
 	}
 
 	public void writeMessage(LogMessage m) {
 		if (lastMessage == null || lastMessage.tms < m.tms) {
 			System.out.println(m.text);
-			if (messageListener != null) {
-				for (IMAVMessageListener msglistener : messageListener)
-					msglistener.messageReceived(m);
-			}
+			for (IMAVMessageListener msglistener : messageListener)
+				msglistener.messageReceived(m);
 		}
 	}
 
-	private void registerListener(Class<?> clazz, IMAVLinkListener listener) {
-		List<IMAVLinkListener> listenerList = null;
-		if (!msglisteners.containsKey(clazz)) {
-			listenerList = new ArrayList<IMAVLinkListener>();
-			msglisteners.put(clazz, listenerList);
-		} else
-			listenerList = msglisteners.get(clazz);
-		listenerList.add(listener);
+	private void registerListener(Class<?> clazz, int lane, IMAVLinkListener listener) {
+		int msgId = getMessageId(clazz);
+		if(msgId < 0) {
+			System.err.println("MAVMSP parser: "+clazz.getSimpleName()+" is not a MAVLink message");
+			return;
+		}
+		registerListener(msgId, lane, listener);
 	}
 
-	public void parseMessage(MAVLinkMessage msg) throws IOException {
+	public void registerListener(int msgId, IMAVLinkListener listener) {
+		registerListener(msgId, LANE_RT, listener);
+	}
 
-		List<IMAVLinkListener> msgListener = null;
+	/**
+	 * Registers a listener for one msgId executed in the given lane. Can be called while
+	 * messages are dispatched.
+	 */
+	public synchronized void registerListener(int msgId, int lane, IMAVLinkListener listener) {
+		if(msgId < 0 || msgId >= MAX_MSG_ID)
+			return;
+		lanes[lane].addListener(msgId, listener);
+		if(reader!=null)
+			reader.setInterest(msgId, true);
+	}
 
-		if (msg != null) {
+	private boolean hasListeners(int msgId) {
+		for(MAVLinkDispatchLane lane : lanes)
+			if(lane.hasListeners(msgId))
+				return true;
+		return false;
+	}
 
-			model.sys.tms = model.sys.getSynchronizedPX4Time_us();
+	private int getMessageId(Class<?> clazz) {
+		try {
+			return ((MAVLinkMessage)clazz.getConstructor(int.class, int.class).newInstance(0,0)).messageType;
+		} catch(Exception e) {
+			return -1;
+		}
+	}
 
-			try {
+	public void parseMessage(MAVLinkMessage msg) throws IOException {
 
-				if (mavListener != null && mavListener.size() > 0)
-					for (IMAVLinkListener mavlistener : mavListener)
-						mavlistener.received(msg);
+		if (msg != null) {
 
-				msgListener = msglisteners.get(msg.getClass());
-				if (msgListener != null && msgListener.size() > 0)
-					for (IMAVLinkListener _listeners : msgListener)
-						_listeners.received(msg);
+			model.sys.tms = model.sys.getSynchronizedPX4Time_us();
 
-				mavList.put(msg.getClass(), msg);
+			// async lanes first, so that they are not delayed by the inline lane
+			for (int i = lanes.length - 1; i >= 0; i--)
+				lanes[i].dispatch(msg);
 
-			} catch (Exception e) {
-				e.printStackTrace();
-			}
+			mavList.put(msg);
 		}
 
 		if ((System.currentTimeMillis() - time_sync_cycle) > TIME_SYNC_CYCLE_MS && TIME_SYNC_CYCLE_MS > 0) {
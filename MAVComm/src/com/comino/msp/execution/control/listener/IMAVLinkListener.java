@@ -37,6 +37,10 @@ package com.comino.msp.execution.control.listener;
 
 public interface IMAVLinkListener {
 
+	/**
+	 * If message pooling is enabled, the message is recycled after dispatch. Listeners keeping
+	 * a reference call retain() and release() it later, or copy it with copyFrom().
+	 */
 	public void received(Object o);
 
 }
@@ -22,6 +22,8 @@
 
 package org.mavlink;
 
+import java.nio.ByteBuffer;
+
 /**
  * MAVLink CRC computation
  * @author ghelle
@@ -43,6 +45,17 @@ public class MAVLinkCRC {
         return buffer;
     }
 
+    /**
+     * X.25 CRC lookup table, one entry per byte value
+     */
+    private static final int[] CRC_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < CRC_TABLE.length; i++) {
+            CRC_TABLE[i] = crc_accumulate_bitwise((byte) i, 0);
+        }
+    }
+
     /**
      * Accumulate the X.25 CRC by adding one char at a time.
      * The checksum function adds the hash of one char at a time to the 16 bit checksum
@@ -51,6 +64,55 @@ public class MAVLinkCRC {
      * @return the new accumulated checksum
      */
     public static int crc_accumulate(byte data, int crc) {
+        return ((crc >> 8) & 0x00ff) ^ CRC_TABLE[(data ^ crc) & 0x00ff];
+    }
+
+    /**
+     * Accumulate the X.25 CRC over a range of a byte array
+     * @param buffer buffer containing the bytes to hash
+     * @param offset index of the first byte
+     * @param length number of bytes to hash
+     * @param crc the already accumulated checksum
+     * @return the new accumulated checksum
+     */
+    public static int crc_accumulate(byte[] buffer, int offset, int length, int crc) {
+        final int[] table = CRC_TABLE;
+        final int end = offset + length;
+        crc &= 0x0000ffff;
+        for (int i = offset; i < end; i++) {
+            crc = (crc >>> 8) ^ table[(buffer[i] ^ crc) & 0x00ff];
+        }
+        return crc;
+    }
+
+    /**
+     * Accumulate the X.25 CRC over a range of a byte buffer. The position of the buffer is not changed.
+     * @param buffer buffer containing the bytes to hash
+     * @param offset absolute index of the first byte
+     * @param length number of bytes to hash
+     * @param crc the already accumulated checksum
+     * @return the new accumulated checksum
+     */
+    public static int crc_accumulate(ByteBuffer buffer, int offset, int length, int crc) {
+        if (buffer.hasArray()) {
+            return crc_accumulate(buffer.array(), buffer.arrayOffset() + offset, length, crc);
+        }
+        final int[] table = CRC_TABLE;
+        final int end = offset + length;
+        crc &= 0x0000ffff;
+        for (int i = offset; i < end; i++) {
+            crc = (crc >>> 8) ^ table[(buffer.get(i) ^ crc) & 0x00ff];
+        }
+        return crc;
+    }
+
+    /**
+     * Bitwise reference implementation of crc_accumulate, used to build the lookup table
+     * @param data new char to hash
+     * @param crc the already accumulated checksum
+     * @return the new accumulated checksum
+     */
+    public static int crc_accumulate_bitwise(byte data, int crc) {
         int tmp, tmpdata;
         int crcaccum = crc & 0x000000ff;
         tmpdata = data & 0x000000ff;
@@ -97,11 +159,7 @@ public class MAVLinkCRC {
      * @return the accumulated checksum
      */
     public static int crc_calculate_decode(byte[] buffer, int dataLength) {
-        int crc = crc_init();
-        for (int i = 1; i <= dataLength + IMAVLinkMessage.CRC_LEN; i++) {
-            crc = crc_accumulate(buffer[i], crc);
-        }
-        return crc;
+        return crc_accumulate(buffer, 1, dataLength + IMAVLinkMessage.CRC_LEN, crc_init());
     }
 
     /**
@@ -111,11 +169,7 @@ public class MAVLinkCRC {
      * @return the accumulated checksum
      */
     public static int crc_calculate_encode(byte[] buffer, int length) {
-        int crc = crc_init();
-        for (int i = 1; i < buffer.length - 2; i++) {
-            crc = crc_accumulate(buffer[i], crc);
-        }
-        return crc;
+        return crc_accumulate(buffer, 1, buffer.length - 3, crc_init());
     }
 
     /**
@@ -124,11 +178,7 @@ public class MAVLinkCRC {
      * @return the accumulated checksum
      */
     public static int crc_calculate(byte[] buffer) {
-        int crc = crc_init();
-        for (int i = 0; i < buffer.length; i++) {
-            crc = crc_accumulate(buffer[i], crc);
-        }
-        return crc;
+        return crc_accumulate(buffer, 0, buffer.length, crc_init());
     }
 
 }
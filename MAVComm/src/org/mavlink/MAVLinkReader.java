@@ -6,6 +6,8 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Vector;
 
@@ -330,7 +332,6 @@ public class MAVLinkReader {
 		int msgId;
 		byte crcLow;
 		byte crcHigh;
-		byte[] rawData = null;
 		MAVLinkMessage msg = null;
 
 		incompat = receivedBuffer[nbReceived++] = dis.readByte();
@@ -365,7 +366,7 @@ public class MAVLinkReader {
 		msgId |= (tmp & 0X00FF) << 16;
 		totalBytesReceived++;
 
-		rawData = readRawData(lengthToRead);
+		readRawData(lengthToRead);
 
 		crcLow = receivedBuffer[nbReceived++] = dis.readByte();
 		totalBytesReceived++;
@@ -384,7 +385,7 @@ public class MAVLinkReader {
 		byte crch = (byte) ((crc >> 8) & 0x00FF);
 
 		if ((crcl == crcLow) && (crch == crcHigh) || msgId==36 ) {
-			msg = MAVLinkMessageFactory.getMessage(msgId, sysId, componentId, rawData);
+			msg = MAVLinkMessageFactory.getMessage(msgId, sysId, componentId, payload);
 			if (msg != null) {
 				msg.packet = packet;
 				if (!checkPacket(sysId, packet)) {
@@ -452,6 +453,7 @@ public class MAVLinkReader {
 	 * @throws IOException
 	 */
 	private byte[] buffer = new byte[256];
+	private final ByteBuffer payload = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN);
 	protected byte[] readRawData(int nb) throws IOException {
 		Arrays.fill(buffer,(byte)0);
 		int index = 0;
@@ -522,6 +522,149 @@ public class MAVLinkDataType {
         return value;
     }
 
+    /**
+     * Return code in a String to read the field at an absolute offset of a byte buffer.
+     * The buffer is not modified, so no stream or position state is needed
+     * @param name field name
+     * @param offset offset of the field in the payload
+     * @return the code reader for the field in a String
+     */
+    public String getBufferReadType(String name, int offset) {
+        String value = "";
+        String arrayString = "";
+        String index = "" + offset;
+        String endLoop = "  }\n";
+        if (!isArray) {
+            endLoop = "";
+        }
+        else {
+            arrayString = "[i]";
+            index = offset + "+i" + (getTypeSize() > 1 ? "*" + getTypeSize() : "");
+            value = "  for (int i=0; i<" + arrayLenth + "; i++) {\n";
+        }
+
+        value = value + "  " + (isArray ? "  " : "") + name + arrayString;
+        switch (type) {
+            case ARRAY:
+            case CHAR:
+                value = value + " = (char)buf.get(" + index + ");"; //"char"
+                break;
+            case UINT8:
+                value = value + " = (int)buf.get(" + index + ")&0x00FF;"; //"uint8_t";
+                break;
+            case INT8:
+                value = value + " = (int)buf.get(" + index + ");"; //"int8_t";
+                break;
+            case INT16:
+                value = value + " = (int)buf.getShort(" + index + ");"; //"int16_t";
+                break;
+            case UINT16:
+                value = value + " = (int)buf.getShort(" + index + ")&0x00FFFF;"; //"uint16_t";
+                break;
+            case INT32:
+                value = value + " = (int)buf.getInt(" + index + ");"; //"int32_t";
+                break;
+            case UINT32:
+                value = value + " = (int)buf.getInt(" + index + ")&0x00FFFFFFFF;"; //"uint32_t";
+                break;
+            case INT64:
+                value = value + " = (long)buf.getLong(" + index + ");"; //"int64_t";
+                break;
+            case UINT64:
+                value = value + " = (long)buf.getLong(" + index + ");"; //"uint64_t";
+                break;
+            case DOUBLE:
+                value = value + " = (double)buf.getDouble(" + index + ");"; //"double";
+                break;
+            case FLOAT:
+                value = value + " = (float)buf.getFloat(" + index + ");"; //"float";
+                break;
+            default:
+        }
+        value = value + "\n";
+        value = value + endLoop;
+
+        return value;
+    }
+
+    /**
+     * Return code in a String to write the field into a byte buffer while accumulating the CRC.
+     * @param name field name
+     * @return the code writer for the field in a String
+     */
+    public String getBufferWriteType(String name) {
+        String value = "";
+        String arrayString = "";
+        String endLoop = "  }\n";
+        if (!isArray) {
+            endLoop = "";
+        }
+        else {
+            arrayString = "[i]";
+            value = "  for (int i=0; i<" + arrayLenth + "; i++) {\n";
+        }
+
+        value = value + "  " + (isArray ? "  " : "") + "crc = MAVLinkBufferWriter.";
+        switch (type) {
+            case ARRAY:
+            case CHAR:
+                value = value + "writeByte(dst, " + name + arrayString + ", crc);"; //"char"
+                break;
+            case UINT8:
+            case INT8:
+                value = value + "writeByte(dst, " + name + arrayString + "&0x00FF, crc);"; //"uint8_t", "int8_t"
+                break;
+            case INT16:
+            case UINT16:
+                value = value + "writeShort(dst, " + name + arrayString + "&0x00FFFF, crc);"; //"int16_t", "uint16_t"
+                break;
+            case INT32:
+            case UINT32:
+                value = value + "writeInt(dst, (int)(" + name + arrayString + "&0x00FFFFFFFF), crc);"; //"int32_t", "uint32_t"
+                break;
+            case INT64:
+            case UINT64:
+                value = value + "writeLong(dst, " + name + arrayString + ", crc);"; //"int64_t", "uint64_t"
+                break;
+            case DOUBLE:
+                value = value + "writeDouble(dst, " + name + arrayString + ", crc);"; //"double"
+                break;
+            case FLOAT:
+                value = value + "writeFloat(dst, " + name + arrayString + ", crc);"; //"float"
+                break;
+            default:
+        }
+        value = value + "\n";
+        value = value + endLoop;
+
+        return value;
+    }
+
+    /**
+     * Return code in a String to set the field back to its default value.
+     * @param name field name
+     * @return the code to reset the field in a String
+     */
+    public String getResetType(String name) {
+        if (isArray) {
+            return "  for (int i=0; i<" + arrayLenth + "; i++) {\n    " + name + "[i] = 0;\n  }\n";
+        }
+        return "  " + name + " = 0;\n";
+    }
+
+    /**
+     * Return code in a String to copy the field from another instance of the message.
+     * @param name field name
+     * @param source name of the variable holding the other instance
+     * @return the code to copy the field in a String
+     */
+    public String getCopyType(String name, String source) {
+        if (isArray) {
+            return "  System.arraycopy(" + source + "." + name + ", 0, " + name + ", 0, " + arrayLenth + ");\n";
+        }
+        return "  " + name + " = " + source + "." + name + ";\n";
+    }
+
     /**
      * Return code in a String to write the field in byte buffer.
      * Use different Java API if code is embedded
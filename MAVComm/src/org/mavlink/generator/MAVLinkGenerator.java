@@ -68,6 +68,8 @@ public class MAVLinkGenerator {
 
 	public static int[] MAVLINK_MESSAGE_CRCS = new int[512];
 
+	public static int[] MAVLINK_MESSAGE_LENGTHS = new int[512];
+
 	/**
 	 * Main class for the generator.
 	 *
@@ -244,7 +246,7 @@ public class MAVLinkGenerator {
 	 * @param targetPath
 	 */
 	protected void generateMessageClass(MAVLinkData mavlink, String targetPath) {
-		StringBuffer sbRead, sbWrite, fieldWrite;
+		StringBuffer sbRead, sbBufferRead, sbWrite, sbBufferWrite, sbReset, sbCopy, fieldWrite;
 		String packageRootName = "org.mavlink.messages";
 		String xmlFilename = mavlink.getFile();
 		String packageName = packageRootName + "." + xmlFilename;
@@ -262,7 +264,11 @@ public class MAVLinkGenerator {
 				output = new FileOutputStream(filename, false);
 				writer = new PrintWriter(output);
 				sbRead = new StringBuffer();
+				sbBufferRead = new StringBuffer();
 				sbWrite = new StringBuffer();
+				sbBufferWrite = new StringBuffer();
+				sbReset = new StringBuffer();
+				sbCopy = new StringBuffer();
 				fieldWrite = new StringBuffer();
 				if (forEmbeddedJava) {
 					sbWrite.append("  dos.writeByte((byte)" + IMAVLinkMessage.STRING_MAVPROT_PACKET_START_V20 + ");\n");
@@ -305,6 +311,8 @@ public class MAVLinkGenerator {
 						writer.print("import java.io.DataInputStream;\n");
 						writer.print("import java.io.DataOutputStream;\n");
 					}
+					writer.print("import java.nio.ByteBuffer;\n");
+					writer.print("import org.mavlink.io.MAVLinkBufferWriter;\n");
 				}
 				else {
 					writer.print("import java.nio.ByteBuffer;\n");
@@ -337,6 +345,10 @@ public class MAVLinkGenerator {
 					fieldWrite.append("  public " + type.getJavaType(field.getName()) + "\n");
 					sbRead.append(type.getReadType(field.getName(), forEmbeddedJava));
 					sbWrite.append(type.getWriteType(field.getName(), forEmbeddedJava));
+					sbBufferRead.append(type.getBufferReadType(field.getName(), fieldLen));
+					sbBufferWrite.append(type.getBufferWriteType(field.getName()));
+					sbReset.append(type.getResetType(field.getName()));
+					sbCopy.append(type.getCopyType(field.getName(), "msg"));
 					String attr = field.getName();
 					if (type.isArray && type.type == MAVLinkDataType.CHAR) {
 						String first = "" + attr.charAt(0);
@@ -370,6 +382,7 @@ public class MAVLinkGenerator {
 				int magicNumber = (extra_crc & 0x00FF) ^ ((extra_crc >> 8 & 0x00FF));
 
 				MAVLINK_MESSAGE_CRCS[message.getId()] = magicNumber;
+				MAVLINK_MESSAGE_LENGTHS[message.getId()] = fieldLen;
 
 				writer.print("/**\n");
 				writer.print(" * Decode message with raw data\n");
@@ -389,6 +402,30 @@ public class MAVLinkGenerator {
 				writer.print(sbRead.toString());
 				writer.print("}\n");
 
+				if (forEmbeddedJava) {
+					writer.print("/**\n");
+					writer.print(" * Decode message with raw data at absolute offsets of the payload buffer\n");
+					writer.print(" */\n");
+					writer.print("public void decode(ByteBuffer buf) {\n");
+					writer.print(sbBufferRead.toString());
+					writer.print("}\n");
+					writer.print("/**\n");
+					writer.print(" * Set header and fields to their defaults, so that the instance can be reused\n");
+					writer.print(" */\n");
+					writer.print("public void reset() {\n");
+					writer.print("  resetHeader();\n");
+					writer.print(sbReset.toString());
+					writer.print("}\n");
+					writer.print("/**\n");
+					writer.print(" * Copy header and fields of another instance of this message\n");
+					writer.print(" */\n");
+					writer.print("public void copyFrom(MAVLinkMessage other) {\n");
+					writer.print("  " + className + " msg = (" + className + ")other;\n");
+					writer.print("  copyHeader(msg);\n");
+					writer.print(sbCopy.toString());
+					writer.print("}\n");
+				}
+
 				writer.print("/**\n");
 				writer.print(" * Encode message with raw data and other informations\n");
 				writer.print(" */\n");
@@ -443,6 +480,31 @@ public class MAVLinkGenerator {
 					}
 				}
 				writer.print("  return buffer;\n}\n");
+
+				if (forEmbeddedJava) {
+					writer.print("/**\n");
+					writer.print(" * Encode message at the current position of the buffer and accumulate the CRC while writing\n");
+					writer.print(" */\n");
+					writer.print("public int encodeTo(ByteBuffer dst, int packetSeq) {\n");
+					writer.print("  int crc = MAVLinkCRC.crc_init();\n");
+					writer.print("  dst.put((byte)" + IMAVLinkMessage.STRING_MAVPROT_PACKET_START_V20 + ");\n");
+					writer.print("  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);\n");
+					writer.print("  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);\n");
+					writer.print("  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);\n");
+					writer.print("  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);\n");
+					writer.print("  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);\n");
+					writer.print("  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);\n");
+					writer.print("  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);\n");
+					writer.print("  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);\n");
+					writer.print("  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);\n");
+					writer.print(sbBufferWrite.toString());
+					if (useExtraByte) {
+						writer.print("  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);\n");
+					}
+					writer.print("  dst.put((byte) (crc & 0x00FF));\n");
+					writer.print("  dst.put((byte) ((crc >> 8) & 0x00FF));\n");
+					writer.print("  return " + (fieldLen + 12) + ";\n}\n");
+				}
 				if (debug) {
 					writer.print("public String toString() {\n");
 					writer.print("return \"" + id + " : \" + " + forToString + ";");
@@ -617,34 +679,22 @@ public class MAVLinkGenerator {
 			writer.print("import " + packageRootName + ".MAVLinkMessage;\n");
 			writer.print("import org.mavlink.IMAVLinkMessage;\n");
 			writer.print("import java.io.IOException;\n");
-			if (forEmbeddedJava) {
-				if (isLittleEndian) {
-					writer.print("import org.mavlink.io.LittleEndianDataInputStream;\n");
-					writer.print("import java.io.ByteArrayInputStream;\n");
-				}
-				else {
-					writer.print("import java.io.DataInputStream;\n");
-					writer.print("import java.io.ByteArrayInputStream;\n");
-				}
-			}
-			else {
-				writer.print("import java.nio.ByteBuffer;\n");
-				writer.print("import java.nio.ByteOrder;\n");
-			}
+			writer.print("import java.nio.ByteBuffer;\n");
+			writer.print("import java.nio.ByteOrder;\n");
 			writer.print(imports);
 			writer.print("/**\n * Class MAVLinkMessageFactory\n * Generate MAVLink message classes from byte array\n **/\n");
 			writer.print("public class MAVLinkMessageFactory implements IMAVLinkMessage, IMAVLinkMessageID {\n");
 			writer.print("public static MAVLinkMessage getMessage(int msgid, int sysId, int componentId, byte[] rawData) throws IOException {\n");
-			writer.print("    MAVLinkMessage msg=null;\n");
 			if (forEmbeddedJava) {
-				if (isLittleEndian) {
-					writer.print("    LittleEndianDataInputStream dis = new LittleEndianDataInputStream(new ByteArrayInputStream(rawData));\n");
-				}
-				else {
-					writer.print("    DataInputStream dis = new DataInputStream(new ByteArrayInputStream(rawData));\n");
-				}
+				writer.print("    return getMessage(msgid, sysId, componentId, ByteBuffer.wrap(rawData).order(ByteOrder."
+						+ (isLittleEndian ? "LITTLE_ENDIAN" : "BIG_ENDIAN") + "));\n");
+				writer.print("  }\n");
+				writer.print("/**\n * Decode the payload at absolute offsets of the buffer. The buffer must hold the complete (zero padded) payload\n **/\n");
+				writer.print("public static MAVLinkMessage getMessage(int msgid, int sysId, int componentId, ByteBuffer buf) {\n");
+				writer.print("    MAVLinkMessage msg=null;\n");
 			}
 			else {
+				writer.print("    MAVLinkMessage msg=null;\n");
 				if (isLittleEndian) {
 					writer.print("    ByteBuffer dis = ByteBuffer.wrap(rawData).order(ByteOrder.LITTLE_ENDIAN);\n");
 				}
@@ -658,7 +708,7 @@ public class MAVLinkGenerator {
 				String id = MAVLINK_MSG + "_ID_" + message.getName();
 				writer.print("  case " + id + ":\n");
 				writer.print("      msg = new " + msgClassName + "(sysId, componentId);\n");
-				writer.print("      msg.decode(dis);\n");
+				writer.print("      msg.decode(" + (forEmbeddedJava ? "buf" : "dis") + ");\n");
 				writer.print("      break;\n");
 			}
 			writer.print("  default:\n");
@@ -666,6 +716,23 @@ public class MAVLinkGenerator {
 			writer.print("    }\n");
 			writer.print("    return msg;\n");
 			writer.print("  }\n");
+			if (forEmbeddedJava) {
+				writer.print("/**\n * Decode the payload into an idle message of the pool. If none is idle, a new message is created and added to the pool.\n");
+				writer.print(" * The caller owns the only reference and returns the message with release()\n **/\n");
+				writer.print("public static MAVLinkMessage getMessage(MAVLinkMessagePool pool, int msgid, int sysId, int componentId, ByteBuffer buf) {\n");
+				writer.print("    MAVLinkMessage msg = pool.acquire(msgid);\n");
+				writer.print("    if (msg == null) {\n");
+				writer.print("      msg = getMessage(msgid, sysId, componentId, buf);\n");
+				writer.print("      if (msg != null)\n");
+				writer.print("        pool.register(msg);\n");
+				writer.print("      return msg;\n");
+				writer.print("    }\n");
+				writer.print("    msg.sysId = sysId;\n");
+				writer.print("    msg.componentId = componentId;\n");
+				writer.print("    msg.decode(buf);\n");
+				writer.print("    return msg;\n");
+				writer.print("  }\n");
+			}
 			writer.print("}\n");
 		}
 		catch (Exception e) {
@@ -767,6 +834,16 @@ public class MAVLinkGenerator {
 				if (i != MAVLINK_MESSAGE_CRCS.length - 1)
 					writer.print(", ");
 			}
+			writer.print("};\n");
+			writer.print("  /**\n   * Payload length including extensions, 0 for unknown msgIds\n   **/\n");
+			writer.print("  public static char[] MAVLINK_MESSAGE_LENGTHS = {\n");
+			for (int i = 0; i < MAVLINK_MESSAGE_LENGTHS.length; i++) {
+				if (i % 25 == 0)
+					writer.print("\n          ");
+				writer.print(MAVLINK_MESSAGE_LENGTHS[i]);
+				if (i != MAVLINK_MESSAGE_LENGTHS.length - 1)
+					writer.print(", ");
+			}
 			writer.print("};\n}");
 		}
 		catch (Exception e) {
@@ -815,6 +892,7 @@ public class MAVLinkGenerator {
 				else {
 					writer.print("import java.io.DataInputStream;\n");
 				}
+				writer.print("import java.nio.ByteBuffer;\n");
 			}
 			else {
 				writer.print("import java.io.Serializable;");
@@ -839,6 +917,10 @@ public class MAVLinkGenerator {
 				else {
 					writer.print("  public abstract void decode(DataInputStream dis) throws IOException ;\n");
 				}
+				writer.print("  /**\n");
+				writer.print("   * Decode message with raw data at absolute offsets of the payload buffer\n");
+				writer.print("   */\n");
+				writer.print("  public abstract void decode(ByteBuffer buf) ;\n");
 			}
 			else {
 				writer.print("  public abstract void decode(ByteBuffer dis) throws IOException ;\n");
@@ -857,6 +939,20 @@ public class MAVLinkGenerator {
 			else {
 				writer.print("  public abstract byte[] encode() throws IOException ;\n");
 			}
+			if (forEmbeddedJava) {
+				writer.print("  /**\n");
+				writer.print("   * Encode message at the current position of the buffer, returns the number of bytes written\n");
+				writer.print("   */\n");
+				writer.print("  public abstract int encodeTo(ByteBuffer dst, int packetSeq) ;\n");
+				writer.print("  /**\n");
+				writer.print("   * Set header and fields to their defaults, so that the instance can be reused\n");
+				writer.print("   */\n");
+				writer.print("  public abstract void reset() ;\n");
+				writer.print("  /**\n");
+				writer.print("   * Copy header and fields of another instance of the same message\n");
+				writer.print("   */\n");
+				writer.print("  public abstract void copyFrom(MAVLinkMessage other) ;\n");
+			}
 			writer.print("}\n");
 		}
 		catch (Exception e) {
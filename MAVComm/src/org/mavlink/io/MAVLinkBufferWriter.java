@@ -0,0 +1,45 @@
+package org.mavlink.io;
+
+import java.nio.ByteBuffer;
+
+import org.mavlink.MAVLinkCRC;
+
+/**
+ * Little-endian writes into a ByteBuffer which accumulate the X.25 CRC of the written bytes.
+ * The byte order of the buffer is not used, so callers can pass any (also direct) buffer.
+ */
+public final class MAVLinkBufferWriter {
+
+    private MAVLinkBufferWriter() {
+    }
+
+    public static int writeByte(ByteBuffer dst, int v, int crc) {
+        dst.put((byte) v);
+        return MAVLinkCRC.crc_accumulate((byte) v, crc);
+    }
+
+    public static int writeShort(ByteBuffer dst, int v, int crc) {
+        crc = writeByte(dst, v, crc);
+        return writeByte(dst, v >> 8, crc);
+    }
+
+    public static int writeInt(ByteBuffer dst, int v, int crc) {
+        crc = writeByte(dst, v, crc);
+        crc = writeByte(dst, v >> 8, crc);
+        crc = writeByte(dst, v >> 16, crc);
+        return writeByte(dst, v >> 24, crc);
+    }
+
+    public static int writeLong(ByteBuffer dst, long v, int crc) {
+        crc = writeInt(dst, (int) v, crc);
+        return writeInt(dst, (int) (v >> 32), crc);
+    }
+
+    public static int writeFloat(ByteBuffer dst, float v, int crc) {
+        return writeInt(dst, Float.floatToIntBits(v), crc);
+    }
+
+    public static int writeDouble(ByteBuffer dst, double v, int crc) {
+        return writeLong(dst, Double.doubleToLongBits(v), crc);
+    }
+}
@@ -23,6 +23,7 @@
 package org.mavlink.messages;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import org.mavlink.IMAVLinkMessage;
 
@@ -56,6 +57,9 @@ public abstract class MAVLinkMessage extends MAVLinkMessageCoder implements IMAV
      */
     private static final long serialVersionUID = 2000873536402943462L;
 
+    private static final AtomicIntegerFieldUpdater<MAVLinkMessage> REFS =
+            AtomicIntegerFieldUpdater.newUpdater(MAVLinkMessage.class, "refs");
+
     /**
      * Message length
      */
@@ -101,6 +105,23 @@ public abstract class MAVLinkMessage extends MAVLinkMessageCoder implements IMAV
      */
     public boolean isValid = false;
 
+    /**
+     * System.nanoTime() when the message was received, 0 if created locally
+     */
+    public long rx_time_ns = 0;
+
+    /**
+     * System.nanoTime() when the bytes of the message were read, 0 if latency tracing is disabled
+     */
+    public long rx_read_ns = 0;
+
+    /**
+     * Pool the message is returned to when the last reference is released, null if not pooled
+     */
+    private transient MAVLinkMessagePool pool = null;
+
+    private transient volatile int refs = 0;
+
     public MAVLinkMessage() {
 
     }
@@ -121,6 +142,75 @@ public abstract class MAVLinkMessage extends MAVLinkMessageCoder implements IMAV
         return false;
     }
 
+    /**
+     * Keeps a pooled message from being recycled after dispatch. Each call must be balanced by release().
+     * Has no effect if the message is not pooled.
+     *
+     * @return this message
+     */
+    public MAVLinkMessage retain() {
+        if (pool != null)
+            REFS.incrementAndGet(this);
+        return this;
+    }
+
+    /**
+     * Releases a reference. The message is reset and returned to its pool when the last reference
+     * is released and must not be accessed afterwards. Has no effect if the message is not pooled.
+     */
+    public void release() {
+        if (pool == null)
+            return;
+        final int r = REFS.decrementAndGet(this);
+        if (r == 0)
+            pool.recycle(this);
+        else if (r < 0)
+            System.err.println("MAVLinkMessage " + messageType + " released more often than retained");
+    }
+
+    /**
+     * @return true if the message is returned to a pool after dispatch
+     */
+    public boolean isPooled() {
+        return pool != null;
+    }
+
+    void attach(MAVLinkMessagePool pool) {
+        this.pool = pool;
+        REFS.set(this, 1);
+    }
+
+    /**
+     * Sets the header back to the defaults of a new instance. Message type and payload length are kept.
+     */
+    protected void resetHeader() {
+        incompat    = 0;
+        compat      = 0;
+        packet      = -1;
+        sysId       = -1;
+        componentId = -1;
+        rawData     = null;
+        isValid     = false;
+        rx_time_ns  = 0;
+        rx_read_ns  = 0;
+    }
+
+    /**
+     * Copies the header of another message, but not its pool membership
+     */
+    protected void copyHeader(MAVLinkMessage other) {
+        payload_length = other.payload_length;
+        incompat       = other.incompat;
+        compat         = other.compat;
+        packet         = other.packet;
+        messageType    = other.messageType;
+        sysId          = other.sysId;
+        componentId    = other.componentId;
+        isValid        = other.isValid;
+        rx_time_ns     = other.rx_time_ns;
+        rx_read_ns     = other.rx_read_ns;
+    }
+
     private int trim_payload(byte[] payload, int length) {
     	while (length > 1 && payload[length-1] == 0) {
     		length--;
@@ -5,6 +5,7 @@
 package org.mavlink.messages;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
+import java.nio.ByteBuffer;
 /**
  * Class MAVLinkMessageCoder
  * Use to declarate encode and decode functions
@@ -14,8 +15,24 @@ public abstract class MAVLinkMessageCoder {
    * Decode message with raw data
    */
   public abstract void decode(LittleEndianDataInputStream dis) throws IOException ;
+  /**
+   * Decode message with raw data at absolute offsets of the payload buffer
+   */
+  public abstract void decode(ByteBuffer buf) ;
   /**
    * Encode message in raw data
    */
   public abstract byte[] encode() throws IOException ;
+  /**
+   * Encode message at the current position of the buffer, returns the number of bytes written
+   */
+  public abstract int encodeTo(ByteBuffer dst, int packetSeq) ;
+  /**
+   * Set header and fields to their defaults, so that the instance can be reused
+   */
+  public abstract void reset() ;
+  /**
+   * Copy header and fields of another instance of the same message
+   */
+  public abstract void copyFrom(MAVLinkMessage other) ;
 }
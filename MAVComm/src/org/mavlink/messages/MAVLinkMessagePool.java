@@ -0,0 +1,153 @@
+package org.mavlink.messages;
+
+import org.mavlink.IMAVLinkCRC;
+
+/**
+ * Recycles decoded messages with a free list per msgId, so that a received frame does not
+ * allocate a new message once the pool is warm. Messages are taken by MAVLinkMessageFactory and
+ * returned by MAVLinkMessage.release() when the last reference is released.
+ */
+public class MAVLinkMessagePool {
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private static final int MAX_MSG_ID = IMAVLinkCRC.MAVLINK_MESSAGE_CRCS.length;
+
+    private final FreeList[] lists = new FreeList[MAX_MSG_ID];
+    private final int        capacity;
+
+
+    public MAVLinkMessagePool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of idle messages kept per msgId
+     */
+    public MAVLinkMessagePool(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        for (int i = 0; i < MAX_MSG_ID; i++)
+            lists[i] = new FreeList();
+    }
+
+    /**
+     * Takes an idle message of this msgId. The caller owns the only reference.
+     *
+     * @return a reset message or null if none is idle
+     */
+    public MAVLinkMessage acquire(int msgId) {
+        if (msgId < 0 || msgId >= MAX_MSG_ID)
+            return null;
+        final FreeList list = lists[msgId];
+        MAVLinkMessage msg;
+        synchronized (list) {
+            if (list.count == 0)
+                return null;
+            msg = list.free[--list.count];
+            list.free[list.count] = null;
+            list.reused++;
+        }
+        msg.attach(this);
+        return msg;
+    }
+
+    /**
+     * Adds a newly created message to the pool. The caller owns the only reference.
+     */
+    void register(MAVLinkMessage msg) {
+        final int msgId = msg.messageType;
+        if (msgId < 0 || msgId >= MAX_MSG_ID)
+            return;
+        final FreeList list = lists[msgId];
+        synchronized (list) {
+            list.created++;
+        }
+        msg.attach(this);
+    }
+
+    /**
+     * Resets the message and keeps it for reuse, if the free list of its msgId is not full
+     */
+    void recycle(MAVLinkMessage msg) {
+        final FreeList list = lists[msg.messageType];
+        msg.reset();
+        synchronized (list) {
+            if (list.count == capacity) {
+                list.discarded++;
+                return;
+            }
+            if (list.free == null)
+                list.free = new MAVLinkMessage[capacity];
+            list.free[list.count++] = msg;
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of messages of this msgId created because no idle one was available
+     */
+    public long getCreated(int msgId) {
+        if (msgId < 0 || msgId >= MAX_MSG_ID)
+            return 0;
+        synchronized (lists[msgId]) {
+            return lists[msgId].created;
+        }
+    }
+
+    /**
+     * @return the number of messages of this msgId taken from the pool
+     */
+    public long getReused(int msgId) {
+        if (msgId < 0 || msgId >= MAX_MSG_ID)
+            return 0;
+        synchronized (lists[msgId]) {
+            return lists[msgId].reused;
+        }
+    }
+
+    public long getCreated() {
+        long sum = 0;
+        for (int i = 0; i < MAX_MSG_ID; i++)
+            sum += getCreated(i);
+        return sum;
+    }
+
+    public long getReused() {
+        long sum = 0;
+        for (int i = 0; i < MAX_MSG_ID; i++)
+            sum += getReused(i);
+        return sum;
+    }
+
+    /**
+     * @return the number of released messages dropped because the free list was full
+     */
+    public long getDiscarded() {
+        long sum = 0;
+        for (int i = 0; i < MAX_MSG_ID; i++) {
+            synchronized (lists[i]) {
+                sum += lists[i].discarded;
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        final long created = getCreated();
+        final long reused  = getReused();
+        return String.format("Pool: capacity=%d created=%d reused=%d discarded=%d hit=%.1f%%", capacity, created, reused,
+                getDiscarded(), created + reused == 0 ? 0f : reused * 100f / (created + reused));
+    }
+
+    private static final class FreeList {
+        MAVLinkMessage[] free = null;
+        int              count = 0;
+        long             created = 0;
+        long             reused = 0;
+        long             discarded = 0;
+    }
+}
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_actuator_control_target
  * Set the vehicle attitude and body angular rates.
@@ -49,6 +51,37 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   }
   group_mlx = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  for (int i=0; i<8; i++) {
+    controls[i] = (float)buf.getFloat(8+i*4);
+  }
+  group_mlx = (int)buf.get(40)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  for (int i=0; i<8; i++) {
+    controls[i] = 0;
+  }
+  group_mlx = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_actuator_control_target msg = (msg_actuator_control_target)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  System.arraycopy(msg.controls, 0, controls, 0, 8);
+  group_mlx = msg.group_mlx;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -82,6 +115,31 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  for (int i=0; i<8; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, controls[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, group_mlx&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 53;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_ACTUATOR_CONTROL_TARGET : " +   "  time_usec="+time_usec+  "  controls="+controls+  "  group_mlx="+group_mlx;}
 }
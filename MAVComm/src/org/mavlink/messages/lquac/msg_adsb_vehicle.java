@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_adsb_vehicle
  * The location and information of an ADSB vehicle
@@ -115,6 +117,67 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   emitter_type = (int)dis.readUnsignedByte()&0x00FF;
   tslc = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  ICAO_address = (int)buf.getInt(0)&0x00FFFFFFFF;
+  lat = (int)buf.getInt(4);
+  lon = (int)buf.getInt(8);
+  altitude = (int)buf.getInt(12);
+  heading = (int)buf.getShort(16)&0x00FFFF;
+  hor_velocity = (int)buf.getShort(18)&0x00FFFF;
+  ver_velocity = (int)buf.getShort(20);
+  flags = (int)buf.getShort(22)&0x00FFFF;
+  squawk = (int)buf.getShort(24)&0x00FFFF;
+  altitude_type = (int)buf.get(26)&0x00FF;
+  for (int i=0; i<9; i++) {
+    callsign[i] = (char)buf.get(27+i);
+  }
+  emitter_type = (int)buf.get(36)&0x00FF;
+  tslc = (int)buf.get(37)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  ICAO_address = 0;
+  lat = 0;
+  lon = 0;
+  altitude = 0;
+  heading = 0;
+  hor_velocity = 0;
+  ver_velocity = 0;
+  flags = 0;
+  squawk = 0;
+  altitude_type = 0;
+  for (int i=0; i<9; i++) {
+    callsign[i] = 0;
+  }
+  emitter_type = 0;
+  tslc = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_adsb_vehicle msg = (msg_adsb_vehicle)other;
+  copyHeader(msg);
+  ICAO_address = msg.ICAO_address;
+  lat = msg.lat;
+  lon = msg.lon;
+  altitude = msg.altitude;
+  heading = msg.heading;
+  hor_velocity = msg.hor_velocity;
+  ver_velocity = msg.ver_velocity;
+  flags = msg.flags;
+  squawk = msg.squawk;
+  altitude_type = msg.altitude_type;
+  System.arraycopy(msg.callsign, 0, callsign, 0, 9);
+  emitter_type = msg.emitter_type;
+  tslc = msg.tslc;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -158,6 +221,41 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(ICAO_address&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lat&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lon&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(altitude&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, heading&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, hor_velocity&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, ver_velocity&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, flags&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, squawk&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, altitude_type&0x00FF, crc);
+  for (int i=0; i<9; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, callsign[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, emitter_type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, tslc&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 50;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_ADSB_VEHICLE : " +   "  ICAO_address="+ICAO_address+  "  lat="+lat+  "  lon="+lon+  "  altitude="+altitude+  "  heading="+heading+  "  hor_velocity="+hor_velocity+  "  ver_velocity="+ver_velocity+  "  flags="+flags+  "  squawk="+squawk+  "  altitude_type="+altitude_type+  "  callsign="+getCallsign()+  "  emitter_type="+emitter_type+  "  tslc="+tslc;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_altitude
  * The current system altitude.
@@ -67,6 +69,45 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   altitude_terrain = (float)dis.readFloat();
   bottom_clearance = (float)dis.readFloat();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  altitude_monotonic = (float)buf.getFloat(8);
+  altitude_amsl = (float)buf.getFloat(12);
+  altitude_local = (float)buf.getFloat(16);
+  altitude_relative = (float)buf.getFloat(20);
+  altitude_terrain = (float)buf.getFloat(24);
+  bottom_clearance = (float)buf.getFloat(28);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  altitude_monotonic = 0;
+  altitude_amsl = 0;
+  altitude_local = 0;
+  altitude_relative = 0;
+  altitude_terrain = 0;
+  bottom_clearance = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_altitude msg = (msg_altitude)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  altitude_monotonic = msg.altitude_monotonic;
+  altitude_amsl = msg.altitude_amsl;
+  altitude_local = msg.altitude_local;
+  altitude_relative = msg.altitude_relative;
+  altitude_terrain = msg.altitude_terrain;
+  bottom_clearance = msg.bottom_clearance;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -102,6 +143,33 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, altitude_monotonic, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, altitude_amsl, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, altitude_local, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, altitude_relative, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, altitude_terrain, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, bottom_clearance, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 44;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_ALTITUDE : " +   "  time_usec="+time_usec+  "  altitude_monotonic="+altitude_monotonic+  "  altitude_amsl="+altitude_amsl+  "  altitude_local="+altitude_local+  "  altitude_relative="+altitude_relative+  "  altitude_terrain="+altitude_terrain+  "  bottom_clearance="+bottom_clearance;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_att_pos_mocap
  * Motion capture attitude and position
@@ -66,6 +68,50 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     covariance[i] = (float)dis.readFloat();
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  for (int i=0; i<4; i++) {
+    q[i] = (float)buf.getFloat(8+i*4);
+  }
+  x = (float)buf.getFloat(24);
+  y = (float)buf.getFloat(28);
+  z = (float)buf.getFloat(32);
+  for (int i=0; i<21; i++) {
+    covariance[i] = (float)buf.getFloat(36+i*4);
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  for (int i=0; i<4; i++) {
+    q[i] = 0;
+  }
+  x = 0;
+  y = 0;
+  z = 0;
+  for (int i=0; i<21; i++) {
+    covariance[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_att_pos_mocap msg = (msg_att_pos_mocap)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  System.arraycopy(msg.q, 0, q, 0, 4);
+  x = msg.x;
+  y = msg.y;
+  z = msg.z;
+  System.arraycopy(msg.covariance, 0, covariance, 0, 21);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -104,6 +150,36 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  for (int i=0; i<4; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, q[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeFloat(dst, x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z, crc);
+  for (int i=0; i<21; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, covariance[i], crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 132;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_ATT_POS_MOCAP : " +   "  time_usec="+time_usec+  "  q="+q+  "  x="+x+  "  y="+y+  "  z="+z+  "  covariance="+covariance;}
 }
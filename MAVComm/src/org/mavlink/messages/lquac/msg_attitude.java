@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_attitude
  * The attitude in the aeronautical frame (right-handed, Z-down, X-front, Y-right).
@@ -67,6 +69,45 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   pitchspeed = (float)dis.readFloat();
   yawspeed = (float)dis.readFloat();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  roll = (float)buf.getFloat(4);
+  pitch = (float)buf.getFloat(8);
+  yaw = (float)buf.getFloat(12);
+  rollspeed = (float)buf.getFloat(16);
+  pitchspeed = (float)buf.getFloat(20);
+  yawspeed = (float)buf.getFloat(24);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  roll = 0;
+  pitch = 0;
+  yaw = 0;
+  rollspeed = 0;
+  pitchspeed = 0;
+  yawspeed = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_attitude msg = (msg_attitude)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  roll = msg.roll;
+  pitch = msg.pitch;
+  yaw = msg.yaw;
+  rollspeed = msg.rollspeed;
+  pitchspeed = msg.pitchspeed;
+  yawspeed = msg.yawspeed;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -102,6 +143,33 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, roll, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pitch, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yaw, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, rollspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pitchspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yawspeed, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 40;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_ATTITUDE : " +   "  time_boot_ms="+time_boot_ms+  "  roll="+roll+  "  pitch="+pitch+  "  yaw="+yaw+  "  rollspeed="+rollspeed+  "  pitchspeed="+pitchspeed+  "  yawspeed="+yawspeed;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_attitude_quaternion
  * The attitude in the aeronautical frame (right-handed, Z-down, X-front, Y-right), expressed as quaternion. Quaternion order is w, x, y, z and a zero rotation would be expressed as (1 0 0 0).
@@ -72,6 +74,48 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   pitchspeed = (float)dis.readFloat();
   yawspeed = (float)dis.readFloat();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  q1 = (float)buf.getFloat(4);
+  q2 = (float)buf.getFloat(8);
+  q3 = (float)buf.getFloat(12);
+  q4 = (float)buf.getFloat(16);
+  rollspeed = (float)buf.getFloat(20);
+  pitchspeed = (float)buf.getFloat(24);
+  yawspeed = (float)buf.getFloat(28);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  q1 = 0;
+  q2 = 0;
+  q3 = 0;
+  q4 = 0;
+  rollspeed = 0;
+  pitchspeed = 0;
+  yawspeed = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_attitude_quaternion msg = (msg_attitude_quaternion)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  q1 = msg.q1;
+  q2 = msg.q2;
+  q3 = msg.q3;
+  q4 = msg.q4;
+  rollspeed = msg.rollspeed;
+  pitchspeed = msg.pitchspeed;
+  yawspeed = msg.yawspeed;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -108,6 +152,34 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, q1, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, q2, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, q3, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, q4, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, rollspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pitchspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yawspeed, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 44;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_ATTITUDE_QUATERNION : " +   "  time_boot_ms="+time_boot_ms+  "  q1="+q1+  "  q2="+q2+  "  q3="+q3+  "  q4="+q4+  "  rollspeed="+rollspeed+  "  pitchspeed="+pitchspeed+  "  yawspeed="+yawspeed;}
 }
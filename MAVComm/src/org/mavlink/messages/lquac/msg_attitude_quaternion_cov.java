@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_attitude_quaternion_cov
  * The attitude in the aeronautical frame (right-handed, Z-down, X-front, Y-right), expressed as quaternion. Quaternion order is w, x, y, z and a zero rotation would be expressed as (1 0 0 0).
@@ -66,6 +68,50 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     covariance[i] = (float)dis.readFloat();
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  for (int i=0; i<4; i++) {
+    q[i] = (float)buf.getFloat(8+i*4);
+  }
+  rollspeed = (float)buf.getFloat(24);
+  pitchspeed = (float)buf.getFloat(28);
+  yawspeed = (float)buf.getFloat(32);
+  for (int i=0; i<9; i++) {
+    covariance[i] = (float)buf.getFloat(36+i*4);
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  for (int i=0; i<4; i++) {
+    q[i] = 0;
+  }
+  rollspeed = 0;
+  pitchspeed = 0;
+  yawspeed = 0;
+  for (int i=0; i<9; i++) {
+    covariance[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_attitude_quaternion_cov msg = (msg_attitude_quaternion_cov)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  System.arraycopy(msg.q, 0, q, 0, 4);
+  rollspeed = msg.rollspeed;
+  pitchspeed = msg.pitchspeed;
+  yawspeed = msg.yawspeed;
+  System.arraycopy(msg.covariance, 0, covariance, 0, 9);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -104,6 +150,36 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  for (int i=0; i<4; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, q[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeFloat(dst, rollspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pitchspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yawspeed, crc);
+  for (int i=0; i<9; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, covariance[i], crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 84;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_ATTITUDE_QUATERNION_COV : " +   "  time_usec="+time_usec+  "  q="+q+  "  rollspeed="+rollspeed+  "  pitchspeed="+pitchspeed+  "  yawspeed="+yawspeed+  "  covariance="+covariance;}
 }
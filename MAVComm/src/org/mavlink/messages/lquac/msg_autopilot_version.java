@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_autopilot_version
  * Version and capability of autopilot software
@@ -100,6 +102,76 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     uid2[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  capabilities = (long)buf.getLong(0);
+  uid = (long)buf.getLong(8);
+  flight_sw_version = (int)buf.getInt(16)&0x00FFFFFFFF;
+  middleware_sw_version = (int)buf.getInt(20)&0x00FFFFFFFF;
+  os_sw_version = (int)buf.getInt(24)&0x00FFFFFFFF;
+  board_version = (int)buf.getInt(28)&0x00FFFFFFFF;
+  vendor_id = (int)buf.getShort(32)&0x00FFFF;
+  product_id = (int)buf.getShort(34)&0x00FFFF;
+  for (int i=0; i<8; i++) {
+    flight_custom_version[i] = (int)buf.get(36+i)&0x00FF;
+  }
+  for (int i=0; i<8; i++) {
+    middleware_custom_version[i] = (int)buf.get(44+i)&0x00FF;
+  }
+  for (int i=0; i<8; i++) {
+    os_custom_version[i] = (int)buf.get(52+i)&0x00FF;
+  }
+  for (int i=0; i<18; i++) {
+    uid2[i] = (int)buf.get(60+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  capabilities = 0;
+  uid = 0;
+  flight_sw_version = 0;
+  middleware_sw_version = 0;
+  os_sw_version = 0;
+  board_version = 0;
+  vendor_id = 0;
+  product_id = 0;
+  for (int i=0; i<8; i++) {
+    flight_custom_version[i] = 0;
+  }
+  for (int i=0; i<8; i++) {
+    middleware_custom_version[i] = 0;
+  }
+  for (int i=0; i<8; i++) {
+    os_custom_version[i] = 0;
+  }
+  for (int i=0; i<18; i++) {
+    uid2[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_autopilot_version msg = (msg_autopilot_version)other;
+  copyHeader(msg);
+  capabilities = msg.capabilities;
+  uid = msg.uid;
+  flight_sw_version = msg.flight_sw_version;
+  middleware_sw_version = msg.middleware_sw_version;
+  os_sw_version = msg.os_sw_version;
+  board_version = msg.board_version;
+  vendor_id = msg.vendor_id;
+  product_id = msg.product_id;
+  System.arraycopy(msg.flight_custom_version, 0, flight_custom_version, 0, 8);
+  System.arraycopy(msg.middleware_custom_version, 0, middleware_custom_version, 0, 8);
+  System.arraycopy(msg.os_custom_version, 0, os_custom_version, 0, 8);
+  System.arraycopy(msg.uid2, 0, uid2, 0, 18);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -148,6 +220,46 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, capabilities, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, uid, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(flight_sw_version&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(middleware_sw_version&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(os_sw_version&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(board_version&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, vendor_id&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, product_id&0x00FFFF, crc);
+  for (int i=0; i<8; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, flight_custom_version[i]&0x00FF, crc);
+  }
+  for (int i=0; i<8; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, middleware_custom_version[i]&0x00FF, crc);
+  }
+  for (int i=0; i<8; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, os_custom_version[i]&0x00FF, crc);
+  }
+  for (int i=0; i<18; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, uid2[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 90;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_AUTOPILOT_VERSION : " +   "  capabilities="+capabilities+  "  uid="+uid+  "  flight_sw_version="+flight_sw_version+  "  middleware_sw_version="+middleware_sw_version+  "  os_sw_version="+os_sw_version+  "  board_version="+board_version+  "  vendor_id="+vendor_id+  "  product_id="+product_id+  "  flight_custom_version="+flight_custom_version+  "  middleware_custom_version="+middleware_custom_version+  "  os_custom_version="+os_custom_version+  "  uid2="+uid2;}
 }
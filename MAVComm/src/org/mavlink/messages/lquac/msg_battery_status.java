@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_battery_status
  * Battery information
@@ -89,6 +91,61 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   time_remaining = (int)dis.readInt();
   charge_state = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  current_consumed = (int)buf.getInt(0);
+  energy_consumed = (int)buf.getInt(4);
+  temperature = (int)buf.getShort(8);
+  for (int i=0; i<10; i++) {
+    voltages[i] = (int)buf.getShort(10+i*2)&0x00FFFF;
+  }
+  current_battery = (int)buf.getShort(30);
+  id = (int)buf.get(32)&0x00FF;
+  battery_function = (int)buf.get(33)&0x00FF;
+  type = (int)buf.get(34)&0x00FF;
+  battery_remaining = (int)buf.get(35);
+  time_remaining = (int)buf.getInt(36);
+  charge_state = (int)buf.get(40)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  current_consumed = 0;
+  energy_consumed = 0;
+  temperature = 0;
+  for (int i=0; i<10; i++) {
+    voltages[i] = 0;
+  }
+  current_battery = 0;
+  id = 0;
+  battery_function = 0;
+  type = 0;
+  battery_remaining = 0;
+  time_remaining = 0;
+  charge_state = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_battery_status msg = (msg_battery_status)other;
+  copyHeader(msg);
+  current_consumed = msg.current_consumed;
+  energy_consumed = msg.energy_consumed;
+  temperature = msg.temperature;
+  System.arraycopy(msg.voltages, 0, voltages, 0, 10);
+  current_battery = msg.current_battery;
+  id = msg.id;
+  battery_function = msg.battery_function;
+  type = msg.type;
+  battery_remaining = msg.battery_remaining;
+  time_remaining = msg.time_remaining;
+  charge_state = msg.charge_state;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -130,6 +187,39 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(current_consumed&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(energy_consumed&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, temperature&0x00FFFF, crc);
+  for (int i=0; i<10; i++) {
+    crc = MAVLinkBufferWriter.writeShort(dst, voltages[i]&0x00FFFF, crc);
+  }
+  crc = MAVLinkBufferWriter.writeShort(dst, current_battery&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, id&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, battery_function&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, battery_remaining&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_remaining&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, charge_state&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 53;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_BATTERY_STATUS : " +   "  current_consumed="+current_consumed+  "  energy_consumed="+energy_consumed+  "  temperature="+temperature+  "  voltages="+voltages+  "  current_battery="+current_battery+  "  id="+id+  "  battery_function="+battery_function+  "  type="+type+  "  battery_remaining="+battery_remaining+  "  time_remaining="+time_remaining+  "  charge_state="+charge_state;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_button_change
  * Report button state change.
@@ -47,6 +49,33 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   last_change_ms = (int)dis.readInt()&0x00FFFFFFFF;
   state = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  last_change_ms = (int)buf.getInt(4)&0x00FFFFFFFF;
+  state = (int)buf.get(8)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  last_change_ms = 0;
+  state = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_button_change msg = (msg_button_change)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  last_change_ms = msg.last_change_ms;
+  state = msg.state;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -78,6 +107,29 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(last_change_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, state&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 21;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_BUTTON_CHANGE : " +   "  time_boot_ms="+time_boot_ms+  "  last_change_ms="+last_change_ms+  "  state="+state;}
 }
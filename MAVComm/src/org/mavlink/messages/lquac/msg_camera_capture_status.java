@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_camera_capture_status
  * Information about the status of a capture.
@@ -62,6 +64,42 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   image_status = (int)dis.readUnsignedByte()&0x00FF;
   video_status = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  image_interval = (float)buf.getFloat(4);
+  recording_time_ms = (int)buf.getInt(8)&0x00FFFFFFFF;
+  available_capacity = (float)buf.getFloat(12);
+  image_status = (int)buf.get(16)&0x00FF;
+  video_status = (int)buf.get(17)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  image_interval = 0;
+  recording_time_ms = 0;
+  available_capacity = 0;
+  image_status = 0;
+  video_status = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_camera_capture_status msg = (msg_camera_capture_status)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  image_interval = msg.image_interval;
+  recording_time_ms = msg.recording_time_ms;
+  available_capacity = msg.available_capacity;
+  image_status = msg.image_status;
+  video_status = msg.video_status;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -96,6 +134,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, image_interval, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(recording_time_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, available_capacity, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, image_status&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, video_status&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 30;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_CAMERA_CAPTURE_STATUS : " +   "  time_boot_ms="+time_boot_ms+  "  image_interval="+image_interval+  "  recording_time_ms="+recording_time_ms+  "  available_capacity="+available_capacity+  "  image_status="+image_status+  "  video_status="+video_status;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_camera_image_captured
  * Information about a captured image
@@ -107,6 +109,65 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     file_url[i] = (char)dis.readByte();
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_utc = (long)buf.getLong(0);
+  time_boot_ms = (int)buf.getInt(8)&0x00FFFFFFFF;
+  lat = (int)buf.getInt(12);
+  lon = (int)buf.getInt(16);
+  alt = (int)buf.getInt(20);
+  relative_alt = (int)buf.getInt(24);
+  for (int i=0; i<4; i++) {
+    q[i] = (float)buf.getFloat(28+i*4);
+  }
+  image_index = (int)buf.getInt(44);
+  camera_id = (int)buf.get(48)&0x00FF;
+  capture_result = (int)buf.get(49);
+  for (int i=0; i<205; i++) {
+    file_url[i] = (char)buf.get(50+i);
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_utc = 0;
+  time_boot_ms = 0;
+  lat = 0;
+  lon = 0;
+  alt = 0;
+  relative_alt = 0;
+  for (int i=0; i<4; i++) {
+    q[i] = 0;
+  }
+  image_index = 0;
+  camera_id = 0;
+  capture_result = 0;
+  for (int i=0; i<205; i++) {
+    file_url[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_camera_image_captured msg = (msg_camera_image_captured)other;
+  copyHeader(msg);
+  time_utc = msg.time_utc;
+  time_boot_ms = msg.time_boot_ms;
+  lat = msg.lat;
+  lon = msg.lon;
+  alt = msg.alt;
+  relative_alt = msg.relative_alt;
+  System.arraycopy(msg.q, 0, q, 0, 4);
+  image_index = msg.image_index;
+  camera_id = msg.camera_id;
+  capture_result = msg.capture_result;
+  System.arraycopy(msg.file_url, 0, file_url, 0, 205);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -150,6 +211,41 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_utc, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lat&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lon&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(alt&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(relative_alt&0x00FFFFFFFF), crc);
+  for (int i=0; i<4; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, q[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(image_index&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, camera_id&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, capture_result&0x00FF, crc);
+  for (int i=0; i<205; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, file_url[i], crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 267;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_CAMERA_IMAGE_CAPTURED : " +   "  time_utc="+time_utc+  "  time_boot_ms="+time_boot_ms+  "  lat="+lat+  "  lon="+lon+  "  alt="+alt+  "  relative_alt="+relative_alt+  "  q="+q+  "  image_index="+image_index+  "  camera_id="+camera_id+  "  capture_result="+capture_result+  "  file_url="+getFile_url();}
 }
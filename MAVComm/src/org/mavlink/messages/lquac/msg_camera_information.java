@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_camera_information
  * Information about a camera
@@ -119,6 +121,75 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     cam_definition_uri[i] = (char)dis.readByte();
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  firmware_version = (int)buf.getInt(4)&0x00FFFFFFFF;
+  focal_length = (float)buf.getFloat(8);
+  sensor_size_h = (float)buf.getFloat(12);
+  sensor_size_v = (float)buf.getFloat(16);
+  flags = (int)buf.getInt(20)&0x00FFFFFFFF;
+  resolution_h = (int)buf.getShort(24)&0x00FFFF;
+  resolution_v = (int)buf.getShort(26)&0x00FFFF;
+  cam_definition_version = (int)buf.getShort(28)&0x00FFFF;
+  for (int i=0; i<32; i++) {
+    vendor_name[i] = (int)buf.get(30+i)&0x00FF;
+  }
+  for (int i=0; i<32; i++) {
+    model_name[i] = (int)buf.get(62+i)&0x00FF;
+  }
+  lens_id = (int)buf.get(94)&0x00FF;
+  for (int i=0; i<140; i++) {
+    cam_definition_uri[i] = (char)buf.get(95+i);
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  firmware_version = 0;
+  focal_length = 0;
+  sensor_size_h = 0;
+  sensor_size_v = 0;
+  flags = 0;
+  resolution_h = 0;
+  resolution_v = 0;
+  cam_definition_version = 0;
+  for (int i=0; i<32; i++) {
+    vendor_name[i] = 0;
+  }
+  for (int i=0; i<32; i++) {
+    model_name[i] = 0;
+  }
+  lens_id = 0;
+  for (int i=0; i<140; i++) {
+    cam_definition_uri[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_camera_information msg = (msg_camera_information)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  firmware_version = msg.firmware_version;
+  focal_length = msg.focal_length;
+  sensor_size_h = msg.sensor_size_h;
+  sensor_size_v = msg.sensor_size_v;
+  flags = msg.flags;
+  resolution_h = msg.resolution_h;
+  resolution_v = msg.resolution_v;
+  cam_definition_version = msg.cam_definition_version;
+  System.arraycopy(msg.vendor_name, 0, vendor_name, 0, 32);
+  System.arraycopy(msg.model_name, 0, model_name, 0, 32);
+  lens_id = msg.lens_id;
+  System.arraycopy(msg.cam_definition_uri, 0, cam_definition_uri, 0, 140);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -166,6 +237,45 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(firmware_version&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, focal_length, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, sensor_size_h, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, sensor_size_v, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(flags&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, resolution_h&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, resolution_v&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, cam_definition_version&0x00FFFF, crc);
+  for (int i=0; i<32; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, vendor_name[i]&0x00FF, crc);
+  }
+  for (int i=0; i<32; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, model_name[i]&0x00FF, crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, lens_id&0x00FF, crc);
+  for (int i=0; i<140; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, cam_definition_uri[i], crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 247;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_CAMERA_INFORMATION : " +   "  time_boot_ms="+time_boot_ms+  "  firmware_version="+firmware_version+  "  focal_length="+focal_length+  "  sensor_size_h="+sensor_size_h+  "  sensor_size_v="+sensor_size_v+  "  flags="+flags+  "  resolution_h="+resolution_h+  "  resolution_v="+resolution_v+  "  cam_definition_version="+cam_definition_version+  "  vendor_name="+vendor_name+  "  model_name="+model_name+  "  lens_id="+lens_id+  "  cam_definition_uri="+getCam_definition_uri();}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_change_operator_control
  * Request to control this MAV
@@ -70,6 +72,40 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     passkey[i] = (char)dis.readByte();
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  target_system = (int)buf.get(0)&0x00FF;
+  control_request = (int)buf.get(1)&0x00FF;
+  version = (int)buf.get(2)&0x00FF;
+  for (int i=0; i<25; i++) {
+    passkey[i] = (char)buf.get(3+i);
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  target_system = 0;
+  control_request = 0;
+  version = 0;
+  for (int i=0; i<25; i++) {
+    passkey[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_change_operator_control msg = (msg_change_operator_control)other;
+  copyHeader(msg);
+  target_system = msg.target_system;
+  control_request = msg.control_request;
+  version = msg.version;
+  System.arraycopy(msg.passkey, 0, passkey, 0, 25);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -104,6 +140,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, control_request&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, version&0x00FF, crc);
+  for (int i=0; i<25; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, passkey[i], crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 40;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_CHANGE_OPERATOR_CONTROL : " +   "  target_system="+target_system+  "  control_request="+control_request+  "  version="+version+  "  passkey="+getPasskey();}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_collision
  * Information about a potential collision
@@ -67,6 +69,45 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   action = (int)dis.readUnsignedByte()&0x00FF;
   threat_level = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  id = (int)buf.getInt(0)&0x00FFFFFFFF;
+  time_to_minimum_delta = (float)buf.getFloat(4);
+  altitude_minimum_delta = (float)buf.getFloat(8);
+  horizontal_minimum_delta = (float)buf.getFloat(12);
+  src = (int)buf.get(16)&0x00FF;
+  action = (int)buf.get(17)&0x00FF;
+  threat_level = (int)buf.get(18)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  id = 0;
+  time_to_minimum_delta = 0;
+  altitude_minimum_delta = 0;
+  horizontal_minimum_delta = 0;
+  src = 0;
+  action = 0;
+  threat_level = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_collision msg = (msg_collision)other;
+  copyHeader(msg);
+  id = msg.id;
+  time_to_minimum_delta = msg.time_to_minimum_delta;
+  altitude_minimum_delta = msg.altitude_minimum_delta;
+  horizontal_minimum_delta = msg.horizontal_minimum_delta;
+  src = msg.src;
+  action = msg.action;
+  threat_level = msg.threat_level;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -102,6 +143,33 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(id&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, time_to_minimum_delta, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, altitude_minimum_delta, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, horizontal_minimum_delta, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, src&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, action&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, threat_level&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 31;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_COLLISION : " +   "  id="+id+  "  time_to_minimum_delta="+time_to_minimum_delta+  "  altitude_minimum_delta="+altitude_minimum_delta+  "  horizontal_minimum_delta="+horizontal_minimum_delta+  "  src="+src+  "  action="+action+  "  threat_level="+threat_level;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_command_ack
  * Report status of a command. Includes feedback whether the command was executed.
@@ -62,6 +64,42 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   target_system = (int)dis.readUnsignedByte()&0x00FF;
   target_component = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  command = (int)buf.getShort(0)&0x00FFFF;
+  result = (int)buf.get(2)&0x00FF;
+  result_param2 = (int)buf.getInt(3);
+  progress = (int)buf.get(7)&0x00FF;
+  target_system = (int)buf.get(8)&0x00FF;
+  target_component = (int)buf.get(9)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  command = 0;
+  result = 0;
+  result_param2 = 0;
+  progress = 0;
+  target_system = 0;
+  target_component = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_command_ack msg = (msg_command_ack)other;
+  copyHeader(msg);
+  command = msg.command;
+  result = msg.result;
+  result_param2 = msg.result_param2;
+  progress = msg.progress;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -96,6 +134,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, command&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, result&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(result_param2&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, progress&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 22;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_COMMAND_ACK : " +   "  command="+command+  "  result="+result+  "  result_param2="+result_param2+  "  progress="+progress+  "  target_system="+target_system+  "  target_component="+target_component;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_command_int
  * Message encoding a command with parameters as scaled integers. Scaling depends on the actual command value.
@@ -97,6 +99,63 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   current = (int)dis.readUnsignedByte()&0x00FF;
   autocontinue = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  param1 = (float)buf.getFloat(0);
+  param2 = (float)buf.getFloat(4);
+  param3 = (float)buf.getFloat(8);
+  param4 = (float)buf.getFloat(12);
+  x = (int)buf.getInt(16);
+  y = (int)buf.getInt(20);
+  z = (float)buf.getFloat(24);
+  command = (int)buf.getShort(28)&0x00FFFF;
+  target_system = (int)buf.get(30)&0x00FF;
+  target_component = (int)buf.get(31)&0x00FF;
+  frame = (int)buf.get(32)&0x00FF;
+  current = (int)buf.get(33)&0x00FF;
+  autocontinue = (int)buf.get(34)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  param1 = 0;
+  param2 = 0;
+  param3 = 0;
+  param4 = 0;
+  x = 0;
+  y = 0;
+  z = 0;
+  command = 0;
+  target_system = 0;
+  target_component = 0;
+  frame = 0;
+  current = 0;
+  autocontinue = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_command_int msg = (msg_command_int)other;
+  copyHeader(msg);
+  param1 = msg.param1;
+  param2 = msg.param2;
+  param3 = msg.param3;
+  param4 = msg.param4;
+  x = msg.x;
+  y = msg.y;
+  z = msg.z;
+  command = msg.command;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  frame = msg.frame;
+  current = msg.current;
+  autocontinue = msg.autocontinue;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -138,6 +197,39 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param1, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param2, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param3, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param4, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(x&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(y&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, command&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, frame&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, current&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, autocontinue&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 47;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_COMMAND_INT : " +   "  param1="+param1+  "  param2="+param2+  "  param3="+param3+  "  param4="+param4+  "  x="+x+  "  y="+y+  "  z="+z+  "  command="+command+  "  target_system="+target_system+  "  target_component="+target_component+  "  frame="+frame+  "  current="+current+  "  autocontinue="+autocontinue;}
 }
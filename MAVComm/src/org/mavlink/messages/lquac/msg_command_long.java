@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_command_long
  * Send a command with up to seven parameters to the MAV
@@ -87,6 +89,57 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   target_component = (int)dis.readUnsignedByte()&0x00FF;
   confirmation = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  param1 = (float)buf.getFloat(0);
+  param2 = (float)buf.getFloat(4);
+  param3 = (float)buf.getFloat(8);
+  param4 = (float)buf.getFloat(12);
+  param5 = (float)buf.getFloat(16);
+  param6 = (float)buf.getFloat(20);
+  param7 = (float)buf.getFloat(24);
+  command = (int)buf.getShort(28)&0x00FFFF;
+  target_system = (int)buf.get(30)&0x00FF;
+  target_component = (int)buf.get(31)&0x00FF;
+  confirmation = (int)buf.get(32)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  param1 = 0;
+  param2 = 0;
+  param3 = 0;
+  param4 = 0;
+  param5 = 0;
+  param6 = 0;
+  param7 = 0;
+  command = 0;
+  target_system = 0;
+  target_component = 0;
+  confirmation = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_command_long msg = (msg_command_long)other;
+  copyHeader(msg);
+  param1 = msg.param1;
+  param2 = msg.param2;
+  param3 = msg.param3;
+  param4 = msg.param4;
+  param5 = msg.param5;
+  param6 = msg.param6;
+  param7 = msg.param7;
+  command = msg.command;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  confirmation = msg.confirmation;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -126,6 +179,37 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param1, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param2, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param3, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param4, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param5, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param6, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param7, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, command&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, confirmation&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 45;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_COMMAND_LONG : " +   "  param1="+param1+  "  param2="+param2+  "  param3="+param3+  "  param4="+param4+  "  param5="+param5+  "  param6="+param6+  "  param7="+param7+  "  command="+command+  "  target_system="+target_system+  "  target_component="+target_component+  "  confirmation="+confirmation;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_control_system_state
  * The smoothed, monotonic system state used to feed the control loops of the system.
@@ -123,6 +125,87 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   pitch_rate = (float)dis.readFloat();
   yaw_rate = (float)dis.readFloat();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  x_acc = (float)buf.getFloat(8);
+  y_acc = (float)buf.getFloat(12);
+  z_acc = (float)buf.getFloat(16);
+  x_vel = (float)buf.getFloat(20);
+  y_vel = (float)buf.getFloat(24);
+  z_vel = (float)buf.getFloat(28);
+  x_pos = (float)buf.getFloat(32);
+  y_pos = (float)buf.getFloat(36);
+  z_pos = (float)buf.getFloat(40);
+  airspeed = (float)buf.getFloat(44);
+  for (int i=0; i<3; i++) {
+    vel_variance[i] = (float)buf.getFloat(48+i*4);
+  }
+  for (int i=0; i<3; i++) {
+    pos_variance[i] = (float)buf.getFloat(60+i*4);
+  }
+  for (int i=0; i<4; i++) {
+    q[i] = (float)buf.getFloat(72+i*4);
+  }
+  roll_rate = (float)buf.getFloat(88);
+  pitch_rate = (float)buf.getFloat(92);
+  yaw_rate = (float)buf.getFloat(96);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  x_acc = 0;
+  y_acc = 0;
+  z_acc = 0;
+  x_vel = 0;
+  y_vel = 0;
+  z_vel = 0;
+  x_pos = 0;
+  y_pos = 0;
+  z_pos = 0;
+  airspeed = 0;
+  for (int i=0; i<3; i++) {
+    vel_variance[i] = 0;
+  }
+  for (int i=0; i<3; i++) {
+    pos_variance[i] = 0;
+  }
+  for (int i=0; i<4; i++) {
+    q[i] = 0;
+  }
+  roll_rate = 0;
+  pitch_rate = 0;
+  yaw_rate = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_control_system_state msg = (msg_control_system_state)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  x_acc = msg.x_acc;
+  y_acc = msg.y_acc;
+  z_acc = msg.z_acc;
+  x_vel = msg.x_vel;
+  y_vel = msg.y_vel;
+  z_vel = msg.z_vel;
+  x_pos = msg.x_pos;
+  y_pos = msg.y_pos;
+  z_pos = msg.z_pos;
+  airspeed = msg.airspeed;
+  System.arraycopy(msg.vel_variance, 0, vel_variance, 0, 3);
+  System.arraycopy(msg.pos_variance, 0, pos_variance, 0, 3);
+  System.arraycopy(msg.q, 0, q, 0, 4);
+  roll_rate = msg.roll_rate;
+  pitch_rate = msg.pitch_rate;
+  yaw_rate = msg.yaw_rate;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -174,6 +257,49 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, x_acc, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y_acc, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z_acc, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, x_vel, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y_vel, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z_vel, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, x_pos, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y_pos, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z_pos, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, airspeed, crc);
+  for (int i=0; i<3; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, vel_variance[i], crc);
+  }
+  for (int i=0; i<3; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, pos_variance[i], crc);
+  }
+  for (int i=0; i<4; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, q[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeFloat(dst, roll_rate, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pitch_rate, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yaw_rate, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 112;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_CONTROL_SYSTEM_STATE : " +   "  time_usec="+time_usec+  "  x_acc="+x_acc+  "  y_acc="+y_acc+  "  z_acc="+z_acc+  "  x_vel="+x_vel+  "  y_vel="+y_vel+  "  z_vel="+z_vel+  "  x_pos="+x_pos+  "  y_pos="+y_pos+  "  z_pos="+z_pos+  "  airspeed="+airspeed+  "  vel_variance="+vel_variance+  "  pos_variance="+pos_variance+  "  q="+q+  "  roll_rate="+roll_rate+  "  pitch_rate="+pitch_rate+  "  yaw_rate="+yaw_rate;}
 }
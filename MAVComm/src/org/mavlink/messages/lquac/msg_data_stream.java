@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_data_stream
  * Data stream status information.
@@ -47,6 +49,33 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   stream_id = (int)dis.readUnsignedByte()&0x00FF;
   on_off = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  message_rate = (int)buf.getShort(0)&0x00FFFF;
+  stream_id = (int)buf.get(2)&0x00FF;
+  on_off = (int)buf.get(3)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  message_rate = 0;
+  stream_id = 0;
+  on_off = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_data_stream msg = (msg_data_stream)other;
+  copyHeader(msg);
+  message_rate = msg.message_rate;
+  stream_id = msg.stream_id;
+  on_off = msg.on_off;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -78,6 +107,29 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, message_rate&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, stream_id&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, on_off&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 16;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_DATA_STREAM : " +   "  message_rate="+message_rate+  "  stream_id="+stream_id+  "  on_off="+on_off;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_data_transmission_handshake
  * 
@@ -67,6 +69,45 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   payload = (int)dis.readUnsignedByte()&0x00FF;
   jpg_quality = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  size = (int)buf.getInt(0)&0x00FFFFFFFF;
+  width = (int)buf.getShort(4)&0x00FFFF;
+  height = (int)buf.getShort(6)&0x00FFFF;
+  packets = (int)buf.getShort(8)&0x00FFFF;
+  type = (int)buf.get(10)&0x00FF;
+  payload = (int)buf.get(11)&0x00FF;
+  jpg_quality = (int)buf.get(12)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  size = 0;
+  width = 0;
+  height = 0;
+  packets = 0;
+  type = 0;
+  payload = 0;
+  jpg_quality = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_data_transmission_handshake msg = (msg_data_transmission_handshake)other;
+  copyHeader(msg);
+  size = msg.size;
+  width = msg.width;
+  height = msg.height;
+  packets = msg.packets;
+  type = msg.type;
+  payload = msg.payload;
+  jpg_quality = msg.jpg_quality;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -102,6 +143,33 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(size&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, width&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, height&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, packets&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, jpg_quality&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 25;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_DATA_TRANSMISSION_HANDSHAKE : " +   "  size="+size+  "  width="+width+  "  height="+height+  "  packets="+packets+  "  type="+type+  "  payload="+payload+  "  jpg_quality="+jpg_quality;}
 }
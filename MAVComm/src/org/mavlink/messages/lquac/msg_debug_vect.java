@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_debug_vect
  * To debug something using a named 3D vector.
@@ -75,6 +77,43 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     name[i] = (char)dis.readByte();
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  x = (float)buf.getFloat(8);
+  y = (float)buf.getFloat(12);
+  z = (float)buf.getFloat(16);
+  for (int i=0; i<10; i++) {
+    name[i] = (char)buf.get(20+i);
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  x = 0;
+  y = 0;
+  z = 0;
+  for (int i=0; i<10; i++) {
+    name[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_debug_vect msg = (msg_debug_vect)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  x = msg.x;
+  y = msg.y;
+  z = msg.z;
+  System.arraycopy(msg.name, 0, name, 0, 10);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -110,6 +149,33 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z, crc);
+  for (int i=0; i<10; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, name[i], crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 42;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_DEBUG_VECT : " +   "  time_usec="+time_usec+  "  x="+x+  "  y="+y+  "  z="+z+  "  name="+getName();}
 }
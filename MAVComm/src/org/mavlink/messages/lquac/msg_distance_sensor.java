@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_distance_sensor
  * 
@@ -72,6 +74,48 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   orientation = (int)dis.readUnsignedByte()&0x00FF;
   covariance = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  min_distance = (int)buf.getShort(4)&0x00FFFF;
+  max_distance = (int)buf.getShort(6)&0x00FFFF;
+  current_distance = (int)buf.getShort(8)&0x00FFFF;
+  type = (int)buf.get(10)&0x00FF;
+  id = (int)buf.get(11)&0x00FF;
+  orientation = (int)buf.get(12)&0x00FF;
+  covariance = (int)buf.get(13)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  min_distance = 0;
+  max_distance = 0;
+  current_distance = 0;
+  type = 0;
+  id = 0;
+  orientation = 0;
+  covariance = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_distance_sensor msg = (msg_distance_sensor)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  min_distance = msg.min_distance;
+  max_distance = msg.max_distance;
+  current_distance = msg.current_distance;
+  type = msg.type;
+  id = msg.id;
+  orientation = msg.orientation;
+  covariance = msg.covariance;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -108,6 +152,34 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, min_distance&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, max_distance&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, current_distance&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, id&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, orientation&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, covariance&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 26;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_DISTANCE_SENSOR : " +   "  time_boot_ms="+time_boot_ms+  "  min_distance="+min_distance+  "  max_distance="+max_distance+  "  current_distance="+current_distance+  "  type="+type+  "  id="+id+  "  orientation="+orientation+  "  covariance="+covariance;}
 }
@@ -10,6 +10,8 @@ import org.mavlink.IMAVLinkCRC;
 import org.mavlink.MAVLinkCRC;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 import org.mavlink.messages.MAVLinkMessage;
 /**
  * Class msg_estimator_innov_cov
@@ -64,6 +66,51 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     sensor[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  for (int i=0; i<210; i++) {
+    cov[i] = (float)buf.getFloat(8+i*4);
+  }
+  n = (int)buf.get(848)&0x00FF;
+  for (int i=0; i<21; i++) {
+    id[i] = (int)buf.get(849+i)&0x00FF;
+  }
+  for (int i=0; i<21; i++) {
+    sensor[i] = (int)buf.get(870+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  for (int i=0; i<210; i++) {
+    cov[i] = 0;
+  }
+  n = 0;
+  for (int i=0; i<21; i++) {
+    id[i] = 0;
+  }
+  for (int i=0; i<21; i++) {
+    sensor[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_estimator_innov_cov msg = (msg_estimator_innov_cov)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  System.arraycopy(msg.cov, 0, cov, 0, 210);
+  n = msg.n;
+  System.arraycopy(msg.id, 0, id, 0, 21);
+  System.arraycopy(msg.sensor, 0, sensor, 0, 21);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -103,6 +150,37 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  for (int i=0; i<210; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, cov[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, n&0x00FF, crc);
+  for (int i=0; i<21; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, id[i]&0x00FF, crc);
+  }
+  for (int i=0; i<21; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, sensor[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 903;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_ESTIMATOR_INNOV_COV : " +   "  time_usec="+time_usec+  "  cov="+cov+  "  n="+n+  "  id="+id+  "  sensor="+sensor;}
 }
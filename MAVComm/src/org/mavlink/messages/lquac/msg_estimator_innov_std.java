@@ -10,6 +10,8 @@ import org.mavlink.IMAVLinkCRC;
 import org.mavlink.MAVLinkCRC;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 import org.mavlink.messages.MAVLinkMessage;
 /**
  * Class msg_estimator_innov_std
@@ -64,6 +66,51 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     sensor[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  for (int i=0; i<30; i++) {
+    std[i] = (float)buf.getFloat(8+i*4);
+  }
+  n = (int)buf.get(128)&0x00FF;
+  for (int i=0; i<30; i++) {
+    id[i] = (int)buf.get(129+i)&0x00FF;
+  }
+  for (int i=0; i<30; i++) {
+    sensor[i] = (int)buf.get(159+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  for (int i=0; i<30; i++) {
+    std[i] = 0;
+  }
+  n = 0;
+  for (int i=0; i<30; i++) {
+    id[i] = 0;
+  }
+  for (int i=0; i<30; i++) {
+    sensor[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_estimator_innov_std msg = (msg_estimator_innov_std)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  System.arraycopy(msg.std, 0, std, 0, 30);
+  n = msg.n;
+  System.arraycopy(msg.id, 0, id, 0, 30);
+  System.arraycopy(msg.sensor, 0, sensor, 0, 30);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -103,6 +150,37 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  for (int i=0; i<30; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, std[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, n&0x00FF, crc);
+  for (int i=0; i<30; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, id[i]&0x00FF, crc);
+  }
+  for (int i=0; i<30; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, sensor[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 201;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_ESTIMATOR_INNOV_STD : " +   "  time_usec="+time_usec+  "  std="+std+  "  n="+n+  "  id="+id+  "  sensor="+sensor;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_estimator_status
  * Estimator status message including flags, innovation test ratios and estimated accuracies. The flags message is an integer bitmask containing information on which EKF outputs are valid. See the ESTIMATOR_STATUS_FLAGS enum definition for further information. The innovation test ratios show the magnitude of the sensor innovation divided by the innovation check threshold. Under normal operation the innovation test ratios should be below 0.5 with occasional values up to 1.0. Values greater than 1.0 should be rare under normal operation and indicate that a measurement has been rejected by the filter. The user should be notified if an innovation test ratio greater than 1.0 is recorded. Notifications for values in the range between 0.5 and 1.0 should be optional and controllable by the user.
@@ -82,6 +84,54 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   pos_vert_accuracy = (float)dis.readFloat();
   flags = (int)dis.readUnsignedShort()&0x00FFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  vel_ratio = (float)buf.getFloat(8);
+  pos_horiz_ratio = (float)buf.getFloat(12);
+  pos_vert_ratio = (float)buf.getFloat(16);
+  mag_ratio = (float)buf.getFloat(20);
+  hagl_ratio = (float)buf.getFloat(24);
+  tas_ratio = (float)buf.getFloat(28);
+  pos_horiz_accuracy = (float)buf.getFloat(32);
+  pos_vert_accuracy = (float)buf.getFloat(36);
+  flags = (int)buf.getShort(40)&0x00FFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  vel_ratio = 0;
+  pos_horiz_ratio = 0;
+  pos_vert_ratio = 0;
+  mag_ratio = 0;
+  hagl_ratio = 0;
+  tas_ratio = 0;
+  pos_horiz_accuracy = 0;
+  pos_vert_accuracy = 0;
+  flags = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_estimator_status msg = (msg_estimator_status)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  vel_ratio = msg.vel_ratio;
+  pos_horiz_ratio = msg.pos_horiz_ratio;
+  pos_vert_ratio = msg.pos_vert_ratio;
+  mag_ratio = msg.mag_ratio;
+  hagl_ratio = msg.hagl_ratio;
+  tas_ratio = msg.tas_ratio;
+  pos_horiz_accuracy = msg.pos_horiz_accuracy;
+  pos_vert_accuracy = msg.pos_vert_accuracy;
+  flags = msg.flags;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -120,6 +170,36 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vel_ratio, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pos_horiz_ratio, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pos_vert_ratio, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, mag_ratio, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, hagl_ratio, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, tas_ratio, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pos_horiz_accuracy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pos_vert_accuracy, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, flags&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 54;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_ESTIMATOR_STATUS : " +   "  time_usec="+time_usec+  "  vel_ratio="+vel_ratio+  "  pos_horiz_ratio="+pos_horiz_ratio+  "  pos_vert_ratio="+pos_vert_ratio+  "  mag_ratio="+mag_ratio+  "  hagl_ratio="+hagl_ratio+  "  tas_ratio="+tas_ratio+  "  pos_horiz_accuracy="+pos_horiz_accuracy+  "  pos_vert_accuracy="+pos_vert_accuracy+  "  flags="+flags;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_file_transfer_protocol
  * File transfer message
@@ -54,6 +56,40 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     payload[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  target_network = (int)buf.get(0)&0x00FF;
+  target_system = (int)buf.get(1)&0x00FF;
+  target_component = (int)buf.get(2)&0x00FF;
+  for (int i=0; i<251; i++) {
+    payload[i] = (int)buf.get(3+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  target_network = 0;
+  target_system = 0;
+  target_component = 0;
+  for (int i=0; i<251; i++) {
+    payload[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_file_transfer_protocol msg = (msg_file_transfer_protocol)other;
+  copyHeader(msg);
+  target_network = msg.target_network;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  System.arraycopy(msg.payload, 0, payload, 0, 251);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -88,6 +124,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_network&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  for (int i=0; i<251; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, payload[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 266;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_FILE_TRANSFER_PROTOCOL : " +   "  target_network="+target_network+  "  target_system="+target_system+  "  target_component="+target_component+  "  payload="+payload;}
 }
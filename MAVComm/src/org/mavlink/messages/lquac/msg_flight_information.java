@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_flight_information
  * Information about flight since last arming.
@@ -52,6 +54,36 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   flight_uuid = (long)dis.readLong();
   time_boot_ms = (int)dis.readInt()&0x00FFFFFFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  arming_time_utc = (long)buf.getLong(0);
+  takeoff_time_utc = (long)buf.getLong(8);
+  flight_uuid = (long)buf.getLong(16);
+  time_boot_ms = (int)buf.getInt(24)&0x00FFFFFFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  arming_time_utc = 0;
+  takeoff_time_utc = 0;
+  flight_uuid = 0;
+  time_boot_ms = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_flight_information msg = (msg_flight_information)other;
+  copyHeader(msg);
+  arming_time_utc = msg.arming_time_utc;
+  takeoff_time_utc = msg.takeoff_time_utc;
+  flight_uuid = msg.flight_uuid;
+  time_boot_ms = msg.time_boot_ms;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -84,6 +116,30 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, arming_time_utc, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, takeoff_time_utc, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, flight_uuid, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 40;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_FLIGHT_INFORMATION : " +   "  arming_time_utc="+arming_time_utc+  "  takeoff_time_utc="+takeoff_time_utc+  "  flight_uuid="+flight_uuid+  "  time_boot_ms="+time_boot_ms;}
 }
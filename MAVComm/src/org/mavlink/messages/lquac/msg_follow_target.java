@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_follow_target
  * current motion information from a designated system
@@ -97,6 +99,77 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   }
   est_capabilities = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  timestamp = (long)buf.getLong(0);
+  custom_state = (long)buf.getLong(8);
+  lat = (int)buf.getInt(16);
+  lon = (int)buf.getInt(20);
+  alt = (float)buf.getFloat(24);
+  for (int i=0; i<3; i++) {
+    vel[i] = (float)buf.getFloat(28+i*4);
+  }
+  for (int i=0; i<3; i++) {
+    acc[i] = (float)buf.getFloat(40+i*4);
+  }
+  for (int i=0; i<4; i++) {
+    attitude_q[i] = (float)buf.getFloat(52+i*4);
+  }
+  for (int i=0; i<3; i++) {
+    rates[i] = (float)buf.getFloat(68+i*4);
+  }
+  for (int i=0; i<3; i++) {
+    position_cov[i] = (float)buf.getFloat(80+i*4);
+  }
+  est_capabilities = (int)buf.get(92)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  timestamp = 0;
+  custom_state = 0;
+  lat = 0;
+  lon = 0;
+  alt = 0;
+  for (int i=0; i<3; i++) {
+    vel[i] = 0;
+  }
+  for (int i=0; i<3; i++) {
+    acc[i] = 0;
+  }
+  for (int i=0; i<4; i++) {
+    attitude_q[i] = 0;
+  }
+  for (int i=0; i<3; i++) {
+    rates[i] = 0;
+  }
+  for (int i=0; i<3; i++) {
+    position_cov[i] = 0;
+  }
+  est_capabilities = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_follow_target msg = (msg_follow_target)other;
+  copyHeader(msg);
+  timestamp = msg.timestamp;
+  custom_state = msg.custom_state;
+  lat = msg.lat;
+  lon = msg.lon;
+  alt = msg.alt;
+  System.arraycopy(msg.vel, 0, vel, 0, 3);
+  System.arraycopy(msg.acc, 0, acc, 0, 3);
+  System.arraycopy(msg.attitude_q, 0, attitude_q, 0, 4);
+  System.arraycopy(msg.rates, 0, rates, 0, 3);
+  System.arraycopy(msg.position_cov, 0, position_cov, 0, 3);
+  est_capabilities = msg.est_capabilities;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -146,6 +219,47 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, timestamp, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, custom_state, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lat&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lon&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, alt, crc);
+  for (int i=0; i<3; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, vel[i], crc);
+  }
+  for (int i=0; i<3; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, acc[i], crc);
+  }
+  for (int i=0; i<4; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, attitude_q[i], crc);
+  }
+  for (int i=0; i<3; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, rates[i], crc);
+  }
+  for (int i=0; i<3; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, position_cov[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, est_capabilities&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 105;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_FOLLOW_TARGET : " +   "  timestamp="+timestamp+  "  custom_state="+custom_state+  "  lat="+lat+  "  lon="+lon+  "  alt="+alt+  "  vel="+vel+  "  acc="+acc+  "  attitude_q="+attitude_q+  "  rates="+rates+  "  position_cov="+position_cov+  "  est_capabilities="+est_capabilities;}
 }
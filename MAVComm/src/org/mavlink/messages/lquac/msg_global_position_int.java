@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_global_position_int
  * The filtered global position (e.g. fused GPS and accelerometers). The position is in GPS-frame (right-handed, Z-up). It
@@ -78,6 +80,51 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   vz = (int)dis.readShort();
   hdg = (int)dis.readUnsignedShort()&0x00FFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  lat = (int)buf.getInt(4);
+  lon = (int)buf.getInt(8);
+  alt = (int)buf.getInt(12);
+  relative_alt = (int)buf.getInt(16);
+  vx = (int)buf.getShort(20);
+  vy = (int)buf.getShort(22);
+  vz = (int)buf.getShort(24);
+  hdg = (int)buf.getShort(26)&0x00FFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  lat = 0;
+  lon = 0;
+  alt = 0;
+  relative_alt = 0;
+  vx = 0;
+  vy = 0;
+  vz = 0;
+  hdg = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_global_position_int msg = (msg_global_position_int)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  lat = msg.lat;
+  lon = msg.lon;
+  alt = msg.alt;
+  relative_alt = msg.relative_alt;
+  vx = msg.vx;
+  vy = msg.vy;
+  vz = msg.vz;
+  hdg = msg.hdg;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -115,6 +162,35 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lat&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lon&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(alt&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(relative_alt&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, vx&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, vy&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, vz&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, hdg&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 40;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_GLOBAL_POSITION_INT : " +   "  time_boot_ms="+time_boot_ms+  "  lat="+lat+  "  lon="+lon+  "  alt="+alt+  "  relative_alt="+relative_alt+  "  vx="+vx+  "  vy="+vy+  "  vz="+vz+  "  hdg="+hdg;}
 }
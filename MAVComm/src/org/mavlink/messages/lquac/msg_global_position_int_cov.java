@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_global_position_int_cov
  * The filtered global position (e.g. fused GPS and accelerometers). The position is in GPS-frame (right-handed, Z-up). It  is designed as scaled integer message since the resolution of float is not sufficient. NOTE: This message is intended for onboard networks / companion computers and higher-bandwidth links and optimized for accuracy and completeness. Please use the GLOBAL_POSITION_INT message for a minimal subset.
@@ -84,6 +86,58 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   }
   estimator_type = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  lat = (int)buf.getInt(8);
+  lon = (int)buf.getInt(12);
+  alt = (int)buf.getInt(16);
+  relative_alt = (int)buf.getInt(20);
+  vx = (float)buf.getFloat(24);
+  vy = (float)buf.getFloat(28);
+  vz = (float)buf.getFloat(32);
+  for (int i=0; i<36; i++) {
+    covariance[i] = (float)buf.getFloat(36+i*4);
+  }
+  estimator_type = (int)buf.get(180)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  lat = 0;
+  lon = 0;
+  alt = 0;
+  relative_alt = 0;
+  vx = 0;
+  vy = 0;
+  vz = 0;
+  for (int i=0; i<36; i++) {
+    covariance[i] = 0;
+  }
+  estimator_type = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_global_position_int_cov msg = (msg_global_position_int_cov)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  lat = msg.lat;
+  lon = msg.lon;
+  alt = msg.alt;
+  relative_alt = msg.relative_alt;
+  vx = msg.vx;
+  vy = msg.vy;
+  vz = msg.vz;
+  System.arraycopy(msg.covariance, 0, covariance, 0, 36);
+  estimator_type = msg.estimator_type;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -124,6 +178,38 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lat&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lon&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(alt&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(relative_alt&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vx, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vz, crc);
+  for (int i=0; i<36; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, covariance[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, estimator_type&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 193;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_GLOBAL_POSITION_INT_COV : " +   "  time_usec="+time_usec+  "  lat="+lat+  "  lon="+lon+  "  alt="+alt+  "  relative_alt="+relative_alt+  "  vx="+vx+  "  vy="+vy+  "  vz="+vz+  "  covariance="+covariance+  "  estimator_type="+estimator_type;}
 }
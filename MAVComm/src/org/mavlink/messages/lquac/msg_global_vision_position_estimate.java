@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_global_vision_position_estimate
  * 
@@ -74,6 +76,52 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     covariance[i] = (float)dis.readFloat();
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  usec = (long)buf.getLong(0);
+  x = (float)buf.getFloat(8);
+  y = (float)buf.getFloat(12);
+  z = (float)buf.getFloat(16);
+  roll = (float)buf.getFloat(20);
+  pitch = (float)buf.getFloat(24);
+  yaw = (float)buf.getFloat(28);
+  for (int i=0; i<21; i++) {
+    covariance[i] = (float)buf.getFloat(32+i*4);
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  usec = 0;
+  x = 0;
+  y = 0;
+  z = 0;
+  roll = 0;
+  pitch = 0;
+  yaw = 0;
+  for (int i=0; i<21; i++) {
+    covariance[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_global_vision_position_estimate msg = (msg_global_vision_position_estimate)other;
+  copyHeader(msg);
+  usec = msg.usec;
+  x = msg.x;
+  y = msg.y;
+  z = msg.z;
+  roll = msg.roll;
+  pitch = msg.pitch;
+  yaw = msg.yaw;
+  System.arraycopy(msg.covariance, 0, covariance, 0, 21);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -112,6 +160,36 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, roll, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pitch, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yaw, crc);
+  for (int i=0; i<21; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, covariance[i], crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 128;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_GLOBAL_VISION_POSITION_ESTIMATE : " +   "  usec="+usec+  "  x="+x+  "  y="+y+  "  z="+z+  "  roll="+roll+  "  pitch="+pitch+  "  yaw="+yaw+  "  covariance="+covariance;}
 }
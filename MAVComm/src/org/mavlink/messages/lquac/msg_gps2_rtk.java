@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_gps2_rtk
  * RTK GPS data. Gives information on the relative baseline calculation the GPS is reporting
@@ -97,6 +99,63 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   nsats = (int)dis.readUnsignedByte()&0x00FF;
   baseline_coords_type = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_last_baseline_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  tow = (int)buf.getInt(4)&0x00FFFFFFFF;
+  baseline_a_mm = (int)buf.getInt(8);
+  baseline_b_mm = (int)buf.getInt(12);
+  baseline_c_mm = (int)buf.getInt(16);
+  accuracy = (int)buf.getInt(20)&0x00FFFFFFFF;
+  iar_num_hypotheses = (int)buf.getInt(24);
+  wn = (int)buf.getShort(28)&0x00FFFF;
+  rtk_receiver_id = (int)buf.get(30)&0x00FF;
+  rtk_health = (int)buf.get(31)&0x00FF;
+  rtk_rate = (int)buf.get(32)&0x00FF;
+  nsats = (int)buf.get(33)&0x00FF;
+  baseline_coords_type = (int)buf.get(34)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_last_baseline_ms = 0;
+  tow = 0;
+  baseline_a_mm = 0;
+  baseline_b_mm = 0;
+  baseline_c_mm = 0;
+  accuracy = 0;
+  iar_num_hypotheses = 0;
+  wn = 0;
+  rtk_receiver_id = 0;
+  rtk_health = 0;
+  rtk_rate = 0;
+  nsats = 0;
+  baseline_coords_type = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_gps2_rtk msg = (msg_gps2_rtk)other;
+  copyHeader(msg);
+  time_last_baseline_ms = msg.time_last_baseline_ms;
+  tow = msg.tow;
+  baseline_a_mm = msg.baseline_a_mm;
+  baseline_b_mm = msg.baseline_b_mm;
+  baseline_c_mm = msg.baseline_c_mm;
+  accuracy = msg.accuracy;
+  iar_num_hypotheses = msg.iar_num_hypotheses;
+  wn = msg.wn;
+  rtk_receiver_id = msg.rtk_receiver_id;
+  rtk_health = msg.rtk_health;
+  rtk_rate = msg.rtk_rate;
+  nsats = msg.nsats;
+  baseline_coords_type = msg.baseline_coords_type;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -138,6 +197,39 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_last_baseline_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(tow&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(baseline_a_mm&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(baseline_b_mm&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(baseline_c_mm&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(accuracy&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(iar_num_hypotheses&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, wn&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, rtk_receiver_id&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, rtk_health&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, rtk_rate&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, nsats&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, baseline_coords_type&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 47;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_GPS2_RTK : " +   "  time_last_baseline_ms="+time_last_baseline_ms+  "  tow="+tow+  "  baseline_a_mm="+baseline_a_mm+  "  baseline_b_mm="+baseline_b_mm+  "  baseline_c_mm="+baseline_c_mm+  "  accuracy="+accuracy+  "  iar_num_hypotheses="+iar_num_hypotheses+  "  wn="+wn+  "  rtk_receiver_id="+rtk_receiver_id+  "  rtk_health="+rtk_health+  "  rtk_rate="+rtk_rate+  "  nsats="+nsats+  "  baseline_coords_type="+baseline_coords_type;}
 }
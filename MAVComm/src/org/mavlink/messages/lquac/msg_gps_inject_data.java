@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_gps_inject_data
  * data for injecting into the onboard GPS (used for DGPS)
@@ -54,6 +56,40 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     data[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  target_system = (int)buf.get(0)&0x00FF;
+  target_component = (int)buf.get(1)&0x00FF;
+  len = (int)buf.get(2)&0x00FF;
+  for (int i=0; i<110; i++) {
+    data[i] = (int)buf.get(3+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  target_system = 0;
+  target_component = 0;
+  len = 0;
+  for (int i=0; i<110; i++) {
+    data[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_gps_inject_data msg = (msg_gps_inject_data)other;
+  copyHeader(msg);
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  len = msg.len;
+  System.arraycopy(msg.data, 0, data, 0, 110);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -88,6 +124,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, len&0x00FF, crc);
+  for (int i=0; i<110; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, data[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 125;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_GPS_INJECT_DATA : " +   "  target_system="+target_system+  "  target_component="+target_component+  "  len="+len+  "  data="+data;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_gps_input
  * GPS sensor input message.  This is a raw sensor value sent by the GPS. This is NOT the global position estimate of the system.
@@ -122,6 +124,78 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   fix_type = (int)dis.readUnsignedByte()&0x00FF;
   satellites_visible = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  time_week_ms = (int)buf.getInt(8)&0x00FFFFFFFF;
+  lat = (int)buf.getInt(12);
+  lon = (int)buf.getInt(16);
+  alt = (float)buf.getFloat(20);
+  hdop = (float)buf.getFloat(24);
+  vdop = (float)buf.getFloat(28);
+  vn = (float)buf.getFloat(32);
+  ve = (float)buf.getFloat(36);
+  vd = (float)buf.getFloat(40);
+  speed_accuracy = (float)buf.getFloat(44);
+  horiz_accuracy = (float)buf.getFloat(48);
+  vert_accuracy = (float)buf.getFloat(52);
+  ignore_flags = (int)buf.getShort(56)&0x00FFFF;
+  time_week = (int)buf.getShort(58)&0x00FFFF;
+  gps_id = (int)buf.get(60)&0x00FF;
+  fix_type = (int)buf.get(61)&0x00FF;
+  satellites_visible = (int)buf.get(62)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  time_week_ms = 0;
+  lat = 0;
+  lon = 0;
+  alt = 0;
+  hdop = 0;
+  vdop = 0;
+  vn = 0;
+  ve = 0;
+  vd = 0;
+  speed_accuracy = 0;
+  horiz_accuracy = 0;
+  vert_accuracy = 0;
+  ignore_flags = 0;
+  time_week = 0;
+  gps_id = 0;
+  fix_type = 0;
+  satellites_visible = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_gps_input msg = (msg_gps_input)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  time_week_ms = msg.time_week_ms;
+  lat = msg.lat;
+  lon = msg.lon;
+  alt = msg.alt;
+  hdop = msg.hdop;
+  vdop = msg.vdop;
+  vn = msg.vn;
+  ve = msg.ve;
+  vd = msg.vd;
+  speed_accuracy = msg.speed_accuracy;
+  horiz_accuracy = msg.horiz_accuracy;
+  vert_accuracy = msg.vert_accuracy;
+  ignore_flags = msg.ignore_flags;
+  time_week = msg.time_week;
+  gps_id = msg.gps_id;
+  fix_type = msg.fix_type;
+  satellites_visible = msg.satellites_visible;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -168,6 +242,44 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_week_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lat&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lon&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, alt, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, hdop, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vdop, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vn, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, ve, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vd, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, speed_accuracy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, horiz_accuracy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vert_accuracy, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, ignore_flags&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, time_week&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, gps_id&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, fix_type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, satellites_visible&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 75;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_GPS_INPUT : " +   "  time_usec="+time_usec+  "  time_week_ms="+time_week_ms+  "  lat="+lat+  "  lon="+lon+  "  alt="+alt+  "  hdop="+hdop+  "  vdop="+vdop+  "  vn="+vn+  "  ve="+ve+  "  vd="+vd+  "  speed_accuracy="+speed_accuracy+  "  horiz_accuracy="+horiz_accuracy+  "  vert_accuracy="+vert_accuracy+  "  ignore_flags="+ignore_flags+  "  time_week="+time_week+  "  gps_id="+gps_id+  "  fix_type="+fix_type+  "  satellites_visible="+satellites_visible;}
 }
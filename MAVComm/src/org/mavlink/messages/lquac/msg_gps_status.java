@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_gps_status
  * The positioning status, as reported by GPS. This message is intended to display status information about each satellite visible to the receiver. See message GLOBAL_POSITION for the global position estimate. This message can contain information for up to 20 satellites.
@@ -72,6 +74,62 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     satellite_snr[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  satellites_visible = (int)buf.get(0)&0x00FF;
+  for (int i=0; i<20; i++) {
+    satellite_prn[i] = (int)buf.get(1+i)&0x00FF;
+  }
+  for (int i=0; i<20; i++) {
+    satellite_used[i] = (int)buf.get(21+i)&0x00FF;
+  }
+  for (int i=0; i<20; i++) {
+    satellite_elevation[i] = (int)buf.get(41+i)&0x00FF;
+  }
+  for (int i=0; i<20; i++) {
+    satellite_azimuth[i] = (int)buf.get(61+i)&0x00FF;
+  }
+  for (int i=0; i<20; i++) {
+    satellite_snr[i] = (int)buf.get(81+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  satellites_visible = 0;
+  for (int i=0; i<20; i++) {
+    satellite_prn[i] = 0;
+  }
+  for (int i=0; i<20; i++) {
+    satellite_used[i] = 0;
+  }
+  for (int i=0; i<20; i++) {
+    satellite_elevation[i] = 0;
+  }
+  for (int i=0; i<20; i++) {
+    satellite_azimuth[i] = 0;
+  }
+  for (int i=0; i<20; i++) {
+    satellite_snr[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_gps_status msg = (msg_gps_status)other;
+  copyHeader(msg);
+  satellites_visible = msg.satellites_visible;
+  System.arraycopy(msg.satellite_prn, 0, satellite_prn, 0, 20);
+  System.arraycopy(msg.satellite_used, 0, satellite_used, 0, 20);
+  System.arraycopy(msg.satellite_elevation, 0, satellite_elevation, 0, 20);
+  System.arraycopy(msg.satellite_azimuth, 0, satellite_azimuth, 0, 20);
+  System.arraycopy(msg.satellite_snr, 0, satellite_snr, 0, 20);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -116,6 +174,42 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, satellites_visible&0x00FF, crc);
+  for (int i=0; i<20; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, satellite_prn[i]&0x00FF, crc);
+  }
+  for (int i=0; i<20; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, satellite_used[i]&0x00FF, crc);
+  }
+  for (int i=0; i<20; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, satellite_elevation[i]&0x00FF, crc);
+  }
+  for (int i=0; i<20; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, satellite_azimuth[i]&0x00FF, crc);
+  }
+  for (int i=0; i<20; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, satellite_snr[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 113;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_GPS_STATUS : " +   "  satellites_visible="+satellites_visible+  "  satellite_prn="+satellite_prn+  "  satellite_used="+satellite_used+  "  satellite_elevation="+satellite_elevation+  "  satellite_azimuth="+satellite_azimuth+  "  satellite_snr="+satellite_snr;}
 }
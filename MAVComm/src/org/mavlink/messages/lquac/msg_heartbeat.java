@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_heartbeat
  * The heartbeat message shows that a system is present and responding. The type of the MAV and Autopilot hardware allow the receiving system to treat further messages from this system appropriate (e.g. by laying out the user interface based on the autopilot).
@@ -62,6 +64,42 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   system_status = (int)dis.readUnsignedByte()&0x00FF;
   mavlink_version = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  custom_mode = (int)buf.getInt(0)&0x00FFFFFFFF;
+  type = (int)buf.get(4)&0x00FF;
+  autopilot = (int)buf.get(5)&0x00FF;
+  base_mode = (int)buf.get(6)&0x00FF;
+  system_status = (int)buf.get(7)&0x00FF;
+  mavlink_version = (int)buf.get(8)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  custom_mode = 0;
+  type = 0;
+  autopilot = 0;
+  base_mode = 0;
+  system_status = 0;
+  mavlink_version = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_heartbeat msg = (msg_heartbeat)other;
+  copyHeader(msg);
+  custom_mode = msg.custom_mode;
+  type = msg.type;
+  autopilot = msg.autopilot;
+  base_mode = msg.base_mode;
+  system_status = msg.system_status;
+  mavlink_version = msg.mavlink_version;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -96,6 +134,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(custom_mode&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, autopilot&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, base_mode&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, system_status&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, mavlink_version&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 21;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_HEARTBEAT : " +   "  custom_mode="+custom_mode+  "  type="+type+  "  autopilot="+autopilot+  "  base_mode="+base_mode+  "  system_status="+system_status+  "  mavlink_version="+mavlink_version;}
 }
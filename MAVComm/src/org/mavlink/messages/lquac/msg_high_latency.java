@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_high_latency
  * Message appropriate for high latency connections like Iridium
@@ -152,6 +154,96 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   failsafe = (int)dis.readUnsignedByte()&0x00FF;
   wp_num = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  custom_mode = (int)buf.getInt(0)&0x00FFFFFFFF;
+  latitude = (int)buf.getInt(4);
+  longitude = (int)buf.getInt(8);
+  roll = (int)buf.getShort(12);
+  pitch = (int)buf.getShort(14);
+  heading = (int)buf.getShort(16)&0x00FFFF;
+  heading_sp = (int)buf.getShort(18);
+  altitude_amsl = (int)buf.getShort(20);
+  altitude_sp = (int)buf.getShort(22);
+  wp_distance = (int)buf.getShort(24)&0x00FFFF;
+  base_mode = (int)buf.get(26)&0x00FF;
+  landed_state = (int)buf.get(27)&0x00FF;
+  throttle = (int)buf.get(28);
+  airspeed = (int)buf.get(29)&0x00FF;
+  airspeed_sp = (int)buf.get(30)&0x00FF;
+  groundspeed = (int)buf.get(31)&0x00FF;
+  climb_rate = (int)buf.get(32);
+  gps_nsat = (int)buf.get(33)&0x00FF;
+  gps_fix_type = (int)buf.get(34)&0x00FF;
+  battery_remaining = (int)buf.get(35)&0x00FF;
+  temperature = (int)buf.get(36);
+  temperature_air = (int)buf.get(37);
+  failsafe = (int)buf.get(38)&0x00FF;
+  wp_num = (int)buf.get(39)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  custom_mode = 0;
+  latitude = 0;
+  longitude = 0;
+  roll = 0;
+  pitch = 0;
+  heading = 0;
+  heading_sp = 0;
+  altitude_amsl = 0;
+  altitude_sp = 0;
+  wp_distance = 0;
+  base_mode = 0;
+  landed_state = 0;
+  throttle = 0;
+  airspeed = 0;
+  airspeed_sp = 0;
+  groundspeed = 0;
+  climb_rate = 0;
+  gps_nsat = 0;
+  gps_fix_type = 0;
+  battery_remaining = 0;
+  temperature = 0;
+  temperature_air = 0;
+  failsafe = 0;
+  wp_num = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_high_latency msg = (msg_high_latency)other;
+  copyHeader(msg);
+  custom_mode = msg.custom_mode;
+  latitude = msg.latitude;
+  longitude = msg.longitude;
+  roll = msg.roll;
+  pitch = msg.pitch;
+  heading = msg.heading;
+  heading_sp = msg.heading_sp;
+  altitude_amsl = msg.altitude_amsl;
+  altitude_sp = msg.altitude_sp;
+  wp_distance = msg.wp_distance;
+  base_mode = msg.base_mode;
+  landed_state = msg.landed_state;
+  throttle = msg.throttle;
+  airspeed = msg.airspeed;
+  airspeed_sp = msg.airspeed_sp;
+  groundspeed = msg.groundspeed;
+  climb_rate = msg.climb_rate;
+  gps_nsat = msg.gps_nsat;
+  gps_fix_type = msg.gps_fix_type;
+  battery_remaining = msg.battery_remaining;
+  temperature = msg.temperature;
+  temperature_air = msg.temperature_air;
+  failsafe = msg.failsafe;
+  wp_num = msg.wp_num;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -204,6 +296,50 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(custom_mode&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(latitude&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(longitude&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, roll&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, pitch&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, heading&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, heading_sp&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, altitude_amsl&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, altitude_sp&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, wp_distance&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, base_mode&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, landed_state&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, throttle&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, airspeed&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, airspeed_sp&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, groundspeed&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, climb_rate&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, gps_nsat&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, gps_fix_type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, battery_remaining&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, temperature&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, temperature_air&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, failsafe&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, wp_num&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 52;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_HIGH_LATENCY : " +   "  custom_mode="+custom_mode+  "  latitude="+latitude+  "  longitude="+longitude+  "  roll="+roll+  "  pitch="+pitch+  "  heading="+heading+  "  heading_sp="+heading_sp+  "  altitude_amsl="+altitude_amsl+  "  altitude_sp="+altitude_sp+  "  wp_distance="+wp_distance+  "  base_mode="+base_mode+  "  landed_state="+landed_state+  "  throttle="+throttle+  "  airspeed="+airspeed+  "  airspeed_sp="+airspeed_sp+  "  groundspeed="+groundspeed+  "  climb_rate="+climb_rate+  "  gps_nsat="+gps_nsat+  "  gps_fix_type="+gps_fix_type+  "  battery_remaining="+battery_remaining+  "  temperature="+temperature+  "  temperature_air="+temperature_air+  "  failsafe="+failsafe+  "  wp_num="+wp_num;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_high_latency2
  * Message appropriate for high latency connections like Iridium (version 2)
@@ -167,6 +169,105 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   custom1 = (int)dis.readByte();
   custom2 = (int)dis.readByte();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  timestamp = (int)buf.getInt(0)&0x00FFFFFFFF;
+  latitude = (int)buf.getInt(4);
+  longitude = (int)buf.getInt(8);
+  custom_mode = (int)buf.getShort(12)&0x00FFFF;
+  altitude = (int)buf.getShort(14);
+  target_altitude = (int)buf.getShort(16);
+  target_distance = (int)buf.getShort(18)&0x00FFFF;
+  wp_num = (int)buf.getShort(20)&0x00FFFF;
+  failure_flags = (int)buf.getShort(22)&0x00FFFF;
+  type = (int)buf.get(24)&0x00FF;
+  autopilot = (int)buf.get(25)&0x00FF;
+  heading = (int)buf.get(26)&0x00FF;
+  target_heading = (int)buf.get(27)&0x00FF;
+  throttle = (int)buf.get(28)&0x00FF;
+  airspeed = (int)buf.get(29)&0x00FF;
+  airspeed_sp = (int)buf.get(30)&0x00FF;
+  groundspeed = (int)buf.get(31)&0x00FF;
+  windspeed = (int)buf.get(32)&0x00FF;
+  wind_heading = (int)buf.get(33)&0x00FF;
+  eph = (int)buf.get(34)&0x00FF;
+  epv = (int)buf.get(35)&0x00FF;
+  temperature_air = (int)buf.get(36);
+  climb_rate = (int)buf.get(37);
+  battery = (int)buf.get(38);
+  custom0 = (int)buf.get(39);
+  custom1 = (int)buf.get(40);
+  custom2 = (int)buf.get(41);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  timestamp = 0;
+  latitude = 0;
+  longitude = 0;
+  custom_mode = 0;
+  altitude = 0;
+  target_altitude = 0;
+  target_distance = 0;
+  wp_num = 0;
+  failure_flags = 0;
+  type = 0;
+  autopilot = 0;
+  heading = 0;
+  target_heading = 0;
+  throttle = 0;
+  airspeed = 0;
+  airspeed_sp = 0;
+  groundspeed = 0;
+  windspeed = 0;
+  wind_heading = 0;
+  eph = 0;
+  epv = 0;
+  temperature_air = 0;
+  climb_rate = 0;
+  battery = 0;
+  custom0 = 0;
+  custom1 = 0;
+  custom2 = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_high_latency2 msg = (msg_high_latency2)other;
+  copyHeader(msg);
+  timestamp = msg.timestamp;
+  latitude = msg.latitude;
+  longitude = msg.longitude;
+  custom_mode = msg.custom_mode;
+  altitude = msg.altitude;
+  target_altitude = msg.target_altitude;
+  target_distance = msg.target_distance;
+  wp_num = msg.wp_num;
+  failure_flags = msg.failure_flags;
+  type = msg.type;
+  autopilot = msg.autopilot;
+  heading = msg.heading;
+  target_heading = msg.target_heading;
+  throttle = msg.throttle;
+  airspeed = msg.airspeed;
+  airspeed_sp = msg.airspeed_sp;
+  groundspeed = msg.groundspeed;
+  windspeed = msg.windspeed;
+  wind_heading = msg.wind_heading;
+  eph = msg.eph;
+  epv = msg.epv;
+  temperature_air = msg.temperature_air;
+  climb_rate = msg.climb_rate;
+  battery = msg.battery;
+  custom0 = msg.custom0;
+  custom1 = msg.custom1;
+  custom2 = msg.custom2;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -222,6 +323,53 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(timestamp&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(latitude&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(longitude&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, custom_mode&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, altitude&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, target_altitude&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, target_distance&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, wp_num&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, failure_flags&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, autopilot&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, heading&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_heading&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, throttle&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, airspeed&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, airspeed_sp&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, groundspeed&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, windspeed&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, wind_heading&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, eph&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, epv&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, temperature_air&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, climb_rate&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, battery&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, custom0&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, custom1&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, custom2&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 54;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_HIGH_LATENCY2 : " +   "  timestamp="+timestamp+  "  latitude="+latitude+  "  longitude="+longitude+  "  custom_mode="+custom_mode+  "  altitude="+altitude+  "  target_altitude="+target_altitude+  "  target_distance="+target_distance+  "  wp_num="+wp_num+  "  failure_flags="+failure_flags+  "  type="+type+  "  autopilot="+autopilot+  "  heading="+heading+  "  target_heading="+target_heading+  "  throttle="+throttle+  "  airspeed="+airspeed+  "  airspeed_sp="+airspeed_sp+  "  groundspeed="+groundspeed+  "  windspeed="+windspeed+  "  wind_heading="+wind_heading+  "  eph="+eph+  "  epv="+epv+  "  temperature_air="+temperature_air+  "  climb_rate="+climb_rate+  "  battery="+battery+  "  custom0="+custom0+  "  custom1="+custom1+  "  custom2="+custom2;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_hil_actuator_controls
  * Sent from autopilot to simulation. Hardware in the loop control outputs (replacement for HIL_CONTROLS)
@@ -54,6 +56,40 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   }
   mode = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  flags = (long)buf.getLong(8);
+  for (int i=0; i<16; i++) {
+    controls[i] = (float)buf.getFloat(16+i*4);
+  }
+  mode = (int)buf.get(80)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  flags = 0;
+  for (int i=0; i<16; i++) {
+    controls[i] = 0;
+  }
+  mode = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_hil_actuator_controls msg = (msg_hil_actuator_controls)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  flags = msg.flags;
+  System.arraycopy(msg.controls, 0, controls, 0, 16);
+  mode = msg.mode;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -88,6 +124,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, flags, crc);
+  for (int i=0; i<16; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, controls[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, mode&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 93;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_HIL_ACTUATOR_CONTROLS : " +   "  time_usec="+time_usec+  "  flags="+flags+  "  controls="+controls+  "  mode="+mode;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_hil_controls
  * Sent from autopilot to simulation. Hardware in the loop control outputs
@@ -87,6 +89,57 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   mode = (int)dis.readUnsignedByte()&0x00FF;
   nav_mode = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  roll_ailerons = (float)buf.getFloat(8);
+  pitch_elevator = (float)buf.getFloat(12);
+  yaw_rudder = (float)buf.getFloat(16);
+  throttle = (float)buf.getFloat(20);
+  aux1 = (float)buf.getFloat(24);
+  aux2 = (float)buf.getFloat(28);
+  aux3 = (float)buf.getFloat(32);
+  aux4 = (float)buf.getFloat(36);
+  mode = (int)buf.get(40)&0x00FF;
+  nav_mode = (int)buf.get(41)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  roll_ailerons = 0;
+  pitch_elevator = 0;
+  yaw_rudder = 0;
+  throttle = 0;
+  aux1 = 0;
+  aux2 = 0;
+  aux3 = 0;
+  aux4 = 0;
+  mode = 0;
+  nav_mode = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_hil_controls msg = (msg_hil_controls)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  roll_ailerons = msg.roll_ailerons;
+  pitch_elevator = msg.pitch_elevator;
+  yaw_rudder = msg.yaw_rudder;
+  throttle = msg.throttle;
+  aux1 = msg.aux1;
+  aux2 = msg.aux2;
+  aux3 = msg.aux3;
+  aux4 = msg.aux4;
+  mode = msg.mode;
+  nav_mode = msg.nav_mode;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -126,6 +179,37 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, roll_ailerons, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pitch_elevator, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yaw_rudder, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, throttle, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, aux1, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, aux2, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, aux3, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, aux4, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, mode&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, nav_mode&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 54;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_HIL_CONTROLS : " +   "  time_usec="+time_usec+  "  roll_ailerons="+roll_ailerons+  "  pitch_elevator="+pitch_elevator+  "  yaw_rudder="+yaw_rudder+  "  throttle="+throttle+  "  aux1="+aux1+  "  aux2="+aux2+  "  aux3="+aux3+  "  aux4="+aux4+  "  mode="+mode+  "  nav_mode="+nav_mode;}
 }
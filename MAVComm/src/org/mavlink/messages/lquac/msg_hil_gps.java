@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_hil_gps
  * The global position, as returned by the Global Positioning System (GPS). This is
@@ -98,6 +100,63 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   fix_type = (int)dis.readUnsignedByte()&0x00FF;
   satellites_visible = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  lat = (int)buf.getInt(8);
+  lon = (int)buf.getInt(12);
+  alt = (int)buf.getInt(16);
+  eph = (int)buf.getShort(20)&0x00FFFF;
+  epv = (int)buf.getShort(22)&0x00FFFF;
+  vel = (int)buf.getShort(24)&0x00FFFF;
+  vn = (int)buf.getShort(26);
+  ve = (int)buf.getShort(28);
+  vd = (int)buf.getShort(30);
+  cog = (int)buf.getShort(32)&0x00FFFF;
+  fix_type = (int)buf.get(34)&0x00FF;
+  satellites_visible = (int)buf.get(35)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  lat = 0;
+  lon = 0;
+  alt = 0;
+  eph = 0;
+  epv = 0;
+  vel = 0;
+  vn = 0;
+  ve = 0;
+  vd = 0;
+  cog = 0;
+  fix_type = 0;
+  satellites_visible = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_hil_gps msg = (msg_hil_gps)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  lat = msg.lat;
+  lon = msg.lon;
+  alt = msg.alt;
+  eph = msg.eph;
+  epv = msg.epv;
+  vel = msg.vel;
+  vn = msg.vn;
+  ve = msg.ve;
+  vd = msg.vd;
+  cog = msg.cog;
+  fix_type = msg.fix_type;
+  satellites_visible = msg.satellites_visible;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -139,6 +198,39 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lat&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lon&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(alt&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, eph&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, epv&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, vel&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, vn&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, ve&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, vd&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, cog&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, fix_type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, satellites_visible&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 48;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_HIL_GPS : " +   "  time_usec="+time_usec+  "  lat="+lat+  "  lon="+lon+  "  alt="+alt+  "  eph="+eph+  "  epv="+epv+  "  vel="+vel+  "  vn="+vn+  "  ve="+ve+  "  vd="+vd+  "  cog="+cog+  "  fix_type="+fix_type+  "  satellites_visible="+satellites_visible;}
 }
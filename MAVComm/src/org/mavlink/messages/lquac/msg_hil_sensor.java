@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_hil_sensor
  * The IMU readings in SI units in NED body frame
@@ -107,6 +109,69 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   temperature = (float)dis.readFloat();
   fields_updated = (int)dis.readInt()&0x00FFFFFFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  xacc = (float)buf.getFloat(8);
+  yacc = (float)buf.getFloat(12);
+  zacc = (float)buf.getFloat(16);
+  xgyro = (float)buf.getFloat(20);
+  ygyro = (float)buf.getFloat(24);
+  zgyro = (float)buf.getFloat(28);
+  xmag = (float)buf.getFloat(32);
+  ymag = (float)buf.getFloat(36);
+  zmag = (float)buf.getFloat(40);
+  abs_pressure = (float)buf.getFloat(44);
+  diff_pressure = (float)buf.getFloat(48);
+  pressure_alt = (float)buf.getFloat(52);
+  temperature = (float)buf.getFloat(56);
+  fields_updated = (int)buf.getInt(60)&0x00FFFFFFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  xacc = 0;
+  yacc = 0;
+  zacc = 0;
+  xgyro = 0;
+  ygyro = 0;
+  zgyro = 0;
+  xmag = 0;
+  ymag = 0;
+  zmag = 0;
+  abs_pressure = 0;
+  diff_pressure = 0;
+  pressure_alt = 0;
+  temperature = 0;
+  fields_updated = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_hil_sensor msg = (msg_hil_sensor)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  xacc = msg.xacc;
+  yacc = msg.yacc;
+  zacc = msg.zacc;
+  xgyro = msg.xgyro;
+  ygyro = msg.ygyro;
+  zgyro = msg.zgyro;
+  xmag = msg.xmag;
+  ymag = msg.ymag;
+  zmag = msg.zmag;
+  abs_pressure = msg.abs_pressure;
+  diff_pressure = msg.diff_pressure;
+  pressure_alt = msg.pressure_alt;
+  temperature = msg.temperature;
+  fields_updated = msg.fields_updated;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -150,6 +215,41 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, xacc, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yacc, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, zacc, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, xgyro, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, ygyro, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, zgyro, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, xmag, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, ymag, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, zmag, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, abs_pressure, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, diff_pressure, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pressure_alt, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, temperature, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(fields_updated&0x00FFFFFFFF), crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 76;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_HIL_SENSOR : " +   "  time_usec="+time_usec+  "  xacc="+xacc+  "  yacc="+yacc+  "  zacc="+zacc+  "  xgyro="+xgyro+  "  ygyro="+ygyro+  "  zgyro="+zgyro+  "  xmag="+xmag+  "  ymag="+ymag+  "  zmag="+zmag+  "  abs_pressure="+abs_pressure+  "  diff_pressure="+diff_pressure+  "  pressure_alt="+pressure_alt+  "  temperature="+temperature+  "  fields_updated="+fields_updated;}
 }
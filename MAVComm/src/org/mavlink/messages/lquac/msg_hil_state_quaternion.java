@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_hil_state_quaternion
  * Sent from simulation to autopilot, avoids in contrast to HIL_STATE singularities. This packet is useful for high throughput applications such as hardware in the loop simulations.
@@ -114,6 +116,76 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   yacc = (int)dis.readShort();
   zacc = (int)dis.readShort();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  for (int i=0; i<4; i++) {
+    attitude_quaternion[i] = (float)buf.getFloat(8+i*4);
+  }
+  rollspeed = (float)buf.getFloat(24);
+  pitchspeed = (float)buf.getFloat(28);
+  yawspeed = (float)buf.getFloat(32);
+  lat = (int)buf.getInt(36);
+  lon = (int)buf.getInt(40);
+  alt = (int)buf.getInt(44);
+  vx = (int)buf.getShort(48);
+  vy = (int)buf.getShort(50);
+  vz = (int)buf.getShort(52);
+  ind_airspeed = (int)buf.getShort(54)&0x00FFFF;
+  true_airspeed = (int)buf.getShort(56)&0x00FFFF;
+  xacc = (int)buf.getShort(58);
+  yacc = (int)buf.getShort(60);
+  zacc = (int)buf.getShort(62);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  for (int i=0; i<4; i++) {
+    attitude_quaternion[i] = 0;
+  }
+  rollspeed = 0;
+  pitchspeed = 0;
+  yawspeed = 0;
+  lat = 0;
+  lon = 0;
+  alt = 0;
+  vx = 0;
+  vy = 0;
+  vz = 0;
+  ind_airspeed = 0;
+  true_airspeed = 0;
+  xacc = 0;
+  yacc = 0;
+  zacc = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_hil_state_quaternion msg = (msg_hil_state_quaternion)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  System.arraycopy(msg.attitude_quaternion, 0, attitude_quaternion, 0, 4);
+  rollspeed = msg.rollspeed;
+  pitchspeed = msg.pitchspeed;
+  yawspeed = msg.yawspeed;
+  lat = msg.lat;
+  lon = msg.lon;
+  alt = msg.alt;
+  vx = msg.vx;
+  vy = msg.vy;
+  vz = msg.vz;
+  ind_airspeed = msg.ind_airspeed;
+  true_airspeed = msg.true_airspeed;
+  xacc = msg.xacc;
+  yacc = msg.yacc;
+  zacc = msg.zacc;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -160,6 +232,44 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  for (int i=0; i<4; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, attitude_quaternion[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeFloat(dst, rollspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pitchspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yawspeed, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lat&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lon&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(alt&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, vx&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, vy&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, vz&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, ind_airspeed&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, true_airspeed&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, xacc&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, yacc&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, zacc&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 76;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_HIL_STATE_QUATERNION : " +   "  time_usec="+time_usec+  "  attitude_quaternion="+attitude_quaternion+  "  rollspeed="+rollspeed+  "  pitchspeed="+pitchspeed+  "  yawspeed="+yawspeed+  "  lat="+lat+  "  lon="+lon+  "  alt="+alt+  "  vx="+vx+  "  vy="+vy+  "  vz="+vz+  "  ind_airspeed="+ind_airspeed+  "  true_airspeed="+true_airspeed+  "  xacc="+xacc+  "  yacc="+yacc+  "  zacc="+zacc;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_home_position
  * This message can be requested by sending the MAV_CMD_GET_HOME_POSITION command. The position the system will return to and land on. The position is set automatically by the system during the takeoff in case it was not explicitly set by the operator before or after. The position the system will return to and land on. The global and local positions encode the position in the respective coordinate frames, while the q parameter encodes the orientation of the surface. Under normal conditions it describes the heading and terrain slope, which can be used by the aircraft to adjust the approach. The approach 3D vector describes the point to which the system should fly in normal flight mode and then perform a landing sequence along the vector.
@@ -89,6 +91,61 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   approach_z = (float)dis.readFloat();
   time_usec = (long)dis.readLong();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  latitude = (int)buf.getInt(0);
+  longitude = (int)buf.getInt(4);
+  altitude = (int)buf.getInt(8);
+  x = (float)buf.getFloat(12);
+  y = (float)buf.getFloat(16);
+  z = (float)buf.getFloat(20);
+  for (int i=0; i<4; i++) {
+    q[i] = (float)buf.getFloat(24+i*4);
+  }
+  approach_x = (float)buf.getFloat(40);
+  approach_y = (float)buf.getFloat(44);
+  approach_z = (float)buf.getFloat(48);
+  time_usec = (long)buf.getLong(52);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  latitude = 0;
+  longitude = 0;
+  altitude = 0;
+  x = 0;
+  y = 0;
+  z = 0;
+  for (int i=0; i<4; i++) {
+    q[i] = 0;
+  }
+  approach_x = 0;
+  approach_y = 0;
+  approach_z = 0;
+  time_usec = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_home_position msg = (msg_home_position)other;
+  copyHeader(msg);
+  latitude = msg.latitude;
+  longitude = msg.longitude;
+  altitude = msg.altitude;
+  x = msg.x;
+  y = msg.y;
+  z = msg.z;
+  System.arraycopy(msg.q, 0, q, 0, 4);
+  approach_x = msg.approach_x;
+  approach_y = msg.approach_y;
+  approach_z = msg.approach_z;
+  time_usec = msg.time_usec;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -130,6 +187,39 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(latitude&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(longitude&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(altitude&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z, crc);
+  for (int i=0; i<4; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, q[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeFloat(dst, approach_x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, approach_y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, approach_z, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 72;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_HOME_POSITION : " +   "  latitude="+latitude+  "  longitude="+longitude+  "  altitude="+altitude+  "  x="+x+  "  y="+y+  "  z="+z+  "  q="+q+  "  approach_x="+approach_x+  "  approach_y="+approach_y+  "  approach_z="+approach_z+  "  time_usec="+time_usec;}
 }
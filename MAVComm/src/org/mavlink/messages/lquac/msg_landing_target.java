@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_landing_target
  * The location of a landing area captured from a downward facing camera
@@ -104,6 +106,70 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   type = (int)dis.readUnsignedByte()&0x00FF;
   position_valid = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  angle_x = (float)buf.getFloat(8);
+  angle_y = (float)buf.getFloat(12);
+  distance = (float)buf.getFloat(16);
+  size_x = (float)buf.getFloat(20);
+  size_y = (float)buf.getFloat(24);
+  target_num = (int)buf.get(28)&0x00FF;
+  frame = (int)buf.get(29)&0x00FF;
+  x = (float)buf.getFloat(30);
+  y = (float)buf.getFloat(34);
+  z = (float)buf.getFloat(38);
+  for (int i=0; i<4; i++) {
+    q[i] = (float)buf.getFloat(42+i*4);
+  }
+  type = (int)buf.get(58)&0x00FF;
+  position_valid = (int)buf.get(59)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  angle_x = 0;
+  angle_y = 0;
+  distance = 0;
+  size_x = 0;
+  size_y = 0;
+  target_num = 0;
+  frame = 0;
+  x = 0;
+  y = 0;
+  z = 0;
+  for (int i=0; i<4; i++) {
+    q[i] = 0;
+  }
+  type = 0;
+  position_valid = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_landing_target msg = (msg_landing_target)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  angle_x = msg.angle_x;
+  angle_y = msg.angle_y;
+  distance = msg.distance;
+  size_x = msg.size_x;
+  size_y = msg.size_y;
+  target_num = msg.target_num;
+  frame = msg.frame;
+  x = msg.x;
+  y = msg.y;
+  z = msg.z;
+  System.arraycopy(msg.q, 0, q, 0, 4);
+  type = msg.type;
+  position_valid = msg.position_valid;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -148,6 +214,42 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, angle_x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, angle_y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, distance, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, size_x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, size_y, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_num&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, frame&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z, crc);
+  for (int i=0; i<4; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, q[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, position_valid&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 72;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_LANDING_TARGET : " +   "  time_usec="+time_usec+  "  angle_x="+angle_x+  "  angle_y="+angle_y+  "  distance="+distance+  "  size_x="+size_x+  "  size_y="+size_y+  "  target_num="+target_num+  "  frame="+frame+  "  x="+x+  "  y="+y+  "  z="+z+  "  q="+q+  "  type="+type+  "  position_valid="+position_valid;}
 }
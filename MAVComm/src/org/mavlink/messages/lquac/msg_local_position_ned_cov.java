@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_local_position_ned_cov
  * The filtered local position (e.g. fused computer vision and accelerometers). Coordinate frame is right-handed, Z-axis down (aeronautical frame, NED / north-east-down convention)
@@ -94,6 +96,64 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   }
   estimator_type = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  x = (float)buf.getFloat(8);
+  y = (float)buf.getFloat(12);
+  z = (float)buf.getFloat(16);
+  vx = (float)buf.getFloat(20);
+  vy = (float)buf.getFloat(24);
+  vz = (float)buf.getFloat(28);
+  ax = (float)buf.getFloat(32);
+  ay = (float)buf.getFloat(36);
+  az = (float)buf.getFloat(40);
+  for (int i=0; i<45; i++) {
+    covariance[i] = (float)buf.getFloat(44+i*4);
+  }
+  estimator_type = (int)buf.get(224)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  x = 0;
+  y = 0;
+  z = 0;
+  vx = 0;
+  vy = 0;
+  vz = 0;
+  ax = 0;
+  ay = 0;
+  az = 0;
+  for (int i=0; i<45; i++) {
+    covariance[i] = 0;
+  }
+  estimator_type = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_local_position_ned_cov msg = (msg_local_position_ned_cov)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  x = msg.x;
+  y = msg.y;
+  z = msg.z;
+  vx = msg.vx;
+  vy = msg.vy;
+  vz = msg.vz;
+  ax = msg.ax;
+  ay = msg.ay;
+  az = msg.az;
+  System.arraycopy(msg.covariance, 0, covariance, 0, 45);
+  estimator_type = msg.estimator_type;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -136,6 +196,40 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vx, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vz, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, ax, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, ay, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, az, crc);
+  for (int i=0; i<45; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, covariance[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, estimator_type&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 237;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_LOCAL_POSITION_NED_COV : " +   "  time_usec="+time_usec+  "  x="+x+  "  y="+y+  "  z="+z+  "  vx="+vx+  "  vy="+vy+  "  vz="+vz+  "  ax="+ax+  "  ay="+ay+  "  az="+az+  "  covariance="+covariance+  "  estimator_type="+estimator_type;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_log_data
  * Reply to LOG_REQUEST_DATA
@@ -54,6 +56,40 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     data[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  ofs = (int)buf.getInt(0)&0x00FFFFFFFF;
+  id = (int)buf.getShort(4)&0x00FFFF;
+  count = (int)buf.get(6)&0x00FF;
+  for (int i=0; i<90; i++) {
+    data[i] = (int)buf.get(7+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  ofs = 0;
+  id = 0;
+  count = 0;
+  for (int i=0; i<90; i++) {
+    data[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_log_data msg = (msg_log_data)other;
+  copyHeader(msg);
+  ofs = msg.ofs;
+  id = msg.id;
+  count = msg.count;
+  System.arraycopy(msg.data, 0, data, 0, 90);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -88,6 +124,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(ofs&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, id&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, count&0x00FF, crc);
+  for (int i=0; i<90; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, data[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 109;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_LOG_DATA : " +   "  ofs="+ofs+  "  id="+id+  "  count="+count+  "  data="+data;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_log_entry
  * Reply to LOG_REQUEST_LIST
@@ -57,6 +59,39 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   num_logs = (int)dis.readUnsignedShort()&0x00FFFF;
   last_log_num = (int)dis.readUnsignedShort()&0x00FFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_utc = (int)buf.getInt(0)&0x00FFFFFFFF;
+  size = (int)buf.getInt(4)&0x00FFFFFFFF;
+  id = (int)buf.getShort(8)&0x00FFFF;
+  num_logs = (int)buf.getShort(10)&0x00FFFF;
+  last_log_num = (int)buf.getShort(12)&0x00FFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_utc = 0;
+  size = 0;
+  id = 0;
+  num_logs = 0;
+  last_log_num = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_log_entry msg = (msg_log_entry)other;
+  copyHeader(msg);
+  time_utc = msg.time_utc;
+  size = msg.size;
+  id = msg.id;
+  num_logs = msg.num_logs;
+  last_log_num = msg.last_log_num;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -90,6 +125,31 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_utc&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(size&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, id&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, num_logs&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, last_log_num&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 26;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_LOG_ENTRY : " +   "  time_utc="+time_utc+  "  size="+size+  "  id="+id+  "  num_logs="+num_logs+  "  last_log_num="+last_log_num;}
 }
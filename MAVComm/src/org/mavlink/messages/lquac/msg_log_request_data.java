@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_log_request_data
  * Request a chunk of a log
@@ -57,6 +59,39 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   target_system = (int)dis.readUnsignedByte()&0x00FF;
   target_component = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  ofs = (int)buf.getInt(0)&0x00FFFFFFFF;
+  count = (int)buf.getInt(4)&0x00FFFFFFFF;
+  id = (int)buf.getShort(8)&0x00FFFF;
+  target_system = (int)buf.get(10)&0x00FF;
+  target_component = (int)buf.get(11)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  ofs = 0;
+  count = 0;
+  id = 0;
+  target_system = 0;
+  target_component = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_log_request_data msg = (msg_log_request_data)other;
+  copyHeader(msg);
+  ofs = msg.ofs;
+  count = msg.count;
+  id = msg.id;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -90,6 +125,31 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(ofs&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(count&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, id&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 24;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_LOG_REQUEST_DATA : " +   "  ofs="+ofs+  "  count="+count+  "  id="+id+  "  target_system="+target_system+  "  target_component="+target_component;}
 }
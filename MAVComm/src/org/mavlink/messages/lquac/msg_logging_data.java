@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_logging_data
  * A message containing logged data (see also MAV_CMD_LOGGING_START)
@@ -64,6 +66,46 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     data[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  sequence = (int)buf.getShort(0)&0x00FFFF;
+  target_system = (int)buf.get(2)&0x00FF;
+  target_component = (int)buf.get(3)&0x00FF;
+  length = (int)buf.get(4)&0x00FF;
+  first_message_offset = (int)buf.get(5)&0x00FF;
+  for (int i=0; i<249; i++) {
+    data[i] = (int)buf.get(6+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  sequence = 0;
+  target_system = 0;
+  target_component = 0;
+  length = 0;
+  first_message_offset = 0;
+  for (int i=0; i<249; i++) {
+    data[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_logging_data msg = (msg_logging_data)other;
+  copyHeader(msg);
+  sequence = msg.sequence;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  length = msg.length;
+  first_message_offset = msg.first_message_offset;
+  System.arraycopy(msg.data, 0, data, 0, 249);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -100,6 +142,34 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, sequence&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, length&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, first_message_offset&0x00FF, crc);
+  for (int i=0; i<249; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, data[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 267;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_LOGGING_DATA : " +   "  sequence="+sequence+  "  target_system="+target_system+  "  target_component="+target_component+  "  length="+length+  "  first_message_offset="+first_message_offset+  "  data="+data;}
 }
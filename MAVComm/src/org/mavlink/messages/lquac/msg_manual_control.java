@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_manual_control
  * This message provides an API for manually controlling the vehicle using standard joystick axes nomenclature, along with a joystick-like input device. Unused axes can be disabled an buttons are also transmit as boolean values of their
@@ -62,6 +64,42 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   buttons = (int)dis.readUnsignedShort()&0x00FFFF;
   target = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  x = (int)buf.getShort(0);
+  y = (int)buf.getShort(2);
+  z = (int)buf.getShort(4);
+  r = (int)buf.getShort(6);
+  buttons = (int)buf.getShort(8)&0x00FFFF;
+  target = (int)buf.get(10)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  x = 0;
+  y = 0;
+  z = 0;
+  r = 0;
+  buttons = 0;
+  target = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_manual_control msg = (msg_manual_control)other;
+  copyHeader(msg);
+  x = msg.x;
+  y = msg.y;
+  z = msg.z;
+  r = msg.r;
+  buttons = msg.buttons;
+  target = msg.target;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -96,6 +134,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, x&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, y&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, z&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, r&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, buttons&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 23;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_MANUAL_CONTROL : " +   "  x="+x+  "  y="+y+  "  z="+z+  "  r="+r+  "  buttons="+buttons+  "  target="+target;}
 }
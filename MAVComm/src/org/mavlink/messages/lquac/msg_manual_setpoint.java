@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_manual_setpoint
  * Setpoint in roll, pitch, yaw and thrust from the operator
@@ -67,6 +69,45 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   mode_switch = (int)dis.readUnsignedByte()&0x00FF;
   manual_override_switch = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  roll = (float)buf.getFloat(4);
+  pitch = (float)buf.getFloat(8);
+  yaw = (float)buf.getFloat(12);
+  thrust = (float)buf.getFloat(16);
+  mode_switch = (int)buf.get(20)&0x00FF;
+  manual_override_switch = (int)buf.get(21)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  roll = 0;
+  pitch = 0;
+  yaw = 0;
+  thrust = 0;
+  mode_switch = 0;
+  manual_override_switch = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_manual_setpoint msg = (msg_manual_setpoint)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  roll = msg.roll;
+  pitch = msg.pitch;
+  yaw = msg.yaw;
+  thrust = msg.thrust;
+  mode_switch = msg.mode_switch;
+  manual_override_switch = msg.manual_override_switch;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -102,6 +143,33 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, roll, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pitch, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yaw, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, thrust, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, mode_switch&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, manual_override_switch&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 34;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_MANUAL_SETPOINT : " +   "  time_boot_ms="+time_boot_ms+  "  roll="+roll+  "  pitch="+pitch+  "  yaw="+yaw+  "  thrust="+thrust+  "  mode_switch="+mode_switch+  "  manual_override_switch="+manual_override_switch;}
 }
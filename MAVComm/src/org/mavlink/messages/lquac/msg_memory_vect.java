@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_memory_vect
  * Send raw controller memory. The use of this message is discouraged for normal packets, but a quite efficient way for testing new messages and getting experimental debug output.
@@ -54,6 +56,40 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     value[i] = (int)dis.readByte();
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  address = (int)buf.getShort(0)&0x00FFFF;
+  ver = (int)buf.get(2)&0x00FF;
+  type = (int)buf.get(3)&0x00FF;
+  for (int i=0; i<32; i++) {
+    value[i] = (int)buf.get(4+i);
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  address = 0;
+  ver = 0;
+  type = 0;
+  for (int i=0; i<32; i++) {
+    value[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_memory_vect msg = (msg_memory_vect)other;
+  copyHeader(msg);
+  address = msg.address;
+  ver = msg.ver;
+  type = msg.type;
+  System.arraycopy(msg.value, 0, value, 0, 32);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -88,6 +124,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, address&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, ver&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, type&0x00FF, crc);
+  for (int i=0; i<32; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, value[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 48;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_MEMORY_VECT : " +   "  address="+address+  "  ver="+ver+  "  type="+type+  "  value="+value;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_msp_micro_grid
  * MSP MICRO GRID Data encoded in longs
@@ -79,6 +81,55 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   count = (int)dis.readInt()&0x00FFFFFFFF;
   status = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  tms = (long)buf.getLong(0);
+  for (int i=0; i<40; i++) {
+    data[i] = (int)buf.getInt(8+i*4);
+  }
+  cx = (float)buf.getFloat(168);
+  cy = (float)buf.getFloat(172);
+  cz = (float)buf.getFloat(176);
+  resolution = (float)buf.getFloat(180);
+  extension = (float)buf.getFloat(184);
+  count = (int)buf.getInt(188)&0x00FFFFFFFF;
+  status = (int)buf.get(192)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  tms = 0;
+  for (int i=0; i<40; i++) {
+    data[i] = 0;
+  }
+  cx = 0;
+  cy = 0;
+  cz = 0;
+  resolution = 0;
+  extension = 0;
+  count = 0;
+  status = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_msp_micro_grid msg = (msg_msp_micro_grid)other;
+  copyHeader(msg);
+  tms = msg.tms;
+  System.arraycopy(msg.data, 0, data, 0, 40);
+  cx = msg.cx;
+  cy = msg.cy;
+  cz = msg.cz;
+  resolution = msg.resolution;
+  extension = msg.extension;
+  count = msg.count;
+  status = msg.status;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -118,6 +169,37 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, tms, crc);
+  for (int i=0; i<40; i++) {
+    crc = MAVLinkBufferWriter.writeInt(dst, (int)(data[i]&0x00FFFFFFFF), crc);
+  }
+  crc = MAVLinkBufferWriter.writeFloat(dst, cx, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, cy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, cz, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, resolution, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, extension, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(count&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, status&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 205;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_MSP_MICRO_GRID : " +   "  tms="+tms+  "  data="+data+  "  cx="+cx+  "  cy="+cy+  "  cz="+cz+  "  resolution="+resolution+  "  extension="+extension+  "  count="+count+  "  status="+status;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_msp_micro_slam
  * MSP MICRO SLAM Data encoded in longs
@@ -77,6 +79,51 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   md = (float)dis.readFloat();
   wpcount = (int)dis.readInt()&0x00FFFFFFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  tms = (long)buf.getLong(0);
+  px = (float)buf.getFloat(8);
+  py = (float)buf.getFloat(12);
+  pz = (float)buf.getFloat(16);
+  pd = (float)buf.getFloat(20);
+  pp = (float)buf.getFloat(24);
+  pv = (float)buf.getFloat(28);
+  md = (float)buf.getFloat(32);
+  wpcount = (int)buf.getInt(36)&0x00FFFFFFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  tms = 0;
+  px = 0;
+  py = 0;
+  pz = 0;
+  pd = 0;
+  pp = 0;
+  pv = 0;
+  md = 0;
+  wpcount = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_msp_micro_slam msg = (msg_msp_micro_slam)other;
+  copyHeader(msg);
+  tms = msg.tms;
+  px = msg.px;
+  py = msg.py;
+  pz = msg.pz;
+  pd = msg.pd;
+  pp = msg.pp;
+  pv = msg.pv;
+  md = msg.md;
+  wpcount = msg.wpcount;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -114,6 +161,35 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, tms, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, px, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, py, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pz, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pd, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pp, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pv, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, md, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(wpcount&0x00FFFFFFFF), crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 52;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_MSP_MICRO_SLAM : " +   "  tms="+tms+  "  px="+px+  "  py="+py+  "  pz="+pz+  "  pd="+pd+  "  pp="+pp+  "  pv="+pv+  "  md="+md+  "  wpcount="+wpcount;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_msp_status
  * MSP Status message.
@@ -24,7 +26,7 @@ public class msg_msp_status extends MAVLinkMessage {
     messageType = MAVLINK_MSG_ID_MSP_STATUS;
     this.sysId = sysId;
     this.componentId = componentId;
-    payload_length = 59;
+    payload_length = 81;
 }
 
   /**
@@ -107,6 +109,30 @@ public class msg_msp_status extends MAVLinkMessage {
     }
     return result;
   }
+  /**
+   * Frames received with bad CRC
+   */
+  public long com_bad_crc;
+  /**
+   * Frames received with a payload longer than the message
+   */
+  public long com_bad_length;
+  /**
+   * Frames received with unknown msgId
+   */
+  public long com_unknown_id;
+  /**
+   * Frames lost according to the sequence numbers
+   */
+  public long com_seq_lost;
+  /**
+   * Received bytes per second
+   */
+  public long com_rx_bytes;
+  /**
+   * Received frames per second
+   */
+  public int com_rx_rate;
 /**
  * Decode message with raw data
  */
@@ -127,12 +153,98 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   for (int i=0; i<10; i++) {
     arch[i] = (char)dis.readByte();
   }
+  com_bad_crc = (int)dis.readInt()&0x00FFFFFFFF;
+  com_bad_length = (int)dis.readInt()&0x00FFFFFFFF;
+  com_unknown_id = (int)dis.readInt()&0x00FFFFFFFF;
+  com_seq_lost = (int)dis.readInt()&0x00FFFFFFFF;
+  com_rx_bytes = (int)dis.readInt()&0x00FFFFFFFF;
+  com_rx_rate = (int)dis.readUnsignedShort()&0x00FFFF;
+}
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  uptime_ms = (long)buf.getLong(0);
+  unix_time_us = (long)buf.getLong(8);
+  com_error = (int)buf.getInt(16)&0x00FFFFFFFF;
+  status = (int)buf.getInt(20)&0x00FFFFFFFF;
+  autopilot_mode = (int)buf.getInt(24)&0x00FFFFFFFF;
+  load = (int)buf.get(28)&0x00FF;
+  memory = (int)buf.get(29)&0x00FF;
+  threads = (int)buf.get(30)&0x00FF;
+  wifi_quality = (int)buf.get(31)&0x00FF;
+  cpu_temp = (int)buf.get(32)&0x00FF;
+  for (int i=0; i<16; i++) {
+    version[i] = (char)buf.get(33+i);
+  }
+  for (int i=0; i<10; i++) {
+    arch[i] = (char)buf.get(49+i);
+  }
+  com_bad_crc = (int)buf.getInt(59)&0x00FFFFFFFF;
+  com_bad_length = (int)buf.getInt(63)&0x00FFFFFFFF;
+  com_unknown_id = (int)buf.getInt(67)&0x00FFFFFFFF;
+  com_seq_lost = (int)buf.getInt(71)&0x00FFFFFFFF;
+  com_rx_bytes = (int)buf.getInt(75)&0x00FFFFFFFF;
+  com_rx_rate = (int)buf.getShort(79)&0x00FFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  uptime_ms = 0;
+  unix_time_us = 0;
+  com_error = 0;
+  status = 0;
+  autopilot_mode = 0;
+  load = 0;
+  memory = 0;
+  threads = 0;
+  wifi_quality = 0;
+  cpu_temp = 0;
+  for (int i=0; i<16; i++) {
+    version[i] = 0;
+  }
+  for (int i=0; i<10; i++) {
+    arch[i] = 0;
+  }
+  com_bad_crc = 0;
+  com_bad_length = 0;
+  com_unknown_id = 0;
+  com_seq_lost = 0;
+  com_rx_bytes = 0;
+  com_rx_rate = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_msp_status msg = (msg_msp_status)other;
+  copyHeader(msg);
+  uptime_ms = msg.uptime_ms;
+  unix_time_us = msg.unix_time_us;
+  com_error = msg.com_error;
+  status = msg.status;
+  autopilot_mode = msg.autopilot_mode;
+  load = msg.load;
+  memory = msg.memory;
+  threads = msg.threads;
+  wifi_quality = msg.wifi_quality;
+  cpu_temp = msg.cpu_temp;
+  System.arraycopy(msg.version, 0, version, 0, 16);
+  System.arraycopy(msg.arch, 0, arch, 0, 10);
+  com_bad_crc = msg.com_bad_crc;
+  com_bad_length = msg.com_bad_length;
+  com_unknown_id = msg.com_unknown_id;
+  com_seq_lost = msg.com_seq_lost;
+  com_rx_bytes = msg.com_rx_bytes;
+  com_rx_rate = msg.com_rx_rate;
 }
 /**
  * Encode message with raw data and other informations
  */
 public byte[] encode() throws IOException {
-  byte[] buffer = new byte[12+59];
+  byte[] buffer = new byte[12+81];
    LittleEndianDataOutputStream dos = new LittleEndianDataOutputStream(new ByteArrayOutputStream());
   dos.writeByte((byte)0xFD);
   dos.writeByte(payload_length & 0x00FF);
@@ -160,18 +272,66 @@ public byte[] encode() throws IOException {
   for (int i=0; i<10; i++) {
     dos.writeByte(arch[i]);
   }
+  dos.writeInt((int)(com_bad_crc&0x00FFFFFFFF));
+  dos.writeInt((int)(com_bad_length&0x00FFFFFFFF));
+  dos.writeInt((int)(com_unknown_id&0x00FFFFFFFF));
+  dos.writeInt((int)(com_seq_lost&0x00FFFFFFFF));
+  dos.writeInt((int)(com_rx_bytes&0x00FFFFFFFF));
+  dos.writeShort(com_rx_rate&0x00FFFF);
   dos.flush();
   byte[] tmp = dos.toByteArray();
   for (int b=0; b<tmp.length; b++) buffer[b]=tmp[b];
-  int crc = MAVLinkCRC.crc_calculate_encode(buffer, 59);
+  int crc = MAVLinkCRC.crc_calculate_encode(buffer, 81);
   crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
   byte crcl = (byte) (crc & 0x00FF);
   byte crch = (byte) ((crc >> 8) & 0x00FF);
-  buffer[69] = crcl;
-  buffer[70] = crch;
+  buffer[91] = crcl;
+  buffer[92] = crch;
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, uptime_ms, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, unix_time_us, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(com_error&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(status&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(autopilot_mode&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, load&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, memory&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, threads&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, wifi_quality&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, cpu_temp&0x00FF, crc);
+  for (int i=0; i<16; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, version[i], crc);
+  }
+  for (int i=0; i<10; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, arch[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(com_bad_crc&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(com_bad_length&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(com_unknown_id&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(com_seq_lost&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(com_rx_bytes&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, com_rx_rate&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 93;
+}
 public String toString() {
-return "MAVLINK_MSG_ID_MSP_STATUS : " +   "  uptime_ms="+uptime_ms+  "  unix_time_us="+unix_time_us+  "  com_error="+com_error+  "  status="+status+  "  autopilot_mode="+autopilot_mode+  "  load="+load+  "  memory="+memory+  "  threads="+threads+  "  wifi_quality="+wifi_quality+  "  cpu_temp="+cpu_temp+  "  version="+getVersion()+  "  arch="+getArch();}
+return "MAVLINK_MSG_ID_MSP_STATUS : " +   "  uptime_ms="+uptime_ms+  "  unix_time_us="+unix_time_us+  "  com_error="+com_error+  "  status="+status+  "  autopilot_mode="+autopilot_mode+  "  load="+load+  "  memory="+memory+  "  threads="+threads+  "  wifi_quality="+wifi_quality+  "  cpu_temp="+cpu_temp+  "  version="+getVersion()+  "  arch="+getArch()+  "  com_bad_crc="+com_bad_crc+  "  com_bad_length="+com_bad_length+  "  com_unknown_id="+com_unknown_id+  "  com_seq_lost="+com_seq_lost+  "  com_rx_bytes="+com_rx_bytes+  "  com_rx_rate="+com_rx_rate;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_msp_vision
  * MSP Vision
@@ -102,6 +104,66 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   errors = (int)dis.readInt()&0x00FFFFFFFF;
   quality = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  tms = (long)buf.getLong(0);
+  x = (float)buf.getFloat(8);
+  y = (float)buf.getFloat(12);
+  z = (float)buf.getFloat(16);
+  vx = (float)buf.getFloat(20);
+  vy = (float)buf.getFloat(24);
+  vz = (float)buf.getFloat(28);
+  h = (float)buf.getFloat(32);
+  p = (float)buf.getFloat(36);
+  r = (float)buf.getFloat(40);
+  fps = (float)buf.getFloat(44);
+  flags = (int)buf.getInt(48)&0x00FFFFFFFF;
+  errors = (int)buf.getInt(52)&0x00FFFFFFFF;
+  quality = (int)buf.get(56)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  tms = 0;
+  x = 0;
+  y = 0;
+  z = 0;
+  vx = 0;
+  vy = 0;
+  vz = 0;
+  h = 0;
+  p = 0;
+  r = 0;
+  fps = 0;
+  flags = 0;
+  errors = 0;
+  quality = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_msp_vision msg = (msg_msp_vision)other;
+  copyHeader(msg);
+  tms = msg.tms;
+  x = msg.x;
+  y = msg.y;
+  z = msg.z;
+  vx = msg.vx;
+  vy = msg.vy;
+  vz = msg.vz;
+  h = msg.h;
+  p = msg.p;
+  r = msg.r;
+  fps = msg.fps;
+  flags = msg.flags;
+  errors = msg.errors;
+  quality = msg.quality;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -144,6 +206,40 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, tms, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vx, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vz, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, h, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, p, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, r, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, fps, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(flags&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(errors&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, quality&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 69;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_MSP_VISION : " +   "  tms="+tms+  "  x="+x+  "  y="+y+  "  z="+z+  "  vx="+vx+  "  vy="+vy+  "  vz="+vz+  "  h="+h+  "  p="+p+  "  r="+r+  "  fps="+fps+  "  flags="+flags+  "  errors="+errors+  "  quality="+quality;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_nav_controller_output
  * The state of the fixed wing navigation and position controller.
@@ -72,6 +74,48 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   target_bearing = (int)dis.readShort();
   wp_dist = (int)dis.readUnsignedShort()&0x00FFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  nav_roll = (float)buf.getFloat(0);
+  nav_pitch = (float)buf.getFloat(4);
+  alt_error = (float)buf.getFloat(8);
+  aspd_error = (float)buf.getFloat(12);
+  xtrack_error = (float)buf.getFloat(16);
+  nav_bearing = (int)buf.getShort(20);
+  target_bearing = (int)buf.getShort(22);
+  wp_dist = (int)buf.getShort(24)&0x00FFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  nav_roll = 0;
+  nav_pitch = 0;
+  alt_error = 0;
+  aspd_error = 0;
+  xtrack_error = 0;
+  nav_bearing = 0;
+  target_bearing = 0;
+  wp_dist = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_nav_controller_output msg = (msg_nav_controller_output)other;
+  copyHeader(msg);
+  nav_roll = msg.nav_roll;
+  nav_pitch = msg.nav_pitch;
+  alt_error = msg.alt_error;
+  aspd_error = msg.aspd_error;
+  xtrack_error = msg.xtrack_error;
+  nav_bearing = msg.nav_bearing;
+  target_bearing = msg.target_bearing;
+  wp_dist = msg.wp_dist;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -108,6 +152,34 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, nav_roll, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, nav_pitch, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, alt_error, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, aspd_error, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, xtrack_error, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, nav_bearing&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, target_bearing&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, wp_dist&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 38;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_NAV_CONTROLLER_OUTPUT : " +   "  nav_roll="+nav_roll+  "  nav_pitch="+nav_pitch+  "  alt_error="+alt_error+  "  aspd_error="+aspd_error+  "  xtrack_error="+xtrack_error+  "  nav_bearing="+nav_bearing+  "  target_bearing="+target_bearing+  "  wp_dist="+wp_dist;}
 }
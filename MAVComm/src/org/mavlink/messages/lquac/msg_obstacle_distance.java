@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_obstacle_distance
  * Obstacle distances in front of the sensor, starting from the left in increment degrees to the right
@@ -64,6 +66,46 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   sensor_type = (int)dis.readUnsignedByte()&0x00FF;
   increment = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  for (int i=0; i<72; i++) {
+    distances[i] = (int)buf.getShort(8+i*2)&0x00FFFF;
+  }
+  min_distance = (int)buf.getShort(152)&0x00FFFF;
+  max_distance = (int)buf.getShort(154)&0x00FFFF;
+  sensor_type = (int)buf.get(156)&0x00FF;
+  increment = (int)buf.get(157)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  for (int i=0; i<72; i++) {
+    distances[i] = 0;
+  }
+  min_distance = 0;
+  max_distance = 0;
+  sensor_type = 0;
+  increment = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_obstacle_distance msg = (msg_obstacle_distance)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  System.arraycopy(msg.distances, 0, distances, 0, 72);
+  min_distance = msg.min_distance;
+  max_distance = msg.max_distance;
+  sensor_type = msg.sensor_type;
+  increment = msg.increment;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -100,6 +142,34 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  for (int i=0; i<72; i++) {
+    crc = MAVLinkBufferWriter.writeShort(dst, distances[i]&0x00FFFF, crc);
+  }
+  crc = MAVLinkBufferWriter.writeShort(dst, min_distance&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, max_distance&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sensor_type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, increment&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 170;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_OBSTACLE_DISTANCE : " +   "  time_usec="+time_usec+  "  distances="+distances+  "  min_distance="+min_distance+  "  max_distance="+max_distance+  "  sensor_type="+sensor_type+  "  increment="+increment;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_odometry
  * Odometry message to communicate odometry information with an external interface. Fits ROS REP 147 standard for aerial vehicles (http://www.ros.org/reps/rep-0147.html).
@@ -113,6 +115,81 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   frame_id = (int)dis.readUnsignedByte()&0x00FF;
   child_frame_id = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  x = (float)buf.getFloat(8);
+  y = (float)buf.getFloat(12);
+  z = (float)buf.getFloat(16);
+  for (int i=0; i<4; i++) {
+    q[i] = (float)buf.getFloat(20+i*4);
+  }
+  vx = (float)buf.getFloat(36);
+  vy = (float)buf.getFloat(40);
+  vz = (float)buf.getFloat(44);
+  rollspeed = (float)buf.getFloat(48);
+  pitchspeed = (float)buf.getFloat(52);
+  yawspeed = (float)buf.getFloat(56);
+  for (int i=0; i<21; i++) {
+    pose_covariance[i] = (float)buf.getFloat(60+i*4);
+  }
+  for (int i=0; i<21; i++) {
+    twist_covariance[i] = (float)buf.getFloat(144+i*4);
+  }
+  frame_id = (int)buf.get(228)&0x00FF;
+  child_frame_id = (int)buf.get(229)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  x = 0;
+  y = 0;
+  z = 0;
+  for (int i=0; i<4; i++) {
+    q[i] = 0;
+  }
+  vx = 0;
+  vy = 0;
+  vz = 0;
+  rollspeed = 0;
+  pitchspeed = 0;
+  yawspeed = 0;
+  for (int i=0; i<21; i++) {
+    pose_covariance[i] = 0;
+  }
+  for (int i=0; i<21; i++) {
+    twist_covariance[i] = 0;
+  }
+  frame_id = 0;
+  child_frame_id = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_odometry msg = (msg_odometry)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  x = msg.x;
+  y = msg.y;
+  z = msg.z;
+  System.arraycopy(msg.q, 0, q, 0, 4);
+  vx = msg.vx;
+  vy = msg.vy;
+  vz = msg.vz;
+  rollspeed = msg.rollspeed;
+  pitchspeed = msg.pitchspeed;
+  yawspeed = msg.yawspeed;
+  System.arraycopy(msg.pose_covariance, 0, pose_covariance, 0, 21);
+  System.arraycopy(msg.twist_covariance, 0, twist_covariance, 0, 21);
+  frame_id = msg.frame_id;
+  child_frame_id = msg.child_frame_id;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -162,6 +239,47 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z, crc);
+  for (int i=0; i<4; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, q[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeFloat(dst, vx, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vz, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, rollspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pitchspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yawspeed, crc);
+  for (int i=0; i<21; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, pose_covariance[i], crc);
+  }
+  for (int i=0; i<21; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, twist_covariance[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, frame_id&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, child_frame_id&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 242;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_ODOMETRY : " +   "  time_usec="+time_usec+  "  x="+x+  "  y="+y+  "  z="+z+  "  q="+q+  "  vx="+vx+  "  vy="+vy+  "  vz="+vz+  "  rollspeed="+rollspeed+  "  pitchspeed="+pitchspeed+  "  yawspeed="+yawspeed+  "  pose_covariance="+pose_covariance+  "  twist_covariance="+twist_covariance+  "  frame_id="+frame_id+  "  child_frame_id="+child_frame_id;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_optical_flow
  * Optical flow from a flow sensor (e.g. optical mouse sensor)
@@ -82,6 +84,54 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   flow_rate_x = (float)dis.readFloat();
   flow_rate_y = (float)dis.readFloat();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  flow_comp_m_x = (float)buf.getFloat(8);
+  flow_comp_m_y = (float)buf.getFloat(12);
+  ground_distance = (float)buf.getFloat(16);
+  flow_x = (int)buf.getShort(20);
+  flow_y = (int)buf.getShort(22);
+  sensor_id = (int)buf.get(24)&0x00FF;
+  quality = (int)buf.get(25)&0x00FF;
+  flow_rate_x = (float)buf.getFloat(26);
+  flow_rate_y = (float)buf.getFloat(30);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  flow_comp_m_x = 0;
+  flow_comp_m_y = 0;
+  ground_distance = 0;
+  flow_x = 0;
+  flow_y = 0;
+  sensor_id = 0;
+  quality = 0;
+  flow_rate_x = 0;
+  flow_rate_y = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_optical_flow msg = (msg_optical_flow)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  flow_comp_m_x = msg.flow_comp_m_x;
+  flow_comp_m_y = msg.flow_comp_m_y;
+  ground_distance = msg.ground_distance;
+  flow_x = msg.flow_x;
+  flow_y = msg.flow_y;
+  sensor_id = msg.sensor_id;
+  quality = msg.quality;
+  flow_rate_x = msg.flow_rate_x;
+  flow_rate_y = msg.flow_rate_y;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -120,6 +170,36 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, flow_comp_m_x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, flow_comp_m_y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, ground_distance, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, flow_x&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, flow_y&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sensor_id&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, quality&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, flow_rate_x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, flow_rate_y, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 46;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_OPTICAL_FLOW : " +   "  time_usec="+time_usec+  "  flow_comp_m_x="+flow_comp_m_x+  "  flow_comp_m_y="+flow_comp_m_y+  "  ground_distance="+ground_distance+  "  flow_x="+flow_x+  "  flow_y="+flow_y+  "  sensor_id="+sensor_id+  "  quality="+quality+  "  flow_rate_x="+flow_rate_x+  "  flow_rate_y="+flow_rate_y;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_optical_flow_rad
  * Optical flow from an angular rate flow sensor (e.g. PX4FLOW or mouse sensor)
@@ -92,6 +94,60 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   sensor_id = (int)dis.readUnsignedByte()&0x00FF;
   quality = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  integration_time_us = (int)buf.getInt(8)&0x00FFFFFFFF;
+  integrated_x = (float)buf.getFloat(12);
+  integrated_y = (float)buf.getFloat(16);
+  integrated_xgyro = (float)buf.getFloat(20);
+  integrated_ygyro = (float)buf.getFloat(24);
+  integrated_zgyro = (float)buf.getFloat(28);
+  time_delta_distance_us = (int)buf.getInt(32)&0x00FFFFFFFF;
+  distance = (float)buf.getFloat(36);
+  temperature = (int)buf.getShort(40);
+  sensor_id = (int)buf.get(42)&0x00FF;
+  quality = (int)buf.get(43)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  integration_time_us = 0;
+  integrated_x = 0;
+  integrated_y = 0;
+  integrated_xgyro = 0;
+  integrated_ygyro = 0;
+  integrated_zgyro = 0;
+  time_delta_distance_us = 0;
+  distance = 0;
+  temperature = 0;
+  sensor_id = 0;
+  quality = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_optical_flow_rad msg = (msg_optical_flow_rad)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  integration_time_us = msg.integration_time_us;
+  integrated_x = msg.integrated_x;
+  integrated_y = msg.integrated_y;
+  integrated_xgyro = msg.integrated_xgyro;
+  integrated_ygyro = msg.integrated_ygyro;
+  integrated_zgyro = msg.integrated_zgyro;
+  time_delta_distance_us = msg.time_delta_distance_us;
+  distance = msg.distance;
+  temperature = msg.temperature;
+  sensor_id = msg.sensor_id;
+  quality = msg.quality;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -132,6 +188,38 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(integration_time_us&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, integrated_x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, integrated_y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, integrated_xgyro, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, integrated_ygyro, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, integrated_zgyro, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_delta_distance_us&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, distance, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, temperature&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sensor_id&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, quality&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 56;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_OPTICAL_FLOW_RAD : " +   "  time_usec="+time_usec+  "  integration_time_us="+integration_time_us+  "  integrated_x="+integrated_x+  "  integrated_y="+integrated_y+  "  integrated_xgyro="+integrated_xgyro+  "  integrated_ygyro="+integrated_ygyro+  "  integrated_zgyro="+integrated_zgyro+  "  time_delta_distance_us="+time_delta_distance_us+  "  distance="+distance+  "  temperature="+temperature+  "  sensor_id="+sensor_id+  "  quality="+quality;}
 }
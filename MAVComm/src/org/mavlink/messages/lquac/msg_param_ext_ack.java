@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_param_ext_ack
  * Response from a PARAM_EXT_SET message.
@@ -88,6 +90,44 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   param_type = (int)dis.readUnsignedByte()&0x00FF;
   param_result = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  for (int i=0; i<16; i++) {
+    param_id[i] = (char)buf.get(0+i);
+  }
+  for (int i=0; i<128; i++) {
+    param_value[i] = (char)buf.get(16+i);
+  }
+  param_type = (int)buf.get(144)&0x00FF;
+  param_result = (int)buf.get(145)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  for (int i=0; i<16; i++) {
+    param_id[i] = 0;
+  }
+  for (int i=0; i<128; i++) {
+    param_value[i] = 0;
+  }
+  param_type = 0;
+  param_result = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_param_ext_ack msg = (msg_param_ext_ack)other;
+  copyHeader(msg);
+  System.arraycopy(msg.param_id, 0, param_id, 0, 16);
+  System.arraycopy(msg.param_value, 0, param_value, 0, 128);
+  param_type = msg.param_type;
+  param_result = msg.param_result;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -124,6 +164,34 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  for (int i=0; i<16; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, param_id[i], crc);
+  }
+  for (int i=0; i<128; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, param_value[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, param_type&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, param_result&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 158;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_PARAM_EXT_ACK : " +   "  param_id="+getParam_id()+  "  param_value="+getParam_value()+  "  param_type="+param_type+  "  param_result="+param_result;}
 }
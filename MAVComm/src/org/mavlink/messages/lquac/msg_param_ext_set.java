@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_param_ext_set
  * Set a parameter value. In order to deal with message loss (and retransmission of PARAM_EXT_SET), when setting a parameter value and the new value is the same as the current value, you will immediately get a PARAM_ACK_ACCEPTED response. If the current state is PARAM_ACK_IN_PROGRESS, you will accordingly receive a PARAM_ACK_IN_PROGRESS in response.
@@ -93,6 +95,47 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   }
   param_type = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  target_system = (int)buf.get(0)&0x00FF;
+  target_component = (int)buf.get(1)&0x00FF;
+  for (int i=0; i<16; i++) {
+    param_id[i] = (char)buf.get(2+i);
+  }
+  for (int i=0; i<128; i++) {
+    param_value[i] = (char)buf.get(18+i);
+  }
+  param_type = (int)buf.get(146)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  target_system = 0;
+  target_component = 0;
+  for (int i=0; i<16; i++) {
+    param_id[i] = 0;
+  }
+  for (int i=0; i<128; i++) {
+    param_value[i] = 0;
+  }
+  param_type = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_param_ext_set msg = (msg_param_ext_set)other;
+  copyHeader(msg);
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  System.arraycopy(msg.param_id, 0, param_id, 0, 16);
+  System.arraycopy(msg.param_value, 0, param_value, 0, 128);
+  param_type = msg.param_type;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -130,6 +173,35 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  for (int i=0; i<16; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, param_id[i], crc);
+  }
+  for (int i=0; i<128; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, param_value[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, param_type&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 159;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_PARAM_EXT_SET : " +   "  target_system="+target_system+  "  target_component="+target_component+  "  param_id="+getParam_id()+  "  param_value="+getParam_value()+  "  param_type="+param_type;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_param_ext_value
  * Emit the value of a parameter. The inclusion of param_count and param_index in the message allows the recipient to keep track of received parameters and allows them to re-request missing parameters after a loss or timeout.
@@ -93,6 +95,47 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   }
   param_type = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  param_count = (int)buf.getShort(0)&0x00FFFF;
+  param_index = (int)buf.getShort(2)&0x00FFFF;
+  for (int i=0; i<16; i++) {
+    param_id[i] = (char)buf.get(4+i);
+  }
+  for (int i=0; i<128; i++) {
+    param_value[i] = (char)buf.get(20+i);
+  }
+  param_type = (int)buf.get(148)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  param_count = 0;
+  param_index = 0;
+  for (int i=0; i<16; i++) {
+    param_id[i] = 0;
+  }
+  for (int i=0; i<128; i++) {
+    param_value[i] = 0;
+  }
+  param_type = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_param_ext_value msg = (msg_param_ext_value)other;
+  copyHeader(msg);
+  param_count = msg.param_count;
+  param_index = msg.param_index;
+  System.arraycopy(msg.param_id, 0, param_id, 0, 16);
+  System.arraycopy(msg.param_value, 0, param_value, 0, 128);
+  param_type = msg.param_type;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -130,6 +173,35 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, param_count&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, param_index&0x00FFFF, crc);
+  for (int i=0; i<16; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, param_id[i], crc);
+  }
+  for (int i=0; i<128; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, param_value[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, param_type&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 161;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_PARAM_EXT_VALUE : " +   "  param_count="+param_count+  "  param_index="+param_index+  "  param_id="+getParam_id()+  "  param_value="+getParam_value()+  "  param_type="+param_type;}
 }
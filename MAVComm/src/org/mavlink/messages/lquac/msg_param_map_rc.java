@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_param_map_rc
  * Bind a RC channel to a parameter. The parameter should change according to the RC channel value.
@@ -95,6 +97,55 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   }
   parameter_rc_channel_index = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  param_value0 = (float)buf.getFloat(0);
+  scale = (float)buf.getFloat(4);
+  param_value_min = (float)buf.getFloat(8);
+  param_value_max = (float)buf.getFloat(12);
+  param_index = (int)buf.getShort(16);
+  target_system = (int)buf.get(18)&0x00FF;
+  target_component = (int)buf.get(19)&0x00FF;
+  for (int i=0; i<16; i++) {
+    param_id[i] = (char)buf.get(20+i);
+  }
+  parameter_rc_channel_index = (int)buf.get(36)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  param_value0 = 0;
+  scale = 0;
+  param_value_min = 0;
+  param_value_max = 0;
+  param_index = 0;
+  target_system = 0;
+  target_component = 0;
+  for (int i=0; i<16; i++) {
+    param_id[i] = 0;
+  }
+  parameter_rc_channel_index = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_param_map_rc msg = (msg_param_map_rc)other;
+  copyHeader(msg);
+  param_value0 = msg.param_value0;
+  scale = msg.scale;
+  param_value_min = msg.param_value_min;
+  param_value_max = msg.param_value_max;
+  param_index = msg.param_index;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  System.arraycopy(msg.param_id, 0, param_id, 0, 16);
+  parameter_rc_channel_index = msg.parameter_rc_channel_index;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -134,6 +185,37 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param_value0, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, scale, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param_value_min, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, param_value_max, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, param_index&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  for (int i=0; i<16; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, param_id[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, parameter_rc_channel_index&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 49;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_PARAM_MAP_RC : " +   "  param_value0="+param_value0+  "  scale="+scale+  "  param_value_min="+param_value_min+  "  param_value_max="+param_value_max+  "  param_index="+param_index+  "  target_system="+target_system+  "  target_component="+target_component+  "  param_id="+getParam_id()+  "  parameter_rc_channel_index="+parameter_rc_channel_index;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_position_target_global_int
  * Reports the current commanded vehicle position, velocity, and acceleration as specified by the autopilot. This should match the commands sent in SET_POSITION_TARGET_GLOBAL_INT if the vehicle is being controlled this way.
@@ -102,6 +104,66 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   type_mask = (int)dis.readUnsignedShort()&0x00FFFF;
   coordinate_frame = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  lat_int = (int)buf.getInt(4);
+  lon_int = (int)buf.getInt(8);
+  alt = (float)buf.getFloat(12);
+  vx = (float)buf.getFloat(16);
+  vy = (float)buf.getFloat(20);
+  vz = (float)buf.getFloat(24);
+  afx = (float)buf.getFloat(28);
+  afy = (float)buf.getFloat(32);
+  afz = (float)buf.getFloat(36);
+  yaw = (float)buf.getFloat(40);
+  yaw_rate = (float)buf.getFloat(44);
+  type_mask = (int)buf.getShort(48)&0x00FFFF;
+  coordinate_frame = (int)buf.get(50)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  lat_int = 0;
+  lon_int = 0;
+  alt = 0;
+  vx = 0;
+  vy = 0;
+  vz = 0;
+  afx = 0;
+  afy = 0;
+  afz = 0;
+  yaw = 0;
+  yaw_rate = 0;
+  type_mask = 0;
+  coordinate_frame = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_position_target_global_int msg = (msg_position_target_global_int)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  lat_int = msg.lat_int;
+  lon_int = msg.lon_int;
+  alt = msg.alt;
+  vx = msg.vx;
+  vy = msg.vy;
+  vz = msg.vz;
+  afx = msg.afx;
+  afy = msg.afy;
+  afz = msg.afz;
+  yaw = msg.yaw;
+  yaw_rate = msg.yaw_rate;
+  type_mask = msg.type_mask;
+  coordinate_frame = msg.coordinate_frame;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -144,6 +206,40 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lat_int&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lon_int&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, alt, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vx, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vz, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, afx, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, afy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, afz, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yaw, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yaw_rate, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, type_mask&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, coordinate_frame&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 63;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_POSITION_TARGET_GLOBAL_INT : " +   "  time_boot_ms="+time_boot_ms+  "  lat_int="+lat_int+  "  lon_int="+lon_int+  "  alt="+alt+  "  vx="+vx+  "  vy="+vy+  "  vz="+vz+  "  afx="+afx+  "  afy="+afy+  "  afz="+afz+  "  yaw="+yaw+  "  yaw_rate="+yaw_rate+  "  type_mask="+type_mask+  "  coordinate_frame="+coordinate_frame;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_protocol_version
  * Version and capability of protocol version. This message is the response to REQUEST_PROTOCOL_VERSION and is used as part of the handshaking to establish which MAVLink version should be used on the network. Every node should respond to REQUEST_PROTOCOL_VERSION to enable the handshaking. Library implementers should consider adding this into the default decoding state machine to allow the protocol core to respond directly.
@@ -61,6 +63,47 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     library_version_hash[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  version = (int)buf.getShort(0)&0x00FFFF;
+  min_version = (int)buf.getShort(2)&0x00FFFF;
+  max_version = (int)buf.getShort(4)&0x00FFFF;
+  for (int i=0; i<8; i++) {
+    spec_version_hash[i] = (int)buf.get(6+i)&0x00FF;
+  }
+  for (int i=0; i<8; i++) {
+    library_version_hash[i] = (int)buf.get(14+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  version = 0;
+  min_version = 0;
+  max_version = 0;
+  for (int i=0; i<8; i++) {
+    spec_version_hash[i] = 0;
+  }
+  for (int i=0; i<8; i++) {
+    library_version_hash[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_protocol_version msg = (msg_protocol_version)other;
+  copyHeader(msg);
+  version = msg.version;
+  min_version = msg.min_version;
+  max_version = msg.max_version;
+  System.arraycopy(msg.spec_version_hash, 0, spec_version_hash, 0, 8);
+  System.arraycopy(msg.library_version_hash, 0, library_version_hash, 0, 8);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -98,6 +141,35 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, version&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, min_version&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, max_version&0x00FFFF, crc);
+  for (int i=0; i<8; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, spec_version_hash[i]&0x00FF, crc);
+  }
+  for (int i=0; i<8; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, library_version_hash[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 34;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_PROTOCOL_VERSION : " +   "  version="+version+  "  min_version="+min_version+  "  max_version="+max_version+  "  spec_version_hash="+spec_version_hash+  "  library_version_hash="+library_version_hash;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_radio_status
  * Status generated by radio and injected into MAVLink stream.
@@ -67,6 +69,45 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   noise = (int)dis.readUnsignedByte()&0x00FF;
   remnoise = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  rxerrors = (int)buf.getShort(0)&0x00FFFF;
+  fixed = (int)buf.getShort(2)&0x00FFFF;
+  rssi = (int)buf.get(4)&0x00FF;
+  remrssi = (int)buf.get(5)&0x00FF;
+  txbuf = (int)buf.get(6)&0x00FF;
+  noise = (int)buf.get(7)&0x00FF;
+  remnoise = (int)buf.get(8)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  rxerrors = 0;
+  fixed = 0;
+  rssi = 0;
+  remrssi = 0;
+  txbuf = 0;
+  noise = 0;
+  remnoise = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_radio_status msg = (msg_radio_status)other;
+  copyHeader(msg);
+  rxerrors = msg.rxerrors;
+  fixed = msg.fixed;
+  rssi = msg.rssi;
+  remrssi = msg.remrssi;
+  txbuf = msg.txbuf;
+  noise = msg.noise;
+  remnoise = msg.remnoise;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -102,6 +143,33 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, rxerrors&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, fixed&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, rssi&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, remrssi&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, txbuf&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, noise&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, remnoise&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 21;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_RADIO_STATUS : " +   "  rxerrors="+rxerrors+  "  fixed="+fixed+  "  rssi="+rssi+  "  remrssi="+remrssi+  "  txbuf="+txbuf+  "  noise="+noise+  "  remnoise="+remnoise;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_raw_pressure
  * The RAW pressure readings for the typical setup of one absolute pressure and one differential pressure sensor. The sensor values should be the raw, UNSCALED ADC values.
@@ -57,6 +59,39 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   press_diff2 = (int)dis.readShort();
   temperature = (int)dis.readShort();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  press_abs = (int)buf.getShort(8);
+  press_diff1 = (int)buf.getShort(10);
+  press_diff2 = (int)buf.getShort(12);
+  temperature = (int)buf.getShort(14);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  press_abs = 0;
+  press_diff1 = 0;
+  press_diff2 = 0;
+  temperature = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_raw_pressure msg = (msg_raw_pressure)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  press_abs = msg.press_abs;
+  press_diff1 = msg.press_diff1;
+  press_diff2 = msg.press_diff2;
+  temperature = msg.temperature;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -90,6 +125,31 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, press_abs&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, press_diff1&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, press_diff2&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, temperature&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 28;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_RAW_PRESSURE : " +   "  time_usec="+time_usec+  "  press_abs="+press_abs+  "  press_diff1="+press_diff1+  "  press_diff2="+press_diff2+  "  temperature="+temperature;}
 }
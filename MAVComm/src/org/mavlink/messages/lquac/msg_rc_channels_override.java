@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_rc_channels_override
  * The RAW values of the RC channels sent to the MAV to override info received from the RC radio. A value of UINT16_MAX means no change to that channel. A value of 0 means control of that channel should be released back to the RC radio. The standard PPM modulation is as follows: 1000 microseconds: 0%, 2000 microseconds: 100%. Individual receivers/transmitters might violate this specification.
@@ -132,6 +134,84 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   chan17_raw = (int)dis.readUnsignedShort()&0x00FFFF;
   chan18_raw = (int)dis.readUnsignedShort()&0x00FFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  chan1_raw = (int)buf.getShort(0)&0x00FFFF;
+  chan2_raw = (int)buf.getShort(2)&0x00FFFF;
+  chan3_raw = (int)buf.getShort(4)&0x00FFFF;
+  chan4_raw = (int)buf.getShort(6)&0x00FFFF;
+  chan5_raw = (int)buf.getShort(8)&0x00FFFF;
+  chan6_raw = (int)buf.getShort(10)&0x00FFFF;
+  chan7_raw = (int)buf.getShort(12)&0x00FFFF;
+  chan8_raw = (int)buf.getShort(14)&0x00FFFF;
+  target_system = (int)buf.get(16)&0x00FF;
+  target_component = (int)buf.get(17)&0x00FF;
+  chan9_raw = (int)buf.getShort(18)&0x00FFFF;
+  chan10_raw = (int)buf.getShort(20)&0x00FFFF;
+  chan11_raw = (int)buf.getShort(22)&0x00FFFF;
+  chan12_raw = (int)buf.getShort(24)&0x00FFFF;
+  chan13_raw = (int)buf.getShort(26)&0x00FFFF;
+  chan14_raw = (int)buf.getShort(28)&0x00FFFF;
+  chan15_raw = (int)buf.getShort(30)&0x00FFFF;
+  chan16_raw = (int)buf.getShort(32)&0x00FFFF;
+  chan17_raw = (int)buf.getShort(34)&0x00FFFF;
+  chan18_raw = (int)buf.getShort(36)&0x00FFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  chan1_raw = 0;
+  chan2_raw = 0;
+  chan3_raw = 0;
+  chan4_raw = 0;
+  chan5_raw = 0;
+  chan6_raw = 0;
+  chan7_raw = 0;
+  chan8_raw = 0;
+  target_system = 0;
+  target_component = 0;
+  chan9_raw = 0;
+  chan10_raw = 0;
+  chan11_raw = 0;
+  chan12_raw = 0;
+  chan13_raw = 0;
+  chan14_raw = 0;
+  chan15_raw = 0;
+  chan16_raw = 0;
+  chan17_raw = 0;
+  chan18_raw = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_rc_channels_override msg = (msg_rc_channels_override)other;
+  copyHeader(msg);
+  chan1_raw = msg.chan1_raw;
+  chan2_raw = msg.chan2_raw;
+  chan3_raw = msg.chan3_raw;
+  chan4_raw = msg.chan4_raw;
+  chan5_raw = msg.chan5_raw;
+  chan6_raw = msg.chan6_raw;
+  chan7_raw = msg.chan7_raw;
+  chan8_raw = msg.chan8_raw;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  chan9_raw = msg.chan9_raw;
+  chan10_raw = msg.chan10_raw;
+  chan11_raw = msg.chan11_raw;
+  chan12_raw = msg.chan12_raw;
+  chan13_raw = msg.chan13_raw;
+  chan14_raw = msg.chan14_raw;
+  chan15_raw = msg.chan15_raw;
+  chan16_raw = msg.chan16_raw;
+  chan17_raw = msg.chan17_raw;
+  chan18_raw = msg.chan18_raw;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -180,6 +260,46 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan1_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan2_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan3_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan4_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan5_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan6_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan7_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan8_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan9_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan10_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan11_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan12_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan13_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan14_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan15_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan16_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan17_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan18_raw&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 50;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_RC_CHANNELS_OVERRIDE : " +   "  chan1_raw="+chan1_raw+  "  chan2_raw="+chan2_raw+  "  chan3_raw="+chan3_raw+  "  chan4_raw="+chan4_raw+  "  chan5_raw="+chan5_raw+  "  chan6_raw="+chan6_raw+  "  chan7_raw="+chan7_raw+  "  chan8_raw="+chan8_raw+  "  target_system="+target_system+  "  target_component="+target_component+  "  chan9_raw="+chan9_raw+  "  chan10_raw="+chan10_raw+  "  chan11_raw="+chan11_raw+  "  chan12_raw="+chan12_raw+  "  chan13_raw="+chan13_raw+  "  chan14_raw="+chan14_raw+  "  chan15_raw="+chan15_raw+  "  chan16_raw="+chan16_raw+  "  chan17_raw="+chan17_raw+  "  chan18_raw="+chan18_raw;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_rc_channels_scaled
  * The scaled values of the RC channels received: (-100%) -10000, (0%) 0, (100%) 10000. Channels that are inactive should be set to UINT16_MAX.
@@ -87,6 +89,57 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   port = (int)dis.readUnsignedByte()&0x00FF;
   rssi = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  chan1_scaled = (int)buf.getShort(4);
+  chan2_scaled = (int)buf.getShort(6);
+  chan3_scaled = (int)buf.getShort(8);
+  chan4_scaled = (int)buf.getShort(10);
+  chan5_scaled = (int)buf.getShort(12);
+  chan6_scaled = (int)buf.getShort(14);
+  chan7_scaled = (int)buf.getShort(16);
+  chan8_scaled = (int)buf.getShort(18);
+  port = (int)buf.get(20)&0x00FF;
+  rssi = (int)buf.get(21)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  chan1_scaled = 0;
+  chan2_scaled = 0;
+  chan3_scaled = 0;
+  chan4_scaled = 0;
+  chan5_scaled = 0;
+  chan6_scaled = 0;
+  chan7_scaled = 0;
+  chan8_scaled = 0;
+  port = 0;
+  rssi = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_rc_channels_scaled msg = (msg_rc_channels_scaled)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  chan1_scaled = msg.chan1_scaled;
+  chan2_scaled = msg.chan2_scaled;
+  chan3_scaled = msg.chan3_scaled;
+  chan4_scaled = msg.chan4_scaled;
+  chan5_scaled = msg.chan5_scaled;
+  chan6_scaled = msg.chan6_scaled;
+  chan7_scaled = msg.chan7_scaled;
+  chan8_scaled = msg.chan8_scaled;
+  port = msg.port;
+  rssi = msg.rssi;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -126,6 +179,37 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan1_scaled&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan2_scaled&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan3_scaled&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan4_scaled&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan5_scaled&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan6_scaled&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan7_scaled&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, chan8_scaled&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, port&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, rssi&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 34;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_RC_CHANNELS_SCALED : " +   "  time_boot_ms="+time_boot_ms+  "  chan1_scaled="+chan1_scaled+  "  chan2_scaled="+chan2_scaled+  "  chan3_scaled="+chan3_scaled+  "  chan4_scaled="+chan4_scaled+  "  chan5_scaled="+chan5_scaled+  "  chan6_scaled="+chan6_scaled+  "  chan7_scaled="+chan7_scaled+  "  chan8_scaled="+chan8_scaled+  "  port="+port+  "  rssi="+rssi;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_resource_request
  * The autopilot is requesting a resource (file, binary, other type of data)
@@ -61,6 +63,47 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     storage[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  request_id = (int)buf.get(0)&0x00FF;
+  uri_type = (int)buf.get(1)&0x00FF;
+  for (int i=0; i<120; i++) {
+    uri[i] = (int)buf.get(2+i)&0x00FF;
+  }
+  transfer_type = (int)buf.get(122)&0x00FF;
+  for (int i=0; i<120; i++) {
+    storage[i] = (int)buf.get(123+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  request_id = 0;
+  uri_type = 0;
+  for (int i=0; i<120; i++) {
+    uri[i] = 0;
+  }
+  transfer_type = 0;
+  for (int i=0; i<120; i++) {
+    storage[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_resource_request msg = (msg_resource_request)other;
+  copyHeader(msg);
+  request_id = msg.request_id;
+  uri_type = msg.uri_type;
+  System.arraycopy(msg.uri, 0, uri, 0, 120);
+  transfer_type = msg.transfer_type;
+  System.arraycopy(msg.storage, 0, storage, 0, 120);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -98,6 +141,35 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, request_id&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, uri_type&0x00FF, crc);
+  for (int i=0; i<120; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, uri[i]&0x00FF, crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, transfer_type&0x00FF, crc);
+  for (int i=0; i<120; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, storage[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 255;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_RESOURCE_REQUEST : " +   "  request_id="+request_id+  "  uri_type="+uri_type+  "  uri="+uri+  "  transfer_type="+transfer_type+  "  storage="+storage;}
 }
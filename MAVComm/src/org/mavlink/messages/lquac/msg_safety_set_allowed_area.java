@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_safety_set_allowed_area
  * Set a safety zone (volume), which is defined by two corners of a cube. This message can be used to tell the MAV which setpoints/waypoints to accept and which to reject. Safety areas are often enforced by national or competition regulations.
@@ -77,6 +79,51 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   target_component = (int)dis.readUnsignedByte()&0x00FF;
   frame = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  p1x = (float)buf.getFloat(0);
+  p1y = (float)buf.getFloat(4);
+  p1z = (float)buf.getFloat(8);
+  p2x = (float)buf.getFloat(12);
+  p2y = (float)buf.getFloat(16);
+  p2z = (float)buf.getFloat(20);
+  target_system = (int)buf.get(24)&0x00FF;
+  target_component = (int)buf.get(25)&0x00FF;
+  frame = (int)buf.get(26)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  p1x = 0;
+  p1y = 0;
+  p1z = 0;
+  p2x = 0;
+  p2y = 0;
+  p2z = 0;
+  target_system = 0;
+  target_component = 0;
+  frame = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_safety_set_allowed_area msg = (msg_safety_set_allowed_area)other;
+  copyHeader(msg);
+  p1x = msg.p1x;
+  p1y = msg.p1y;
+  p1z = msg.p1z;
+  p2x = msg.p2x;
+  p2y = msg.p2y;
+  p2z = msg.p2z;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  frame = msg.frame;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -114,6 +161,35 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, p1x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, p1y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, p1z, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, p2x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, p2y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, p2z, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, frame&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 39;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_SAFETY_SET_ALLOWED_AREA : " +   "  p1x="+p1x+  "  p1y="+p1y+  "  p1z="+p1z+  "  p2x="+p2x+  "  p2y="+p2y+  "  p2z="+p2z+  "  target_system="+target_system+  "  target_component="+target_component+  "  frame="+frame;}
 }
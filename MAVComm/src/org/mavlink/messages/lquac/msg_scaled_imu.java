@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_scaled_imu
  * The RAW IMU readings for the usual 9DOF sensor setup. This message should contain the scaled values to the described units
@@ -82,6 +84,54 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   ymag = (int)dis.readShort();
   zmag = (int)dis.readShort();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  xacc = (int)buf.getShort(4);
+  yacc = (int)buf.getShort(6);
+  zacc = (int)buf.getShort(8);
+  xgyro = (int)buf.getShort(10);
+  ygyro = (int)buf.getShort(12);
+  zgyro = (int)buf.getShort(14);
+  xmag = (int)buf.getShort(16);
+  ymag = (int)buf.getShort(18);
+  zmag = (int)buf.getShort(20);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  xacc = 0;
+  yacc = 0;
+  zacc = 0;
+  xgyro = 0;
+  ygyro = 0;
+  zgyro = 0;
+  xmag = 0;
+  ymag = 0;
+  zmag = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_scaled_imu msg = (msg_scaled_imu)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  xacc = msg.xacc;
+  yacc = msg.yacc;
+  zacc = msg.zacc;
+  xgyro = msg.xgyro;
+  ygyro = msg.ygyro;
+  zgyro = msg.zgyro;
+  xmag = msg.xmag;
+  ymag = msg.ymag;
+  zmag = msg.zmag;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -120,6 +170,36 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, xacc&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, yacc&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, zacc&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, xgyro&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, ygyro&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, zgyro&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, xmag&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, ymag&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, zmag&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 34;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_SCALED_IMU : " +   "  time_boot_ms="+time_boot_ms+  "  xacc="+xacc+  "  yacc="+yacc+  "  zacc="+zacc+  "  xgyro="+xgyro+  "  ygyro="+ygyro+  "  zgyro="+zgyro+  "  xmag="+xmag+  "  ymag="+ymag+  "  zmag="+zmag;}
 }
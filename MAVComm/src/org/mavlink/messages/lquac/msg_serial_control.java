@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_serial_control
  * Control a serial port. This can be used for raw access to an onboard serial peripheral such as a GPS or telemetry radio. It is designed to make it possible to update the devices firmware via MAVLink messages or change the devices settings. A message with zero bytes can be used to change just the baudrate.
@@ -64,6 +66,46 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     data[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  baudrate = (int)buf.getInt(0)&0x00FFFFFFFF;
+  timeout = (int)buf.getShort(4)&0x00FFFF;
+  device = (int)buf.get(6)&0x00FF;
+  flags = (int)buf.get(7)&0x00FF;
+  count = (int)buf.get(8)&0x00FF;
+  for (int i=0; i<70; i++) {
+    data[i] = (int)buf.get(9+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  baudrate = 0;
+  timeout = 0;
+  device = 0;
+  flags = 0;
+  count = 0;
+  for (int i=0; i<70; i++) {
+    data[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_serial_control msg = (msg_serial_control)other;
+  copyHeader(msg);
+  baudrate = msg.baudrate;
+  timeout = msg.timeout;
+  device = msg.device;
+  flags = msg.flags;
+  count = msg.count;
+  System.arraycopy(msg.data, 0, data, 0, 70);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -100,6 +142,34 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(baudrate&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, timeout&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, device&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, flags&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, count&0x00FF, crc);
+  for (int i=0; i<70; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, data[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 91;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_SERIAL_CONTROL : " +   "  baudrate="+baudrate+  "  timeout="+timeout+  "  device="+device+  "  flags="+flags+  "  count="+count+  "  data="+data;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_servo_output_raw
  * The RAW values of the servo outputs (for RC input from the remote, use the RC_CHANNELS messages). The standard PPM modulation is as follows: 1000 microseconds: 0%, 2000 microseconds: 100%.
@@ -122,6 +124,78 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   servo15_raw = (int)dis.readUnsignedShort()&0x00FFFF;
   servo16_raw = (int)dis.readUnsignedShort()&0x00FFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (int)buf.getInt(0)&0x00FFFFFFFF;
+  servo1_raw = (int)buf.getShort(4)&0x00FFFF;
+  servo2_raw = (int)buf.getShort(6)&0x00FFFF;
+  servo3_raw = (int)buf.getShort(8)&0x00FFFF;
+  servo4_raw = (int)buf.getShort(10)&0x00FFFF;
+  servo5_raw = (int)buf.getShort(12)&0x00FFFF;
+  servo6_raw = (int)buf.getShort(14)&0x00FFFF;
+  servo7_raw = (int)buf.getShort(16)&0x00FFFF;
+  servo8_raw = (int)buf.getShort(18)&0x00FFFF;
+  port = (int)buf.get(20)&0x00FF;
+  servo9_raw = (int)buf.getShort(21)&0x00FFFF;
+  servo10_raw = (int)buf.getShort(23)&0x00FFFF;
+  servo11_raw = (int)buf.getShort(25)&0x00FFFF;
+  servo12_raw = (int)buf.getShort(27)&0x00FFFF;
+  servo13_raw = (int)buf.getShort(29)&0x00FFFF;
+  servo14_raw = (int)buf.getShort(31)&0x00FFFF;
+  servo15_raw = (int)buf.getShort(33)&0x00FFFF;
+  servo16_raw = (int)buf.getShort(35)&0x00FFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  servo1_raw = 0;
+  servo2_raw = 0;
+  servo3_raw = 0;
+  servo4_raw = 0;
+  servo5_raw = 0;
+  servo6_raw = 0;
+  servo7_raw = 0;
+  servo8_raw = 0;
+  port = 0;
+  servo9_raw = 0;
+  servo10_raw = 0;
+  servo11_raw = 0;
+  servo12_raw = 0;
+  servo13_raw = 0;
+  servo14_raw = 0;
+  servo15_raw = 0;
+  servo16_raw = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_servo_output_raw msg = (msg_servo_output_raw)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  servo1_raw = msg.servo1_raw;
+  servo2_raw = msg.servo2_raw;
+  servo3_raw = msg.servo3_raw;
+  servo4_raw = msg.servo4_raw;
+  servo5_raw = msg.servo5_raw;
+  servo6_raw = msg.servo6_raw;
+  servo7_raw = msg.servo7_raw;
+  servo8_raw = msg.servo8_raw;
+  port = msg.port;
+  servo9_raw = msg.servo9_raw;
+  servo10_raw = msg.servo10_raw;
+  servo11_raw = msg.servo11_raw;
+  servo12_raw = msg.servo12_raw;
+  servo13_raw = msg.servo13_raw;
+  servo14_raw = msg.servo14_raw;
+  servo15_raw = msg.servo15_raw;
+  servo16_raw = msg.servo16_raw;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -168,6 +242,44 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_usec&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo1_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo2_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo3_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo4_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo5_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo6_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo7_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo8_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, port&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo9_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo10_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo11_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo12_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo13_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo14_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo15_raw&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, servo16_raw&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 49;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_SERVO_OUTPUT_RAW : " +   "  time_usec="+time_usec+  "  servo1_raw="+servo1_raw+  "  servo2_raw="+servo2_raw+  "  servo3_raw="+servo3_raw+  "  servo4_raw="+servo4_raw+  "  servo5_raw="+servo5_raw+  "  servo6_raw="+servo6_raw+  "  servo7_raw="+servo7_raw+  "  servo8_raw="+servo8_raw+  "  port="+port+  "  servo9_raw="+servo9_raw+  "  servo10_raw="+servo10_raw+  "  servo11_raw="+servo11_raw+  "  servo12_raw="+servo12_raw+  "  servo13_raw="+servo13_raw+  "  servo14_raw="+servo14_raw+  "  servo15_raw="+servo15_raw+  "  servo16_raw="+servo16_raw;}
 }
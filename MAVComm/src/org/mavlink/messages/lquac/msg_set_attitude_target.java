@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_set_attitude_target
  * Sets a desired vehicle attitude. Used by an external controller to command the vehicle (manual controller or other system).
@@ -79,6 +81,55 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   target_component = (int)dis.readUnsignedByte()&0x00FF;
   type_mask = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  for (int i=0; i<4; i++) {
+    q[i] = (float)buf.getFloat(4+i*4);
+  }
+  body_roll_rate = (float)buf.getFloat(20);
+  body_pitch_rate = (float)buf.getFloat(24);
+  body_yaw_rate = (float)buf.getFloat(28);
+  thrust = (float)buf.getFloat(32);
+  target_system = (int)buf.get(36)&0x00FF;
+  target_component = (int)buf.get(37)&0x00FF;
+  type_mask = (int)buf.get(38)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  for (int i=0; i<4; i++) {
+    q[i] = 0;
+  }
+  body_roll_rate = 0;
+  body_pitch_rate = 0;
+  body_yaw_rate = 0;
+  thrust = 0;
+  target_system = 0;
+  target_component = 0;
+  type_mask = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_set_attitude_target msg = (msg_set_attitude_target)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  System.arraycopy(msg.q, 0, q, 0, 4);
+  body_roll_rate = msg.body_roll_rate;
+  body_pitch_rate = msg.body_pitch_rate;
+  body_yaw_rate = msg.body_yaw_rate;
+  thrust = msg.thrust;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  type_mask = msg.type_mask;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -118,6 +169,37 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  for (int i=0; i<4; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, q[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeFloat(dst, body_roll_rate, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, body_pitch_rate, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, body_yaw_rate, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, thrust, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, type_mask&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 51;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_SET_ATTITUDE_TARGET : " +   "  time_boot_ms="+time_boot_ms+  "  q="+q+  "  body_roll_rate="+body_roll_rate+  "  body_pitch_rate="+body_pitch_rate+  "  body_yaw_rate="+body_yaw_rate+  "  thrust="+thrust+  "  target_system="+target_system+  "  target_component="+target_component+  "  type_mask="+type_mask;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_set_position_target_local_ned
  * Sets a desired vehicle position in a local north-east-down coordinate frame. Used by an external controller to command the vehicle (manual controller or other system).
@@ -112,6 +114,72 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   target_component = (int)dis.readUnsignedByte()&0x00FF;
   coordinate_frame = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  x = (float)buf.getFloat(4);
+  y = (float)buf.getFloat(8);
+  z = (float)buf.getFloat(12);
+  vx = (float)buf.getFloat(16);
+  vy = (float)buf.getFloat(20);
+  vz = (float)buf.getFloat(24);
+  afx = (float)buf.getFloat(28);
+  afy = (float)buf.getFloat(32);
+  afz = (float)buf.getFloat(36);
+  yaw = (float)buf.getFloat(40);
+  yaw_rate = (float)buf.getFloat(44);
+  type_mask = (int)buf.getShort(48)&0x00FFFF;
+  target_system = (int)buf.get(50)&0x00FF;
+  target_component = (int)buf.get(51)&0x00FF;
+  coordinate_frame = (int)buf.get(52)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  x = 0;
+  y = 0;
+  z = 0;
+  vx = 0;
+  vy = 0;
+  vz = 0;
+  afx = 0;
+  afy = 0;
+  afz = 0;
+  yaw = 0;
+  yaw_rate = 0;
+  type_mask = 0;
+  target_system = 0;
+  target_component = 0;
+  coordinate_frame = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_set_position_target_local_ned msg = (msg_set_position_target_local_ned)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  x = msg.x;
+  y = msg.y;
+  z = msg.z;
+  vx = msg.vx;
+  vy = msg.vy;
+  vz = msg.vz;
+  afx = msg.afx;
+  afy = msg.afy;
+  afz = msg.afz;
+  yaw = msg.yaw;
+  yaw_rate = msg.yaw_rate;
+  type_mask = msg.type_mask;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  coordinate_frame = msg.coordinate_frame;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -156,6 +224,42 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, z, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vx, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vz, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, afx, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, afy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, afz, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yaw, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yaw_rate, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, type_mask&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, coordinate_frame&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 65;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_SET_POSITION_TARGET_LOCAL_NED : " +   "  time_boot_ms="+time_boot_ms+  "  x="+x+  "  y="+y+  "  z="+z+  "  vx="+vx+  "  vy="+vy+  "  vz="+vz+  "  afx="+afx+  "  afy="+afy+  "  afz="+afz+  "  yaw="+yaw+  "  yaw_rate="+yaw_rate+  "  type_mask="+type_mask+  "  target_system="+target_system+  "  target_component="+target_component+  "  coordinate_frame="+coordinate_frame;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_set_video_stream_settings
  * Message that sets video stream settings
@@ -95,6 +97,55 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     uri[i] = (char)dis.readByte();
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  framerate = (float)buf.getFloat(0);
+  bitrate = (int)buf.getInt(4)&0x00FFFFFFFF;
+  resolution_h = (int)buf.getShort(8)&0x00FFFF;
+  resolution_v = (int)buf.getShort(10)&0x00FFFF;
+  rotation = (int)buf.getShort(12)&0x00FFFF;
+  target_system = (int)buf.get(14)&0x00FF;
+  target_component = (int)buf.get(15)&0x00FF;
+  camera_id = (int)buf.get(16)&0x00FF;
+  for (int i=0; i<230; i++) {
+    uri[i] = (char)buf.get(17+i);
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  framerate = 0;
+  bitrate = 0;
+  resolution_h = 0;
+  resolution_v = 0;
+  rotation = 0;
+  target_system = 0;
+  target_component = 0;
+  camera_id = 0;
+  for (int i=0; i<230; i++) {
+    uri[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_set_video_stream_settings msg = (msg_set_video_stream_settings)other;
+  copyHeader(msg);
+  framerate = msg.framerate;
+  bitrate = msg.bitrate;
+  resolution_h = msg.resolution_h;
+  resolution_v = msg.resolution_v;
+  rotation = msg.rotation;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  camera_id = msg.camera_id;
+  System.arraycopy(msg.uri, 0, uri, 0, 230);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -134,6 +185,37 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, framerate, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(bitrate&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, resolution_h&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, resolution_v&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, rotation&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, camera_id&0x00FF, crc);
+  for (int i=0; i<230; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, uri[i], crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 259;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_SET_VIDEO_STREAM_SETTINGS : " +   "  framerate="+framerate+  "  bitrate="+bitrate+  "  resolution_h="+resolution_h+  "  resolution_v="+resolution_v+  "  rotation="+rotation+  "  target_system="+target_system+  "  target_component="+target_component+  "  camera_id="+camera_id+  "  uri="+getUri();}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_sim_state
  * Status of simulation environment, if used
@@ -137,6 +139,87 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   ve = (float)dis.readFloat();
   vd = (float)dis.readFloat();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  q1 = (float)buf.getFloat(0);
+  q2 = (float)buf.getFloat(4);
+  q3 = (float)buf.getFloat(8);
+  q4 = (float)buf.getFloat(12);
+  roll = (float)buf.getFloat(16);
+  pitch = (float)buf.getFloat(20);
+  yaw = (float)buf.getFloat(24);
+  xacc = (float)buf.getFloat(28);
+  yacc = (float)buf.getFloat(32);
+  zacc = (float)buf.getFloat(36);
+  xgyro = (float)buf.getFloat(40);
+  ygyro = (float)buf.getFloat(44);
+  zgyro = (float)buf.getFloat(48);
+  lat = (float)buf.getFloat(52);
+  lon = (float)buf.getFloat(56);
+  alt = (float)buf.getFloat(60);
+  std_dev_horz = (float)buf.getFloat(64);
+  std_dev_vert = (float)buf.getFloat(68);
+  vn = (float)buf.getFloat(72);
+  ve = (float)buf.getFloat(76);
+  vd = (float)buf.getFloat(80);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  q1 = 0;
+  q2 = 0;
+  q3 = 0;
+  q4 = 0;
+  roll = 0;
+  pitch = 0;
+  yaw = 0;
+  xacc = 0;
+  yacc = 0;
+  zacc = 0;
+  xgyro = 0;
+  ygyro = 0;
+  zgyro = 0;
+  lat = 0;
+  lon = 0;
+  alt = 0;
+  std_dev_horz = 0;
+  std_dev_vert = 0;
+  vn = 0;
+  ve = 0;
+  vd = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_sim_state msg = (msg_sim_state)other;
+  copyHeader(msg);
+  q1 = msg.q1;
+  q2 = msg.q2;
+  q3 = msg.q3;
+  q4 = msg.q4;
+  roll = msg.roll;
+  pitch = msg.pitch;
+  yaw = msg.yaw;
+  xacc = msg.xacc;
+  yacc = msg.yacc;
+  zacc = msg.zacc;
+  xgyro = msg.xgyro;
+  ygyro = msg.ygyro;
+  zgyro = msg.zgyro;
+  lat = msg.lat;
+  lon = msg.lon;
+  alt = msg.alt;
+  std_dev_horz = msg.std_dev_horz;
+  std_dev_vert = msg.std_dev_vert;
+  vn = msg.vn;
+  ve = msg.ve;
+  vd = msg.vd;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -186,6 +269,47 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, q1, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, q2, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, q3, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, q4, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, roll, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, pitch, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yaw, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, xacc, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, yacc, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, zacc, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, xgyro, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, ygyro, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, zgyro, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, lat, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, lon, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, alt, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, std_dev_horz, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, std_dev_vert, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vn, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, ve, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vd, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 96;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_SIM_STATE : " +   "  q1="+q1+  "  q2="+q2+  "  q3="+q3+  "  q4="+q4+  "  roll="+roll+  "  pitch="+pitch+  "  yaw="+yaw+  "  xacc="+xacc+  "  yacc="+yacc+  "  zacc="+zacc+  "  xgyro="+xgyro+  "  ygyro="+ygyro+  "  zgyro="+zgyro+  "  lat="+lat+  "  lon="+lon+  "  alt="+alt+  "  std_dev_horz="+std_dev_horz+  "  std_dev_vert="+std_dev_vert+  "  vn="+vn+  "  ve="+ve+  "  vd="+vd;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_storage_information
  * Information about a storage medium.
@@ -77,6 +79,51 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   storage_count = (int)dis.readUnsignedByte()&0x00FF;
   status = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_boot_ms = (int)buf.getInt(0)&0x00FFFFFFFF;
+  total_capacity = (float)buf.getFloat(4);
+  used_capacity = (float)buf.getFloat(8);
+  available_capacity = (float)buf.getFloat(12);
+  read_speed = (float)buf.getFloat(16);
+  write_speed = (float)buf.getFloat(20);
+  storage_id = (int)buf.get(24)&0x00FF;
+  storage_count = (int)buf.get(25)&0x00FF;
+  status = (int)buf.get(26)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_boot_ms = 0;
+  total_capacity = 0;
+  used_capacity = 0;
+  available_capacity = 0;
+  read_speed = 0;
+  write_speed = 0;
+  storage_id = 0;
+  storage_count = 0;
+  status = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_storage_information msg = (msg_storage_information)other;
+  copyHeader(msg);
+  time_boot_ms = msg.time_boot_ms;
+  total_capacity = msg.total_capacity;
+  used_capacity = msg.used_capacity;
+  available_capacity = msg.available_capacity;
+  read_speed = msg.read_speed;
+  write_speed = msg.write_speed;
+  storage_id = msg.storage_id;
+  storage_count = msg.storage_count;
+  status = msg.status;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -114,6 +161,35 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(time_boot_ms&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, total_capacity, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, used_capacity, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, available_capacity, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, read_speed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, write_speed, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, storage_id&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, storage_count&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, status&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 39;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_STORAGE_INFORMATION : " +   "  time_boot_ms="+time_boot_ms+  "  total_capacity="+total_capacity+  "  used_capacity="+used_capacity+  "  available_capacity="+available_capacity+  "  read_speed="+read_speed+  "  write_speed="+write_speed+  "  storage_id="+storage_id+  "  storage_count="+storage_count+  "  status="+status;}
 }
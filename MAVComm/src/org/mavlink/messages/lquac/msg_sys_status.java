@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_sys_status
  * The general system state. If the system is following the MAVLink standard, the system state is mainly defined by three orthogonal states/modes: The system mode, which is either LOCKED (motors shut down and locked), MANUAL (system under RC control), GUIDED (system with autonomous position control, position setpoint controlled manually) or AUTO (system guided by path/waypoint planner). The NAV_MODE defined the current flight state: LIFTOFF (often an open-loop maneuver), LANDING, WAYPOINTS or VECTOR. This represents the internal navigation state machine. The system status shows whether the system is currently active or not and if an emergency occurred. During the CRITICAL and EMERGENCY states the MAV is still considered to be active, but should start emergency procedures autonomously. After a failure occurred it should first move from active to critical to allow manual intervention and then move to emergency after a certain timeout.
@@ -97,6 +99,63 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   errors_count4 = (int)dis.readUnsignedShort()&0x00FFFF;
   battery_remaining = (int)dis.readByte();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  onboard_control_sensors_present = (int)buf.getInt(0)&0x00FFFFFFFF;
+  onboard_control_sensors_enabled = (int)buf.getInt(4)&0x00FFFFFFFF;
+  onboard_control_sensors_health = (int)buf.getInt(8)&0x00FFFFFFFF;
+  load = (int)buf.getShort(12)&0x00FFFF;
+  voltage_battery = (int)buf.getShort(14)&0x00FFFF;
+  current_battery = (int)buf.getShort(16);
+  drop_rate_comm = (int)buf.getShort(18)&0x00FFFF;
+  errors_comm = (int)buf.getShort(20)&0x00FFFF;
+  errors_count1 = (int)buf.getShort(22)&0x00FFFF;
+  errors_count2 = (int)buf.getShort(24)&0x00FFFF;
+  errors_count3 = (int)buf.getShort(26)&0x00FFFF;
+  errors_count4 = (int)buf.getShort(28)&0x00FFFF;
+  battery_remaining = (int)buf.get(30);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  onboard_control_sensors_present = 0;
+  onboard_control_sensors_enabled = 0;
+  onboard_control_sensors_health = 0;
+  load = 0;
+  voltage_battery = 0;
+  current_battery = 0;
+  drop_rate_comm = 0;
+  errors_comm = 0;
+  errors_count1 = 0;
+  errors_count2 = 0;
+  errors_count3 = 0;
+  errors_count4 = 0;
+  battery_remaining = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_sys_status msg = (msg_sys_status)other;
+  copyHeader(msg);
+  onboard_control_sensors_present = msg.onboard_control_sensors_present;
+  onboard_control_sensors_enabled = msg.onboard_control_sensors_enabled;
+  onboard_control_sensors_health = msg.onboard_control_sensors_health;
+  load = msg.load;
+  voltage_battery = msg.voltage_battery;
+  current_battery = msg.current_battery;
+  drop_rate_comm = msg.drop_rate_comm;
+  errors_comm = msg.errors_comm;
+  errors_count1 = msg.errors_count1;
+  errors_count2 = msg.errors_count2;
+  errors_count3 = msg.errors_count3;
+  errors_count4 = msg.errors_count4;
+  battery_remaining = msg.battery_remaining;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -138,6 +197,39 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(onboard_control_sensors_present&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(onboard_control_sensors_enabled&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(onboard_control_sensors_health&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, load&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, voltage_battery&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, current_battery&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, drop_rate_comm&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, errors_comm&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, errors_count1&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, errors_count2&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, errors_count3&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, errors_count4&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, battery_remaining&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 43;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_SYS_STATUS : " +   "  onboard_control_sensors_present="+onboard_control_sensors_present+  "  onboard_control_sensors_enabled="+onboard_control_sensors_enabled+  "  onboard_control_sensors_health="+onboard_control_sensors_health+  "  load="+load+  "  voltage_battery="+voltage_battery+  "  current_battery="+current_battery+  "  drop_rate_comm="+drop_rate_comm+  "  errors_comm="+errors_comm+  "  errors_count1="+errors_count1+  "  errors_count2="+errors_count2+  "  errors_count3="+errors_count3+  "  errors_count4="+errors_count4+  "  battery_remaining="+battery_remaining;}
 }
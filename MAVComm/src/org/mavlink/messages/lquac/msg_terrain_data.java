@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_terrain_data
  * Terrain data sent from GCS. The lat/lon and grid_spacing must be the same as a lat/lon from a TERRAIN_REQUEST
@@ -59,6 +61,43 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   }
   gridbit = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  lat = (int)buf.getInt(0);
+  lon = (int)buf.getInt(4);
+  grid_spacing = (int)buf.getShort(8)&0x00FFFF;
+  for (int i=0; i<16; i++) {
+    data[i] = (int)buf.getShort(10+i*2);
+  }
+  gridbit = (int)buf.get(42)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  lat = 0;
+  lon = 0;
+  grid_spacing = 0;
+  for (int i=0; i<16; i++) {
+    data[i] = 0;
+  }
+  gridbit = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_terrain_data msg = (msg_terrain_data)other;
+  copyHeader(msg);
+  lat = msg.lat;
+  lon = msg.lon;
+  grid_spacing = msg.grid_spacing;
+  System.arraycopy(msg.data, 0, data, 0, 16);
+  gridbit = msg.gridbit;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -94,6 +133,33 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lat&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lon&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, grid_spacing&0x00FFFF, crc);
+  for (int i=0; i<16; i++) {
+    crc = MAVLinkBufferWriter.writeShort(dst, data[i]&0x00FFFF, crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, gridbit&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 55;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_TERRAIN_DATA : " +   "  lat="+lat+  "  lon="+lon+  "  grid_spacing="+grid_spacing+  "  data="+data+  "  gridbit="+gridbit;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_terrain_report
  * Response from a TERRAIN_CHECK request
@@ -67,6 +69,45 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   pending = (int)dis.readUnsignedShort()&0x00FFFF;
   loaded = (int)dis.readUnsignedShort()&0x00FFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  lat = (int)buf.getInt(0);
+  lon = (int)buf.getInt(4);
+  terrain_height = (float)buf.getFloat(8);
+  current_height = (float)buf.getFloat(12);
+  spacing = (int)buf.getShort(16)&0x00FFFF;
+  pending = (int)buf.getShort(18)&0x00FFFF;
+  loaded = (int)buf.getShort(20)&0x00FFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  lat = 0;
+  lon = 0;
+  terrain_height = 0;
+  current_height = 0;
+  spacing = 0;
+  pending = 0;
+  loaded = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_terrain_report msg = (msg_terrain_report)other;
+  copyHeader(msg);
+  lat = msg.lat;
+  lon = msg.lon;
+  terrain_height = msg.terrain_height;
+  current_height = msg.current_height;
+  spacing = msg.spacing;
+  pending = msg.pending;
+  loaded = msg.loaded;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -102,6 +143,33 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lat&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(lon&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, terrain_height, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, current_height, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, spacing&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, pending&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, loaded&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 34;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_TERRAIN_REPORT : " +   "  lat="+lat+  "  lon="+lon+  "  terrain_height="+terrain_height+  "  current_height="+current_height+  "  spacing="+spacing+  "  pending="+pending+  "  loaded="+loaded;}
 }
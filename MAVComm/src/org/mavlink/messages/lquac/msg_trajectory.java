@@ -10,6 +10,8 @@ import org.mavlink.IMAVLinkCRC;
 import org.mavlink.MAVLinkCRC;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 import org.mavlink.messages.MAVLinkMessage;
 /**
  * Class msg_trajectory
@@ -85,6 +87,72 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     point_valid[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  for (int i=0; i<11; i++) {
+    point_1[i] = (float)buf.getFloat(8+i*4);
+  }
+  for (int i=0; i<11; i++) {
+    point_2[i] = (float)buf.getFloat(52+i*4);
+  }
+  for (int i=0; i<11; i++) {
+    point_3[i] = (float)buf.getFloat(96+i*4);
+  }
+  for (int i=0; i<11; i++) {
+    point_4[i] = (float)buf.getFloat(140+i*4);
+  }
+  for (int i=0; i<11; i++) {
+    point_5[i] = (float)buf.getFloat(184+i*4);
+  }
+  type = (int)buf.get(228)&0x00FF;
+  for (int i=0; i<5; i++) {
+    point_valid[i] = (int)buf.get(229+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  for (int i=0; i<11; i++) {
+    point_1[i] = 0;
+  }
+  for (int i=0; i<11; i++) {
+    point_2[i] = 0;
+  }
+  for (int i=0; i<11; i++) {
+    point_3[i] = 0;
+  }
+  for (int i=0; i<11; i++) {
+    point_4[i] = 0;
+  }
+  for (int i=0; i<11; i++) {
+    point_5[i] = 0;
+  }
+  type = 0;
+  for (int i=0; i<5; i++) {
+    point_valid[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_trajectory msg = (msg_trajectory)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  System.arraycopy(msg.point_1, 0, point_1, 0, 11);
+  System.arraycopy(msg.point_2, 0, point_2, 0, 11);
+  System.arraycopy(msg.point_3, 0, point_3, 0, 11);
+  System.arraycopy(msg.point_4, 0, point_4, 0, 11);
+  System.arraycopy(msg.point_5, 0, point_5, 0, 11);
+  type = msg.type;
+  System.arraycopy(msg.point_valid, 0, point_valid, 0, 5);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -133,6 +201,46 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  for (int i=0; i<11; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, point_1[i], crc);
+  }
+  for (int i=0; i<11; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, point_2[i], crc);
+  }
+  for (int i=0; i<11; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, point_3[i], crc);
+  }
+  for (int i=0; i<11; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, point_4[i], crc);
+  }
+  for (int i=0; i<11; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, point_5[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, type&0x00FF, crc);
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, point_valid[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 246;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_TRAJECTORY : " +   "  time_usec="+time_usec+  "  point_1="+point_1+  "  point_2="+point_2+  "  point_3="+point_3+  "  point_4="+point_4+  "  point_5="+point_5+  "  type="+type+  "  point_valid="+point_valid;}
 }
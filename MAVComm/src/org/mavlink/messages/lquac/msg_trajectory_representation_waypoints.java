@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_trajectory_representation_waypoints
  * Describe a trajectory using an array of up-to 5 waypoints in the local frame.
@@ -119,6 +121,107 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   }
   valid_points = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  for (int i=0; i<5; i++) {
+    pos_x[i] = (float)buf.getFloat(8+i*4);
+  }
+  for (int i=0; i<5; i++) {
+    pos_y[i] = (float)buf.getFloat(28+i*4);
+  }
+  for (int i=0; i<5; i++) {
+    pos_z[i] = (float)buf.getFloat(48+i*4);
+  }
+  for (int i=0; i<5; i++) {
+    vel_x[i] = (float)buf.getFloat(68+i*4);
+  }
+  for (int i=0; i<5; i++) {
+    vel_y[i] = (float)buf.getFloat(88+i*4);
+  }
+  for (int i=0; i<5; i++) {
+    vel_z[i] = (float)buf.getFloat(108+i*4);
+  }
+  for (int i=0; i<5; i++) {
+    acc_x[i] = (float)buf.getFloat(128+i*4);
+  }
+  for (int i=0; i<5; i++) {
+    acc_y[i] = (float)buf.getFloat(148+i*4);
+  }
+  for (int i=0; i<5; i++) {
+    acc_z[i] = (float)buf.getFloat(168+i*4);
+  }
+  for (int i=0; i<5; i++) {
+    pos_yaw[i] = (float)buf.getFloat(188+i*4);
+  }
+  for (int i=0; i<5; i++) {
+    vel_yaw[i] = (float)buf.getFloat(208+i*4);
+  }
+  valid_points = (int)buf.get(228)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  for (int i=0; i<5; i++) {
+    pos_x[i] = 0;
+  }
+  for (int i=0; i<5; i++) {
+    pos_y[i] = 0;
+  }
+  for (int i=0; i<5; i++) {
+    pos_z[i] = 0;
+  }
+  for (int i=0; i<5; i++) {
+    vel_x[i] = 0;
+  }
+  for (int i=0; i<5; i++) {
+    vel_y[i] = 0;
+  }
+  for (int i=0; i<5; i++) {
+    vel_z[i] = 0;
+  }
+  for (int i=0; i<5; i++) {
+    acc_x[i] = 0;
+  }
+  for (int i=0; i<5; i++) {
+    acc_y[i] = 0;
+  }
+  for (int i=0; i<5; i++) {
+    acc_z[i] = 0;
+  }
+  for (int i=0; i<5; i++) {
+    pos_yaw[i] = 0;
+  }
+  for (int i=0; i<5; i++) {
+    vel_yaw[i] = 0;
+  }
+  valid_points = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_trajectory_representation_waypoints msg = (msg_trajectory_representation_waypoints)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  System.arraycopy(msg.pos_x, 0, pos_x, 0, 5);
+  System.arraycopy(msg.pos_y, 0, pos_y, 0, 5);
+  System.arraycopy(msg.pos_z, 0, pos_z, 0, 5);
+  System.arraycopy(msg.vel_x, 0, vel_x, 0, 5);
+  System.arraycopy(msg.vel_y, 0, vel_y, 0, 5);
+  System.arraycopy(msg.vel_z, 0, vel_z, 0, 5);
+  System.arraycopy(msg.acc_x, 0, acc_x, 0, 5);
+  System.arraycopy(msg.acc_y, 0, acc_y, 0, 5);
+  System.arraycopy(msg.acc_z, 0, acc_z, 0, 5);
+  System.arraycopy(msg.pos_yaw, 0, pos_yaw, 0, 5);
+  System.arraycopy(msg.vel_yaw, 0, vel_yaw, 0, 5);
+  valid_points = msg.valid_points;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -182,6 +285,61 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, pos_x[i], crc);
+  }
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, pos_y[i], crc);
+  }
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, pos_z[i], crc);
+  }
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, vel_x[i], crc);
+  }
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, vel_y[i], crc);
+  }
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, vel_z[i], crc);
+  }
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, acc_x[i], crc);
+  }
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, acc_y[i], crc);
+  }
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, acc_z[i], crc);
+  }
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, pos_yaw[i], crc);
+  }
+  for (int i=0; i<5; i++) {
+    crc = MAVLinkBufferWriter.writeFloat(dst, vel_yaw[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, valid_points&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 241;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_TRAJECTORY_REPRESENTATION_WAYPOINTS : " +   "  time_usec="+time_usec+  "  pos_x="+pos_x+  "  pos_y="+pos_y+  "  pos_z="+pos_z+  "  vel_x="+vel_x+  "  vel_y="+vel_y+  "  vel_z="+vel_z+  "  acc_x="+acc_x+  "  acc_y="+acc_y+  "  acc_z="+acc_z+  "  pos_yaw="+pos_yaw+  "  vel_yaw="+vel_yaw+  "  valid_points="+valid_points;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_uavcan_node_info
  * General information describing a particular UAVCAN node. Please refer to the definition of the UAVCAN service "uavcan.protocol.GetNodeInfo" for the background information. This message should be emitted by the system whenever a new node appears online, or an existing node reboots. Additionally, it can be emitted upon request from the other end of the MAVLink channel (see MAV_CMD_UAVCAN_GET_NODE_INFO). It is also not prohibited to emit this message unconditionally at a low frequency. The UAVCAN specification is available at http://uavcan.org.
@@ -97,6 +99,59 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   sw_version_major = (int)dis.readUnsignedByte()&0x00FF;
   sw_version_minor = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  uptime_sec = (int)buf.getInt(8)&0x00FFFFFFFF;
+  sw_vcs_commit = (int)buf.getInt(12)&0x00FFFFFFFF;
+  for (int i=0; i<80; i++) {
+    name[i] = (char)buf.get(16+i);
+  }
+  hw_version_major = (int)buf.get(96)&0x00FF;
+  hw_version_minor = (int)buf.get(97)&0x00FF;
+  for (int i=0; i<16; i++) {
+    hw_unique_id[i] = (int)buf.get(98+i)&0x00FF;
+  }
+  sw_version_major = (int)buf.get(114)&0x00FF;
+  sw_version_minor = (int)buf.get(115)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  uptime_sec = 0;
+  sw_vcs_commit = 0;
+  for (int i=0; i<80; i++) {
+    name[i] = 0;
+  }
+  hw_version_major = 0;
+  hw_version_minor = 0;
+  for (int i=0; i<16; i++) {
+    hw_unique_id[i] = 0;
+  }
+  sw_version_major = 0;
+  sw_version_minor = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_uavcan_node_info msg = (msg_uavcan_node_info)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  uptime_sec = msg.uptime_sec;
+  sw_vcs_commit = msg.sw_vcs_commit;
+  System.arraycopy(msg.name, 0, name, 0, 80);
+  hw_version_major = msg.hw_version_major;
+  hw_version_minor = msg.hw_version_minor;
+  System.arraycopy(msg.hw_unique_id, 0, hw_unique_id, 0, 16);
+  sw_version_major = msg.sw_version_major;
+  sw_version_minor = msg.sw_version_minor;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -138,6 +193,39 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(uptime_sec&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(sw_vcs_commit&0x00FFFFFFFF), crc);
+  for (int i=0; i<80; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, name[i], crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, hw_version_major&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, hw_version_minor&0x00FF, crc);
+  for (int i=0; i<16; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, hw_unique_id[i]&0x00FF, crc);
+  }
+  crc = MAVLinkBufferWriter.writeByte(dst, sw_version_major&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sw_version_minor&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 128;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_UAVCAN_NODE_INFO : " +   "  time_usec="+time_usec+  "  uptime_sec="+uptime_sec+  "  sw_vcs_commit="+sw_vcs_commit+  "  name="+getName()+  "  hw_version_major="+hw_version_major+  "  hw_version_minor="+hw_version_minor+  "  hw_unique_id="+hw_unique_id+  "  sw_version_major="+sw_version_major+  "  sw_version_minor="+sw_version_minor;}
 }
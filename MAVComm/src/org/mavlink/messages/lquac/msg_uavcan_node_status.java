@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_uavcan_node_status
  * General status information of an UAVCAN node. Please refer to the definition of the UAVCAN message "uavcan.protocol.NodeStatus" for the background information. The UAVCAN specification is available at http://uavcan.org.
@@ -62,6 +64,42 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   mode = (int)dis.readUnsignedByte()&0x00FF;
   sub_mode = (int)dis.readUnsignedByte()&0x00FF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  uptime_sec = (int)buf.getInt(8)&0x00FFFFFFFF;
+  vendor_specific_status_code = (int)buf.getShort(12)&0x00FFFF;
+  health = (int)buf.get(14)&0x00FF;
+  mode = (int)buf.get(15)&0x00FF;
+  sub_mode = (int)buf.get(16)&0x00FF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  uptime_sec = 0;
+  vendor_specific_status_code = 0;
+  health = 0;
+  mode = 0;
+  sub_mode = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_uavcan_node_status msg = (msg_uavcan_node_status)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  uptime_sec = msg.uptime_sec;
+  vendor_specific_status_code = msg.vendor_specific_status_code;
+  health = msg.health;
+  mode = msg.mode;
+  sub_mode = msg.sub_mode;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -96,6 +134,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(uptime_sec&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, vendor_specific_status_code&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, health&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, mode&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sub_mode&0x00FF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 29;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_UAVCAN_NODE_STATUS : " +   "  time_usec="+time_usec+  "  uptime_sec="+uptime_sec+  "  vendor_specific_status_code="+vendor_specific_status_code+  "  health="+health+  "  mode="+mode+  "  sub_mode="+sub_mode;}
 }
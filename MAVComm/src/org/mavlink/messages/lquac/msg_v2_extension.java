@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_v2_extension
  * Message implementing parts of the V2 payload specs in V1 frames for transitional support.
@@ -59,6 +61,43 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     payload[i] = (int)dis.readUnsignedByte()&0x00FF;
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  message_type = (int)buf.getShort(0)&0x00FFFF;
+  target_network = (int)buf.get(2)&0x00FF;
+  target_system = (int)buf.get(3)&0x00FF;
+  target_component = (int)buf.get(4)&0x00FF;
+  for (int i=0; i<249; i++) {
+    payload[i] = (int)buf.get(5+i)&0x00FF;
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  message_type = 0;
+  target_network = 0;
+  target_system = 0;
+  target_component = 0;
+  for (int i=0; i<249; i++) {
+    payload[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_v2_extension msg = (msg_v2_extension)other;
+  copyHeader(msg);
+  message_type = msg.message_type;
+  target_network = msg.target_network;
+  target_system = msg.target_system;
+  target_component = msg.target_component;
+  System.arraycopy(msg.payload, 0, payload, 0, 249);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -94,6 +133,33 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, message_type&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_network&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_system&0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, target_component&0x00FF, crc);
+  for (int i=0; i<249; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, payload[i]&0x00FF, crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 266;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_V2_EXTENSION : " +   "  message_type="+message_type+  "  target_network="+target_network+  "  target_system="+target_system+  "  target_component="+target_component+  "  payload="+payload;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_vfr_hud
  * Metrics typically displayed on a HUD for fixed wing aircraft
@@ -62,6 +64,42 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   heading = (int)dis.readShort();
   throttle = (int)dis.readUnsignedShort()&0x00FFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  airspeed = (float)buf.getFloat(0);
+  groundspeed = (float)buf.getFloat(4);
+  alt = (float)buf.getFloat(8);
+  climb = (float)buf.getFloat(12);
+  heading = (int)buf.getShort(16);
+  throttle = (int)buf.getShort(18)&0x00FFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  airspeed = 0;
+  groundspeed = 0;
+  alt = 0;
+  climb = 0;
+  heading = 0;
+  throttle = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_vfr_hud msg = (msg_vfr_hud)other;
+  copyHeader(msg);
+  airspeed = msg.airspeed;
+  groundspeed = msg.groundspeed;
+  alt = msg.alt;
+  climb = msg.climb;
+  heading = msg.heading;
+  throttle = msg.throttle;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -96,6 +134,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, airspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, groundspeed, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, alt, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, climb, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, heading&0x00FFFF, crc);
+  crc = MAVLinkBufferWriter.writeShort(dst, throttle&0x00FFFF, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 32;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_VFR_HUD : " +   "  airspeed="+airspeed+  "  groundspeed="+groundspeed+  "  alt="+alt+  "  climb="+climb+  "  heading="+heading+  "  throttle="+throttle;}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_vibration
  * Vibration levels and accelerometer clipping
@@ -67,6 +69,45 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   clipping_1 = (int)dis.readInt()&0x00FFFFFFFF;
   clipping_2 = (int)dis.readInt()&0x00FFFFFFFF;
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  vibration_x = (float)buf.getFloat(8);
+  vibration_y = (float)buf.getFloat(12);
+  vibration_z = (float)buf.getFloat(16);
+  clipping_0 = (int)buf.getInt(20)&0x00FFFFFFFF;
+  clipping_1 = (int)buf.getInt(24)&0x00FFFFFFFF;
+  clipping_2 = (int)buf.getInt(28)&0x00FFFFFFFF;
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  vibration_x = 0;
+  vibration_y = 0;
+  vibration_z = 0;
+  clipping_0 = 0;
+  clipping_1 = 0;
+  clipping_2 = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_vibration msg = (msg_vibration)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  vibration_x = msg.vibration_x;
+  vibration_y = msg.vibration_y;
+  vibration_z = msg.vibration_z;
+  clipping_0 = msg.clipping_0;
+  clipping_1 = msg.clipping_1;
+  clipping_2 = msg.clipping_2;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -102,6 +143,33 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vibration_x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vibration_y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vibration_z, crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(clipping_0&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(clipping_1&0x00FFFFFFFF), crc);
+  crc = MAVLinkBufferWriter.writeInt(dst, (int)(clipping_2&0x00FFFFFFFF), crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 44;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_VIBRATION : " +   "  time_usec="+time_usec+  "  vibration_x="+vibration_x+  "  vibration_y="+vibration_y+  "  vibration_z="+vibration_z+  "  clipping_0="+clipping_0+  "  clipping_1="+clipping_1+  "  clipping_2="+clipping_2;}
 }
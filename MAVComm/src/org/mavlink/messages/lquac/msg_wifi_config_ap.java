@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_wifi_config_ap
  * Configure AP SSID and Password.
@@ -78,6 +80,38 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
     password[i] = (char)dis.readByte();
   }
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  for (int i=0; i<32; i++) {
+    ssid[i] = (char)buf.get(0+i);
+  }
+  for (int i=0; i<64; i++) {
+    password[i] = (char)buf.get(32+i);
+  }
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  for (int i=0; i<32; i++) {
+    ssid[i] = 0;
+  }
+  for (int i=0; i<64; i++) {
+    password[i] = 0;
+  }
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_wifi_config_ap msg = (msg_wifi_config_ap)other;
+  copyHeader(msg);
+  System.arraycopy(msg.ssid, 0, ssid, 0, 32);
+  System.arraycopy(msg.password, 0, password, 0, 64);
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -112,6 +146,32 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  for (int i=0; i<32; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, ssid[i], crc);
+  }
+  for (int i=0; i<64; i++) {
+    crc = MAVLinkBufferWriter.writeByte(dst, password[i], crc);
+  }
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 108;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_WIFI_CONFIG_AP : " +   "  ssid="+getSsid()+  "  password="+getPassword();}
 }
@@ -10,6 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.mavlink.io.LittleEndianDataInputStream;
 import org.mavlink.io.LittleEndianDataOutputStream;
+import java.nio.ByteBuffer;
+import org.mavlink.io.MAVLinkBufferWriter;
 /**
  * Class msg_wind_cov
  * 
@@ -77,6 +79,51 @@ public void decode(LittleEndianDataInputStream dis) throws IOException {
   horiz_accuracy = (float)dis.readFloat();
   vert_accuracy = (float)dis.readFloat();
 }
+/**
+ * Decode message with raw data at absolute offsets of the payload buffer
+ */
+public void decode(ByteBuffer buf) {
+  time_usec = (long)buf.getLong(0);
+  wind_x = (float)buf.getFloat(8);
+  wind_y = (float)buf.getFloat(12);
+  wind_z = (float)buf.getFloat(16);
+  var_horiz = (float)buf.getFloat(20);
+  var_vert = (float)buf.getFloat(24);
+  wind_alt = (float)buf.getFloat(28);
+  horiz_accuracy = (float)buf.getFloat(32);
+  vert_accuracy = (float)buf.getFloat(36);
+}
+/**
+ * Set header and fields to their defaults, so that the instance can be reused
+ */
+public void reset() {
+  resetHeader();
+  time_usec = 0;
+  wind_x = 0;
+  wind_y = 0;
+  wind_z = 0;
+  var_horiz = 0;
+  var_vert = 0;
+  wind_alt = 0;
+  horiz_accuracy = 0;
+  vert_accuracy = 0;
+}
+/**
+ * Copy header and fields of another instance of this message
+ */
+public void copyFrom(MAVLinkMessage other) {
+  msg_wind_cov msg = (msg_wind_cov)other;
+  copyHeader(msg);
+  time_usec = msg.time_usec;
+  wind_x = msg.wind_x;
+  wind_y = msg.wind_y;
+  wind_z = msg.wind_z;
+  var_horiz = msg.var_horiz;
+  var_vert = msg.var_vert;
+  wind_alt = msg.wind_alt;
+  horiz_accuracy = msg.horiz_accuracy;
+  vert_accuracy = msg.vert_accuracy;
+}
 /**
  * Encode message with raw data and other informations
  */
@@ -114,6 +161,35 @@ public byte[] encode() throws IOException {
   dos.close();
   return buffer;
 }
+/**
+ * Encode message at the current position of the buffer and accumulate the CRC while writing
+ */
+public int encodeTo(ByteBuffer dst, int packetSeq) {
+  int crc = MAVLinkCRC.crc_init();
+  dst.put((byte)0xFD);
+  crc = MAVLinkBufferWriter.writeByte(dst, payload_length & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, incompat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, compat & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, packetSeq & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, sysId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, componentId & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, messageType & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 8) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeByte(dst, (messageType >> 16) & 0x00FF, crc);
+  crc = MAVLinkBufferWriter.writeLong(dst, time_usec, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, wind_x, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, wind_y, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, wind_z, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, var_horiz, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, var_vert, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, wind_alt, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, horiz_accuracy, crc);
+  crc = MAVLinkBufferWriter.writeFloat(dst, vert_accuracy, crc);
+  crc = MAVLinkCRC.crc_accumulate((byte) IMAVLinkCRC.MAVLINK_MESSAGE_CRCS[messageType], crc);
+  dst.put((byte) (crc & 0x00FF));
+  dst.put((byte) ((crc >> 8) & 0x00FF));
+  return 52;
+}
 public String toString() {
 return "MAVLINK_MSG_ID_WIND_COV : " +   "  time_usec="+time_usec+  "  wind_x="+wind_x+  "  wind_y="+wind_y+  "  wind_z="+wind_z+  "  var_horiz="+var_horiz+  "  var_vert="+var_vert+  "  wind_alt="+wind_alt+  "  horiz_accuracy="+horiz_accuracy+  "  vert_accuracy="+vert_accuracy;}
 }